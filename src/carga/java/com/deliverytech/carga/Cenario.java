@@ -0,0 +1,13 @@
+package com.deliverytech.carga;
+
+/** Ações de um cliente da plataforma; cada usuário virtual sorteia a próxima conforme o mix configurado. */
+public enum Cenario {
+    /** Autentica novamente, trocando o token em uso. */
+    LOGIN,
+    /** Restaurantes próximos, detalhe de um deles, busca de produtos e, às vezes, a listagem por categoria. */
+    NAVEGAR,
+    /** Cria um pedido com 1 a 4 produtos de um restaurante. */
+    PEDIR,
+    /** Consulta o status do último pedido feito; sem pedidos ainda, navega. */
+    ACOMPANHAR
+}
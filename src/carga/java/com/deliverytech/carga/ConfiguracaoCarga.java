@@ -0,0 +1,52 @@
+package com.deliverytech.carga;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de propriedades de sistema {@code carga.*}.
+ * O perfil Maven {@code carga} repassa as mesmas propriedades, então {@code mvn -Pcarga verify -Dcarga.usuarios=100} funciona.
+ *
+ * @param mix peso relativo de cada cenário, no formato {@code login:5,navegar:55,pedir:15,acompanhar:25}
+ */
+public record ConfiguracaoCarga(
+        int clientes,
+        int restaurantes,
+        int produtosPorRestaurante,
+        int pedidosHistoricos,
+        int usuarios,
+        int aquecimentoSegundos,
+        int duracaoSegundos,
+        int pausaMs,
+        long semente,
+        Map<Cenario, Integer> mix,
+        Path saida) {
+
+    public static ConfiguracaoCarga doSistema() {
+        return new ConfiguracaoCarga(
+                Integer.getInteger("carga.clientes", 1000),
+                Integer.getInteger("carga.restaurantes", 100),
+                Integer.getInteger("carga.produtos-por-restaurante", 20),
+                Integer.getInteger("carga.pedidos-historicos", 10_000),
+                Integer.getInteger("carga.usuarios", 50),
+                Integer.getInteger("carga.aquecimento-s", 15),
+                Integer.getInteger("carga.duracao-s", 60),
+                Integer.getInteger("carga.pausa-ms", 0),
+                Long.getLong("carga.semente", 42L),
+                lerMix(System.getProperty("carga.mix", "login:5,navegar:55,pedir:15,acompanhar:25")),
+                Path.of(System.getProperty("carga.saida", "target/carga")));
+    }
+
+    private static Map<Cenario, Integer> lerMix(String texto) {
+        Map<Cenario, Integer> mix = new EnumMap<>(Cenario.class);
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.trim().split(":");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Mix inválido, use cenario:peso separados por vírgula: " + texto);
+            }
+            mix.put(Cenario.valueOf(chaveValor[0].trim().toUpperCase()), Integer.parseInt(chaveValor[1].trim()));
+        }
+        return mix;
+    }
+}
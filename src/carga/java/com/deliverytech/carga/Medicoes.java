@@ -0,0 +1,80 @@
+package com.deliverytech.carga;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Latências de um único usuário virtual, por endpoint. Cada usuário grava nas suas próprias
+ * medições, sem sincronização; elas são somadas só no fim, para o relatório.
+ */
+class Medicoes {
+
+    static final class Amostras {
+        private long[] latenciasNanos = new long[256];
+        private int quantidade;
+        private int erros;
+
+        void registrar(long nanos, boolean erro) {
+            if (quantidade == latenciasNanos.length) {
+                latenciasNanos = Arrays.copyOf(latenciasNanos, quantidade * 2);
+            }
+            latenciasNanos[quantidade++] = nanos;
+            if (erro) {
+                erros++;
+            }
+        }
+
+        void somar(Amostras outras) {
+            if (quantidade + outras.quantidade > latenciasNanos.length) {
+                latenciasNanos = Arrays.copyOf(latenciasNanos, quantidade + outras.quantidade);
+            }
+            System.arraycopy(outras.latenciasNanos, 0, latenciasNanos, quantidade, outras.quantidade);
+            quantidade += outras.quantidade;
+            erros += outras.erros;
+        }
+
+        int quantidade() {
+            return quantidade;
+        }
+
+        int erros() {
+            return erros;
+        }
+
+        /** Latências ordenadas; usado só depois que a carga terminou. */
+        long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latenciasNanos, quantidade);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+
+    private final Map<String, Amostras> porEndpoint = new TreeMap<>();
+    // compartilhado por todos os usuários: desligado durante o aquecimento
+    private final AtomicBoolean gravando;
+
+    Medicoes(AtomicBoolean gravando) {
+        this.gravando = gravando;
+    }
+
+    void registrar(String endpoint, long nanos, boolean erro) {
+        if (gravando.get()) {
+            porEndpoint.computeIfAbsent(endpoint, e -> new Amostras()).registrar(nanos, erro);
+        }
+    }
+
+    Map<String, Amostras> porEndpoint() {
+        return porEndpoint;
+    }
+
+    static Map<String, Amostras> somar(Iterable<Medicoes> todas) {
+        Map<String, Amostras> total = new TreeMap<>();
+        for (Medicoes medicoes : todas) {
+            medicoes.porEndpoint.forEach((endpoint, amostras) ->
+                    total.computeIfAbsent(endpoint, e -> new Amostras()).somar(amostras));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,98 @@
+package com.deliverytech.carga;
+
+import com.deliverytech.carga.Medicoes.Amostras;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Resumo por endpoint da janela medida, gravado em JSON (para comparação entre execuções) e em Markdown. */
+record RelatorioCarga(
+        LocalDateTime dataExecucao,
+        ConfiguracaoCarga configuracao,
+        long duracaoSemeaduraMs,
+        double duracaoMedidaSegundos,
+        Linha total,
+        double pedidosPorSegundo,
+        List<Linha> endpoints) {
+
+    record Linha(String endpoint, long requisicoes, long erros, double taxaErro, double porSegundo,
+                 double p50Ms, double p95Ms, double p99Ms, double maximoMs) {}
+
+    static RelatorioCarga gerar(ConfiguracaoCarga configuracao, long duracaoSemeaduraMs, double duracaoSegundos,
+                                Map<String, Amostras> porEndpoint) {
+        List<Linha> linhas = new ArrayList<>();
+        Amostras todas = new Amostras();
+        porEndpoint.forEach((endpoint, amostras) -> {
+            linhas.add(linha(endpoint, amostras, duracaoSegundos));
+            todas.somar(amostras);
+        });
+        Amostras pedidos = porEndpoint.get("POST /api/pedidos");
+        double pedidosPorSegundo = pedidos == null ? 0 : (pedidos.quantidade() - pedidos.erros()) / duracaoSegundos;
+        return new RelatorioCarga(LocalDateTime.now(), configuracao, duracaoSemeaduraMs, duracaoSegundos,
+                linha("TOTAL", todas, duracaoSegundos), pedidosPorSegundo, linhas);
+    }
+
+    private static Linha linha(String endpoint, Amostras amostras, double duracaoSegundos) {
+        long[] ordenadas = amostras.ordenadas();
+        long requisicoes = ordenadas.length;
+        return new Linha(endpoint, requisicoes, amostras.erros(),
+                requisicoes == 0 ? 0 : (double) amostras.erros() / requisicoes,
+                requisicoes / duracaoSegundos,
+                percentil(ordenadas, 50), percentil(ordenadas, 95), percentil(ordenadas, 99),
+                requisicoes == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6);
+    }
+
+    // nearest-rank: o menor valor com pelo menos p% das amostras abaixo ou iguais a ele
+    private static double percentil(long[] ordenadas, int p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    void gravar(Path diretorio, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(diretorio);
+        objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(diretorio.resolve("relatorio.json").toFile(), this);
+        Files.writeString(diretorio.resolve("relatorio.md"), markdown());
+    }
+
+    String markdown() {
+        StringBuilder md = new StringBuilder();
+        md.append("# Teste de carga - ").append(dataExecucao.withNano(0)).append("\n\n");
+        md.append(String.format(Locale.ROOT, "- Massa: %d clientes, %d restaurantes x %d produtos, %d pedidos históricos (semeados em %.1f s)%n",
+                configuracao.clientes(), configuracao.restaurantes(), configuracao.produtosPorRestaurante(),
+                configuracao.pedidosHistoricos(), duracaoSemeaduraMs / 1000.0));
+        md.append(String.format(Locale.ROOT, "- Carga: %d usuários, pausa de %d ms, mix %s%n",
+                configuracao.usuarios(), configuracao.pausaMs(), configuracao.mix()));
+        md.append(String.format(Locale.ROOT, "- Janela medida: %.1f s após %d s de aquecimento%n",
+                duracaoMedidaSegundos, configuracao.aquecimentoSegundos()));
+        md.append(String.format(Locale.ROOT, "- **Pedidos criados: %.1f/s** | vazão total: %.1f req/s | erros: %.2f%%%n%n",
+                pedidosPorSegundo, total.porSegundo(), total.taxaErro() * 100));
+
+        md.append("| Endpoint | Requisições | req/s | p50 (ms) | p95 (ms) | p99 (ms) | máx (ms) | Erros |\n");
+        md.append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (Linha linha : endpoints) {
+            md.append(linhaMarkdown(linha));
+        }
+        md.append(linhaMarkdown(total));
+        return md.toString();
+    }
+
+    private static String linhaMarkdown(Linha l) {
+        return String.format(Locale.ROOT, "| %s | %d | %.1f | %.2f | %.2f | %.2f | %.2f | %d (%.2f%%) |%n",
+                l.endpoint(), l.requisicoes(), l.porSegundo(), l.p50Ms(), l.p95Ms(), l.p99Ms(), l.maximoMs(),
+                l.erros(), l.taxaErro() * 100);
+    }
+}
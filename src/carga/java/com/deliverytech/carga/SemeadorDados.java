@@ -0,0 +1,161 @@
+package com.deliverytech.carga;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.Role;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.model.Usuario;
+import com.deliverytech.repository.UsuarioRepository;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Cria a massa de dados pelos serviços da aplicação, como um cadastro real faria
+ * (os índices de busca e de proximidade e as estatísticas são atualizados no caminho).
+ */
+class SemeadorDados {
+
+    static final String SENHA = "carga123";
+    static final double LATITUDE_CENTRO = -23.5505;
+    static final double LONGITUDE_CENTRO = -46.6333;
+    static final String[] CATEGORIAS = {"Pizza", "Brasileira", "Lanches", "Japonesa", "Doces", "Saudável", "Árabe", "Italiana"};
+    static final String[] TERMOS_BUSCA = {"pizza", "feij", "hamb", "sushi", "acai", "salada", "esfiha", "lasanha", "pao de", "brig"};
+    private static final String[] PRATOS = {"Pizza Calabresa", "Feijoada Completa", "Hambúrguer Artesanal", "Sushi Combinado",
+            "Açaí na Tigela", "Salada Caesar", "Esfiha de Carne", "Lasanha Bolonhesa", "Pão de Queijo", "Brigadeiro Gourmet"};
+
+    record Conta(String email, long clienteId) {}
+
+    record RestauranteSemeado(long id, String categoria, double latitude, double longitude, List<Long> produtoIds) {}
+
+    record Dados(List<Conta> contas, List<RestauranteSemeado> restaurantes) {}
+
+    private final ClienteService clienteService;
+    private final RestauranteService restauranteService;
+    private final ProdutoService produtoService;
+    private final PedidoService pedidoService;
+    private final UsuarioRepository usuarioRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random;
+
+    SemeadorDados(ApplicationContext contexto, long semente) {
+        this.clienteService = contexto.getBean(ClienteService.class);
+        this.restauranteService = contexto.getBean(RestauranteService.class);
+        this.produtoService = contexto.getBean(ProdutoService.class);
+        this.pedidoService = contexto.getBean(PedidoService.class);
+        this.usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        this.passwordEncoder = contexto.getBean(PasswordEncoder.class);
+        this.random = new Random(semente);
+    }
+
+    Dados semear(ConfiguracaoCarga configuracao) {
+        // o hash BCrypt é caro de propósito; todas as contas usam a mesma senha e o mesmo hash
+        String senhaCodificada = passwordEncoder.encode(SENHA);
+        List<Conta> contas = new ArrayList<>(configuracao.clientes());
+        List<Usuario> usuarios = new ArrayList<>(configuracao.clientes());
+        List<Cliente> clientes = new ArrayList<>(configuracao.clientes());
+        for (int i = 1; i <= configuracao.clientes(); i++) {
+            String email = "cliente" + i + "@carga.com";
+            Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Cliente " + i).email(email).build());
+            clientes.add(cliente);
+            contas.add(new Conta(email, cliente.getId()));
+            usuarios.add(Usuario.builder().email(email).senha(senhaCodificada).nome(cliente.getNome()).role(Role.CLIENTE).clienteId(cliente.getId()).build());
+        }
+        usuarioRepository.saveAll(usuarios);
+
+        List<RestauranteSemeado> restaurantes = new ArrayList<>(configuracao.restaurantes());
+        List<Restaurante> entidades = new ArrayList<>(configuracao.restaurantes());
+        List<List<Produto>> cardapios = new ArrayList<>(configuracao.restaurantes());
+        for (int i = 1; i <= configuracao.restaurantes(); i++) {
+            String categoria = CATEGORIAS[i % CATEGORIAS.length];
+            double latitude = LATITUDE_CENTRO + random.nextGaussian() * 0.08;
+            double longitude = LONGITUDE_CENTRO + random.nextGaussian() * 0.08;
+            Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                    .nome("Restaurante " + i)
+                    .categoria(categoria)
+                    .telefone("11" + (900000000 + i))
+                    .taxaEntrega(Dinheiro.deCentavos(300 + random.nextInt(900)))
+                    .tempoEntregaMinutos(20 + random.nextInt(40))
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .ativo(true)
+                    .build());
+
+            List<Produto> cardapio = new ArrayList<>(configuracao.produtosPorRestaurante());
+            List<Long> produtoIds = new ArrayList<>(configuracao.produtosPorRestaurante());
+            for (int p = 0; p < configuracao.produtosPorRestaurante(); p++) {
+                String prato = PRATOS[random.nextInt(PRATOS.length)];
+                Produto produto = produtoService.cadastrar(Produto.builder()
+                        .nome(prato + " " + (p + 1))
+                        .categoria(categoria)
+                        .descricao(prato + " preparado na hora")
+                        .preco(Dinheiro.deCentavos(990 + random.nextInt(6000)))
+                        .disponivel(true)
+                        .restaurante(restaurante)
+                        .build());
+                cardapio.add(produto);
+                produtoIds.add(produto.getId());
+            }
+            entidades.add(restaurante);
+            cardapios.add(cardapio);
+            restaurantes.add(new RestauranteSemeado(restaurante.getId(), categoria, latitude, longitude, produtoIds));
+        }
+
+        for (int i = 0; i < configuracao.pedidosHistoricos(); i++) {
+            int r = random.nextInt(entidades.size());
+            Pedido pedido = novoPedido(clientes.get(random.nextInt(clientes.size())), entidades.get(r), cardapios.get(r));
+            pedido.setDataPedido(LocalDateTime.now().minusMinutes(random.nextInt(90 * 24 * 60)));
+            Pedido salvo = pedidoService.criar(pedido);
+            int sorteio = random.nextInt(10);
+            if (sorteio == 0) {
+                pedidoService.cancelar(salvo.getId());
+            } else {
+                pedidoService.atualizarStatus(salvo.getId(), StatusPedido.ENTREGUE);
+            }
+        }
+        return new Dados(contas, restaurantes);
+    }
+
+    private Pedido novoPedido(Cliente cliente, Restaurante restaurante, List<Produto> cardapio) {
+        int quantidadeItens = 1 + random.nextInt(4);
+        List<ItemPedido> itens = new ArrayList<>(quantidadeItens);
+        long total = 0;
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = cardapio.get(random.nextInt(cardapio.size()));
+            int quantidade = 1 + random.nextInt(3);
+            itens.add(ItemPedido.builder().produto(produto).quantidade(quantidade).precoUnitario(produto.getPreco()).build());
+            total = Dinheiro.acumular(total, produto.getPreco(), quantidade);
+        }
+        return Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .total(Dinheiro.deCentavos(total))
+                .enderecoEntrega(endereco())
+                .itens(itens)
+                .build();
+    }
+
+    static Endereco endereco() {
+        return Endereco.builder()
+                .rua("Avenida Paulista")
+                .numero("1578")
+                .bairro("Bela Vista")
+                .cidade("São Paulo")
+                .estado("SP")
+                .cep("01310-200")
+                .build();
+    }
+}
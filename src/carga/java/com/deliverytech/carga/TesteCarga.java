@@ -0,0 +1,95 @@
+package com.deliverytech.carga;
+
+import com.deliverytech.DeliveryTechApiApplication;
+import com.deliverytech.carga.SemeadorDados.Dados;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sobe a aplicação com H2 em memória numa porta livre, semeia a massa de dados pelos serviços,
+ * aplica a carga com um usuário virtual por virtual thread e grava o relatório em {@code carga.saida}.
+ *
+ * <p>Gerador e aplicação dividem a mesma JVM e as mesmas CPUs; os números valem para comparar
+ * versões na mesma máquina, não como capacidade absoluta de um nó dedicado.</p>
+ */
+public class TesteCarga {
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.doSistema();
+
+        // argumentos de linha de comando têm precedência sobre o application.properties
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(DeliveryTechApiApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.com.deliverytech=INFO",
+                "--management.tracing.enabled=false",
+                // todos os usuários virtuais saem do mesmo IP; o descarte por concorrência continua ativo
+                "--deliverytech.limite-requisicoes.taxa.habilitado=false");
+        int exitCode = 0;
+        try {
+            exitCode = executar(configuracao, contexto);
+        } finally {
+            contexto.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int executar(ConfiguracaoCarga configuracao, ConfigurableApplicationContext contexto) throws Exception {
+        String baseUrl = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        ObjectMapper objectMapper = contexto.getBean(ObjectMapper.class);
+
+        System.out.printf("Semeando %d clientes, %d restaurantes e %d pedidos históricos...%n",
+                configuracao.clientes(), configuracao.restaurantes(), configuracao.pedidosHistoricos());
+        long inicioSemeadura = System.nanoTime();
+        Dados dados = new SemeadorDados(contexto, configuracao.semente()).semear(configuracao);
+        long duracaoSemeaduraMs = (System.nanoTime() - inicioSemeadura) / 1_000_000;
+
+        AtomicBoolean executando = new AtomicBoolean(true);
+        AtomicBoolean gravando = new AtomicBoolean(false);
+        List<Medicoes> medicoes = new ArrayList<>(configuracao.usuarios());
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("Carga com %d usuários: %d s de aquecimento e %d s medidos%n",
+                configuracao.usuarios(), configuracao.aquecimentoSegundos(), configuracao.duracaoSegundos());
+        double duracaoMedida;
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < configuracao.usuarios(); i++) {
+                Medicoes doUsuario = new Medicoes(gravando);
+                medicoes.add(doUsuario);
+                usuarios.submit(new UsuarioVirtual(http, baseUrl, objectMapper, dados, configuracao, doUsuario,
+                        executando, configuracao.semente() + i));
+            }
+
+            TimeUnit.SECONDS.sleep(configuracao.aquecimentoSegundos());
+            gravando.set(true);
+            long inicioMedida = System.nanoTime();
+            TimeUnit.SECONDS.sleep(configuracao.duracaoSegundos());
+            gravando.set(false);
+            duracaoMedida = (System.nanoTime() - inicioMedida) / 1e9;
+            executando.set(false);
+        }
+
+        RelatorioCarga relatorio = RelatorioCarga.gerar(configuracao, duracaoSemeaduraMs, duracaoMedida, Medicoes.somar(medicoes));
+        relatorio.gravar(configuracao.saida(), objectMapper);
+        System.out.println();
+        System.out.println(relatorio.markdown());
+        System.out.println("Relatório gravado em " + configuracao.saida().toAbsolutePath());
+        return relatorio.total().requisicoes() == 0 ? 1 : 0;
+    }
+}
@@ -0,0 +1,197 @@
+package com.deliverytech.carga;
+
+import com.deliverytech.carga.SemeadorDados.Conta;
+import com.deliverytech.carga.SemeadorDados.Dados;
+import com.deliverytech.carga.SemeadorDados.RestauranteSemeado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Um cliente da plataforma em laço fechado: faz login, sorteia o próximo cenário pelo mix,
+ * executa e repete até o fim do teste. Cada chamada HTTP é medida pelo endpoint, com o
+ * caminho na forma de template ({@code /api/pedidos/{id}}) para agrupar as amostras.
+ */
+class UsuarioVirtual implements Runnable {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String JSON = "application/json";
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Dados dados;
+    private final ConfiguracaoCarga configuracao;
+    private final Medicoes medicoes;
+    private final AtomicBoolean executando;
+    private final Random random;
+    private final Cenario[] roleta;
+    private final List<Long> meusPedidos = new ArrayList<>();
+
+    private Conta conta;
+    private String token;
+
+    UsuarioVirtual(HttpClient http, String baseUrl, ObjectMapper objectMapper, Dados dados, ConfiguracaoCarga configuracao,
+                   Medicoes medicoes, AtomicBoolean executando, long semente) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.dados = dados;
+        this.configuracao = configuracao;
+        this.medicoes = medicoes;
+        this.executando = executando;
+        this.random = new Random(semente);
+        this.roleta = montarRoleta(configuracao.mix());
+    }
+
+    private static Cenario[] montarRoleta(Map<Cenario, Integer> mix) {
+        List<Cenario> posicoes = new ArrayList<>();
+        mix.forEach((cenario, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                posicoes.add(cenario);
+            }
+        });
+        if (posicoes.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de pelo menos um cenário com peso positivo");
+        }
+        return posicoes.toArray(Cenario[]::new);
+    }
+
+    @Override
+    public void run() {
+        login();
+        while (executando.get() && !Thread.currentThread().isInterrupted()) {
+            Cenario cenario = token == null ? Cenario.LOGIN : roleta[random.nextInt(roleta.length)];
+            switch (cenario) {
+                case LOGIN -> login();
+                case NAVEGAR -> navegar();
+                case PEDIR -> pedir();
+                case ACOMPANHAR -> acompanhar();
+            }
+            pausar();
+        }
+    }
+
+    private void login() {
+        conta = dados.contas().get(random.nextInt(dados.contas().size()));
+        ObjectNode corpo = objectMapper.createObjectNode()
+                .put("email", conta.email())
+                .put("senha", SemeadorDados.SENHA);
+        byte[] resposta = chamar("POST /api/auth/login", post("/api/auth/login", corpo, false));
+        token = resposta == null ? null : new String(resposta, StandardCharsets.UTF_8);
+        meusPedidos.clear();
+    }
+
+    private void navegar() {
+        RestauranteSemeado perto = restauranteQualquer();
+        chamar("GET /api/restaurantes/proximos", get("/api/restaurantes/proximos?latitude=" + perto.latitude()
+                + "&longitude=" + perto.longitude() + "&raioKm=5&limite=20"));
+        chamar("GET /api/restaurantes/{id}", get("/api/restaurantes/" + perto.id()));
+        String termo = SemeadorDados.TERMOS_BUSCA[random.nextInt(SemeadorDados.TERMOS_BUSCA.length)];
+        chamar("GET /api/busca/produtos", get("/api/busca/produtos?q=" + URLEncoder.encode(termo, StandardCharsets.UTF_8) + "&disponivel=true"));
+        if (random.nextInt(4) == 0) {
+            chamar("GET /api/restaurantes/categoria/{categoria}", get("/api/restaurantes/categoria/"
+                    + URLEncoder.encode(perto.categoria(), StandardCharsets.UTF_8).replace("+", "%20")));
+        }
+    }
+
+    private void pedir() {
+        RestauranteSemeado restaurante = restauranteQualquer();
+        ArrayNode itens = objectMapper.createArrayNode();
+        int quantidadeItens = 1 + random.nextInt(4);
+        for (int i = 0; i < quantidadeItens; i++) {
+            itens.addObject()
+                    .put("produtoId", restaurante.produtoIds().get(random.nextInt(restaurante.produtoIds().size())))
+                    .put("quantidade", 1 + random.nextInt(3));
+        }
+        ObjectNode corpo = objectMapper.createObjectNode()
+                .put("clienteId", conta.clienteId())
+                .put("restauranteId", restaurante.id());
+        corpo.set("enderecoEntrega", objectMapper.valueToTree(SemeadorDados.endereco()));
+        corpo.set("itens", itens);
+
+        byte[] resposta = chamar("POST /api/pedidos", post("/api/pedidos", corpo, true));
+        if (resposta != null) {
+            try {
+                meusPedidos.add(objectMapper.readTree(resposta).path("id").asLong());
+            } catch (IOException e) {
+                medicoes.registrar("POST /api/pedidos (resposta inválida)", 0, true);
+            }
+        }
+    }
+
+    private void acompanhar() {
+        if (meusPedidos.isEmpty()) {
+            navegar();
+            return;
+        }
+        chamar("GET /api/pedidos/{id}", get("/api/pedidos/" + meusPedidos.get(meusPedidos.size() - 1)));
+    }
+
+    private RestauranteSemeado restauranteQualquer() {
+        return dados.restaurantes().get(random.nextInt(dados.restaurantes().size()));
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", JSON)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String caminho, ObjectNode corpo, boolean autenticado) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(TIMEOUT)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo.toString()));
+        if (autenticado) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /** Retorna o corpo da resposta, ou {@code null} se a chamada falhou (status 4xx/5xx, timeout ou erro de rede). */
+    private byte[] chamar(String endpoint, HttpRequest request) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            boolean erro = response.statusCode() >= 400;
+            medicoes.registrar(endpoint, System.nanoTime() - inicio, erro);
+            return erro ? null : response.body();
+        } catch (IOException e) {
+            medicoes.registrar(endpoint, System.nanoTime() - inicio, true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void pausar() {
+        if (configuracao.pausaMs() <= 0) {
+            return;
+        }
+        try {
+            // pausa de "leitura" entre 50% e 150% da configurada
+            Thread.sleep(configuracao.pausaMs() / 2 + random.nextInt(configuracao.pausaMs() + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.deliverytech.inicializacao;
+
+import com.deliverytech.inicializacao.RelatorioInicializacao.Medicao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a inicialização da aplicação em cada {@link Modo}: extrai o jar, gera os arquivos AppCDS
+ * com um treino por modo ({@code -Dspring.context.exit=onRefresh}, que encerra logo depois de criar o
+ * contexto) e sobe a aplicação {@code inicializacao.repeticoes} vezes em cada modo, medindo a partir do
+ * início do processo:
+ *
+ * <ul>
+ *   <li>primeira requisição: a primeira resposta 200 de {@code /actuator/health/liveness};</li>
+ *   <li>prontidão: a primeira resposta 200 de {@code /actuator/health/readiness}, que inclui o aquecimento;</li>
+ *   <li>memória residente (RSS) do processo no momento da prontidão, lida de {@code /proc} (só no Linux);</li>
+ *   <li>heap usado depois de um GC completo pedido com {@code jcmd}, lido de {@code /actuator/metrics}.</li>
+ * </ul>
+ *
+ * <p>Cada inicialização roda sozinha, com H2 em memória, numa porta livre; a saída da aplicação vai
+ * para {@code logs/} dentro de {@code inicializacao.saida}.</p>
+ */
+public class BenchmarkInicializacao {
+
+    private static final Duration INTERVALO_CONSULTA = Duration.ofMillis(20);
+
+    private static final List<String> ARGUMENTOS_APLICACAO = List.of(
+            "--spring.datasource.url=jdbc:h2:mem:inicializacao;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.deliverytech=INFO",
+            "--management.tracing.sampling.probability=0");
+
+    private final ConfiguracaoInicializacao configuracao;
+    private final Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+    private final Path jcmd = Path.of(System.getProperty("java.home"), "bin", "jcmd");
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    BenchmarkInicializacao(ConfiguracaoInicializacao configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoInicializacao configuracao = ConfiguracaoInicializacao.doSistema();
+        RelatorioInicializacao relatorio = new BenchmarkInicializacao(configuracao).executar();
+        relatorio.gravar(configuracao.saida(), new ObjectMapper().findAndRegisterModules());
+        System.out.println();
+        System.out.println(relatorio.markdown());
+        System.out.println("Relatório gravado em " + configuracao.saida().toAbsolutePath());
+    }
+
+    RelatorioInicializacao executar() throws IOException, InterruptedException {
+        Path saida = configuracao.saida().toAbsolutePath();
+        Files.createDirectories(saida.resolve("logs"));
+        System.out.printf("Extraindo %s em %s%n", configuracao.jar(), saida.resolve("extraido"));
+        JarExtraido extraido = JarExtraido.extrair(configuracao.jar(), Files.createDirectories(saida.resolve("extraido")));
+
+        Map<Modo, List<Medicao>> medicoes = new EnumMap<>(Modo.class);
+        for (Modo modo : configuracao.modos()) {
+            if (modo.cds()) {
+                treinar(modo, extraido, saida);
+            }
+            List<Medicao> doModo = new ArrayList<>();
+            for (int i = 1; i <= configuracao.repeticoes(); i++) {
+                Medicao medicao = medir(modo, extraido, saida.resolve("logs").resolve(modo.rotulo() + "-" + i + ".log"));
+                System.out.printf("%-8s #%d: primeira requisição %d ms, prontidão %d ms, RSS %.1f MB, heap %.1f MB%n",
+                        modo.rotulo(), i, medicao.primeiraRequisicaoMs(), medicao.prontidaoMs(), medicao.rssMb(), medicao.heapMb());
+                doModo.add(medicao);
+            }
+            medicoes.put(modo, doModo);
+        }
+        return RelatorioInicializacao.gerar(configuracao, medicoes);
+    }
+
+    private void treinar(Modo modo, JarExtraido extraido, Path saida) throws IOException, InterruptedException {
+        Path arquivo = arquivoCds(modo, extraido);
+        Files.deleteIfExists(arquivo);
+        List<String> comando = new ArrayList<>(List.of(java.toString(), "-XX:ArchiveClassesAtExit=" + arquivo,
+                "-Dspring.context.exit=onRefresh"));
+        comando.addAll(argumentosJvm(modo, extraido, false));
+        Path log = saida.resolve("logs").resolve(modo.rotulo() + "-treino.log");
+        System.out.printf("Treinando o AppCDS de %s...%n", modo.rotulo());
+        Process processo = iniciar(comando, extraido.diretorio(), log);
+        if (!processo.waitFor(configuracao.limite().toSeconds(), TimeUnit.SECONDS)) {
+            processo.destroyForcibly();
+            throw new IllegalStateException("Treino de " + modo.rotulo() + " não terminou; veja " + log);
+        }
+        if (!Files.exists(arquivo)) {
+            throw new IllegalStateException("Treino de " + modo.rotulo() + " não gerou " + arquivo + "; veja " + log);
+        }
+    }
+
+    private Medicao medir(Modo modo, JarExtraido extraido, Path log) throws IOException, InterruptedException {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>(List.of(java.toString()));
+        comando.addAll(argumentosJvm(modo, extraido, true));
+        comando.add("--server.port=" + porta);
+
+        long inicio = System.nanoTime();
+        Process processo = iniciar(comando, modo == Modo.PADRAO ? configuracao.jar().toAbsolutePath().getParent() : extraido.diretorio(), log);
+        try {
+            long primeiraRequisicao = aguardar(processo, porta, "/actuator/health/liveness", inicio, log);
+            long prontidao = aguardar(processo, porta, "/actuator/health/readiness", inicio, log);
+            double rss = rssMb(processo);
+            return new Medicao(primeiraRequisicao, prontidao, rss, heapDepoisDoGcMb(processo, porta));
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> argumentosJvm(Modo modo, JarExtraido extraido, boolean usarCds) {
+        List<String> argumentos = new ArrayList<>();
+        if (modo.cds() && usarCds) {
+            // -Xshare:auto (o padrão) segue sem o arquivo se ele não casar com o classpath; o log da JVM avisa
+            argumentos.add("-XX:SharedArchiveFile=" + arquivoCds(modo, extraido));
+        }
+        if (modo.aot()) {
+            argumentos.add("-Dspring.aot.enabled=true");
+        }
+        if (modo == Modo.PADRAO) {
+            argumentos.addAll(List.of("-jar", configuracao.jar().getFileName().toString()));
+        } else {
+            argumentos.addAll(List.of("@" + JarExtraido.ARGUMENTOS_CLASSPATH, extraido.classePrincipal()));
+        }
+        argumentos.addAll(ARGUMENTOS_APLICACAO);
+        argumentos.addAll(configuracao.argumentos());
+        return argumentos;
+    }
+
+    private static Path arquivoCds(Modo modo, JarExtraido extraido) {
+        return extraido.diretorio().resolve(modo.rotulo().replace('+', '-') + ".jsa");
+    }
+
+    private static Process iniciar(List<String> comando, Path diretorio, Path log) throws IOException {
+        return new ProcessBuilder(comando)
+                .directory(diretorio.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    /** Milissegundos desde {@code inicio} até o endpoint responder 200. */
+    private long aguardar(Process processo, int porta, String caminho, long inicio, Path log) throws InterruptedException {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long limite = inicio + configuracao.limite().toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou antes de responder " + caminho + "; veja " + log);
+            }
+            try {
+                if (http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - inicio) / 1_000_000;
+                }
+            } catch (IOException e) {
+                // servidor ainda não está ouvindo
+            }
+            Thread.sleep(INTERVALO_CONSULTA);
+        }
+        throw new IllegalStateException("Sem resposta 200 de " + caminho + " em " + configuracao.limite() + "; veja " + log);
+    }
+
+    private static double rssMb(Process processo) {
+        Path status = Path.of("/proc", String.valueOf(processo.pid()), "status");
+        if (!Files.isReadable(status)) {
+            return Double.NaN;
+        }
+        try {
+            for (String linha : Files.readAllLines(status)) {
+                if (linha.startsWith("VmRSS:")) {
+                    return Long.parseLong(linha.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+            return Double.NaN;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Heap ocupado pelos objetos vivos: pede um GC completo e lê {@code jvm.memory.used} da área heap. */
+    private double heapDepoisDoGcMb(Process processo, int porta) throws IOException, InterruptedException {
+        Process gc = new ProcessBuilder(jcmd.toString(), String.valueOf(processo.pid()), "GC.run")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!gc.waitFor(60, TimeUnit.SECONDS) || gc.exitValue() != 0) {
+            gc.destroyForcibly();
+            return Double.NaN;
+        }
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + porta + "/actuator/metrics/jvm.memory.used?tag=area:heap"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            return Double.NaN;
+        }
+        return objectMapper.readTree(resposta.body()).path("measurements").path(0).path("value").asDouble() / (1024 * 1024);
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.inicializacao;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parâmetros do benchmark de inicialização, lidos de propriedades de sistema {@code inicializacao.*}.
+ * O perfil Maven {@code inicializacao} repassa as mesmas propriedades, então
+ * {@code mvn -Pinicializacao verify -Dinicializacao.repeticoes=10} funciona.
+ *
+ * @param jar        jar executável gerado pelo {@code package} (com as classes do AOT)
+ * @param repeticoes inicializações medidas por modo; o relatório usa a mediana
+ * @param limite     tempo máximo para a aplicação ficar pronta antes de a medição ser abortada
+ * @param argumentos argumentos extras da aplicação, separados por espaço (ex.: {@code --spring.profiles.active=prod})
+ */
+public record ConfiguracaoInicializacao(
+        Path jar,
+        int repeticoes,
+        Duration limite,
+        List<Modo> modos,
+        List<String> argumentos,
+        Path saida) {
+
+    public static ConfiguracaoInicializacao doSistema() {
+        return new ConfiguracaoInicializacao(
+                Path.of(System.getProperty("inicializacao.jar", "target/delivery-api-1.0.0.jar")),
+                Integer.getInteger("inicializacao.repeticoes", 5),
+                Duration.ofSeconds(Integer.getInteger("inicializacao.limite-s", 300)),
+                lerModos(System.getProperty("inicializacao.modos", "padrao,cds,aot-cds")),
+                lerArgumentos(System.getProperty("inicializacao.argumentos", "")),
+                Path.of(System.getProperty("inicializacao.saida", "target/inicializacao")));
+    }
+
+    private static List<String> lerArgumentos(String texto) {
+        return texto.isBlank() ? List.of() : List.of(texto.trim().split("\\s+"));
+    }
+
+    private static List<Modo> lerModos(String texto) {
+        List<Modo> modos = new ArrayList<>();
+        for (String parte : texto.split(",")) {
+            modos.add(Modo.valueOf(parte.trim().toUpperCase().replace('-', '_')));
+        }
+        return modos;
+    }
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.inicializacao;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * O mesmo layout que o Dockerfile monta: dependências em {@code lib/}, classes da aplicação em
+ * {@code application.jar} e o classpath num arquivo de argumentos ({@code @classpath.args}).
+ *
+ * <p>O AppCDS só arquiva classes carregadas de jars pelo class loader da aplicação: o class loader
+ * do jar executável do Spring Boot e diretórios de classes ficam de fora, por isso o jar é extraído.</p>
+ */
+record JarExtraido(Path diretorio, String classePrincipal) {
+
+    static final String ARGUMENTOS_CLASSPATH = "classpath.args";
+
+    static JarExtraido extrair(Path jar, Path diretorio) throws IOException {
+        Path lib = Files.createDirectories(diretorio.resolve("lib"));
+        List<String> dependencias = new ArrayList<>();
+        String classePrincipal;
+        try (JarFile origem = new JarFile(jar.toFile());
+             JarOutputStream aplicacao = new JarOutputStream(Files.newOutputStream(diretorio.resolve("application.jar")))) {
+            classePrincipal = origem.getManifest().getMainAttributes().getValue("Start-Class");
+            Enumeration<JarEntry> entradas = origem.entries();
+            while (entradas.hasMoreElements()) {
+                JarEntry entrada = entradas.nextElement();
+                String nome = entrada.getName();
+                if (nome.startsWith("BOOT-INF/lib/") && !entrada.isDirectory()) {
+                    String arquivo = nome.substring("BOOT-INF/lib/".length());
+                    try (InputStream in = origem.getInputStream(entrada)) {
+                        Files.copy(in, lib.resolve(arquivo), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    dependencias.add(arquivo);
+                } else if (nome.startsWith("BOOT-INF/classes/") && nome.length() > "BOOT-INF/classes/".length()) {
+                    // as entradas de diretório também vão: a varredura de componentes do Spring parte delas
+                    aplicacao.putNextEntry(new ZipEntry(nome.substring("BOOT-INF/classes/".length())));
+                    if (!entrada.isDirectory()) {
+                        try (InputStream in = origem.getInputStream(entrada)) {
+                            in.transferTo(aplicacao);
+                        }
+                    }
+                    aplicacao.closeEntry();
+                }
+            }
+        }
+        dependencias.sort(null);
+        StringBuilder classpath = new StringBuilder("-cp application.jar");
+        dependencias.forEach(d -> classpath.append(File.pathSeparatorChar).append("lib/").append(d));
+        Files.writeString(diretorio.resolve(ARGUMENTOS_CLASSPATH), classpath + System.lineSeparator());
+        return new JarExtraido(diretorio, classePrincipal);
+    }
+}
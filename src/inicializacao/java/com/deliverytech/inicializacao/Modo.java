@@ -0,0 +1,34 @@
+package com.deliverytech.inicializacao;
+
+/** Como a aplicação é iniciada em cada medição. */
+enum Modo {
+
+    /** {@code java -jar} no jar executável, como o Dockerfile fazia antes. */
+    PADRAO(false, false),
+
+    /** Jar extraído no classpath com o arquivo AppCDS gerado num treino. */
+    CDS(false, true),
+
+    /** Como {@link #CDS}, usando as definições de beans geradas pelo AOT do Spring. */
+    AOT_CDS(true, true);
+
+    private final boolean aot;
+    private final boolean cds;
+
+    Modo(boolean aot, boolean cds) {
+        this.aot = aot;
+        this.cds = cds;
+    }
+
+    boolean aot() {
+        return aot;
+    }
+
+    boolean cds() {
+        return cds;
+    }
+
+    String rotulo() {
+        return name().toLowerCase().replace('_', '+');
+    }
+}
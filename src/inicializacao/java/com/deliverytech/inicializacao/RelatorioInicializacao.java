@@ -0,0 +1,92 @@
+package com.deliverytech.inicializacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/** Medianas por modo de inicialização, gravadas em JSON (para comparação entre execuções) e em Markdown. */
+record RelatorioInicializacao(
+        LocalDateTime dataExecucao,
+        String versaoJava,
+        int repeticoes,
+        List<String> argumentos,
+        List<Linha> modos) {
+
+    record Medicao(long primeiraRequisicaoMs, long prontidaoMs, double rssMb, double heapMb) {}
+
+    record Linha(String modo, double primeiraRequisicaoMs, double prontidaoMs, double rssMb, double heapMb,
+                 double ganhoPrimeiraRequisicao, double ganhoRss, List<Medicao> medicoes) {}
+
+    static RelatorioInicializacao gerar(ConfiguracaoInicializacao configuracao, Map<Modo, List<Medicao>> porModo) {
+        List<Linha> linhas = new ArrayList<>();
+        List<Medicao> referencia = porModo.get(Modo.PADRAO);
+        porModo.forEach((modo, medicoes) -> {
+            double primeira = mediana(medicoes, Medicao::primeiraRequisicaoMs);
+            double rss = mediana(medicoes, Medicao::rssMb);
+            linhas.add(new Linha(modo.rotulo(), primeira, mediana(medicoes, Medicao::prontidaoMs), rss,
+                    mediana(medicoes, Medicao::heapMb),
+                    referencia == null ? Double.NaN : 1 - primeira / mediana(referencia, Medicao::primeiraRequisicaoMs),
+                    referencia == null ? Double.NaN : 1 - rss / mediana(referencia, Medicao::rssMb),
+                    medicoes));
+        });
+        return new RelatorioInicializacao(LocalDateTime.now(), Runtime.version().toString(), configuracao.repeticoes(),
+                configuracao.argumentos(), linhas);
+    }
+
+    private static double mediana(List<Medicao> medicoes, ToDoubleFunction<Medicao> valor) {
+        double[] ordenados = medicoes.stream().mapToDouble(valor).sorted().toArray();
+        if (ordenados.length == 0) {
+            return Double.NaN;
+        }
+        int meio = ordenados.length / 2;
+        return ordenados.length % 2 == 1 ? ordenados[meio] : (ordenados[meio - 1] + ordenados[meio]) / 2;
+    }
+
+    void gravar(Path diretorio, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(diretorio);
+        objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(diretorio.resolve("relatorio.json").toFile(), this);
+        Files.writeString(diretorio.resolve("relatorio.md"), markdown());
+    }
+
+    String markdown() {
+        StringBuilder md = new StringBuilder();
+        md.append("# Benchmark de inicialização - ").append(dataExecucao.withNano(0)).append("\n\n");
+        md.append(String.format(Locale.ROOT, "- Java %s, mediana de %d inicializações por modo%n", versaoJava, repeticoes));
+        if (!argumentos.isEmpty()) {
+            md.append("- Argumentos da aplicação: `").append(String.join(" ", argumentos)).append("`\n");
+        }
+        md.append("- Primeira requisição: `/actuator/health/liveness`; prontidão: `/actuator/health/readiness` (inclui o aquecimento)\n\n");
+
+        md.append("| Modo | Primeira requisição (ms) | Prontidão (ms) | RSS (MB) | Heap após GC (MB) | Ganho na 1ª requisição | Ganho de RSS |\n");
+        md.append("|---|---:|---:|---:|---:|---:|---:|\n");
+        for (Linha l : modos) {
+            md.append(String.format(Locale.ROOT, "| %s | %.0f | %.0f | %.1f | %.1f | %s | %s |%n",
+                    l.modo(), l.primeiraRequisicaoMs(), l.prontidaoMs(), l.rssMb(), l.heapMb(),
+                    percentual(l.ganhoPrimeiraRequisicao()), percentual(l.ganhoRss())));
+        }
+        md.append("\nMedições individuais (1ª requisição ms / prontidão ms / RSS MB / heap MB):\n\n");
+        for (Linha l : modos) {
+            md.append("- ").append(l.modo()).append(": ").append(Arrays.toString(l.medicoes().stream()
+                    .map(m -> String.format(Locale.ROOT, "%d/%d/%.0f/%.0f", m.primeiraRequisicaoMs(), m.prontidaoMs(), m.rssMb(), m.heapMb()))
+                    .toArray())).append('\n');
+        }
+        return md.toString();
+    }
+
+    private static String percentual(double fracao) {
+        return Double.isNaN(fracao) ? "-" : String.format(Locale.ROOT, "%+.1f%%", fracao * 100);
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Dados fixos e com valores realistas, compartilhados pelos benchmarks. */
+final class DadosBenchmark {
+
+    private static final String[] PRATOS = {"Pizza Calabresa", "Feijoada Completa", "Açaí 500ml", "Moqueca de Camarão",
+            "Pão de Queijo", "Coxinha de Frango", "Hambúrguer Artesanal", "Lasanha Bolonhesa", "Strogonoff", "Tapioca de Queijo"};
+
+    private DadosBenchmark() {
+    }
+
+    static Endereco endereco() {
+        return Endereco.builder()
+                .rua("Avenida Paulista")
+                .numero("1578")
+                .bairro("Bela Vista")
+                .cidade("São Paulo")
+                .estado("SP")
+                .cep("01310-200")
+                .build();
+    }
+
+    static List<Produto> produtos(Restaurante restaurante, int quantidade) {
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            produtos.add(Produto.builder()
+                    .id((long) i + 1)
+                    .nome(PRATOS[i % PRATOS.length])
+                    .categoria("Brasileira")
+                    .descricao("Serve 1 pessoa")
+                    .preco(preco(i))
+                    .disponivel(true)
+                    .restaurante(restaurante)
+                    .build());
+        }
+        return produtos;
+    }
+
+    // R$ 12,90 mais centavos variados, para que as somas não fiquem em valores redondos
+    static Dinheiro preco(int i) {
+        return Dinheiro.deCentavos(1290 + i * 137L % 5000);
+    }
+
+    static PedidoResponse pedidoResponse(long id, int itens) {
+        List<ItemPedidoResponse> itensResp = new ArrayList<>(itens);
+        long total = 0;
+        for (int i = 0; i < itens; i++) {
+            Dinheiro preco = preco(i);
+            itensResp.add(new ItemPedidoResponse((long) i + 1, PRATOS[i % PRATOS.length], 1 + i % 3, preco));
+            total = Dinheiro.acumular(total, preco, 1 + i % 3);
+        }
+        return new PedidoResponse(id, 42L, 7L, endereco(), Dinheiro.deCentavos(total), StatusPedido.CRIADO,
+                LocalDateTime.of(2025, 3, 14, 19, 30, 15), itensResp);
+    }
+}
@@ -0,0 +1,74 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.despacho.MotorDespacho;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma rodada do {@link MotorDespacho} numa cidade com 10 mil pedidos em preparo, saídos de 1.500
+ * restaurantes espalhados num quadrado de uns 30 km em volta do centro de São Paulo, com entregadores
+ * de moto e de bicicleta sorteados no mesmo quadrado. A rodada agendada roda a cada 5 segundos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DespachoBenchmark {
+
+    private static final int PEDIDOS = 10_000;
+    private static final int RESTAURANTES = 1_500;
+    private static final double LATITUDE = -23.55;
+    private static final double LONGITUDE = -46.63;
+    private static final double MEIO_LADO_GRAUS = 0.135;
+
+    @Param({"2000", "10000"})
+    int entregadores;
+
+    private final MotorDespacho motor = new MotorDespacho(8, 10);
+    private List<MotorDespacho.PedidoPendente> pedidos;
+    private List<MotorDespacho.EntregadorLivre> livres;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        double[][] restaurantes = new double[RESTAURANTES][];
+        for (int i = 0; i < RESTAURANTES; i++) {
+            restaurantes[i] = new double[]{sortear(random, LATITUDE), sortear(random, LONGITUDE)};
+        }
+        pedidos = new ArrayList<>(PEDIDOS);
+        for (int i = 0; i < PEDIDOS; i++) {
+            double[] coleta = restaurantes[random.nextInt(RESTAURANTES)];
+            pedidos.add(new MotorDespacho.PedidoPendente(i + 1, coleta[0], coleta[1]));
+        }
+        livres = new ArrayList<>(entregadores);
+        for (int i = 0; i < entregadores; i++) {
+            livres.add(new MotorDespacho.EntregadorLivre(i + 1, sortear(random, LATITUDE), sortear(random, LONGITUDE),
+                    random.nextInt(4) == 0 ? 12 : 25));
+        }
+    }
+
+    @Benchmark
+    public List<MotorDespacho.Atribuicao> atribuir() {
+        return motor.atribuir(pedidos, livres);
+    }
+
+    private static double sortear(Random random, double centro) {
+        return centro + random.nextDouble(-MEIO_LADO_GRAUS, MEIO_LADO_GRAUS);
+    }
+}
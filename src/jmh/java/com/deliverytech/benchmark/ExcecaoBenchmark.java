@@ -0,0 +1,149 @@
+package com.deliverytech.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.deliverytech.controller.RestauranteController;
+import com.deliverytech.dto.request.RestauranteRequest;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caminho de erro: criação da exceção, mapeamento no {@link GlobalExceptionHandler}
+ * e, nos benchmarks {@code resolver*}, a resolução completa pelo Spring MVC até o JSON escrito na resposta.
+ *
+ * <p>Os benchmarks {@code criar*} lançam a exceção com {@code profundidade} frames na pilha, perto do que
+ * uma requisição real tem entre o Tomcat, os filtros, os proxies e o controller: a captura da pilha cresce
+ * com ela, a das exceções de negócio (sem pilha) não. {@code caminho*} compara a extração do caminho que
+ * o handler fazia ({@code getDescription} e {@code replace}) com {@code getRequestURI}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcecaoBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ExceptionHandlerExceptionResolver resolver;
+    private MockHttpServletRequest request;
+    private WebRequest webRequest;
+    private MethodParameter parametroCadastro;
+
+    @State(Scope.Benchmark)
+    public static class Pilha {
+
+        @Param({"20", "150"})
+        int profundidade;
+    }
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        // o handler genérico registra a pilha em ERROR; a escrita do log não faz parte desta medida
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/restaurantes/42");
+        webRequest = new ServletWebRequest(request);
+        parametroCadastro = new MethodParameter(RestauranteController.class.getMethod("cadastrar", RestauranteRequest.class), 0);
+
+        StaticWebApplicationContext contexto = new StaticWebApplicationContext();
+        contexto.registerSingleton("globalExceptionHandler", GlobalExceptionHandler.class);
+        contexto.refresh();
+        resolver = new ExceptionHandlerExceptionResolver();
+        resolver.setApplicationContext(contexto);
+        resolver.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build())));
+        resolver.afterPropertiesSet();
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> naoEncontrado() {
+        return handler.handleNotFoundExceptions(new EntityNotFoundException("Restaurante", 42L), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validacao() {
+        return handler.handleValidationExceptions(erroValidacao(), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> generico() {
+        return handler.handleGenericExceptions(new IllegalStateException("Falha inesperada"), request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse resolverNaoEncontrado() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resolver.resolveException(request, response, null, new EntityNotFoundException("Restaurante", 42L));
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse resolverValidacao() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resolver.resolveException(request, response, null, erroValidacao());
+        return response;
+    }
+
+    @Benchmark
+    public RuntimeException criarComPilha(Pilha pilha) {
+        return criarEm(pilha.profundidade, () -> new IllegalStateException("Restaurante com ID 42 não encontrado"));
+    }
+
+    @Benchmark
+    public RuntimeException criarSemPilha(Pilha pilha) {
+        return criarEm(pilha.profundidade, () -> new EntityNotFoundException("Restaurante", 42L));
+    }
+
+    @Benchmark
+    public String caminhoDescricao() {
+        return webRequest.getDescription(false).replace("uri=", "");
+    }
+
+    @Benchmark
+    public String caminhoUri() {
+        return request.getRequestURI();
+    }
+
+    private static RuntimeException criarEm(int profundidade, Supplier<RuntimeException> excecao) {
+        return profundidade <= 1 ? excecao.get() : criarEm(profundidade - 1, excecao);
+    }
+
+    private MethodArgumentNotValidException erroValidacao() {
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(new RestauranteRequest(), "restauranteRequest");
+        resultado.addError(new FieldError("restauranteRequest", "nome", "O nome não pode estar em branco"));
+        resultado.addError(new FieldError("restauranteRequest", "telefone", "O telefone não pode estar em branco"));
+        resultado.addError(new FieldError("restauranteRequest", "taxaEntrega", "A taxa de entrega é obrigatória"));
+        return new MethodArgumentNotValidException(parametroCadastro, resultado);
+    }
+}
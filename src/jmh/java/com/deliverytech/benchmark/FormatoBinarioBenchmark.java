@@ -0,0 +1,119 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.config.JacksonConfig;
+import com.deliverytech.dto.response.PageResponse;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON contra CBOR e Smile na codificação e decodificação de uma página de pedidos, com os
+ * mapeadores montados como nos conversores HTTP da aplicação (mesmo builder do Spring Boot,
+ * trocando só a fábrica). O tamanho do corpo, cru e com gzip, sai no log de cada fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoBinarioBenchmark {
+
+    private static final int PEDIDOS_POR_PAGINA = 20;
+
+    public enum Formato {
+        JSON(JsonFactory::new), CBOR(CBORFactory::new), SMILE(SmileFactory::new);
+
+        private final Supplier<JsonFactory> fabrica;
+
+        Formato(Supplier<JsonFactory> fabrica) {
+            this.fabrica = fabrica;
+        }
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    Formato formato;
+
+    @Param({"1", "10"})
+    int itens;
+
+    private ConfigurableApplicationContext contexto;
+    private ObjectWriter escritor;
+    private ObjectReader leitor;
+    private PageResponse<PedidoResponse> pagina;
+    private byte[] codificada;
+
+    @Setup
+    public void preparar() throws IOException {
+        contexto = new SpringApplicationBuilder(JacksonAutoConfiguration.class, JacksonConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        ObjectMapper mapper = contexto.getBean(Jackson2ObjectMapperBuilder.class).factory(formato.fabrica.get()).build();
+        TypeReference<PageResponse<PedidoResponse>> tipo = new TypeReference<>() {};
+        escritor = mapper.writerFor(tipo);
+        leitor = mapper.readerFor(tipo);
+
+        List<PedidoResponse> pedidos = new ArrayList<>(PEDIDOS_POR_PAGINA);
+        for (int i = 0; i < PEDIDOS_POR_PAGINA; i++) {
+            pedidos.add(DadosBenchmark.pedidoResponse(i + 1, itens));
+        }
+        pagina = new PageResponse<>(pedidos, 1_000L, 50, PEDIDOS_POR_PAGINA, 0);
+        codificada = escritor.writeValueAsBytes(pagina);
+        System.out.printf("%n%s com %d itens por pedido: %d bytes por página (%d com gzip)%n",
+                formato, itens, codificada.length, gzip(codificada));
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private static int gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.size();
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        return escritor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public PageResponse<PedidoResponse> decodificar() throws IOException {
+        return leitor.readValue(codificada);
+    }
+}
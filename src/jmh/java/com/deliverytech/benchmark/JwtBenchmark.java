@@ -0,0 +1,57 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.model.Role;
+import com.deliverytech.model.Usuario;
+import com.deliverytech.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/** Geração e validação de tokens, feitas respectivamente no login e em toda requisição autenticada. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil();
+        usuario = Usuario.builder().id(42L).email("maria@teste.com").nome("Maria Silva").role(Role.CLIENTE).build();
+        userDetails = User.withUsername(usuario.getEmail()).password("{noop}senha").roles(Role.CLIENTE.name()).build();
+        token = jwtUtil.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public boolean validarToken() {
+        return jwtUtil.isTokenValid(token, userDetails);
+    }
+
+    @Benchmark
+    public String extrairUsuario() {
+        return jwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.controller.PedidoController;
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.precificacao.TabelaPrecos;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.ExportacaoPedidoService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.PrecificacaoService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Montagem do pedido em {@link PedidoController#criar}: cotação pela {@link TabelaPrecos}, busca dos
+ * produtos, criação dos itens e conversão para {@link PedidoResponse}. Os serviços são substituídos
+ * por respostas em memória, então o banco não entra na medida.
+ *
+ * <p>Os benchmarks {@code total*} isolam a soma do pedido: em centavos num {@code long}, como o
+ * a tabela de preços faz, com as operações imutáveis de {@link Dinheiro} e com {@link BigDecimal}, como era
+ * antes. Rode com {@code -prof gc} para ver a alocação por operação.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "100"})
+    int itens;
+
+    private PedidoController controller;
+    private PedidoRequest request;
+    private MockHttpServletRequest requisicao;
+    private List<ItemPedido> itensMontados;
+    private BigDecimal[] precosDecimais;
+
+    @Setup
+    public void preparar() {
+        Cliente cliente = Cliente.builder().id(42L).nome("Maria Silva").email("maria@teste.com").build();
+        Restaurante restaurante = Restaurante.builder().id(7L).nome("Cantina da Nona").categoria("Italiana").build();
+        Map<Long, Produto> produtos = new HashMap<>();
+        DadosBenchmark.produtos(restaurante, itens).forEach(p -> produtos.put(p.getId(), p));
+        TabelaPrecos tabela = TabelaPrecos.compilar(restaurante, produtos.values(), List.of(), LocalDateTime.of(2025, 3, 14, 19, 30));
+
+        PedidoService pedidoService = Stubs.servico(PedidoService.class, Map.<String, Function<Object[], Object>>of(
+                "criar", args -> {
+                    Pedido pedido = (Pedido) args[0];
+                    pedido.setId(1000L);
+                    pedido.setDataPedido(LocalDateTime.of(2025, 3, 14, 19, 30));
+                    return pedido;
+                }));
+        controller = new PedidoController(
+                pedidoService,
+                Stubs.servico(ClienteService.class, Map.of("buscarPorId", args -> Optional.of(cliente))),
+                Stubs.servico(RestauranteService.class, Map.of("buscarPorId", args -> Optional.of(restaurante))),
+                Stubs.servico(ProdutoService.class, Map.of("buscarPorId", args -> Optional.ofNullable(produtos.get((Long) args[0])))),
+                Stubs.servico(ExportacaoPedidoService.class, Map.of()),
+                Stubs.servico(PrecificacaoService.class, Map.of("cotar", args -> tabela.cotar(itensRequest(args[1]), (String) args[2]))));
+
+        List<ItemPedidoRequest> itensRequest = new ArrayList<>(itens);
+        itensMontados = new ArrayList<>(itens);
+        precosDecimais = new BigDecimal[itens];
+        for (long id = 1; id <= itens; id++) {
+            int quantidade = 1 + (int) (id % 3);
+            itensRequest.add(new ItemPedidoRequest(id, quantidade));
+            itensMontados.add(ItemPedido.builder().produto(produtos.get(id)).quantidade(quantidade).precoUnitario(produtos.get(id).getPreco()).build());
+            precosDecimais[(int) id - 1] = produtos.get(id).getPreco().paraBigDecimal();
+        }
+        request = new PedidoRequest(42L, 7L, DadosBenchmark.endereco(), itensRequest, null);
+        requisicao = new MockHttpServletRequest("POST", "/api/pedidos");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ItemPedidoRequest> itensRequest(Object argumento) {
+        return (List<ItemPedidoRequest>) argumento;
+    }
+
+    @Benchmark
+    public ResponseEntity<PedidoResponse> criar() {
+        // o Spring MVC cria um builder por requisição para o parâmetro UriComponentsBuilder do controller
+        return controller.criar(request, ServletUriComponentsBuilder.fromServletMapping(requisicao));
+    }
+
+    /** A mesma soma feita em {@code criar}, isolada do restante da montagem. */
+    @Benchmark
+    public Dinheiro totalCentavos() {
+        long centavos = 0;
+        for (ItemPedido item : itensMontados) {
+            centavos = Dinheiro.acumular(centavos, item.getPrecoUnitario(), item.getQuantidade());
+        }
+        return Dinheiro.deCentavos(centavos);
+    }
+
+    @Benchmark
+    public Dinheiro totalDinheiro() {
+        Dinheiro total = Dinheiro.ZERO;
+        for (ItemPedido item : itensMontados) {
+            total = total.mais(item.getPrecoUnitario().vezes(item.getQuantidade()));
+        }
+        return total;
+    }
+
+    /** A soma como era antes do {@link Dinheiro}, com os mesmos preços em {@link BigDecimal}. */
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < precosDecimais.length; i++) {
+            total = total.add(precosDecimais[i].multiply(BigDecimal.valueOf(itensMontados.get(i).getQuantidade())));
+        }
+        return total;
+    }
+}
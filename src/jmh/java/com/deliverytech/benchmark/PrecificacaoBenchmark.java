@@ -0,0 +1,87 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.response.CotacaoResponse;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.EscopoPromocao;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Promocao;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.precificacao.TabelaPrecos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cotação de uma cesta pela {@link TabelaPrecos} de um restaurante com 200 produtos, 20 promoções de
+ * produto, uma de categoria e um cupom percentual, e a compilação da tabela, que roda a cada invalidação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrecificacaoBenchmark {
+
+    private static final int PRODUTOS = 200;
+    private static final LocalDateTime AGORA = LocalDateTime.of(2025, 3, 14, 19, 30);
+
+    @Param({"1", "10", "100"})
+    int itens;
+
+    private Restaurante restaurante;
+    private List<Produto> produtos;
+    private List<Promocao> promocoes;
+    private TabelaPrecos tabela;
+    private List<ItemPedidoRequest> cesta;
+
+    @Setup
+    public void preparar() {
+        restaurante = Restaurante.builder().id(7L).nome("Cantina da Nona").categoria("Italiana").taxaEntrega(Dinheiro.de("7.90")).build();
+        produtos = DadosBenchmark.produtos(restaurante, PRODUTOS);
+        promocoes = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            promocoes.add(Promocao.builder().id(id).restauranteId(7L).escopo(EscopoPromocao.PRODUTO)
+                    .produtoId(id * 7).descontoPontosBase(1500).inicio(AGORA.minusDays(1)).fim(AGORA.plusDays(1)).build());
+        }
+        promocoes.add(Promocao.builder().id(21L).restauranteId(7L).escopo(EscopoPromocao.CATEGORIA)
+                .categoria("Brasileira").descontoValor(Dinheiro.de("1.00")).build());
+        promocoes.add(Promocao.builder().id(22L).restauranteId(7L).escopo(EscopoPromocao.CUPOM)
+                .codigoCupom("BEMVINDO10").descontoPontosBase(1000).valorMinimoPedido(Dinheiro.de("10.00")).build());
+        tabela = TabelaPrecos.compilar(restaurante, produtos, promocoes, AGORA);
+
+        cesta = new ArrayList<>(itens);
+        for (int i = 0; i < itens; i++) {
+            cesta.add(new ItemPedidoRequest((long) (i * 37 % PRODUTOS) + 1, 1 + i % 3));
+        }
+    }
+
+    @Benchmark
+    public CotacaoResponse cotar() {
+        return tabela.cotar(cesta, "bemvindo10");
+    }
+
+    @Benchmark
+    public CotacaoResponse cotarSemCupom() {
+        return tabela.cotar(cesta, null);
+    }
+
+    @Benchmark
+    public TabelaPrecos compilar() {
+        return TabelaPrecos.compilar(restaurante, produtos, promocoes, AGORA);
+    }
+}
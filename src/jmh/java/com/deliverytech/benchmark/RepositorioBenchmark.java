@@ -0,0 +1,152 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.DeliveryTechApiApplication;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finders dos repositórios contra um H2 em memória com volumes de uma operação real:
+ * 500 restaurantes com 50 produtos cada, 10 mil clientes e 200 mil pedidos com 2 itens.
+ * Cada chamada roda fora de transação, como nos serviços que não são {@code @Transactional}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RepositorioBenchmark {
+
+    private static final int RESTAURANTES = 500;
+    private static final int PRODUTOS = RESTAURANTES * 50;
+    private static final int CLIENTES = 10_000;
+    private static final int PEDIDOS = 200_000;
+    private static final String[] CATEGORIAS = {"Pizza", "Brasileira", "Lanches", "Doces", "Saudável",
+            "Japonesa", "Árabe", "Italiana", "Mexicana", "Vegana"};
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutoRepository produtoRepository;
+    private RestauranteRepository restauranteRepository;
+    private ClienteRepository clienteRepository;
+    private PedidoRepository pedidoRepository;
+    private int sequencia;
+
+    @Setup
+    public void preparar() {
+        // argumentos de linha de comando têm precedência sobre o application.properties
+        contexto = new SpringApplicationBuilder(DeliveryTechApiApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.deliverytech=WARN",
+                "--management.tracing.enabled=false");
+        popular(contexto.getBean(JdbcTemplate.class));
+
+        produtoRepository = contexto.getBean(ProdutoRepository.class);
+        restauranteRepository = contexto.getBean(RestauranteRepository.class);
+        clienteRepository = contexto.getBean(ClienteRepository.class);
+        pedidoRepository = contexto.getBean(PedidoRepository.class);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private static void popular(JdbcTemplate jdbc) {
+        String categoria = "casewhen(mod(x, 10) = 0, '" + CATEGORIAS[0] + "', casewhen(mod(x, 10) = 1, '" + CATEGORIAS[1] + "', "
+                + "casewhen(mod(x, 10) = 2, '" + CATEGORIAS[2] + "', casewhen(mod(x, 10) = 3, '" + CATEGORIAS[3] + "', "
+                + "casewhen(mod(x, 10) = 4, '" + CATEGORIAS[4] + "', casewhen(mod(x, 10) = 5, '" + CATEGORIAS[5] + "', "
+                + "casewhen(mod(x, 10) = 6, '" + CATEGORIAS[6] + "', casewhen(mod(x, 10) = 7, '" + CATEGORIAS[7] + "', "
+                + "casewhen(mod(x, 10) = 8, '" + CATEGORIAS[8] + "', '" + CATEGORIAS[9] + "')))))))))";
+
+        jdbc.execute("insert into cliente (id, nome, email, ativo, data_criacao) "
+                + "select x, 'Cliente ' || x, 'cliente' || x || '@teste.com', true, current_timestamp from system_range(1, " + CLIENTES + ")");
+        jdbc.execute("insert into restaurante (id, nome, categoria, telefone, taxa_entrega, tempo_entrega_minutos, ativo) "
+                + "select x, 'Restaurante ' || x, " + categoria + ", '11999999999', 5.00 + mod(x, 7), 20 + mod(x, 40), mod(x, 20) <> 0 "
+                + "from system_range(1, " + RESTAURANTES + ")");
+        jdbc.execute("insert into produto (id, nome, categoria, descricao, preco, disponivel, restaurante_id) "
+                + "select x, 'Produto ' || x, " + categoria + ", 'Serve 1 pessoa', 9.90 + mod(x, 60), mod(x, 15) <> 0, mod(x, "
+                + RESTAURANTES + ") + 1 from system_range(1, " + PRODUTOS + ")");
+        jdbc.execute("insert into pedido (id, cliente_id, restaurante_id, total, status, data_pedido, rua, numero, bairro, cidade, estado, cep) "
+                + "select x, mod(x, " + CLIENTES + ") + 1, mod(x, " + RESTAURANTES + ") + 1, 79.80, "
+                + "casewhen(mod(x, 10) = 0, 'CANCELADO', 'ENTREGUE'), timestamp '2025-01-01 00:00:00' + mod(x, 90) * interval '1' day, "
+                + "'Rua A', '10', 'Centro', 'São Paulo', 'SP', '01000-000' from system_range(1, " + PEDIDOS + ")");
+        jdbc.execute("insert into item_pedido (id, pedido_id, produto_id, quantidade, preco_unitario) "
+                + "select x, (x + 1) / 2, mod(x, " + PRODUTOS + ") + 1, 1 + mod(x, 3), 39.90 from system_range(1, " + PEDIDOS * 2 + ")");
+        jdbc.execute("analyze");
+    }
+
+    private long proximo(int limite) {
+        sequencia = sequencia % limite + 1;
+        return sequencia;
+    }
+
+    @Benchmark
+    public Optional<Pedido> pedidoPorId() {
+        return pedidoRepository.findById(proximo(PEDIDOS));
+    }
+
+    @Benchmark
+    public List<Pedido> pedidosPorCliente() {
+        return pedidoRepository.findByClienteId(proximo(CLIENTES));
+    }
+
+    @Benchmark
+    public List<Pedido> pedidosPorRestaurante() {
+        return pedidoRepository.findByRestauranteId(proximo(RESTAURANTES));
+    }
+
+    @Benchmark
+    public List<Produto> produtosPorRestaurante() {
+        return produtoRepository.findByRestauranteId(proximo(RESTAURANTES));
+    }
+
+    @Benchmark
+    public List<Produto> produtosPorCategoria() {
+        return produtoRepository.findByCategoria(CATEGORIAS[(int) proximo(CATEGORIAS.length) - 1]);
+    }
+
+    @Benchmark
+    public List<Restaurante> restaurantesPorCategoria() {
+        return restauranteRepository.findByCategoria(CATEGORIAS[(int) proximo(CATEGORIAS.length) - 1]);
+    }
+
+    @Benchmark
+    public Page<Restaurante> restaurantesAtivosPaginados() {
+        return restauranteRepository.findByAtivoTrue(PageRequest.of((int) proximo(20) - 1, 20));
+    }
+
+    @Benchmark
+    public Optional<Cliente> clientePorEmail() {
+        return clienteRepository.findByEmail("cliente" + proximo(CLIENTES) + "@teste.com");
+    }
+}
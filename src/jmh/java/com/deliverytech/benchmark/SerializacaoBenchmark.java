@@ -0,0 +1,82 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.config.JacksonConfig;
+import com.deliverytech.dto.response.PageResponse;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização das respostas de pedido com o mesmo {@link ObjectMapper} que a aplicação recebe
+ * da autoconfiguração do Spring Boot (incluindo as propriedades {@code spring.jackson.*} e os
+ * módulos de {@link JacksonConfig}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private static final int PEDIDOS_POR_PAGINA = 20;
+
+    @Param({"1", "10", "50"})
+    int itens;
+
+    private ConfigurableApplicationContext contexto;
+    private ObjectMapper objectMapper;
+    private PedidoResponse pedido;
+    private PageResponse<PedidoResponse> pagina;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(JacksonAutoConfiguration.class, JacksonConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        objectMapper = contexto.getBean(ObjectMapper.class);
+
+        pedido = DadosBenchmark.pedidoResponse(1, itens);
+        List<PedidoResponse> pedidos = new ArrayList<>(PEDIDOS_POR_PAGINA);
+        for (int i = 0; i < PEDIDOS_POR_PAGINA; i++) {
+            pedidos.add(DadosBenchmark.pedidoResponse(i + 1, itens));
+        }
+        pagina = new PageResponse<>(pedidos, 1_000L, 50, PEDIDOS_POR_PAGINA, 0);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] pedidoResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] pageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
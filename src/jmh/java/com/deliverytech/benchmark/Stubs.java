@@ -0,0 +1,31 @@
+package com.deliverytech.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Implementações mínimas de interfaces de serviço para isolar o código medido. Só os métodos
+ * informados respondem; qualquer outro lança exceção, o que evita medir caminhos inesperados.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T servico(Class<T> tipo, Map<String, Function<Object[], Object>> metodos) {
+        Object proxy = Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (self, metodo, args) -> {
+            Function<Object[], Object> implementacao = metodos.get(metodo.getName());
+            if (implementacao != null) {
+                return implementacao.apply(args);
+            }
+            return switch (metodo.getName()) {
+                case "toString" -> "Stub de " + tipo.getSimpleName();
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> throw new UnsupportedOperationException(tipo.getSimpleName() + "." + metodo.getName());
+            };
+        });
+        return tipo.cast(proxy);
+    }
+}
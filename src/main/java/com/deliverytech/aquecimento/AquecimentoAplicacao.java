@@ -0,0 +1,234 @@
+package com.deliverytech.aquecimento;
+
+import com.deliverytech.controller.PedidoController;
+import com.deliverytech.controller.ProdutoController;
+import com.deliverytech.controller.RestauranteController;
+import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Role;
+import com.deliverytech.model.Usuario;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.security.JwtUtil;
+import com.deliverytech.service.CatalogoService;
+import com.deliverytech.service.RestauranteService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aquecimento na inicialização. Roda como {@link ApplicationRunner}, ou seja, depois de o contexto
+ * subir e antes do {@code ApplicationReadyEvent}, que é quando a prontidão passa a aceitar tráfego:
+ * enquanto ele não termina o grupo {@code readiness} do health fica fora de serviço.
+ *
+ * <ol>
+ *   <li>Carrega nos caches (cardápios e cache de segundo nível) os restaurantes com mais pedidos na
+ *       janela recente, completando com restaurantes ativos quando há poucos pedidos.</li>
+ *   <li>Executa os caminhos principais pelo número de iterações configurado, chamando os controllers
+ *       diretamente e serializando as respostas com o ObjectMapper da aplicação: validação de JWT,
+ *       busca de restaurante, cardápio, página de produtos e criação de pedido numa transação desfeita.</li>
+ * </ol>
+ *
+ * <p>Sem passar pelo HTTP o aquecimento não consome o limite de taxa nem entra nas métricas de
+ * requisições; os serviços com {@code @Timed} registram as chamadas como qualquer outra. Uma falha
+ * no aquecimento é registrada em log e não impede a aplicação de ficar pronta.</p>
+ */
+@Component("aquecimento")
+public class AquecimentoAplicacao implements ApplicationRunner, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoAplicacao.class);
+    private static final Pageable PRIMEIRA_PAGINA = PageRequest.of(0, 20);
+
+    private final PedidoRepository pedidoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ClienteRepository clienteRepository;
+    private final RestauranteService restauranteService;
+    private final CatalogoService catalogoService;
+    private final RestauranteController restauranteController;
+    private final ProdutoController produtoController;
+    private final PedidoController pedidoController;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate leitura;
+    private final TransactionTemplate desfeita;
+
+    @Value("${deliverytech.aquecimento.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${deliverytech.aquecimento.restaurantes:20}")
+    private int quantidadeRestaurantes;
+
+    @Value("${deliverytech.aquecimento.janela-pedidos:P7D}")
+    private Duration janelaPedidos;
+
+    @Value("${deliverytech.aquecimento.iteracoes:200}")
+    private int iteracoes;
+
+    private volatile Health estado = Health.outOfService().withDetail("fase", "pendente").build();
+
+    public AquecimentoAplicacao(PedidoRepository pedidoRepository, RestauranteRepository restauranteRepository,
+                                ClienteRepository clienteRepository, RestauranteService restauranteService,
+                                CatalogoService catalogoService, RestauranteController restauranteController,
+                                ProdutoController produtoController, PedidoController pedidoController,
+                                JwtUtil jwtUtil, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.pedidoRepository = pedidoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.clienteRepository = clienteRepository;
+        this.restauranteService = restauranteService;
+        this.catalogoService = catalogoService;
+        this.restauranteController = restauranteController;
+        this.produtoController = produtoController;
+        this.pedidoController = pedidoController;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        // as leituras rodam numa sessão aberta, como numa requisição com open-in-view
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.desfeita = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!habilitado) {
+            estado = Health.up().withDetail("habilitado", false).build();
+            return;
+        }
+        estado = Health.outOfService().withDetail("fase", "em andamento").build();
+        long inicio = System.nanoTime();
+        try {
+            List<Long> restaurantes = restaurantesMaisPedidos();
+            restaurantes.forEach(id -> leitura.executeWithoutResult(status -> {
+                restauranteService.buscarPorId(id);
+                catalogoService.produtosDoRestaurante(id);
+            }));
+
+            String pedidoJson = pedidoDeExemplo(restaurantes);
+            String token = jwtUtil.generateToken(
+                    User.withUsername("aquecimento@deliverytech.local").password("").authorities("ROLE_CLIENTE").build(),
+                    Usuario.builder().id(0L).role(Role.CLIENTE).build());
+
+            int falhas = 0;
+            for (int i = 0; i < iteracoes; i++) {
+                try {
+                    iteracao(token, restaurantes.isEmpty() ? null : restaurantes.get(i % restaurantes.size()), pedidoJson);
+                } catch (RuntimeException e) {
+                    if (falhas++ == 0) {
+                        log.warn("Falha numa iteração do aquecimento (as seguintes só são contadas)", e);
+                    }
+                }
+            }
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("Aquecimento concluído em {} ms: {} restaurantes em cache, {} iterações ({} com falha), pedido de exemplo: {}",
+                    duracaoMs, restaurantes.size(), iteracoes, falhas, pedidoJson != null);
+            estado = Health.up()
+                    .withDetail("duracaoMs", duracaoMs)
+                    .withDetail("restaurantes", restaurantes.size())
+                    .withDetail("iteracoes", iteracoes)
+                    .withDetail("falhas", falhas)
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Aquecimento interrompido; a aplicação fica pronta sem ele", e);
+            estado = Health.up().withDetail("erro", String.valueOf(e.getMessage())).build();
+        }
+    }
+
+    @Override
+    public Health health() {
+        return estado;
+    }
+
+    private List<Long> restaurantesMaisPedidos() {
+        Set<Long> ids = new LinkedHashSet<>(pedidoRepository.findRestaurantesMaisPedidosDesde(
+                LocalDateTime.now().minus(janelaPedidos), PageRequest.of(0, quantidadeRestaurantes)));
+        if (ids.size() < quantidadeRestaurantes) {
+            restauranteRepository.findByAtivoTrue(PageRequest.of(0, quantidadeRestaurantes))
+                    .forEach(r -> ids.add(r.getId()));
+        }
+        return new ArrayList<>(ids).subList(0, Math.min(ids.size(), quantidadeRestaurantes));
+    }
+
+    /** Pedido de um cliente qualquer no primeiro restaurante com produto disponível, ou {@code null} se não houver dados. */
+    private String pedidoDeExemplo(List<Long> restaurantes) {
+        Long clienteId = clienteRepository.findAll(PageRequest.of(0, 1)).stream().findFirst().map(Cliente::getId).orElse(null);
+        if (clienteId == null) {
+            return null;
+        }
+        for (Long restauranteId : restaurantes) {
+            Long produtoId = catalogoService.produtosDoRestaurante(restauranteId).stream()
+                    .filter(p -> Boolean.TRUE.equals(p.getDisponivel()))
+                    .map(ProdutoResponse::getId)
+                    .findFirst().orElse(null);
+            if (produtoId != null) {
+                ObjectNode pedido = objectMapper.createObjectNode()
+                        .put("clienteId", clienteId)
+                        .put("restauranteId", restauranteId);
+                pedido.putObject("enderecoEntrega")
+                        .put("rua", "Rua do Aquecimento").put("numero", "1").put("bairro", "Centro")
+                        .put("cidade", "São Paulo").put("estado", "SP").put("cep", "01001-000");
+                pedido.putArray("itens").addObject().put("produtoId", produtoId).put("quantidade", 1);
+                return pedido.toString();
+            }
+        }
+        return null;
+    }
+
+    private void iteracao(String token, Long restauranteId, String pedidoJson) {
+        // o mesmo caminho do JwtAuthenticationFilter: assinatura, expiração e claims
+        Claims claims = jwtUtil.extractClaim(token, c -> c);
+        Role.valueOf(claims.get("role", String.class));
+
+        leitura.executeWithoutResult(status -> {
+            serializar(produtoController.buscar(PRIMEIRA_PAGINA));
+            if (restauranteId != null) {
+                serializar(restauranteController.buscarPorId(restauranteId).getBody());
+                serializar(produtoController.listarPorRestaurante(restauranteId));
+            }
+        });
+
+        if (pedidoJson != null) {
+            desfeita.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                try {
+                    PedidoRequest request = objectMapper.readValue(pedidoJson, PedidoRequest.class);
+                    serializar(pedidoController.criar(request, UriComponentsBuilder.fromUriString("http://localhost")).getBody());
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void serializar(Object resposta) {
+        try {
+            objectMapper.writeValueAsBytes(resposta);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.deliverytech.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória para chaves quentes com proteção contra estouro de recargas (cache stampede).
+ *
+ * <ul>
+ *   <li>Falhas simultâneas na mesma chave dividem uma única carga: a primeira thread carrega, as
+ *       demais esperam o mesmo resultado e são contadas em {@link #aguardando()}.</li>
+ *   <li>Depois do TTL a entrada ainda é servida durante a janela de obsoleto enquanto uma recarga
+ *       roda em segundo plano (stale-while-revalidate); só depois dela a leitura volta a esperar.</li>
+ *   <li>Antes do TTL cada leitura pode antecipar a recarga com probabilidade que cresce perto do
+ *       vencimento e com o custo da última carga (XFetch, com {@code beta} ajustando a antecedência),
+ *       para que chaves gravadas juntas não vençam todas no mesmo instante.</li>
+ * </ul>
+ *
+ * <p>Invalidações descartam as cargas que já estavam em andamento: o resultado ainda é entregue
+ * a quem esperava por ele, mas não é gravado, para não trazer de volta um valor anterior à escrita,
+ * e as leituras seguintes começam uma carga nova em vez de esperar pela antiga.</p>
+ */
+public class CacheCoalescente<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCoalescente.class);
+
+    private final String nome;
+    private final long ttlNanos;
+    private final long janelaObsoletoNanos;
+    private final double beta;
+    private final int maxEntradas;
+    private final Executor executor;
+    private final LongSupplier relogio;
+    private final DoubleSupplier aleatorio;
+
+    private final Map<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> emCarga = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder obsoletos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder aguardando = new LongAdder();
+    private final LongAdder recargasSincronas = new LongAdder();
+    private final LongAdder recargasSegundoPlano = new LongAdder();
+    private final LongAdder recargasAntecipadas = new LongAdder();
+    private final LongAdder errosCarga = new LongAdder();
+
+    private record Entrada<V>(V valor, long gravadaEm, long custoNanos) {}
+
+    /**
+     * @param janelaObsoleto quanto tempo depois do TTL a entrada ainda é servida enquanto recarrega
+     * @param beta           antecedência da expiração antecipada; 0 desliga, 1 é o valor usual
+     * @param executor       onde rodam as recargas em segundo plano
+     */
+    public CacheCoalescente(String nome, Duration ttl, Duration janelaObsoleto, double beta, int maxEntradas, Executor executor) {
+        this(nome, ttl, janelaObsoleto, beta, maxEntradas, executor, System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    CacheCoalescente(String nome, Duration ttl, Duration janelaObsoleto, double beta, int maxEntradas, Executor executor,
+                     LongSupplier relogio, DoubleSupplier aleatorio) {
+        this.nome = nome;
+        this.ttlNanos = ttl.toNanos();
+        this.janelaObsoletoNanos = janelaObsoleto.toNanos();
+        this.beta = beta;
+        this.maxEntradas = maxEntradas;
+        this.executor = executor;
+        this.relogio = relogio;
+        this.aleatorio = aleatorio;
+    }
+
+    /**
+     * Valor em cache para a chave ou, se não houver um utilizável, o resultado do carregador.
+     * Exceções do carregador chegam a todas as threads que esperavam pela mesma carga.
+     */
+    public V obter(K chave, Supplier<V> carregador) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada != null) {
+            long idade = relogio.getAsLong() - entrada.gravadaEm();
+            if (idade < ttlNanos) {
+                acertos.increment();
+                if (venceAntes(entrada, idade)) {
+                    recarregarEmSegundoPlano(chave, carregador, recargasAntecipadas);
+                }
+                return entrada.valor();
+            }
+            if (idade < ttlNanos + janelaObsoletoNanos) {
+                obsoletos.increment();
+                recarregarEmSegundoPlano(chave, carregador, recargasSegundoPlano);
+                return entrada.valor();
+            }
+        }
+        falhas.increment();
+        return esperar(carregar(chave, carregador, recargasSincronas));
+    }
+
+    public void invalidar(K chave) {
+        geracao.incrementAndGet();
+        emCarga.remove(chave);
+        entradas.remove(chave);
+    }
+
+    public void invalidarTudo() {
+        geracao.incrementAndGet();
+        emCarga.clear();
+        entradas.clear();
+    }
+
+    // XFetch: vence antes se idade - custo * beta * ln(u) >= ttl, com u uniforme em (0, 1]
+    private boolean venceAntes(Entrada<V> entrada, long idade) {
+        if (beta <= 0) {
+            return false;
+        }
+        double u = Math.max(aleatorio.getAsDouble(), Double.MIN_VALUE);
+        return idade - entrada.custoNanos() * beta * Math.log(u) >= ttlNanos;
+    }
+
+    private void recarregarEmSegundoPlano(K chave, Supplier<V> carregador, LongAdder motivo) {
+        if (!emCarga.containsKey(chave)) {
+            carregar(chave, carregador, motivo);
+        }
+    }
+
+    /**
+     * Registra a carga da chave ou, se outra já está em andamento, devolve a dela. A carga síncrona roda
+     * na própria thread que chegou primeiro (com a transação e o contexto da requisição dela); as
+     * demais vão para o executor.
+     */
+    private CompletableFuture<V> carregar(K chave, Supplier<V> carregador, LongAdder motivo) {
+        boolean sincrona = motivo == recargasSincronas;
+        CompletableFuture<V> futuro = new CompletableFuture<>();
+        CompletableFuture<V> existente = emCarga.putIfAbsent(chave, futuro);
+        if (existente != null) {
+            if (sincrona) {
+                aguardando.increment();
+            }
+            return existente;
+        }
+        long geracaoInicial = geracao.get();
+        Runnable tarefa = () -> {
+            try {
+                long inicio = relogio.getAsLong();
+                V valor = carregador.get();
+                long fim = relogio.getAsLong();
+                if (geracao.get() == geracaoInicial) {
+                    gravar(chave, new Entrada<>(valor, fim, fim - inicio));
+                }
+                futuro.complete(valor);
+            } catch (RuntimeException | Error e) {
+                errosCarga.increment();
+                if (!sincrona) {
+                    // a entrada obsoleta continua valendo; a próxima leitura tenta de novo
+                    log.warn("Falha ao recarregar a chave {} do cache {}", chave, nome, e);
+                }
+                futuro.completeExceptionally(e);
+            } finally {
+                emCarga.remove(chave, futuro);
+            }
+        };
+        motivo.increment();
+        if (sincrona) {
+            tarefa.run();
+        } else {
+            try {
+                executor.execute(tarefa);
+            } catch (RejectedExecutionException e) {
+                // executor encerrado (desligamento): segue servindo a entrada obsoleta
+                emCarga.remove(chave, futuro);
+                futuro.completeExceptionally(e);
+            }
+        }
+        return futuro;
+    }
+
+    private void gravar(K chave, Entrada<V> entrada) {
+        if (entradas.size() >= maxEntradas && !entradas.containsKey(chave)) {
+            liberarEspaco(entrada.gravadaEm());
+        }
+        entradas.put(chave, entrada);
+    }
+
+    // só roda em falhas com o cache cheio: descarta as entradas vencidas ou, sem elas, a mais antiga
+    private void liberarEspaco(long agora) {
+        K maisAntiga = null;
+        long gravadaEm = Long.MAX_VALUE;
+        boolean removeu = false;
+        for (Map.Entry<K, Entrada<V>> e : entradas.entrySet()) {
+            long gravacao = e.getValue().gravadaEm();
+            if (agora - gravacao >= ttlNanos + janelaObsoletoNanos) {
+                removeu |= entradas.remove(e.getKey(), e.getValue());
+            } else if (gravacao < gravadaEm) {
+                gravadaEm = gravacao;
+                maisAntiga = e.getKey();
+            }
+        }
+        if (!removeu && maisAntiga != null) {
+            entradas.remove(maisAntiga);
+        }
+    }
+
+    private static <V> V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    public long acertos() {
+        return acertos.sum();
+    }
+
+    /** Leituras servidas com a entrada já vencida, enquanto a recarga roda em segundo plano. */
+    public long obsoletos() {
+        return obsoletos.sum();
+    }
+
+    public long falhas() {
+        return falhas.sum();
+    }
+
+    /** Falhas que não carregaram: esperaram a carga que outra thread já tinha começado. */
+    public long aguardando() {
+        return aguardando.sum();
+    }
+
+    public long recargasSincronas() {
+        return recargasSincronas.sum();
+    }
+
+    public long recargasSegundoPlano() {
+        return recargasSegundoPlano.sum();
+    }
+
+    public long recargasAntecipadas() {
+        return recargasAntecipadas.sum();
+    }
+
+    public long errosCarga() {
+        return errosCarga.sum();
+    }
+}
@@ -0,0 +1,13 @@
+package com.deliverytech.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Liga os métodos {@code @Scheduled}, executados pelo {@code TaskScheduler} que o Spring Boot
+ * configura (propriedades {@code spring.task.scheduling.*}).
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Métricas das regiões do cache de segundo nível (configurado no application.properties e no
+ * ehcache.xml). Cada região publica {@code deliverytech.cache.segundo-nivel.acessos} com
+ * {@code resultado=acerto|falha}, {@code deliverytech.cache.segundo-nivel.gravacoes} e a taxa de
+ * acerto acumulada em {@code deliverytech.cache.segundo-nivel.taxa-acerto}, todas com a tag {@code regiao}.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    static final List<String> REGIOES_ENTIDADES = List.of(
+            Restaurante.REGIAO_CACHE, Produto.REGIAO_CACHE, Restaurante.REGIAO_CACHE_PRODUTOS);
+    static final List<String> REGIOES_CONSULTAS = List.of(
+            RestauranteRepository.REGIAO_CACHE_POR_CATEGORIA, ProdutoRepository.REGIAO_CACHE_POR_CATEGORIA);
+
+    @Bean
+    public MeterBinder cacheSegundoNivelMetricas(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            // as estatísticas da região são buscadas a cada leitura: Statistics.clear() descarta as instâncias
+            REGIOES_ENTIDADES.forEach(regiao ->
+                    registrar(registry, regiao, estatisticas, e -> e.getDomainDataRegionStatistics(regiao)));
+            REGIOES_CONSULTAS.forEach(regiao ->
+                    registrar(registry, regiao, estatisticas, e -> e.getQueryRegionStatistics(regiao)));
+        };
+    }
+
+    private static void registrar(MeterRegistry registry, String regiao, Statistics estatisticas,
+                                  Function<Statistics, CacheRegionStatistics> daRegiao) {
+        FunctionCounter.builder("deliverytech.cache.segundo-nivel.acessos", estatisticas, e -> daRegiao.apply(e).getHitCount())
+                .tag("regiao", regiao).tag("resultado", "acerto")
+                .description("Leituras atendidas pelo cache de segundo nível")
+                .register(registry);
+        FunctionCounter.builder("deliverytech.cache.segundo-nivel.acessos", estatisticas, e -> daRegiao.apply(e).getMissCount())
+                .tag("regiao", regiao).tag("resultado", "falha")
+                .description("Leituras que não encontraram a entrada no cache de segundo nível")
+                .register(registry);
+        FunctionCounter.builder("deliverytech.cache.segundo-nivel.gravacoes", estatisticas, e -> daRegiao.apply(e).getPutCount())
+                .tag("regiao", regiao)
+                .description("Entradas gravadas no cache de segundo nível")
+                .register(registry);
+        Gauge.builder("deliverytech.cache.segundo-nivel.taxa-acerto", estatisticas, e -> taxaAcerto(daRegiao.apply(e)))
+                .tag("regiao", regiao)
+                .description("Fração das leituras atendidas pelo cache desde o início (NaN sem leituras)")
+                .register(registry);
+    }
+
+    private static double taxaAcerto(CacheRegionStatistics regiao) {
+        long acessos = regiao.getHitCount() + regiao.getMissCount();
+        return acessos == 0 ? Double.NaN : (double) regiao.getHitCount() / acessos;
+    }
+}
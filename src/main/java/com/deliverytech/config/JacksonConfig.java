@@ -0,0 +1,108 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Dinheiro;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import jakarta.persistence.Entity;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Módulos registrados no {@code ObjectMapper} compartilhado da aplicação (o Spring Boot adiciona
+ * todo bean {@link Module}).
+ */
+@Configuration
+public class JacksonConfig {
+
+    /** Troca a reflexão dos getters e setters por lambdas geradas em tempo de execução. */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Entidades JPA não saem na API: serializá-las expõe proxies do Hibernate, dispara lazy
+     * loading durante a escrita da resposta e acopla o contrato ao modelo. Responda com DTOs.
+     */
+    @Bean
+    public Module protecaoEntidadesModule() {
+        SimpleModule module = new SimpleModule("ProtecaoEntidades");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription descricao,
+                                                      JsonSerializer<?> serializer) {
+                Class<?> tipo = descricao.getBeanClass();
+                return tipo.isAnnotationPresent(Entity.class) ? new EntidadeNaoSerializavel(tipo) : serializer;
+            }
+        });
+        return module;
+    }
+
+    /**
+     * {@link Dinheiro} sai como número com duas casas ({@code 12.50}), igual ao {@code BigDecimal} que
+     * substituiu: em JSON o texto é escrito direto dos centavos, em CBOR e Smile vai como decimal exato.
+     * Na entrada aceita número ou texto, arredondando para centavos meio para o par.
+     */
+    @Bean
+    public Module dinheiroModule() {
+        SimpleModule module = new SimpleModule("Dinheiro");
+        module.addSerializer(Dinheiro.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(Dinheiro valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+                if (gerador.canWriteFormattedNumbers()) {
+                    gerador.writeNumber(valor.toString());
+                } else {
+                    gerador.writeNumber(valor.paraBigDecimal());
+                }
+            }
+        });
+        module.addDeserializer(Dinheiro.class, new JsonDeserializer<>() {
+            @Override
+            public Dinheiro deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+                JsonToken token = parser.currentToken();
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    return Dinheiro.de(parser.getDecimalValue());
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    try {
+                        return Dinheiro.de(new BigDecimal(parser.getText().trim()));
+                    } catch (NumberFormatException e) {
+                        return (Dinheiro) contexto.handleWeirdStringValue(Dinheiro.class, parser.getText(), "valor monetário inválido");
+                    }
+                }
+                return (Dinheiro) contexto.handleUnexpectedToken(Dinheiro.class, parser);
+            }
+        });
+        return module;
+    }
+
+    private static final class EntidadeNaoSerializavel extends JsonSerializer<Object> {
+
+        private final Class<?> tipo;
+
+        EntidadeNaoSerializavel(Class<?> tipo) {
+            this.tipo = tipo;
+        }
+
+        @Override
+        public void serialize(Object valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            throw JsonMappingException.from(gerador,
+                    "A entidade " + tipo.getSimpleName() + " não deve ser serializada diretamente; use um DTO de resposta");
+        }
+    }
+}
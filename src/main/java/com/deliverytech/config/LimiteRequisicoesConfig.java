@@ -0,0 +1,53 @@
+package com.deliverytech.config;
+
+import com.deliverytech.security.limite.LimitadorTaxa;
+import com.deliverytech.security.limite.LimitadorTaxaLocal;
+import com.deliverytech.security.limite.LimitadorTaxaRedis;
+import com.deliverytech.security.limite.LimiteConcorrenciaAdaptativo;
+import com.deliverytech.security.limite.RegrasLimite;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(LimiteRequisicoesProperties.class)
+public class LimiteRequisicoesConfig {
+
+    @Bean
+    public RegrasLimite regrasLimite(LimiteRequisicoesProperties propriedades) {
+        return new RegrasLimite(propriedades);
+    }
+
+    @Bean
+    public LimitadorTaxa limitadorTaxa(LimiteRequisicoesProperties propriedades,
+                                       ObjectProvider<RedisConnectionFactory> conexaoRedis) {
+        if (propriedades.getTaxa().getModo() == LimiteRequisicoesProperties.Modo.LOCAL) {
+            return new LimitadorTaxaLocal(propriedades.getTaxa().getMaxChaves());
+        }
+        RedisConnectionFactory fabrica = conexaoRedis.getIfAvailable();
+        if (fabrica == null) {
+            throw new IllegalStateException("deliverytech.limite-requisicoes.taxa.modo=redis exige spring.data.redis.* configurado");
+        }
+        return new LimitadorTaxaRedis(new StringRedisTemplate(fabrica));
+    }
+
+    @Bean
+    public LimiteConcorrenciaAdaptativo limiteConcorrenciaAdaptativo(LimiteRequisicoesProperties propriedades,
+                                                                     MeterRegistry registry) {
+        LimiteRequisicoesProperties.Concorrencia concorrencia = propriedades.getConcorrencia();
+        LimiteConcorrenciaAdaptativo limite = new LimiteConcorrenciaAdaptativo(
+                concorrencia.getInicial(), concorrencia.getMinimo(), concorrencia.getMaximo(), concorrencia.getTolerancia());
+        Gauge.builder("deliverytech.limite.concorrencia", limite, LimiteConcorrenciaAdaptativo::limite)
+                .description("Limite atual de requisições simultâneas")
+                .register(registry);
+        Gauge.builder("deliverytech.limite.concorrencia.em.andamento", limite, LimiteConcorrenciaAdaptativo::emAndamento)
+                .description("Requisições em andamento contadas pelo limite de concorrência")
+                .register(registry);
+        return limite;
+    }
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Limites de taxa e de concorrência ({@code deliverytech.limite-requisicoes.*}). */
+@Data
+@ConfigurationProperties(prefix = "deliverytech.limite-requisicoes")
+public class LimiteRequisicoesProperties {
+
+    /** Caminhos que nunca são limitados (health checks, documentação). */
+    private List<String> ignorados = new ArrayList<>(List.of("/actuator/**", "/swagger-ui/**", "/api-docs/**", "/openapi/**", "/webjars/**", "/h2-console/**"));
+
+    private Taxa taxa = new Taxa();
+
+    private Concorrencia concorrencia = new Concorrencia();
+
+    public enum Modo {
+        LOCAL,
+        REDIS
+    }
+
+    @Data
+    public static class Taxa {
+        private boolean habilitado = true;
+        private Modo modo = Modo.LOCAL;
+        /** No modo local, a partir de quantas chaves os baldes cheios começam a ser descartados. */
+        private int maxChaves = 100_000;
+        /** Balde por IP, somado ao do usuário; alto o bastante para vários usuários atrás do mesmo NAT. */
+        private TaxaBalde porIp = new TaxaBalde(100, 200);
+        /** Balde por usuário autenticado (ou por IP, se anônimo) nas rotas sem regra própria. */
+        private TaxaBalde porUsuario = new TaxaBalde(20, 40);
+        /** Regras por rota; vale a primeira que casar com o caminho e o método. */
+        private List<Rota> rotas = new ArrayList<>();
+    }
+
+    @Data
+    public static class TaxaBalde {
+        private double porSegundo;
+        private int rajada;
+
+        public TaxaBalde() {
+        }
+
+        public TaxaBalde(double porSegundo, int rajada) {
+            this.porSegundo = porSegundo;
+            this.rajada = rajada;
+        }
+    }
+
+    @Data
+    public static class Rota {
+        /** Padrão de caminho, ex.: {@code /api/produtos/**}. */
+        private String padrao;
+        /** Método HTTP; vazio vale para todos. */
+        private String metodo;
+        private double porSegundo;
+        private int rajada;
+    }
+
+    @Data
+    public static class Concorrencia {
+        private boolean habilitado = true;
+        private int inicial = 50;
+        private int minimo = 10;
+        private int maximo = 400;
+        /** Quantas vezes a latência média pode passar da linha de base antes de o limite começar a cair. */
+        private double tolerancia = 2.0;
+    }
+}
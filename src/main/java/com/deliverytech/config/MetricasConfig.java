@@ -0,0 +1,21 @@
+package com.deliverytech.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita o {@code @Timed} fora dos controllers. As requisições HTTP já são medidas pelo Actuator
+ * em {@code http.server.requests}; os serviços anotados com {@code @Timed} na classe publicam
+ * {@code deliverytech.servico} com as tags {@code class}, {@code method} e {@code exception}.
+ * Os buckets de SLO e os histogramas ficam no application.properties.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
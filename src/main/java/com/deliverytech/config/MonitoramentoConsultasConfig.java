@@ -0,0 +1,56 @@
+package com.deliverytech.config;
+
+import com.deliverytech.monitoramento.ContadorEntidadesInterceptor;
+import com.deliverytech.monitoramento.DataSourceMonitorado;
+import com.deliverytech.monitoramento.MonitoramentoConsultasFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Orçamento de banco por requisição: o DataSource é envolvido para medir os comandos JDBC, um
+ * interceptor do Hibernate conta as entidades carregadas e o filtro, registrado antes da
+ * segurança (que também consulta o banco), publica métricas e o cabeçalho {@code Server-Timing}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "deliverytech.monitoramento.habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitoramentoConsultasConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceMonitoradoPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof DataSourceMonitorado)
+                        ? new DataSourceMonitorado(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorEntidadesCustomizer() {
+        return propriedades -> propriedades.put(AvailableSettings.INTERCEPTOR, new ContadorEntidadesInterceptor());
+    }
+
+    @Bean
+    public FilterRegistrationBean<MonitoramentoConsultasFilter> monitoramentoConsultasFilter(
+            MeterRegistry registry,
+            @Value("${deliverytech.monitoramento.max-consultas:20}") int maxConsultas,
+            @Value("${deliverytech.monitoramento.max-tempo-banco-ms:500}") long maxTempoBancoMs,
+            @Value("${deliverytech.monitoramento.max-comandos-listados:50}") int maxComandosListados) {
+        FilterRegistrationBean<MonitoramentoConsultasFilter> registro = new FilterRegistrationBean<>(
+                new MonitoramentoConsultasFilter(registry, maxConsultas, maxTempoBancoMs, maxComandosListados));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
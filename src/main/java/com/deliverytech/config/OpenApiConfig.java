@@ -1,5 +1,6 @@
 package com.deliverytech.config;
 
+import com.deliverytech.model.Dinheiro;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.models.info.Info;
@@ -8,8 +9,11 @@ import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.models.OpenAPI;
 
 import org.springframework.context.annotation.Bean;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Configuration;
 
+import java.math.BigDecimal;
+
 @Configuration
 @OpenAPIDefinition(
     info = @io.swagger.v3.oas.annotations.info.Info(title = "DeliveryTech API", version = "v1"),
@@ -23,6 +27,11 @@ import org.springframework.context.annotation.Configuration;
 )
 public class OpenApiConfig {
 
+    static {
+        // Dinheiro é serializado como número decimal (ver JacksonConfig); documenta como tal
+        SpringDocUtils.getConfig().replaceWithClass(Dinheiro.class, BigDecimal.class);
+    }
+
     @Bean
     public OpenAPI customOpenAPI() {
         return new OpenAPI().info(new Info()
@@ -0,0 +1,63 @@
+package com.deliverytech.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.Filter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag fraco calculado do corpo de toda resposta GET da API: se o cliente reenviar o valor em
+ * {@code If-None-Match} e o corpo não tiver mudado, recebe 304 sem corpo. A compressão gzip
+ * fica no conector (server.compression.* no application.properties).
+ *
+ * <p>O filtro guarda o corpo em memória para calcular o hash; respostas em streaming, como a
+ * exportação de pedidos, devem chamar {@link ShallowEtagHeaderFilter#disableContentCaching}.</p>
+ *
+ * <p>Clientes de alto volume podem pedir CBOR ({@code Accept: application/cbor}) ou Smile
+ * ({@code Accept: application/x-jackson-smile}) no lugar de JSON, que continua o padrão quando o
+ * {@code Accept} falta ou aceita qualquer tipo. Os conversores binários usam o mesmo builder do
+ * {@code ObjectMapper} da aplicação, com as propriedades {@code spring.jackson.*} e os módulos
+ * de {@link JacksonConfig}.</p>
+ */
+@Configuration
+public class RespostaHttpConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filtro = new ShallowEtagHeaderFilter();
+        filtro.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+
+    /** O corpo depende do {@code Accept}; caches intermediários precisam guardar uma cópia por formato. */
+    @Bean
+    public FilterRegistrationBean<Filter> varyAcceptFilter() {
+        FilterRegistrationBean<Filter> registro = new FilterRegistrationBean<>((request, response, chain) -> {
+            ((jakarta.servlet.http.HttpServletResponse) response).addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            chain.doFilter(request, response);
+        });
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+
+    // Substituem, na mesma posição (depois do JSON), os conversores que o Spring MVC registraria
+    // com um ObjectMapper próprio ao achar as bibliotecas no classpath
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,9 +1,12 @@
 package com.deliverytech.config;
 
 import com.deliverytech.security.JwtAuthenticationFilter;
+import com.deliverytech.security.LimiteConcorrenciaFilter;
+import com.deliverytech.security.LimiteTaxaFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -22,6 +25,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final LimiteConcorrenciaFilter limiteConcorrenciaFilter;
+    private final LimiteTaxaFilter limiteTaxaFilter;
     private final UserDetailsService userDetailsService;
 
     @Bean
@@ -32,6 +37,8 @@ public class SecurityConfig {
                 "/swagger-ui.html",
                 "/swagger-ui/**",
                 "/api-docs/**",
+                "/openapi/**",
+                "/webjars/**",
                 "/h2-console/**",
                 "/actuator/**",
                 "/health",
@@ -53,6 +60,12 @@ public class SecurityConfig {
                         .requestMatchers("/api/clientes","/clientes").hasAnyAuthority("ROLE_ADMIN", "ROLE_CLIENTE")
                         .requestMatchers("/api/clientes/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_CLIENTE")
 
+                        // Exportação de pedidos: apenas ADMIN
+                        .requestMatchers("/api/pedidos/exportacao").hasAuthority("ROLE_ADMIN")
+
+                        // Um pedido é lido pelo cliente dono, pelo restaurante dele ou pelo ADMIN (conferido no controller)
+                        .requestMatchers(HttpMethod.GET, "/api/pedidos/{id}").hasAnyAuthority("ROLE_ADMIN", "ROLE_CLIENTE", "ROLE_RESTAURANTE")
+
                         // Endpoints de Pedido: Apenas CLIENTE pode criar/ver
                         .requestMatchers("/api/pedidos").hasAuthority("ROLE_CLIENTE")
                         .requestMatchers("/api/pedidos/**").hasAuthority("ROLE_CLIENTE")
@@ -63,10 +76,29 @@ public class SecurityConfig {
                         .requestMatchers("/api/produtos").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/api/produtos/**").hasAuthority("ROLE_ADMIN")
                         
+                        // Promoções e cupons: apenas ADMIN gerencia
+                        .requestMatchers("/api/promocoes", "/api/promocoes/**").hasAuthority("ROLE_ADMIN")
+
+                        // Entregadores: ADMIN cadastra e lista; o entregador atualiza a própria posição e disponibilidade (conferido no controller)
+                        .requestMatchers("/api/entregadores").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers("/api/entregadores/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_ENTREGADOR")
+
+                        // Estatísticas: ADMIN e RESTAURANTE consultam, apenas ADMIN reconstrói
+                        .requestMatchers("/api/estatisticas/reconstrucao").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers("/api/estatisticas/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_RESTAURANTE")
+
+                        // Painel do restaurante: o restaurante vem da claim restauranteId do token
+                        .requestMatchers("/api/meu-restaurante/**").hasAuthority("ROLE_RESTAURANTE")
+
+                        // Importação em massa do catálogo: apenas ADMIN
+                        .requestMatchers("/api/importacao/**").hasAuthority("ROLE_ADMIN")
+
                         // Garante que qualquer outra requisição não listada seja bloqueada
                         .anyRequest().authenticated() 
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Adiciona nosso filtro JWT antes do filtro padrão
+                .addFilterBefore(limiteConcorrenciaFilter, JwtAuthenticationFilter.class) // Descarta carga antes de qualquer consulta ao banco
+                .addFilterAfter(limiteTaxaFilter, JwtAuthenticationFilter.class) // Limita a taxa já sabendo quem é o usuário
                 .build();
     }
 
@@ -53,6 +53,7 @@ public class AuthController {
                 .role(request.getRole() != null ? request.getRole() : Role.CLIENTE)
                 .ativo(true)
                 .restauranteId(request.getRestauranteId())
+                .entregadorId(request.getEntregadorId())
                 .build();
 
         usuarioRepository.save(usuario);
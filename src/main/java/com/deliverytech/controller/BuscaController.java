@@ -0,0 +1,68 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.BuscaResponse;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.dto.response.RestauranteResponse;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.BuscaService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Busca", description = "Endpoints de busca textual no catálogo")
+@RestController
+@RequestMapping("/api/busca")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private final BuscaService buscaService;
+
+    @Operation(summary = "Busca produtos", description = "Busca produtos por prefixo em nome, descrição e categoria, sem diferenciar acentos. Retorna também a contagem por categoria.")
+    @ApiResponse(responseCode = "200", description = "Busca realizada")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/produtos")
+    public BuscaResponse<ProdutoResponse> buscarProdutos(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Boolean disponivel,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "20") Integer pageSize) {
+
+        BuscaResponse<Produto> resultado = buscaService.buscarProdutos(q, categoria, disponivel,
+                Math.max(page, 0), Math.min(Math.max(pageSize, 1), TAMANHO_MAXIMO_PAGINA));
+
+        return new BuscaResponse<>(resultado.getTotal(), resultado.getFacetas(), resultado.getResultados().stream()
+                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
+                .toList());
+    }
+
+    @Operation(summary = "Busca restaurantes", description = "Busca restaurantes por prefixo em nome e categoria, sem diferenciar acentos. Retorna também a contagem por categoria.")
+    @ApiResponse(responseCode = "200", description = "Busca realizada")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/restaurantes")
+    public BuscaResponse<RestauranteResponse> buscarRestaurantes(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "20") Integer pageSize) {
+
+        BuscaResponse<Restaurante> resultado = buscaService.buscarRestaurantes(q, categoria, ativo,
+                Math.max(page, 0), Math.min(Math.max(pageSize, 1), TAMANHO_MAXIMO_PAGINA));
+
+        return new BuscaResponse<>(resultado.getTotal(), resultado.getFacetas(), resultado.getResultados().stream()
+                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo(), r.getLatitude(), r.getLongitude()))
+                .toList());
+    }
+}
@@ -2,13 +2,18 @@ package com.deliverytech.controller;
 
 import com.deliverytech.dto.request.ClienteRequest;
 import com.deliverytech.dto.response.ClienteResponse;
+import com.deliverytech.dto.response.HistoricoPedidosResponse;
 import com.deliverytech.dto.response.PageResponse;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.exception.ErrorResponse;
 import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
 import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PedidoService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -21,6 +26,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -36,16 +43,21 @@ public class ClienteController {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteController.class);
 
+    private static final int LIMITE_MAXIMO_HISTORICO = 100;
+
     private final ClienteService clienteService;
+    private final PedidoService pedidoService;
 
-    @Operation(summary = "Cadastra um novo cliente", description = "Cria um novo cliente no sistema.")
+    @Operation(summary = "Cadastra um novo cliente", description = "Cria um novo cliente no sistema. Cadastrado por um usuário cliente, "
+            + "fica vinculado a ele, que passa a ver os próprios pedidos a partir do próximo login.")
     @ApiResponse(responseCode = "201", description = "Cliente cadastrado")
-    @ApiResponse(responseCode = "400", description = "Dados inválidos para cadastro",
+    @ApiResponse(responseCode = "400", description = "Dados inválidos para cadastro ou usuário que já tem cliente",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @PostMapping
-    public ResponseEntity<ClienteResponse> cadastrar(@Valid @RequestBody ClienteRequest request) {
+    public ResponseEntity<ClienteResponse> cadastrar(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                     @Valid @RequestBody ClienteRequest request) {
         logger.info("Cadastro de cliente iniciado: {}", request.getEmail());
 
         Cliente cliente = Cliente.builder()
@@ -54,7 +66,10 @@ public class ClienteController {
                 .ativo(true)
                 .build();
 
-        Cliente salvo = clienteService.cadastrar(cliente);
+        // o vínculo nasce de uma ação do próprio usuário autenticado, nunca de um e-mail igual
+        Cliente salvo = usuario != null && usuario.role() == Role.CLIENTE
+                ? clienteService.cadastrarParaUsuario(cliente, usuario.id())
+                : clienteService.cadastrar(cliente);
 
         logger.debug("Cliente salvo com ID {}", salvo.getId());
 
@@ -70,9 +85,7 @@ public class ClienteController {
     }
 
     @Operation(summary = "Listar todos os clientes ativos", description = "Retorna uma lista paginada de todos os clientes com status ativo.")
-    @ApiResponse(responseCode = "200", description = "Clientes encontrados")
-    @ApiResponse(responseCode = "404", description = "Nenhum cliente foi encontrado",
-     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "200", description = "Clientes encontrados (página vazia quando não há nenhum)")
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @GetMapping
@@ -86,10 +99,6 @@ public class ClienteController {
         Pageable pageable = PageRequest.of(pageAtualizada, pageSize);
         Page<Cliente> clientePage = clienteService.listarAtivos(pageable);
 
-        if (clientePage.getTotalElements() == 0) {
-            throw new EntityNotFoundException("cliente");
-        }
-
         PageResponse<ClienteResponse> clienteResponse = new PageResponse<ClienteResponse>(
                 clientePage.stream().map(c -> new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo())).toList(),
                 clientePage.getTotalElements(),
@@ -101,9 +110,7 @@ public class ClienteController {
     }
 
     @Operation(summary = "Listar todos os clientes ativos", description = "Endpoint simplificado. Retorna uma lista não paginada de todos os clientes com status ativo.")
-    @ApiResponse(responseCode = "200", description = "Clientes encontrados")
-    @ApiResponse(responseCode = "404", description = "Nenhum cliente foi encontrado",
-     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "200", description = "Clientes encontrados (lista vazia quando não há nenhum)")
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))    
     @GetMapping("/clientes") // Mapeia a URL http://localhost:8080/clientes
@@ -118,10 +125,6 @@ public class ClienteController {
                 .map(c -> new ClienteResponse(c.getId(), c.getNome(), c.getEmail(), c.getAtivo()))
                 .collect(Collectors.toList());
 
-        if (list.isEmpty()) {
-            throw new EntityNotFoundException("cliente");
-        }
-
         return ResponseEntity.ok(list);
     
     }
@@ -141,6 +144,37 @@ public class ClienteController {
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", id));
     }
 
+    @Operation(summary = "Histórico de pedidos do cliente", description = "Retorna os pedidos do cliente, mais recentes primeiro, em resumo (restaurante, total, status e data). "
+            + "Para a página seguinte, repita a chamada com o proximoCursor recebido. Com itens=true, inclui os itens de cada pedido. "
+            + "O cliente só consulta o próprio histórico.")
+    @ApiResponse(responseCode = "200", description = "Página do histórico")
+    @ApiResponse(responseCode = "400", description = "Cursor inválido",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Histórico de outro cliente",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Nenhum cliente foi encontrado",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{id}/pedidos")
+    public HistoricoPedidosResponse historico(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+                                              @PathVariable Long id,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") int limite,
+                                              @RequestParam(defaultValue = "false") boolean itens) {
+        // só o administrador consulta o histórico de qualquer cliente
+        if (usuario == null || (usuario.role() != Role.ADMIN && !id.equals(usuario.clienteId()))) {
+            throw new AccessDeniedException("Histórico de outro cliente");
+        }
+        HistoricoPedidosResponse historico = pedidoService.historicoDoCliente(id, cursor,
+                Math.min(Math.max(limite, 1), LIMITE_MAXIMO_HISTORICO), itens);
+        // o cliente só é conferido quando a primeira página vem vazia
+        if (cursor == null && historico.getPedidos().isEmpty() && clienteService.buscarPorId(id).isEmpty()) {
+            throw new EntityNotFoundException("Cliente", id);
+        }
+        return historico;
+    }
+
     @Operation(summary = "Atualiza um cliente", description = "Atualiza os dados de um cliente existente a partir do seu ID.")
     @ApiResponse(responseCode = "200", description = "Cliente atualizado")
     @ApiResponse(responseCode = "404", description = "Cliente não foi encontrado",
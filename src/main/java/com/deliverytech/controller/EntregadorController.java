@@ -0,0 +1,118 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.request.EntregadorRequest;
+import com.deliverytech.dto.request.PosicaoRequest;
+import com.deliverytech.dto.response.EntregadorResponse;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Entregador;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.EntregadorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import java.util.List;
+
+@Tag(name = "Entregadores", description = "Endpoints para entregadores e sua disponibilidade para o despacho")
+@RestController
+@RequestMapping("/api/entregadores")
+@RequiredArgsConstructor
+public class EntregadorController {
+
+    private final EntregadorService entregadorService;
+
+    @Operation(summary = "Cadastra um entregador", description = "Cria o entregador fora de turno; ele entra no despacho depois de informar a posição e ficar disponível.")
+    @ApiResponse(responseCode = "201", description = "Entregador cadastrado")
+    @ApiResponse(responseCode = "400", description = "Dados inválidos para cadastro",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping
+    public ResponseEntity<EntregadorResponse> cadastrar(@Valid @RequestBody EntregadorRequest request) {
+        Entregador.EntregadorBuilder entregador = Entregador.builder()
+                .nome(request.getNome())
+                .telefone(request.getTelefone())
+                .cidade(request.getCidade().trim());
+        if (request.getVelocidadeMediaKmh() != null) {
+            entregador.velocidadeMediaKmh(request.getVelocidadeMediaKmh());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(resposta(entregadorService.cadastrar(entregador.build())));
+    }
+
+    @Operation(summary = "Lista os entregadores de uma cidade", description = "Retorna os entregadores ativos da cidade, em turno ou não, por nome.")
+    @ApiResponse(responseCode = "200", description = "Entregadores encontrados (lista vazia quando não há nenhum)")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping
+    public List<EntregadorResponse> listarPorCidade(@RequestParam String cidade) {
+        return entregadorService.listarPorCidade(cidade).stream().map(EntregadorController::resposta).toList();
+    }
+
+    @Operation(summary = "Busca um entregador por ID", description = "Retorna o entregador com a última posição informada.")
+    @ApiResponse(responseCode = "200", description = "Entregador encontrado")
+    @ApiResponse(responseCode = "400", description = "Entregador não encontrado.",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Cadastro de outro entregador",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{id}")
+    public EntregadorResponse buscarPorId(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+                                          @PathVariable Long id) {
+        verificarAcesso(usuario, id);
+        return resposta(entregadorService.buscarPorId(id).orElseThrow(() -> new EntityNotFoundException("Entregador", id)));
+    }
+
+    @Operation(summary = "Atualiza a posição do entregador", description = "Posição usada pelo despacho para estimar a chegada ao restaurante.")
+    @ApiResponse(responseCode = "200", description = "Posição atualizada")
+    @ApiResponse(responseCode = "400", description = "Coordenadas inválidas ou entregador não encontrado",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Cadastro de outro entregador",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PutMapping("/{id}/posicao")
+    public EntregadorResponse atualizarPosicao(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+                                               @PathVariable Long id, @Valid @RequestBody PosicaoRequest request) {
+        verificarAcesso(usuario, id);
+        return resposta(entregadorService.atualizarPosicao(id, request.getLatitude(), request.getLongitude()));
+    }
+
+    @Operation(summary = "Entra ou sai de turno", description = "Disponível, o entregador recebe pedidos na próxima rodada de despacho. Não volta a ficar disponível com uma entrega em andamento.")
+    @ApiResponse(responseCode = "200", description = "Disponibilidade alterada")
+    @ApiResponse(responseCode = "400", description = "Entregador não encontrado, sem posição ou com entrega em andamento",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "403", description = "Cadastro de outro entregador",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PatchMapping("/{id}/disponibilidade")
+    public EntregadorResponse alterarDisponibilidade(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                     @PathVariable Long id, @RequestParam boolean disponivel) {
+        verificarAcesso(usuario, id);
+        return resposta(entregadorService.alterarDisponibilidade(id, disponivel));
+    }
+
+    // o entregador só vê e altera o próprio cadastro, pela claim entregadorId do token
+    private static void verificarAcesso(UsuarioAutenticado usuario, Long id) {
+        if (usuario == null || (usuario.role() != Role.ADMIN && !id.equals(usuario.entregadorId()))) {
+            throw new AccessDeniedException("Cadastro de outro entregador");
+        }
+    }
+
+    private static EntregadorResponse resposta(Entregador e) {
+        return new EntregadorResponse(e.getId(), e.getNome(), e.getTelefone(), e.getCidade(), e.getVelocidadeMediaKmh(),
+                e.getLatitude(), e.getLongitude(), e.getDataAtualizacaoPosicao(), e.getDisponivel());
+    }
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.EstatisticaRestauranteResponse;
+import com.deliverytech.dto.response.ReconstrucaoEstatisticasResponse;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.EstatisticaRestauranteService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Tag(name = "Estatísticas", description = "Endpoints de estatísticas de vendas dos restaurantes")
+@RestController
+@RequestMapping("/api/estatisticas")
+@RequiredArgsConstructor
+public class EstatisticaController {
+
+    private final EstatisticaRestauranteService estatisticaService;
+
+    @Operation(summary = "Estatísticas de vendas de um restaurante", description = "Retorna pedidos, faturamento, ticket médio, taxa de cancelamento e produtos mais vendidos no período, a partir dos agregados diários.")
+    @ApiResponse(responseCode = "200", description = "Estatísticas encontradas")
+    @ApiResponse(responseCode = "403", description = "Restaurante diferente do vinculado ao usuário",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/restaurantes/{restauranteId}")
+    public ResponseEntity<EstatisticaRestauranteResponse> consultar(
+            @Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+            @PathVariable Long restauranteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false, defaultValue = "5") Integer topProdutos) {
+        // a equipe de um restaurante só consulta o próprio
+        if (usuario != null && usuario.role() == Role.RESTAURANTE && !restauranteId.equals(usuario.restauranteId())) {
+            throw new AccessDeniedException("Estatísticas de outro restaurante");
+        }
+        return ResponseEntity.ok(estatisticaService.consultar(restauranteId, inicio, fim, topProdutos));
+    }
+
+    @Operation(summary = "Reconstrói as estatísticas", description = "Recalcula os agregados diários do período a partir do histórico de pedidos, em partições paralelas, corrigindo só as linhas que divergem. Pode rodar com os pedidos entrando.")
+    @ApiResponse(responseCode = "200", description = "Estatísticas reconstruídas")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<ReconstrucaoEstatisticasResponse> reconstruir(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(estatisticaService.reconstruir(inicio, fim));
+    }
+}
@@ -0,0 +1,53 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.RelatorioImportacaoResponse;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.service.ImportacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Tag(name = "Importação", description = "Endpoints para importação em massa do catálogo")
+@RestController
+@RequestMapping("/api/importacao")
+@RequiredArgsConstructor
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    @Operation(summary = "Importa produtos em massa", description = "Recebe um CSV com cabeçalho, um array JSON ou NDJSON de produtos e retorna o relatório de erros por linha. "
+            + "Cada lote é gravado numa transação própria; um lote recusado pelo banco aparece inteiro no relatório, "
+            + "e os lotes já gravados permanecem se a importação for interrompida depois deles.")
+    @ApiResponse(responseCode = "200", description = "Importação concluída")
+    @ApiResponse(responseCode = "415", description = "Formato não suportado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping(value = "/produtos", consumes = {"text/csv", "application/json", "application/x-ndjson"})
+    public ResponseEntity<RelatorioImportacaoResponse> importarProdutos(InputStream entrada,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarProdutos(entrada, contentType));
+    }
+
+    @Operation(summary = "Importa restaurantes em massa", description = "Recebe um CSV com cabeçalho, um array JSON ou NDJSON de restaurantes e retorna o relatório de erros por linha. "
+            + "Cada lote é gravado numa transação própria; um lote recusado pelo banco aparece inteiro no relatório, "
+            + "e os lotes já gravados permanecem se a importação for interrompida depois deles.")
+    @ApiResponse(responseCode = "200", description = "Importação concluída")
+    @ApiResponse(responseCode = "415", description = "Formato não suportado")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping(value = "/restaurantes", consumes = {"text/csv", "application/json", "application/x-ndjson"})
+    public ResponseEntity<RelatorioImportacaoResponse> importarRestaurantes(InputStream entrada,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarRestaurantes(entrada, contentType));
+    }
+}
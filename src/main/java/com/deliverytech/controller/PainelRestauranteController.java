@@ -0,0 +1,116 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.response.EstatisticaRestauranteResponse;
+import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.PageResponse;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.EstatisticaRestauranteService;
+import com.deliverytech.service.PainelRestauranteService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Meu restaurante", description = "Painel da equipe de um restaurante; o restaurante vem do token")
+@RestController
+@RequestMapping("/api/meu-restaurante")
+@RequiredArgsConstructor
+public class PainelRestauranteController {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private final PainelRestauranteService painelService;
+    private final EstatisticaRestauranteService estatisticaService;
+
+    @Operation(summary = "Lista os pedidos do restaurante", description = "Retorna os pedidos do restaurante do usuário logado, mais recentes primeiro, opcionalmente filtrados por status.")
+    @ApiResponse(responseCode = "200", description = "Página de pedidos")
+    @ApiResponse(responseCode = "403", description = "Usuário sem restaurante vinculado",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/pedidos")
+    public PageResponse<PedidoResponse> listarPedidos(
+            @Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), TAMANHO_MAXIMO_PAGINA),
+                Sort.by(Sort.Direction.DESC, "dataPedido", "id"));
+        Page<Pedido> pagina = painelService.listarPedidos(restauranteDo(usuario), status, pageable);
+        return new PageResponse<>(
+                pagina.stream().map(PainelRestauranteController::paraResposta).toList(),
+                pagina.getTotalElements(),
+                pagina.getTotalPages(),
+                pagina.getSize(),
+                pagina.getNumber());
+    }
+
+    @Operation(summary = "Lista o cardápio do restaurante", description = "Retorna os produtos do restaurante do usuário logado, em ordem de nome.")
+    @ApiResponse(responseCode = "200", description = "Produtos do restaurante")
+    @ApiResponse(responseCode = "403", description = "Usuário sem restaurante vinculado",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/produtos")
+    public List<ProdutoResponse> listarProdutos(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return painelService.listarProdutos(restauranteDo(usuario)).stream()
+                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
+                .toList();
+    }
+
+    @Operation(summary = "Estatísticas de vendas do restaurante", description = "Mesmo conteúdo de /api/estatisticas/restaurantes/{id}, para o restaurante do usuário logado.")
+    @ApiResponse(responseCode = "200", description = "Estatísticas encontradas")
+    @ApiResponse(responseCode = "403", description = "Usuário sem restaurante vinculado",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/estatisticas")
+    public EstatisticaRestauranteResponse consultarEstatisticas(
+            @Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false, defaultValue = "5") Integer topProdutos) {
+        return estatisticaService.consultar(restauranteDo(usuario), inicio, fim, topProdutos);
+    }
+
+    private static Long restauranteDo(UsuarioAutenticado usuario) {
+        if (usuario == null || usuario.restauranteId() == null) {
+            throw new AccessDeniedException("Usuário sem restaurante vinculado");
+        }
+        return usuario.restauranteId();
+    }
+
+    private static PedidoResponse paraResposta(Pedido pedido) {
+        List<ItemPedidoResponse> itens = pedido.getItens().stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
+                .toList();
+        return new PedidoResponse(
+                pedido.getId(),
+                pedido.getCliente().getId(),
+                pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(),
+                pedido.getTotal(),
+                pedido.getStatus(),
+                pedido.getDataPedido(),
+                itens);
+    }
+}
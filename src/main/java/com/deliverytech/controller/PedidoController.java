@@ -1,29 +1,44 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.dto.request.CotacaoRequest;
 import com.deliverytech.dto.request.PedidoRequest;
+import com.deliverytech.dto.response.CotacaoResponse;
 import com.deliverytech.dto.response.ItemPedidoResponse;
 import com.deliverytech.dto.response.PedidoResponse;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.exception.ErrorResponse;
 import com.deliverytech.model.*;
 import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.ExportacaoPedidoService;
 import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.PrecificacaoService;
 import com.deliverytech.service.ProdutoService;
+import com.deliverytech.security.UsuarioAutenticado;
 import com.deliverytech.service.RestauranteService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,6 +52,8 @@ public class PedidoController {
     private final ClienteService clienteService;
     private final RestauranteService restauranteService;
     private final ProdutoService produtoService;
+    private final ExportacaoPedidoService exportacaoPedidoService;
+    private final PrecificacaoService precificacaoService;
 
     @Operation(summary = "Cria um novo pedido", description = "Cria um novo pedido para um cliente em um restaurante específico.")
     @ApiResponse(responseCode = "201", description = "Pedido cadastrado")
@@ -48,31 +65,30 @@ public class PedidoController {
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))    
     @PostMapping
-    public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request) {
+    public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request, UriComponentsBuilder uriBuilder) {
         Cliente cliente = clienteService.buscarPorId(request.getClienteId())
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", request.getClienteId()));
         Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante", request.getRestauranteId()));
 
-        List<ItemPedido> itens = request.getItens().stream().map(item -> {
+        // preços, promoções, cupom e taxa de entrega vêm da tabela de preços do restaurante
+        CotacaoResponse cotacao = precificacaoService.cotar(restaurante.getId(), request.getItens(), request.getCupom());
+        List<ItemPedido> itens = new ArrayList<>(cotacao.getItens().size());
+        for (CotacaoResponse.Item item : cotacao.getItens()) {
             Produto produto = produtoService.buscarPorId(item.getProdutoId())
                     .orElseThrow(() -> new EntityNotFoundException("Produto", item.getProdutoId()));
-            return ItemPedido.builder()
+            itens.add(ItemPedido.builder()
                     .produto(produto)
                     .quantidade(item.getQuantidade())
-                    .precoUnitario(produto.getPreco())
-                    .build();
-        }).collect(Collectors.toList());
-
-        BigDecimal total = itens.stream()
-                .map(i -> i.getPrecoUnitario().multiply(BigDecimal.valueOf(i.getQuantidade())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .precoUnitario(item.getPrecoUnitario())
+                    .build());
+        }
 
         Pedido pedido = Pedido.builder()
                 .cliente(cliente)
                 .restaurante(restaurante)
                 .status(StatusPedido.CRIADO)
-                .total(total)
+                .total(cotacao.getTotal())
                 .enderecoEntrega(request.getEnderecoEntrega())
                 .itens(itens)
                 .build();
@@ -82,8 +98,9 @@ public class PedidoController {
                 .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
                 .collect(Collectors.toList());
         
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-            .path("/{id}")
+        // o builder vem do Spring MVC já com o endereço base da requisição (e também pode ser montado fora dela)
+        URI location = uriBuilder
+            .path("/api/pedidos/{id}")
             .buildAndExpand(salvo.getId())
             .toUri();
 
@@ -98,4 +115,80 @@ public class PedidoController {
                 itensResp
         ));
     }
+
+    @Operation(summary = "Cota um pedido", description = "Calcula o preço da cesta com promoções, cupom e taxa de entrega, sem criar o pedido. O pedido criado com os mesmos itens e cupom sai com o mesmo total enquanto preços e promoções não mudarem.")
+    @ApiResponse(responseCode = "200", description = "Cotação calculada")
+    @ApiResponse(responseCode = "400", description = "Dados inválidos, produto fora do cardápio ou indisponível, cupom inválido",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping("/cotacao")
+    public CotacaoResponse cotar(@Valid @RequestBody CotacaoRequest request) {
+        return precificacaoService.cotar(request.getRestauranteId(), request.getItens(), request.getCupom());
+    }
+
+    @Operation(summary = "Busca um pedido por ID", description = "Retorna o pedido com seus itens e o status atual. "
+            + "O cliente só vê os próprios pedidos e a equipe de um restaurante, os do restaurante.")
+    @ApiResponse(responseCode = "200", description = "Pedido encontrado")
+    @ApiResponse(responseCode = "403", description = "Pedido de outro cliente ou restaurante",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Pedido não encontrado.",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{id}")
+    public ResponseEntity<PedidoResponse> buscarPorId(@Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                      @PathVariable Long id) {
+        Pedido pedido = pedidoService.buscarPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
+        verificarAcesso(usuario, pedido);
+        List<ItemPedidoResponse> itensResp = pedido.getItens().stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(new PedidoResponse(
+                pedido.getId(),
+                pedido.getCliente().getId(),
+                pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(),
+                pedido.getTotal(),
+                pedido.getStatus(),
+                pedido.getDataPedido(),
+                itensResp
+        ));
+    }
+
+    @Operation(summary = "Exporta pedidos por período", description = "Exporta os pedidos do período, com seus itens, em NDJSON ou CSV. O conteúdo é enviado em streaming.")
+    @ApiResponse(responseCode = "200", description = "Exportação iniciada")
+    @ApiResponse(responseCode = "400", description = "Parâmetros inválidos",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false, defaultValue = "NDJSON") FormatoExportacao formato,
+            HttpServletRequest request) {
+
+        // o ETag exigiria guardar a exportação inteira em memória
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        StreamingResponseBody body = saida -> exportacaoPedidoService.exportar(inicio, fim, formato, saida);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pedidos." + formato.getExtensao() + "\"")
+                .body(body);
+    }
+
+    // o administrador vê qualquer pedido; o cliente, só os seus; a equipe do restaurante, só os do restaurante
+    private static void verificarAcesso(UsuarioAutenticado usuario, Pedido pedido) {
+        boolean permitido = usuario != null && switch (usuario.role()) {
+            case ADMIN -> true;
+            case CLIENTE -> pedido.getCliente().getId().equals(usuario.clienteId());
+            case RESTAURANTE -> pedido.getRestaurante().getId().equals(usuario.restauranteId());
+            default -> false;
+        };
+        if (!permitido) {
+            throw new AccessDeniedException("Pedido de outro cliente ou restaurante");
+        }
+    }
 }
@@ -1,11 +1,17 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.dto.request.EstoqueRequest;
 import com.deliverytech.dto.request.ProdutoRequest;
+import com.deliverytech.dto.response.EstoqueResponse;
+import com.deliverytech.dto.response.PageResponse;
 import com.deliverytech.dto.response.ProdutoResponse;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Dinheiro;
 import com.deliverytech.model.Produto;
 import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.CatalogoService;
+import com.deliverytech.service.EstoqueService;
 import com.deliverytech.service.ProdutoService;
 import com.deliverytech.service.RestauranteService;
 
@@ -16,8 +22,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,7 +29,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
 
 @Tag(name = "Produtos", description = "Endpoints para gerenciamento de produtos")
 @RestController
@@ -35,6 +39,8 @@ public class ProdutoController {
 
     private final ProdutoService produtoService;
     private final RestauranteService restauranteService;
+    private final CatalogoService catalogoService;
+    private final EstoqueService estoqueService;
 
     @Operation(summary = "Cadastra um novo produto", description = "Cria um novo produto e o associa a um restaurante")
     @ApiResponse(responseCode = "200", description = "Produto cadastrado")
@@ -53,7 +59,7 @@ public class ProdutoController {
                 .nome(request.getNome())
                 .categoria(request.getCategoria())
                 .descricao(request.getDescricao())
-                .preco(request.getPreco())
+                .preco(Dinheiro.de(request.getPreco()))
                 .disponivel(true)
                 .restaurante(restaurante)
                 .build();
@@ -64,18 +70,17 @@ public class ProdutoController {
     }
 
     @Operation(summary = "Lista produtos por restaurante", description = "Retorna uma lista de todos os produtos de um restaurante específico.")
-    @ApiResponse(responseCode = "200", description = "Produtos encontrados")
-    @ApiResponse(responseCode = "404", description = "Produtos não encontrados.",
+    @ApiResponse(responseCode = "200", description = "Produtos encontrados (lista vazia quando o restaurante não tem nenhum)")
+    @ApiResponse(responseCode = "404", description = "Restaurante não encontrado.",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class))) 
     @GetMapping("/restaurante/{restauranteId}")
     public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        List<ProdutoResponse> list = produtoService.buscarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+        List<ProdutoResponse> list = catalogoService.produtosDoRestaurante(restauranteId);
 
-        if (list.isEmpty()) {
+        // só a lista vazia precisa distinguir restaurante sem produtos de restaurante inexistente
+        if (list.isEmpty() && restauranteService.buscarPorId(restauranteId).isEmpty()) {
             throw new EntityNotFoundException("Restaurante", restauranteId);
         }
 
@@ -96,7 +101,7 @@ public class ProdutoController {
                 .nome(request.getNome())
                 .categoria(request.getCategoria())
                 .descricao(request.getDescricao())
-                .preco(request.getPreco())
+                .preco(Dinheiro.de(request.getPreco()))
                 .build();
         Produto salvo = produtoService.atualizar(id, atualizado);
         return ResponseEntity.ok(new ProdutoResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getDescricao(), salvo.getPreco(), salvo.getDisponivel()));
@@ -114,11 +119,44 @@ public class ProdutoController {
         return ResponseEntity.noContent().build();
     }
 
-    @Cacheable("produtos")
+    @Operation(summary = "Consulta o estoque de um produto", description = "Retorna as unidades disponíveis agora, já descontadas as reservas dos pedidos em aberto.")
+    @ApiResponse(responseCode = "200", description = "Estoque do produto (sem quantidade quando o produto não tem controle de estoque)")
+    @ApiResponse(responseCode = "404", description = "Produto não encontrado.",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{id}/estoque")
+    public EstoqueResponse consultarEstoque(@PathVariable Long id) {
+        produtoService.buscarPorId(id).orElseThrow(() -> new EntityNotFoundException("Produto", id));
+        return estoque(id);
+    }
+
+    @Operation(summary = "Define o estoque de um produto", description = "Troca o saldo do produto pela quantidade informada (reposição ou inventário); sem quantidade, o produto deixa de ter controle de estoque. Com saldo zero o produto fica indisponível, e com saldo positivo, disponível.")
+    @ApiResponse(responseCode = "200", description = "Estoque definido")
+    @ApiResponse(responseCode = "400", description = "Quantidade inválida",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Produto não encontrado.",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PutMapping("/{id}/estoque")
+    public EstoqueResponse definirEstoque(@PathVariable Long id, @Valid @RequestBody EstoqueRequest request) {
+        estoqueService.definir(id, request.getQuantidade());
+        return estoque(id);
+    }
+
+    @Operation(summary = "Lista produtos paginados", description = "Retorna uma página do catálogo de produtos.")
+    @ApiResponse(responseCode = "200", description = "Página de produtos")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @Timed(value = "produtos.buscar", histogram = true)
     @GetMapping("/produtos")
-    public Page<Produto> buscar(Pageable pageable) {
-        return produtoService.listar(pageable);
+    public PageResponse<ProdutoResponse> buscar(Pageable pageable) {
+        return catalogoService.listarProdutos(pageable);
     }
 
+    private EstoqueResponse estoque(Long produtoId) {
+        OptionalLong quantidade = estoqueService.disponivel(produtoId);
+        return new EstoqueResponse(produtoId, quantidade.isPresent() ? quantidade.getAsLong() : null, quantidade.isPresent());
+    }
 }
@@ -0,0 +1,87 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.dto.request.PromocaoRequest;
+import com.deliverytech.dto.response.PromocaoResponse;
+import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Promocao;
+import com.deliverytech.service.PromocaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+@Tag(name = "Promoções", description = "Endpoints para promoções e cupons dos restaurantes")
+@RestController
+@RequestMapping("/api/promocoes")
+@RequiredArgsConstructor
+public class PromocaoController {
+
+    private final PromocaoService promocaoService;
+
+    @Operation(summary = "Cadastra uma promoção", description = "Cria uma promoção de produto, de categoria ou um cupom. O desconto é em percentual ou em valor; cupons podem exigir pedido mínimo e dar frete grátis. Passa a valer nas cotações e pedidos na hora.")
+    @ApiResponse(responseCode = "201", description = "Promoção cadastrada")
+    @ApiResponse(responseCode = "400", description = "Dados inválidos, restaurante ou produto não encontrado",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping
+    public ResponseEntity<PromocaoResponse> cadastrar(@Valid @RequestBody PromocaoRequest request) {
+        Promocao promocao = Promocao.builder()
+                .restauranteId(request.getRestauranteId())
+                .descricao(request.getDescricao())
+                .escopo(request.getEscopo())
+                .produtoId(request.getProdutoId())
+                .categoria(request.getCategoria())
+                .codigoCupom(request.getCodigoCupom() == null ? null : request.getCodigoCupom().trim())
+                .descontoPontosBase(request.getPercentualDesconto() == null ? null
+                        : request.getPercentualDesconto().movePointRight(2).setScale(0, RoundingMode.HALF_EVEN).intValueExact())
+                .descontoValor(request.getValorDesconto() == null ? null : Dinheiro.de(request.getValorDesconto()))
+                .valorMinimoPedido(request.getValorMinimoPedido() == null ? null : Dinheiro.de(request.getValorMinimoPedido()))
+                .freteGratis(Boolean.TRUE.equals(request.getFreteGratis()))
+                .inicio(request.getInicio())
+                .fim(request.getFim())
+                .build();
+        return ResponseEntity.status(HttpStatus.CREATED).body(resposta(promocaoService.cadastrar(promocao)));
+    }
+
+    @Operation(summary = "Lista as promoções de um restaurante", description = "Retorna as promoções do restaurante, ativas e desativadas, das mais recentes para as mais antigas.")
+    @ApiResponse(responseCode = "200", description = "Promoções encontradas (lista vazia quando não há nenhuma)")
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/restaurante/{restauranteId}")
+    public List<PromocaoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
+        return promocaoService.listarPorRestaurante(restauranteId).stream().map(PromocaoController::resposta).toList();
+    }
+
+    @Operation(summary = "Desativa uma promoção", description = "A promoção deixa de valer nas cotações e pedidos na hora.")
+    @ApiResponse(responseCode = "204", description = "Promoção desativada, sem retorno.")
+    @ApiResponse(responseCode = "400", description = "Promoção não encontrada.",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> desativar(@PathVariable Long id) {
+        promocaoService.desativar(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static PromocaoResponse resposta(Promocao p) {
+        return new PromocaoResponse(p.getId(), p.getRestauranteId(), p.getDescricao(), p.getEscopo(), p.getProdutoId(),
+                p.getCategoria(), p.getCodigoCupom(),
+                p.getDescontoPontosBase() == null ? null : BigDecimal.valueOf(p.getDescontoPontosBase(), 2),
+                p.getDescontoValor(), p.getValorMinimoPedido(), p.getFreteGratis(), p.getInicio(), p.getFim(), p.getAtiva());
+    }
+}
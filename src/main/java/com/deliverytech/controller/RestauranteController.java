@@ -1,13 +1,21 @@
 package com.deliverytech.controller;
 
 import com.deliverytech.dto.request.RestauranteRequest;
+import com.deliverytech.dto.response.RestauranteProximoResponse;
 import com.deliverytech.dto.response.RestauranteResponse;
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.exception.ErrorResponse;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Endereco;
 import com.deliverytech.model.Restaurante;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.ProximidadeService;
 import com.deliverytech.service.RestauranteService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,10 +26,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
 
 import java.net.URI;
 import java.util.List;
@@ -31,9 +44,14 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/restaurantes")
 @RequiredArgsConstructor
+@Validated
 public class RestauranteController {
 
+    private static final int LIMITE_MAXIMO_PROXIMOS = 100;
+
     private final RestauranteService restauranteService;
+    private final ProximidadeService proximidadeService;
+    private final PedidoService pedidoService;
 
 
     @Operation(summary = "Cadastra um novo restaurante", description = "Cria um novo restaurante no sistema.")
@@ -48,8 +66,10 @@ public class RestauranteController {
                 .nome(request.getNome())
                 .telefone(request.getTelefone())
                 .categoria(request.getCategoria())
-                .taxaEntrega(request.getTaxaEntrega())
+                .taxaEntrega(Dinheiro.de(request.getTaxaEntrega()))
                 .tempoEntregaMinutos(request.getTempoEntregaMinutos())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .ativo(true)
                 .build();
         Restaurante salvo = restauranteService.cadastrar(restaurante);
@@ -61,13 +81,11 @@ public class RestauranteController {
 
         return ResponseEntity.created(location).body(new RestauranteResponse(
                 salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(),
-                salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
+                salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo(), salvo.getLatitude(), salvo.getLongitude()));
     }
 
     @Operation(summary = "Listar todos os restaurantes", description = "Retorna uma lista paginada de todos os restaurantes.")
-    @ApiResponse(responseCode = "200", description = "Restaurantes encontrados")
-    @ApiResponse(responseCode = "404", description = "Restaurantes não encontrados.",
-     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "200", description = "Restaurantes encontrados (página vazia quando não há nenhum)")
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))  
     @GetMapping
@@ -79,12 +97,7 @@ public class RestauranteController {
         Pageable pageable = PageRequest.of(page, pageSize);
 
         Page<RestauranteResponse> pages =  restauranteService.listarTodos(pageable)
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()));
-    
-        if (pages.getTotalElements() == 0) {
-            throw new EntityNotFoundException("restaurante");
-
-        }
+                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo(), r.getLatitude(), r.getLongitude()));
 
         return pages;
     }
@@ -98,26 +111,53 @@ public class RestauranteController {
     @GetMapping("/{id}")
     public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id) {
         return restauranteService.buscarPorId(id)
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
+                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo(), r.getLatitude(), r.getLongitude()))
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
     }
 
-    @Operation(summary = "Busca restaurantes por categoria", description = "Retorna uma lista de restaurantes que pertencem a uma categoria específica.")
+    @Operation(summary = "Busca restaurantes próximos", description = "Retorna os restaurantes ativos próximos à coordenada, ordenados pelo tempo estimado de entrega. Sem raio, considera os mais próximos. "
+            + "Sem coordenada, usa a posição do endereço de entrega mais recente do cliente.")
     @ApiResponse(responseCode = "200", description = "Restaurantes encontrados")
-    @ApiResponse(responseCode = "404", description = "Restaurantes não encontrados.",
+    @ApiResponse(responseCode = "400", description = "Coordenadas inválidas, ou ausentes sem endereço do cliente com posição",
+     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/proximos")
+    public List<RestauranteProximoResponse> buscarProximos(
+            @Parameter(hidden = true) @AuthenticationPrincipal UsuarioAutenticado usuario,
+            @RequestParam(required = false) @DecimalMin("-90.0") @DecimalMax("90.0") Double latitude,
+            @RequestParam(required = false) @DecimalMin("-180.0") @DecimalMax("180.0") Double longitude,
+            @RequestParam(required = false) @Positive Double raioKm,
+            @RequestParam(required = false, defaultValue = "20") Integer limite) {
+
+        if (latitude == null || longitude == null) {
+            if (latitude != null || longitude != null) {
+                throw new BusinessException("Informe latitude e longitude juntas");
+            }
+            Endereco endereco = enderecoDoCliente(usuario);
+            latitude = endereco.getLatitude();
+            longitude = endereco.getLongitude();
+        }
+        return proximidadeService.buscarProximos(latitude, longitude, raioKm, Math.min(Math.max(limite, 1), LIMITE_MAXIMO_PROXIMOS)).stream()
+                .map(p -> {
+                    Restaurante r = p.restaurante();
+                    return new RestauranteProximoResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTaxaEntrega(),
+                            r.getTempoEntregaMinutos(), r.getLatitude(), r.getLongitude(),
+                            Math.round(p.distanciaKm() * 100) / 100.0, p.tempoEstimadoMinutos());
+                })
+                .toList();
+    }
+
+    @Operation(summary = "Busca restaurantes por categoria", description = "Retorna uma lista de restaurantes que pertencem a uma categoria específica.")
+    @ApiResponse(responseCode = "200", description = "Restaurantes encontrados (lista vazia quando a categoria não tem nenhum)")
     @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))  
     @GetMapping("/categoria/{categoria}")
     public List<RestauranteResponse> buscarPorCategoria(@PathVariable String categoria) {
         List<RestauranteResponse> list =  restauranteService.buscarPorCategoria(categoria).stream()
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
+                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo(), r.getLatitude(), r.getLongitude()))
                 .collect(Collectors.toList());
-        
-        if (list.isEmpty()) {
-            throw new EntityNotFoundException("restaurante");
-        }
 
         return list;
     }
@@ -134,10 +174,21 @@ public class RestauranteController {
                 .nome(request.getNome())
                 .telefone(request.getTelefone())
                 .categoria(request.getCategoria())
-                .taxaEntrega(request.getTaxaEntrega())
+                .taxaEntrega(Dinheiro.de(request.getTaxaEntrega()))
                 .tempoEntregaMinutos(request.getTempoEntregaMinutos())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .build();
         Restaurante salvo = restauranteService.atualizar(id, atualizado);
-        return ResponseEntity.ok(new RestauranteResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(), salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo()));
+        return ResponseEntity.ok(new RestauranteResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getTelefone(), salvo.getTaxaEntrega(), salvo.getTempoEntregaMinutos(), salvo.getAtivo(), salvo.getLatitude(), salvo.getLongitude()));
+    }
+
+    // sem coordenada, o ponto de partida é o endereço de entrega mais recente do cliente que informou a posição
+    private Endereco enderecoDoCliente(UsuarioAutenticado usuario) {
+        String mensagem = "Informe latitude e longitude: não há endereço do cliente com posição";
+        if (usuario == null || usuario.clienteId() == null) {
+            throw new BusinessException(mensagem);
+        }
+        return pedidoService.ultimoEnderecoComPosicao(usuario.clienteId()).orElseThrow(() -> new BusinessException(mensagem));
     }
 }
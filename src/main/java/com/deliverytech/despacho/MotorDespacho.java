@@ -0,0 +1,128 @@
+package com.deliverytech.despacho;
+
+import com.deliverytech.search.IndiceGeografico;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Atribuição de pedidos a entregadores de uma cidade numa rodada de despacho, pelo tempo estimado do
+ * entregador até a coleta no restaurante (distância em linha reta sobre a velocidade do entregador).
+ *
+ * <p>Guloso por arestas em rodadas: o lado menor (pedidos ou entregadores) busca seus {@code candidatos}
+ * mais próximos do lado maior, guardado num {@link IndiceGeografico}. Todas as arestas da rodada são
+ * ordenadas pelo tempo estimado e tomadas em ordem quando pedido e entregador ainda estão livres. Quem
+ * perdeu todos os candidatos tenta de novo na rodada seguinte, só com o que sobrou do outro lado; quem
+ * não achou ninguém no raio sai das rodadas, porque o índice só diminui.</p>
+ *
+ * <p>Consultar pelo lado menor mantém as buscas curtas: o lado maior é o mais denso, então os
+ * candidatos aparecem nos primeiros anéis de células. No sentido contrário, com 10 mil pedidos e 2 mil
+ * entregadores, os 8 mil pedidos que sobram varreriam o raio inteiro a cada rodada.</p>
+ *
+ * <p>Não é o ótimo global do algoritmo húngaro, que é O(n³) e não cabe numa rodada com 10 mil pedidos.
+ * Fica, no entanto, perto dele quando a oferta está espalhada: o par mais rápido de cada região é
+ * sempre atribuído primeiro. Com k candidatos, cada rodada custa O(n·k·log(n·k)) mais as consultas
+ * à grade.</p>
+ */
+public final class MotorDespacho {
+
+    // 0,005° ≈ 550 m: poucos pontos por célula numa cidade cheia, e os candidatos saem dos primeiros anéis
+    private static final double TAMANHO_CELULA_GRAUS = 0.005;
+    private static final int MAX_RODADAS = 8;
+
+    private final int candidatos;
+    private final double raioMaximoKm;
+
+    public record PedidoPendente(long id, double latitude, double longitude) {}
+
+    public record EntregadorLivre(long id, double latitude, double longitude, double velocidadeKmh) {}
+
+    public record Atribuicao(long pedidoId, long entregadorId, double distanciaKm, double minutos) {}
+
+    private record Aresta(int pedido, int entregador, double distanciaKm, double minutos) {}
+
+    /**
+     * @param candidatos   entregadores mais próximos considerados por pedido a cada rodada
+     * @param raioMaximoKm distância máxima entre entregador e restaurante; pedidos sem ninguém no raio esperam
+     */
+    public MotorDespacho(int candidatos, double raioMaximoKm) {
+        if (candidatos < 1) {
+            throw new IllegalArgumentException("Ao menos um candidato por pedido");
+        }
+        this.candidatos = candidatos;
+        this.raioMaximoKm = raioMaximoKm;
+    }
+
+    /** Cada pedido e cada entregador aparecem no máximo uma vez no resultado, na ordem em que foram atribuídos. */
+    public List<Atribuicao> atribuir(List<PedidoPendente> pedidos, List<EntregadorLivre> entregadores) {
+        List<Atribuicao> atribuicoes = new ArrayList<>(Math.min(pedidos.size(), entregadores.size()));
+        if (pedidos.isEmpty() || entregadores.isEmpty()) {
+            return atribuicoes;
+        }
+
+        // o índice guarda as posições na lista do lado maior; as consultas partem das posições do menor
+        boolean porEntregador = entregadores.size() < pedidos.size();
+        int tamanhoIndexado = porEntregador ? pedidos.size() : entregadores.size();
+        IndiceGeografico indice = new IndiceGeografico(TAMANHO_CELULA_GRAUS);
+        for (int i = 0; i < tamanhoIndexado; i++) {
+            indice.atualizar(i, porEntregador ? pedidos.get(i).latitude() : entregadores.get(i).latitude(),
+                    porEntregador ? pedidos.get(i).longitude() : entregadores.get(i).longitude());
+        }
+        int tamanhoConsulta = porEntregador ? entregadores.size() : pedidos.size();
+        List<Integer> abertos = new ArrayList<>(tamanhoConsulta);
+        for (int i = 0; i < tamanhoConsulta; i++) {
+            abertos.add(i);
+        }
+        boolean[] pedidoAtendido = new boolean[pedidos.size()];
+        boolean[] entregadorOcupado = new boolean[entregadores.size()];
+
+        // empates pelos ids, para o resultado não depender da ordem das listas
+        Comparator<Aresta> maisRapida = (a, b) -> {
+            int comparacao = Double.compare(a.minutos(), b.minutos());
+            if (comparacao == 0) {
+                comparacao = Long.compare(pedidos.get(a.pedido()).id(), pedidos.get(b.pedido()).id());
+            }
+            return comparacao != 0 ? comparacao
+                    : Long.compare(entregadores.get(a.entregador()).id(), entregadores.get(b.entregador()).id());
+        };
+        for (int rodada = 0; rodada < MAX_RODADAS && !abertos.isEmpty() && indice.tamanho() > 0; rodada++) {
+            List<Aresta> arestas = new ArrayList<>(abertos.size() * candidatos);
+            List<Integer> semCandidatos = new ArrayList<>();
+            for (int consulta : abertos) {
+                double latitude = porEntregador ? entregadores.get(consulta).latitude() : pedidos.get(consulta).latitude();
+                double longitude = porEntregador ? entregadores.get(consulta).longitude() : pedidos.get(consulta).longitude();
+                List<IndiceGeografico.Vizinho> vizinhos = indice.buscarMaisProximos(latitude, longitude, candidatos, raioMaximoKm);
+                if (vizinhos.isEmpty()) {
+                    semCandidatos.add(consulta);
+                }
+                for (IndiceGeografico.Vizinho vizinho : vizinhos) {
+                    int pedido = porEntregador ? (int) vizinho.id() : consulta;
+                    int entregador = porEntregador ? consulta : (int) vizinho.id();
+                    double minutos = vizinho.distanciaKm() / entregadores.get(entregador).velocidadeKmh() * 60;
+                    arestas.add(new Aresta(pedido, entregador, vizinho.distanciaKm(), minutos));
+                }
+            }
+            arestas.sort(maisRapida);
+
+            int antes = atribuicoes.size();
+            for (Aresta aresta : arestas) {
+                if (pedidoAtendido[aresta.pedido()] || entregadorOcupado[aresta.entregador()]) {
+                    continue;
+                }
+                pedidoAtendido[aresta.pedido()] = true;
+                entregadorOcupado[aresta.entregador()] = true;
+                indice.remover(porEntregador ? aresta.pedido() : aresta.entregador());
+                atribuicoes.add(new Atribuicao(pedidos.get(aresta.pedido()).id(), entregadores.get(aresta.entregador()).id(),
+                        aresta.distanciaKm(), aresta.minutos()));
+            }
+            if (atribuicoes.size() == antes) {
+                break;
+            }
+            boolean[] fora = new boolean[tamanhoConsulta];
+            semCandidatos.forEach(consulta -> fora[consulta] = true);
+            abertos.removeIf(consulta -> fora[consulta] || (porEntregador ? entregadorOcupado[consulta] : pedidoAtendido[consulta]));
+        }
+        return atribuicoes;
+    }
+}
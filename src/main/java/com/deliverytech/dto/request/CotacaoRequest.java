@@ -0,0 +1,25 @@
+package com.deliverytech.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotacaoRequest {
+
+    @NotNull(message = "O ID do restaurante é obrigatório")
+    private Long restauranteId;
+
+    @NotEmpty(message = "A cotação deve ter pelo menos 1 item")
+    @Valid
+    private List<ItemPedidoRequest> itens;
+
+    @Size(max = 40, message = "O cupom não pode exceder 40 caracteres")
+    private String cupom;
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntregadorRequest {
+
+    @NotBlank(message = "O nome não pode estar em branco")
+    @Size(min = 2, max = 100, message = "O nome deve ter entre 2 e 100 caracteres")
+    private String nome;
+
+    @Size(max = 20, message = "O telefone não pode exceder 20 caracteres")
+    private String telefone;
+
+    @NotBlank(message = "A cidade é obrigatória")
+    @Size(max = 100, message = "A cidade não pode exceder 100 caracteres")
+    private String cidade;
+
+    @DecimalMin(value = "1.0", message = "A velocidade média deve ser de ao menos 1 km/h")
+    @DecimalMax(value = "120.0", message = "A velocidade média não pode exceder 120 km/h")
+    private Double velocidadeMediaKmh;
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueRequest {
+
+    /** Sem quantidade, o produto deixa de ter controle de estoque. */
+    @Min(value = 0, message = "O estoque não pode ser negativo")
+    @Max(value = 1_000_000, message = "O estoque não pode exceder 1.000.000 unidades")
+    private Integer quantidade;
+}
@@ -5,6 +5,7 @@ import com.deliverytech.model.Endereco;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.util.List;
@@ -27,4 +28,7 @@ public class PedidoRequest {
     @NotEmpty(message = "O pedido deve ter pelo menos 1 item")
     @Valid
     private List<ItemPedidoRequest> itens;
+
+    @Size(max = 40, message = "O cupom não pode exceder 40 caracteres")
+    private String cupom;
 }
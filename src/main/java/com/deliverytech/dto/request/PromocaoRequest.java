@@ -0,0 +1,48 @@
+package com.deliverytech.dto.request;
+
+import com.deliverytech.model.EscopoPromocao;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromocaoRequest {
+
+    @NotNull(message = "O ID do restaurante é obrigatório")
+    private Long restauranteId;
+
+    @NotBlank(message = "A descrição não pode estar em branco")
+    @Size(max = 200, message = "A descrição não pode exceder 200 caracteres")
+    private String descricao;
+
+    @NotNull(message = "O escopo é obrigatório (PRODUTO, CATEGORIA ou CUPOM)")
+    private EscopoPromocao escopo;
+
+    private Long produtoId;
+
+    private String categoria;
+
+    @Size(max = 40, message = "O código do cupom não pode exceder 40 caracteres")
+    private String codigoCupom;
+
+    @DecimalMin(value = "0.01", message = "O percentual de desconto deve ser maior que zero")
+    @DecimalMax(value = "100.00", message = "O percentual de desconto não pode exceder 100")
+    @Digits(integer = 3, fraction = 2, message = "O percentual de desconto aceita até 2 casas decimais")
+    private BigDecimal percentualDesconto;
+
+    @DecimalMin(value = "0.01", message = "O valor de desconto deve ser maior que zero")
+    private BigDecimal valorDesconto;
+
+    @DecimalMin(value = "0.0", message = "O pedido mínimo não pode ser negativo")
+    private BigDecimal valorMinimoPedido;
+
+    private Boolean freteGratis;
+
+    private LocalDateTime inicio;
+
+    private LocalDateTime fim;
+}
@@ -22,4 +22,5 @@ public class RegisterRequest {
 
     private Role role;
     private Long restauranteId;
+    private Long entregadorId;
 }
@@ -0,0 +1,15 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscaResponse<T> {
+    private Long total;
+    private Map<String, Long> facetas;
+    private List<T> resultados;
+}
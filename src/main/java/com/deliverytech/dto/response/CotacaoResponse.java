@@ -0,0 +1,37 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.Dinheiro;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Preço de uma cesta: {@code total = subtotal - descontoCupom + taxaEntrega}. O subtotal já vem com
+ * as promoções de produto e de categoria, cuja economia aparece em {@code descontoItens}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotacaoResponse {
+    private Long restauranteId;
+    private List<Item> itens;
+    private Dinheiro subtotal;
+    private Dinheiro descontoItens;
+    private Dinheiro descontoCupom;
+    private Dinheiro taxaEntrega;
+    private Dinheiro total;
+    // código do cupom aplicado, como cadastrado
+    private String cupom;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long produtoId;
+        private String nome;
+        private Integer quantidade;
+        private Dinheiro precoOriginal;
+        private Dinheiro precoUnitario;
+        private Dinheiro subtotal;
+    }
+}
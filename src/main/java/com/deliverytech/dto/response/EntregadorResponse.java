@@ -0,0 +1,22 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntregadorResponse {
+    private Long id;
+    private String nome;
+    private String telefone;
+    private String cidade;
+    private Double velocidadeMediaKmh;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime dataAtualizacaoPosicao;
+    private Boolean disponivel;
+}
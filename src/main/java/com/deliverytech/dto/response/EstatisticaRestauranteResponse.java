@@ -0,0 +1,42 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.Dinheiro;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaRestauranteResponse {
+    private Long restauranteId;
+    private LocalDate inicio;
+    private LocalDate fim;
+    private Long quantidadePedidos;
+    private Long quantidadeCancelados;
+    private Dinheiro faturamento;
+    private Dinheiro ticketMedio;
+    private Double taxaCancelamento;
+    private List<Dia> dias;
+    private List<ProdutoVendido> topProdutos;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Dia {
+        private LocalDate dia;
+        private Long quantidadePedidos;
+        private Long quantidadeCancelados;
+        private Dinheiro faturamento;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProdutoVendido {
+        private Long produtoId;
+        private String nome;
+        private Long quantidadeVendida;
+    }
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueResponse {
+    private Long produtoId;
+    private Long quantidade;
+    private Boolean controlado;
+}
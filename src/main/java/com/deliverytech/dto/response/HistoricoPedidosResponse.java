@@ -0,0 +1,16 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoPedidosResponse {
+    private List<ResumoPedidoResponse> pedidos;
+    // repassado em "cursor" para buscar os pedidos seguintes; nulo quando não há mais
+    private String proximoCursor;
+}
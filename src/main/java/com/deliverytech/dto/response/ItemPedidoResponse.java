@@ -1,9 +1,8 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.model.Dinheiro;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,5 +10,5 @@ public class ItemPedidoResponse {
     private Long produtoId;
     private String nomeProduto;
     private Integer quantidade;
-    private BigDecimal precoUnitario;
+    private Dinheiro precoUnitario;
 }
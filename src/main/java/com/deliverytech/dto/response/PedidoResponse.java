@@ -1,10 +1,10 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.model.Dinheiro;
 import com.deliverytech.model.StatusPedido;
 import com.deliverytech.model.Endereco;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,7 +16,7 @@ public class PedidoResponse {
     private Long clienteId;
     private Long restauranteId;
     private Endereco enderecoEntrega;
-    private BigDecimal total;
+    private Dinheiro total;
     private StatusPedido status;
     private LocalDateTime dataPedido;
     private List<ItemPedidoResponse> itens;
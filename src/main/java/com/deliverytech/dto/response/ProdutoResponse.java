@@ -1,9 +1,8 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.model.Dinheiro;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,6 +11,6 @@ public class ProdutoResponse {
     private String nome;
     private String categoria;
     private String descricao;
-    private BigDecimal preco;
+    private Dinheiro preco;
     private Boolean disponivel;
 }
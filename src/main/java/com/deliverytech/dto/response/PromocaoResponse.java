@@ -0,0 +1,28 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.EscopoPromocao;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromocaoResponse {
+    private Long id;
+    private Long restauranteId;
+    private String descricao;
+    private EscopoPromocao escopo;
+    private Long produtoId;
+    private String categoria;
+    private String codigoCupom;
+    private BigDecimal percentualDesconto;
+    private Dinheiro valorDesconto;
+    private Dinheiro valorMinimoPedido;
+    private Boolean freteGratis;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private Boolean ativa;
+}
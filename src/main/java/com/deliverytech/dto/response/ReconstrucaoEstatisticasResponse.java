@@ -0,0 +1,17 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconstrucaoEstatisticasResponse {
+    private LocalDate inicio;
+    private LocalDate fim;
+    private Integer particoes;
+    private Long linhasRestaurante;
+    private Long linhasProduto;
+    private Long duracaoMs;
+}
@@ -0,0 +1,27 @@
+package com.deliverytech.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioImportacaoResponse {
+    private Long totalLinhas;
+    private Long importadas;
+    private Long rejeitadas;
+    private Long duracaoMs;
+    private Long linhasPorSegundo;
+    private Boolean errosTruncados;
+    private List<ErroLinha> erros;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private Long linha;
+        private Map<String, String> detalhes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.Dinheiro;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestauranteProximoResponse {
+    private Long id;
+    private String nome;
+    private String categoria;
+    private Dinheiro taxaEntrega;
+    private Integer tempoEntregaMinutos;
+    private Double latitude;
+    private Double longitude;
+    private Double distanciaKm;
+    private Integer tempoEstimadoMinutos;
+}
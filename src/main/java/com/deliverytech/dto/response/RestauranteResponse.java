@@ -1,9 +1,8 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.model.Dinheiro;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,7 +11,9 @@ public class RestauranteResponse {
     private String nome;
     private String categoria;
     private String telefone;
-    private BigDecimal taxaEntrega;
+    private Dinheiro taxaEntrega;
     private Integer tempoEntregaMinutos;
     private Boolean ativo;
+    private Double latitude;
+    private Double longitude;
 }
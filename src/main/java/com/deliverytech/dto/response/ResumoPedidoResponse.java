@@ -0,0 +1,30 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.StatusPedido;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoPedidoResponse {
+    private Long id;
+    private String nomeRestaurante;
+    private Dinheiro total;
+    private StatusPedido status;
+    private LocalDateTime dataPedido;
+    // só quando os itens foram pedidos na consulta
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ItemPedidoResponse> itens;
+
+    // usado pela projeção da consulta do histórico
+    public ResumoPedidoResponse(Long id, String nomeRestaurante, Dinheiro total, StatusPedido status, LocalDateTime dataPedido) {
+        this(id, nomeRestaurante, total, status, dataPedido, null);
+    }
+}
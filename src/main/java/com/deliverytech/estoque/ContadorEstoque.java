@@ -0,0 +1,153 @@
+package com.deliverytech.estoque;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estoque de um produto dividido em faixas, à moda do {@link java.util.concurrent.atomic.LongAdder}:
+ * cada thread reserva primeiro na sua faixa, com um compare-and-set que nunca deixa a faixa negativa,
+ * então pedidos simultâneos do mesmo produto raramente disputam a mesma linha de cache.
+ *
+ * <ul>
+ *   <li>Sem saldo na própria faixa, a thread tenta as outras.</li>
+ *   <li>Se nenhuma faixa sozinha cobre a quantidade, a reserva junta todas as faixas sob uma trava
+ *       e redistribui o que sobra. Assim uma reserva só falha quando o total realmente não basta,
+ *       mesmo com o saldo espalhado em pedaços.</li>
+ * </ul>
+ *
+ * <p>Nunca vende além do estoque: uma unidade está numa faixa ou foi reservada, e só a thread com
+ * a trava segura unidades fora das faixas. {@link #disponivel()} soma as faixas sem trava; sob
+ * concorrência é uma leitura aproximada, suficiente para a gravação periódica no banco.</p>
+ */
+public final class ContadorEstoque {
+
+    // 16 longs = 128 bytes entre faixas: duas faixas nunca dividem uma linha de cache
+    private static final int ESPACAMENTO = 16;
+
+    private final int mascara;
+    private final AtomicLongArray valores;
+    private final ReentrantLock trava = new ReentrantLock();
+
+    /** @param faixas arredondado para a potência de 2 seguinte */
+    public ContadorEstoque(long inicial, int faixas) {
+        if (inicial < 0) {
+            throw new IllegalArgumentException("Estoque negativo: " + inicial);
+        }
+        int n = faixas <= 1 ? 1 : Integer.highestOneBit(faixas - 1) << 1;
+        this.mascara = n - 1;
+        this.valores = new AtomicLongArray(n * ESPACAMENTO);
+        distribuir(inicial);
+    }
+
+    /** Reserva {@code quantidade} unidades se houver; {@code false} sem alterar nada quando não há. */
+    public boolean reservar(long quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade inválida: " + quantidade);
+        }
+        int inicio = faixaDaThread();
+        for (int i = 0; i <= mascara; i++) {
+            if (retirar(((inicio + i) & mascara) * ESPACAMENTO, quantidade)) {
+                return true;
+            }
+        }
+        return reservarJuntando(quantidade);
+    }
+
+    /** Devolve unidades reservadas, como no cancelamento do pedido. */
+    public void liberar(long quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade inválida: " + quantidade);
+        }
+        valores.addAndGet(faixaDaThread() * ESPACAMENTO, quantidade);
+    }
+
+    /** Troca o saldo por {@code quantidade} (reposição); reservas já feitas continuam feitas. */
+    public void definir(long quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Estoque negativo: " + quantidade);
+        }
+        trava.lock();
+        try {
+            for (int i = 0; i <= mascara; i++) {
+                valores.getAndSet(i * ESPACAMENTO, 0);
+            }
+            distribuir(quantidade);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Soma {@code diferenca} ao saldo: positiva devolve unidades, negativa retira o que houver, sem
+     * deixar o saldo negativo. É como o saldo acompanha as vendas e reposições de outras instâncias.
+     */
+    public void ajustar(long diferenca) {
+        if (diferenca >= 0) {
+            if (diferenca > 0) {
+                liberar(diferenca);
+            }
+            return;
+        }
+        trava.lock();
+        try {
+            long total = 0;
+            for (int i = 0; i <= mascara; i++) {
+                total += valores.getAndSet(i * ESPACAMENTO, 0);
+            }
+            distribuir(Math.max(0, total + diferenca));
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public long disponivel() {
+        long total = 0;
+        for (int i = 0; i <= mascara; i++) {
+            total += valores.get(i * ESPACAMENTO);
+        }
+        return total;
+    }
+
+    private boolean retirar(int posicao, long quantidade) {
+        long atual;
+        while ((atual = valores.get(posicao)) >= quantidade) {
+            if (valores.compareAndSet(posicao, atual, atual - quantidade)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean reservarJuntando(long quantidade) {
+        trava.lock();
+        try {
+            long total = 0;
+            for (int i = 0; i <= mascara; i++) {
+                total += valores.getAndSet(i * ESPACAMENTO, 0);
+            }
+            boolean reservado = total >= quantidade;
+            distribuir(reservado ? total - quantidade : total);
+            return reservado;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // soma às faixas, sem sobrescrever: liberações simultâneas continuam valendo
+    private void distribuir(long total) {
+        int faixas = mascara + 1;
+        long parte = total / faixas;
+        long resto = total % faixas;
+        for (int i = 0; i < faixas; i++) {
+            long valor = parte + (i < resto ? 1 : 0);
+            if (valor > 0) {
+                valores.addAndGet(i * ESPACAMENTO, valor);
+            }
+        }
+    }
+
+    private int faixaDaThread() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mascara;
+    }
+}
@@ -1,9 +1,18 @@
 package com.deliverytech.exception;
 
+/**
+ * Erro de regra de negócio, respondido com 4xx pelo {@link GlobalExceptionHandler}.
+ *
+ * <p>Não captura a pilha: estas exceções fazem parte do fluxo normal (recurso inexistente, estado
+ * inválido, conflito) e o handler nunca registra a pilha delas, então percorrer os frames a cada
+ * lançamento não compra nada. Para depurar, suba com {@code -Ddeliverytech.excecoes.pilha=true}.</p>
+ */
 public class BusinessException extends RuntimeException {
 
+    private static final boolean PILHA = Boolean.getBoolean("deliverytech.excecoes.pilha");
+
     public BusinessException(String message) {
-        super(message);
+        super(message, null, false, PILHA);
     }
 
 }
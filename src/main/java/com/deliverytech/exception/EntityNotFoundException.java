@@ -3,11 +3,11 @@ package com.deliverytech.exception;
 public class EntityNotFoundException extends BusinessException {
 
     public EntityNotFoundException(String entityName, Long id) {
-        super(String.format("%s com ID %S não encontrado", entityName, id));
+        super(entityName + " com ID " + id + " não encontrado");
     }
 
      public EntityNotFoundException(String entityName) {
-        super(String.format(" Não foram encontrado nenhum %s", entityName));
+        super(" Não foram encontrado nenhum " + entityName);
     }
 
 }
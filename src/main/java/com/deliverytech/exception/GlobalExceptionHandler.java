@@ -3,16 +3,26 @@ package com.deliverytech.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
-
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
+/**
+ * Traduz as exceções em {@link ErrorResponse}. As respostas são montadas a cada requisição porque levam o
+ * instante e o caminho dela; o que pesava no caminho de erro era a captura da pilha, que as exceções de
+ * negócio não fazem (veja {@link BusinessException}).
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -20,7 +30,7 @@ public class GlobalExceptionHandler {
 
 
     @ExceptionHandler(MethodArgumentNotValidException.class) 
-    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
         Map<String, String> details = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error -> {
             details.put(error.getField(), error.getDefaultMessage());
@@ -31,44 +41,102 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.value(), 
             "Erro de validação", 
             "Campos inválidos na requisição",
-             request.getDescription(false).replace("uri=", ""), 
+             request.getRequestURI(), 
+             details);
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // parâmetros de consulta e de caminho validados com @Validated no controller
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationExceptions(ConstraintViolationException ex, HttpServletRequest request) {
+        Map<String, String> details = new HashMap<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            String parametro = null;
+            for (Path.Node node : violation.getPropertyPath()) {
+                parametro = node.getName();
+            }
+            details.put(parametro, violation.getMessage());
+        }
+        return parametrosInvalidos(details, request);
+    }
+
+    // a mesma validação quando feita pelo próprio Spring MVC, sem @Validated na classe
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleHandlerMethodValidationExceptions(HandlerMethodValidationException ex, HttpServletRequest request) {
+        Map<String, String> details = new HashMap<>();
+        ex.getAllValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                details.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage())));
+        return parametrosInvalidos(details, request);
+    }
+
+    private ResponseEntity<ErrorResponse> parametrosInvalidos(Map<String, String> details, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Erro de validação",
+            "Parâmetros inválidos na requisição",
+             request.getRequestURI(),
              details);
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(EntityNotFoundException.class) 
-    public ResponseEntity<ErrorResponse> handleNotFoundExceptions(EntityNotFoundException ex, WebRequest request) {
+    public ResponseEntity<ErrorResponse> handleNotFoundExceptions(EntityNotFoundException ex, HttpServletRequest request) {
 
         ErrorResponse errorResponse = new ErrorResponse(
             HttpStatus.NOT_FOUND.value(), 
             "Recurso não encontrado", 
             ex.getMessage(),
-             request.getDescription(false).replace("uri=", ""));
+             request.getRequestURI());
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ConflictException.class) 
-    public ResponseEntity<ErrorResponse> handleConflictExceptions(ConflictException ex, WebRequest request) {
+    public ResponseEntity<ErrorResponse> handleConflictExceptions(ConflictException ex, HttpServletRequest request) {
 
         ErrorResponse errorResponse = new ErrorResponse(
             HttpStatus.CONFLICT.value(), 
             "Conflito de dados", 
             ex.getMessage(),
-             request.getDescription(false).replace("uri=", ""));
+             request.getRequestURI());
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessExceptions(BusinessException ex, HttpServletRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Requisição inválida",
+            ex.getMessage(),
+             request.getRequestURI());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedExceptions(AccessDeniedException ex, HttpServletRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.FORBIDDEN.value(),
+            "Acesso negado",
+            ex.getMessage(),
+             request.getRequestURI());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+    }
+
       @ExceptionHandler(Exception.class) 
-    public ResponseEntity<ErrorResponse> handleGenericExceptions(Exception ex, WebRequest request) {
+    public ResponseEntity<ErrorResponse> handleGenericExceptions(Exception ex, HttpServletRequest request) {
 
         ErrorResponse errorResponse = new ErrorResponse(
             HttpStatus.INTERNAL_SERVER_ERROR.value(), 
             "Erro interno no servidor", 
             "Ocorreu um erro inesperado. Tente novamente mais tarde.",
-             request.getDescription(false).replace("uri=", ""));
+             request.getRequestURI());
 
         log.error("Exceção inesperada: ", ex);
              
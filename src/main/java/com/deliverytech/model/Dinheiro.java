@@ -0,0 +1,142 @@
+package com.deliverytech.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Valor em reais guardado como um {@code long} de centavos. Imutável; as operações conferem estouro
+ * ({@link ArithmeticException}) em vez de dar a volta.
+ *
+ * <p>Toda conversão que perde casas decimais arredonda meio para o par ({@link RoundingMode#HALF_EVEN},
+ * o arredondamento da ABNT NBR 5891): 0,125 vira 0,12 e 0,135 vira 0,14, sem puxar as somas de muitos
+ * valores arredondados para cima.</p>
+ *
+ * <p>No banco e na API o valor continua um decimal com duas casas ({@link DinheiroConverter} e o módulo
+ * registrado no {@code JacksonConfig}). Em laços quentes, acumule os centavos num {@code long} com
+ * {@link #acumular(long, Dinheiro, long)} e crie o {@code Dinheiro} só no fim.</p>
+ */
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /** Arredonda para centavos meio para o par; lança {@link ArithmeticException} se não couber num {@code long}. */
+    public static Dinheiro de(BigDecimal valor) {
+        Objects.requireNonNull(valor, "valor");
+        return deCentavos(valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+
+    public static Dinheiro de(String valor) {
+        return de(new BigDecimal(valor));
+    }
+
+    /**
+     * Soma {@code valor * quantidade} a um acumulador em centavos, sem criar objetos.
+     * Ex.: {@code long total = 0; for (...) total = Dinheiro.acumular(total, preco, quantidade);}
+     */
+    public static long acumular(long centavos, Dinheiro valor, long quantidade) {
+        return Math.addExact(centavos, Math.multiplyExact(valor.centavos, quantidade));
+    }
+
+    public long centavos() {
+        return centavos;
+    }
+
+    public Dinheiro mais(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro menos(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro vezes(long fator) {
+        return deCentavos(Math.multiplyExact(centavos, fator));
+    }
+
+    /** Divide por um inteiro arredondando meio para o par, como o ticket médio de um período. */
+    public Dinheiro divididoPor(long divisor) {
+        return deCentavos(dividirMeioParaPar(centavos, divisor));
+    }
+
+    /** Fração do valor em pontos-base (1 pb = 0,01%; 1000 = 10%), arredondada meio para o par. */
+    public Dinheiro pontosBase(long pontosBase) {
+        return deCentavos(dividirMeioParaPar(Math.multiplyExact(centavos, pontosBase), 10_000));
+    }
+
+    public Dinheiro negado() {
+        return deCentavos(Math.negateExact(centavos));
+    }
+
+    public boolean isZero() {
+        return centavos == 0;
+    }
+
+    public boolean isNegativo() {
+        return centavos < 0;
+    }
+
+    public BigDecimal paraBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Dinheiro outro && outro.centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    /** Mesmo texto de {@link BigDecimal#toPlainString()} com duas casas: {@code 12.50}, {@code -0.05}. */
+    @Override
+    public String toString() {
+        long fracao = Math.abs(centavos % 100);
+        StringBuilder texto = new StringBuilder(24);
+        if (centavos < 0) {
+            texto.append('-');
+        }
+        // quociente e resto antes do absoluto: Long.MIN_VALUE não tem absoluto em long
+        texto.append(Math.abs(centavos / 100)).append('.');
+        if (fracao < 10) {
+            texto.append('0');
+        }
+        return texto.append(fracao).toString();
+    }
+
+    private static long dividirMeioParaPar(long dividendo, long divisor) {
+        long quociente = dividendo / divisor;
+        long resto = dividendo % divisor;
+        if (resto == 0) {
+            return quociente;
+        }
+        // compara o resto com a metade do divisor sem dobrar o resto, que poderia estourar
+        long absResto = Math.abs(resto);
+        long falta = Math.abs(divisor) - absResto;
+        boolean afastar = absResto > falta || (absResto == falta && (quociente & 1) != 0);
+        if (!afastar) {
+            return quociente;
+        }
+        return (dividendo < 0) == (divisor < 0) ? quociente + 1 : quociente - 1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Grava {@link Dinheiro} como decimal com duas casas: o esquema, as somas em SQL e as consultas
+ * nativas continuam vendo a mesma coluna de antes.
+ */
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+        return valor == null ? null : valor.paraBigDecimal();
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(BigDecimal coluna) {
+        return coluna == null ? null : Dinheiro.de(coluna);
+    }
+}
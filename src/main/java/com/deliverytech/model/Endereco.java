@@ -1,6 +1,8 @@
 package com.deliverytech.model;
 
 import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import lombok.*;
 
 @Embeddable
@@ -16,4 +18,11 @@ public class Endereco {
     private String cidade;
     private String estado;
     private String cep;
+
+    // posição da entrega, quando o app informa: ponto de partida dos restaurantes próximos do cliente
+    // e, no despacho, a distância do restaurante até a entrega
+    @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double latitude;
+    @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double longitude;
 }
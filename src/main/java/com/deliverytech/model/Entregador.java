@@ -0,0 +1,49 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.Builder.Default;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entregador de uma cidade. Fica {@code disponivel} quando está em turno e sem entrega; o despacho
+ * só considera os disponíveis com posição conhecida, e a atribuição de um pedido o deixa ocupado até
+ * o pedido ser entregue ou cancelado.
+ */
+@Entity
+// só as colunas alteradas vão no UPDATE: liberar o entregador não regrava a posição lida antes da trava
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_entregador_disponivel_cidade", columnList = "disponivel, cidade"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Entregador {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String nome;
+
+    private String telefone;
+
+    private String cidade;
+
+    // velocidade média usada na estimativa de chegada ao restaurante (moto ≈ 25 km/h, bicicleta ≈ 12 km/h)
+    @Default
+    private Double velocidadeMediaKmh = 25.0;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private LocalDateTime dataAtualizacaoPosicao;
+
+    @Default
+    private Boolean disponivel = false;
+
+    @Default
+    private Boolean ativo = true;
+}
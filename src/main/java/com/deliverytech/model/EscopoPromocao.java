@@ -0,0 +1,8 @@
+package com.deliverytech.model;
+
+/** A que a promoção se aplica: um produto, uma categoria do cardápio ou o pedido inteiro por cupom. */
+public enum EscopoPromocao {
+    PRODUTO,
+    CATEGORIA,
+    CUPOM
+}
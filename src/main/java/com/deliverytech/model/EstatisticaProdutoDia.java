@@ -0,0 +1,31 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.Builder.Default;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"restaurante_id", "dia", "produto_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticaProdutoDia {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "restaurante_id", nullable = false)
+    private Long restauranteId;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "produto_id", nullable = false)
+    private Long produtoId;
+
+    @Default
+    private Long quantidadeVendida = 0L;
+}
@@ -0,0 +1,34 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.Builder.Default;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"restaurante_id", "dia"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticaRestauranteDia {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "restaurante_id", nullable = false)
+    private Long restauranteId;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Default
+    private Long quantidadePedidos = 0L;
+
+    @Default
+    private Long quantidadeCancelados = 0L;
+
+    @Default
+    private Dinheiro faturamento = Dinheiro.ZERO;
+}
@@ -2,7 +2,6 @@ package com.deliverytech.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import java.math.BigDecimal;
 
 @Entity
 @Data
@@ -24,5 +23,5 @@ public class ItemPedido {
 
     private Integer quantidade;
 
-    private BigDecimal precoUnitario;
+    private Dinheiro precoUnitario;
 }
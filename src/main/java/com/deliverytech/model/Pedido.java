@@ -3,18 +3,35 @@ package com.deliverytech.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.Builder.Default;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // varredura de prazos: pedidos de um status parados desde antes de um instante
+        @Index(name = "idx_pedido_status_atualizacao", columnList = "status, dataAtualizacaoStatus"),
+        // painel do restaurante: pedidos do restaurante (por status), mais recentes primeiro
+        @Index(name = "idx_pedido_restaurante_status_data", columnList = "restaurante_id, status, dataPedido"),
+        // histórico do cliente: keyset na mesma ordem da consulta
+        @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, dataPedido desc, id desc")
+})
+// escopo de um restaurante, ligado na sessão pelo EscopoRestaurante; vale também para Produto
+@FilterDef(name = Pedido.FILTRO_RESTAURANTE, parameters = @ParamDef(name = "restauranteId", type = Long.class),
+        defaultCondition = "restaurante_id = :restauranteId")
+@Filter(name = Pedido.FILTRO_RESTAURANTE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Pedido {
 
+    public static final String FILTRO_RESTAURANTE = "escopoRestaurante";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -26,7 +43,7 @@ public class Pedido {
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
 
-    private BigDecimal total;
+    private Dinheiro total;
 
     @Enumerated(EnumType.STRING)
     private StatusPedido status;
@@ -34,6 +51,20 @@ public class Pedido {
     @Default
     private LocalDateTime dataPedido = LocalDateTime.now();
 
+    // quando o pedido entrou no status atual; base dos prazos de confirmação e de preparo
+    @Default
+    private LocalDateTime dataAtualizacaoStatus = LocalDateTime.now();
+
+    // preenchida quando o preparo passou do prazo e o atraso foi escalado, para escalar uma vez só
+    private LocalDateTime dataEscalonamento;
+
+    // atribuído pelo despacho; ocupado com este pedido até a entrega ou o cancelamento
+    @ManyToOne
+    @JoinColumn(name = "entregador_id")
+    private Entregador entregador;
+
+    // listas de pedidos carregam os itens de vários pedidos por consulta, não um por pedido
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL)
     private List<ItemPedido> itens;
 
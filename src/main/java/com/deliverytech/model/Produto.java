@@ -3,16 +3,23 @@ package com.deliverytech.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.Builder.Default;
-
-import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
 
 @Entity
+@Table(indexes = @Index(name = "idx_produto_restaurante_nome", columnList = "restaurante_id, nome"))
+@Filter(name = Pedido.FILTRO_RESTAURANTE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Produto.REGIAO_CACHE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Produto {
 
+    public static final String REGIAO_CACHE = "catalogo.produto";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -22,11 +29,14 @@ public class Produto {
 
     private String descricao;
 
-    private BigDecimal preco;
+    private Dinheiro preco;
 
     @Default
     private Boolean disponivel = true;
 
+    /** Unidades em estoque; {@code null} quando o produto não tem controle de estoque. */
+    private Integer estoque;
+
     @ManyToOne
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
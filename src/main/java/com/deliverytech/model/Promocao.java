@@ -0,0 +1,64 @@
+package com.deliverytech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.Builder.Default;
+
+import java.time.LocalDateTime;
+
+/**
+ * Regra de preço de um restaurante. Promoções de produto e de categoria baixam o preço unitário;
+ * cupons dão desconto no subtotal e podem zerar a taxa de entrega. O desconto é um percentual em
+ * pontos-base (1000 = 10%) ou um valor fixo. Vale de {@code inicio} (inclusive) a {@code fim}
+ * (exclusive); sem datas, vale enquanto estiver ativa.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_promocao_restaurante", columnList = "restaurante_id, ativa"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Promocao {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "restaurante_id", nullable = false)
+    private Long restauranteId;
+
+    private String descricao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EscopoPromocao escopo;
+
+    // alvo conforme o escopo
+    private Long produtoId;
+
+    private String categoria;
+
+    private String codigoCupom;
+
+    private Integer descontoPontosBase;
+
+    private Dinheiro descontoValor;
+
+    // só cupons
+    private Dinheiro valorMinimoPedido;
+
+    @Default
+    private Boolean freteGratis = false;
+
+    private LocalDateTime inicio;
+
+    private LocalDateTime fim;
+
+    @Default
+    private Boolean ativa = true;
+
+    public boolean vigenteEm(LocalDateTime momento) {
+        return Boolean.TRUE.equals(ativa)
+                && (inicio == null || !momento.isBefore(inicio))
+                && (fim == null || momento.isBefore(fim));
+    }
+}
@@ -3,17 +3,23 @@ package com.deliverytech.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.Builder.Default;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Restaurante.REGIAO_CACHE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Restaurante {
 
+    public static final String REGIAO_CACHE = "catalogo.restaurante";
+    public static final String REGIAO_CACHE_PRODUTOS = "catalogo.restaurante.produtos";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -23,13 +29,18 @@ public class Restaurante {
 
     private String telefone;
 
-    private BigDecimal taxaEntrega;
+    private Dinheiro taxaEntrega;
 
     private Integer tempoEntregaMinutos;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @Default
     private Boolean ativo = true;
 
     @OneToMany(mappedBy = "restaurante", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGIAO_CACHE_PRODUTOS)
     private List<Produto> produtos;
 }
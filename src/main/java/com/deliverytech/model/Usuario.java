@@ -33,4 +33,8 @@ public class Usuario {
     private LocalDateTime dataCriacao = LocalDateTime.now();
 
     private Long restauranteId;
+
+    private Long clienteId;
+
+    private Long entregadorId;
 }
@@ -0,0 +1,98 @@
+package com.deliverytech.monitoramento;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Comandos SQL, tempo de banco e entidades carregadas durante uma requisição HTTP.
+ * Fica num {@link ThreadLocal} entre {@link #iniciar} e {@link #encerrar}; fora de uma
+ * requisição (jobs, carga de índices na inicialização) nada é registrado.
+ */
+public final class ConsultasRequisicao {
+
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+    private static final int TAMANHO_MAXIMO_SQL = 300;
+
+    private final int maxComandosDistintos;
+    // comandos iguais são agrupados: um N+1 aparece como um único SQL repetido N vezes
+    private final Map<String, Comando> comandos = new LinkedHashMap<>();
+    private int quantidadeComandos;
+    private long nanosBanco;
+    private int entidadesCarregadas;
+    private int comandosDescartados;
+
+    private ConsultasRequisicao(int maxComandosDistintos) {
+        this.maxComandosDistintos = maxComandosDistintos;
+    }
+
+    public static ConsultasRequisicao iniciar(int maxComandosDistintos) {
+        ConsultasRequisicao consultas = new ConsultasRequisicao(maxComandosDistintos);
+        ATUAL.set(consultas);
+        return consultas;
+    }
+
+    /** A requisição em andamento na thread atual, ou {@code null}. */
+    public static ConsultasRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    void registrarComando(String sql, long nanos) {
+        quantidadeComandos++;
+        nanosBanco += nanos;
+        String chave = sql == null ? "?" : sql.length() > TAMANHO_MAXIMO_SQL ? sql.substring(0, TAMANHO_MAXIMO_SQL) + "..." : sql;
+        Comando comando = comandos.get(chave);
+        if (comando == null) {
+            if (comandos.size() >= maxComandosDistintos) {
+                comandosDescartados++;
+                return;
+            }
+            comando = new Comando();
+            comandos.put(chave, comando);
+        }
+        comando.execucoes++;
+        comando.nanos += nanos;
+    }
+
+    void registrarEntidadeCarregada() {
+        entidadesCarregadas++;
+    }
+
+    public int quantidadeComandos() {
+        return quantidadeComandos;
+    }
+
+    public long nanosBanco() {
+        return nanosBanco;
+    }
+
+    public int entidadesCarregadas() {
+        return entidadesCarregadas;
+    }
+
+    /** Valor do cabeçalho {@code Server-Timing}. */
+    public String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d consultas\", entidades;desc=\"%d carregadas\"",
+                nanosBanco / 1e6, quantidadeComandos, entidadesCarregadas);
+    }
+
+    /** Um comando por linha, dos mais executados para os menos, para o log de orçamento estourado. */
+    public String listaComandos() {
+        String lista = comandos.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue().execucoes, a.getValue().execucoes))
+                .map(e -> String.format(Locale.ROOT, "  %dx %.1f ms  %s", e.getValue().execucoes, e.getValue().nanos / 1e6, e.getKey()))
+                .collect(Collectors.joining("\n"));
+        return comandosDescartados == 0 ? lista
+                : lista + "\n  ... mais " + comandosDescartados + " execuções de comandos não listados";
+    }
+
+    private static final class Comando {
+        int execucoes;
+        long nanos;
+    }
+}
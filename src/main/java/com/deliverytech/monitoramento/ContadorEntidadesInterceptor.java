@@ -0,0 +1,17 @@
+package com.deliverytech.monitoramento;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/** Conta as entidades hidratadas pelo Hibernate durante a requisição atual. */
+public class ContadorEntidadesInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+        if (consultas != null) {
+            consultas.registrarEntidadeCarregada();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+package com.deliverytech.monitoramento;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Mede o tempo de execução de cada comando JDBC e registra na {@link ConsultasRequisicao} atual.
+ * Conexões obtidas fora de uma requisição são devolvidas sem proxy, então jobs e cargas em
+ * lote não pagam o custo da medição. O tempo medido é o do {@code execute*}; a leitura do
+ * {@code ResultSet} fica de fora.
+ */
+public class DataSourceMonitorado extends DelegatingDataSource {
+
+    public DataSourceMonitorado(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitorar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitorar(super.getConnection(username, password));
+    }
+
+    private static Connection monitorar(Connection conexao) {
+        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+        if (consultas == null) {
+            return conexao;
+        }
+        return proxy(Connection.class, (p, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            return switch (metodo.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementMedido(resultado, (String) args[0], consultas));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementMedido(resultado, (String) args[0], consultas));
+                case "createStatement" -> proxy(Statement.class, new StatementMedido(resultado, null, consultas));
+                default -> resultado;
+            };
+        });
+    }
+
+    private record StatementMedido(Object alvo, String sql, ConsultasRequisicao consultas) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if (!metodo.getName().startsWith("execute")) {
+                return invocar(alvo, metodo, args);
+            }
+            long inicio = System.nanoTime();
+            try {
+                return invocar(alvo, metodo, args);
+            } finally {
+                String comando = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                consultas.registrarComando(comando, System.nanoTime() - inicio);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(DataSourceMonitorado.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.deliverytech.monitoramento;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abre a {@link ConsultasRequisicao} de cada requisição e, no fim, publica as métricas por
+ * método do controller e registra em log as requisições que estouraram o orçamento de
+ * consultas ou de tempo de banco, com a lista de comandos executados.
+ */
+public class MonitoramentoConsultasFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO = "Server-Timing";
+    private static final Logger log = LoggerFactory.getLogger(MonitoramentoConsultasFilter.class);
+    private static final String SEM_HANDLER = "nenhum";
+
+    private final MeterRegistry registry;
+    private final int maxConsultas;
+    private final long maxNanosBanco;
+    private final int maxComandosDistintos;
+    private final Map<String, Medidores> medidoresPorHandler = new ConcurrentHashMap<>();
+
+    public MonitoramentoConsultasFilter(MeterRegistry registry, int maxConsultas, long maxTempoBancoMs, int maxComandosDistintos) {
+        this.registry = registry;
+        this.maxConsultas = maxConsultas;
+        this.maxNanosBanco = TimeUnit.MILLISECONDS.toNanos(maxTempoBancoMs);
+        this.maxComandosDistintos = maxComandosDistintos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConsultasRequisicao consultas = ConsultasRequisicao.iniciar(maxComandosDistintos);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConsultasRequisicao.encerrar();
+            // respostas sem corpo ainda não foram enviadas; as demais recebem o cabeçalho no ServerTimingAdvice
+            if (!response.isCommitted() && !response.containsHeader(CABECALHO)) {
+                response.setHeader(CABECALHO, consultas.serverTiming());
+            }
+            registrar(request, consultas);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ConsultasRequisicao consultas) {
+        String handler = handler(request);
+        Medidores medidores = medidoresPorHandler.computeIfAbsent(handler, this::criarMedidores);
+        medidores.consultas.record(consultas.quantidadeComandos());
+        medidores.tempoBanco.record(consultas.nanosBanco(), TimeUnit.NANOSECONDS);
+        medidores.entidades.record(consultas.entidadesCarregadas());
+
+        if (consultas.quantidadeComandos() > maxConsultas || consultas.nanosBanco() > maxNanosBanco) {
+            log.warn("Orçamento de banco excedido em {} {} ({}): {} consultas, {} ms de banco, {} entidades carregadas\n{}",
+                    request.getMethod(), request.getRequestURI(), handler, consultas.quantidadeComandos(),
+                    TimeUnit.NANOSECONDS.toMillis(consultas.nanosBanco()), consultas.entidadesCarregadas(),
+                    consultas.listaComandos());
+        }
+    }
+
+    // o método do controller tem cardinalidade fechada, ao contrário da URI com ids
+    private static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod metodo) {
+            return metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        }
+        return handler == null ? SEM_HANDLER : handler.getClass().getSimpleName();
+    }
+
+    private Medidores criarMedidores(String handler) {
+        return new Medidores(
+                DistributionSummary.builder("deliverytech.requisicao.consultas")
+                        .description("Comandos SQL executados por requisição")
+                        .tag("handler", handler)
+                        .serviceLevelObjectives(1, 5, 10, 20, 50)
+                        .register(registry),
+                Timer.builder("deliverytech.requisicao.tempo.banco")
+                        .description("Tempo total em comandos SQL por requisição")
+                        .tag("handler", handler)
+                        .register(registry),
+                DistributionSummary.builder("deliverytech.requisicao.entidades")
+                        .description("Entidades carregadas pelo Hibernate por requisição")
+                        .tag("handler", handler)
+                        .register(registry));
+    }
+
+    private record Medidores(DistributionSummary consultas, Timer tempoBanco, DistributionSummary entidades) {}
+}
@@ -0,0 +1,199 @@
+package com.deliverytech.precificacao;
+
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.response.CotacaoResponse;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.EscopoPromocao;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Promocao;
+import com.deliverytech.model.Restaurante;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Regras de preço de um restaurante compiladas para a cotação. Imutável: é montada uma vez a partir
+ * do cardápio e das promoções vigentes e depois lida por qualquer número de threads sem trava.
+ *
+ * <ul>
+ *   <li>O preço de cada produto já sai com a melhor promoção de produto ou de categoria vigente
+ *       (promoções não se acumulam) e nunca fica negativo.</li>
+ *   <li>O cupom dá desconto no subtotal, limitado a ele, depois das promoções dos itens; pode exigir
+ *       um valor mínimo e zerar a taxa de entrega.</li>
+ *   <li>A tabela vale até a próxima data de início ou fim de alguma promoção ({@link #validaEm}).</li>
+ * </ul>
+ *
+ * <p>A cotação só faz consultas em mapa e contas em centavos; os objetos criados são os da resposta.</p>
+ */
+public final class TabelaPrecos {
+
+    private final Long restauranteId;
+    private final Dinheiro taxaEntrega;
+    private final Map<Long, Preco> precos;
+    private final Map<String, Cupom> cupons;
+    private final LocalDateTime validaAte;
+
+    private record Preco(Long produtoId, String nome, boolean disponivel, Dinheiro original, Dinheiro promocional) {}
+
+    private record Cupom(Long promocaoId, String codigo, int pontosBase, long valor, long minimo, boolean freteGratis) {}
+
+    private TabelaPrecos(Long restauranteId, Dinheiro taxaEntrega, Map<Long, Preco> precos, Map<String, Cupom> cupons,
+                         LocalDateTime validaAte) {
+        this.restauranteId = restauranteId;
+        this.taxaEntrega = taxaEntrega;
+        this.precos = precos;
+        this.cupons = cupons;
+        this.validaAte = validaAte;
+    }
+
+    /**
+     * @param promocoes promoções do restaurante; as inativas são ignoradas e as que ainda vão começar
+     *                  ou terminar definem até quando a tabela vale
+     */
+    public static TabelaPrecos compilar(Restaurante restaurante, Collection<Produto> produtos,
+                                        Collection<Promocao> promocoes, LocalDateTime agora) {
+        List<Promocao> vigentes = new ArrayList<>();
+        LocalDateTime validaAte = null;
+        for (Promocao promocao : promocoes) {
+            if (!Boolean.TRUE.equals(promocao.getAtiva())) {
+                continue;
+            }
+            if (promocao.vigenteEm(agora)) {
+                vigentes.add(promocao);
+            }
+            validaAte = maisCedo(validaAte, depoisDe(promocao.getInicio(), agora));
+            validaAte = maisCedo(validaAte, depoisDe(promocao.getFim(), agora));
+        }
+
+        Map<Long, Preco> precos = HashMap.newHashMap(produtos.size());
+        for (Produto produto : produtos) {
+            Dinheiro original = produto.getPreco() == null ? Dinheiro.ZERO : produto.getPreco();
+            long promocional = original.centavos();
+            for (Promocao promocao : vigentes) {
+                if (aplicaAoProduto(promocao, produto)) {
+                    promocional = Math.min(promocional, original.centavos() - desconto(original.centavos(), promocao));
+                }
+            }
+            precos.put(produto.getId(), new Preco(produto.getId(), produto.getNome(), Boolean.TRUE.equals(produto.getDisponivel()),
+                    original, promocional == original.centavos() ? original : Dinheiro.deCentavos(promocional)));
+        }
+
+        Map<String, Cupom> cupons = new HashMap<>();
+        for (Promocao promocao : vigentes) {
+            if (promocao.getEscopo() != EscopoPromocao.CUPOM || promocao.getCodigoCupom() == null) {
+                continue;
+            }
+            Cupom cupom = new Cupom(promocao.getId(), promocao.getCodigoCupom().trim(),
+                    promocao.getDescontoPontosBase() == null ? 0 : promocao.getDescontoPontosBase(),
+                    promocao.getDescontoValor() == null ? 0 : promocao.getDescontoValor().centavos(),
+                    promocao.getValorMinimoPedido() == null ? 0 : promocao.getValorMinimoPedido().centavos(),
+                    Boolean.TRUE.equals(promocao.getFreteGratis()));
+            // com o mesmo código cadastrado duas vezes, vale o cadastro mais recente
+            cupons.merge(normalizar(cupom.codigo()), cupom, (a, b) -> a.promocaoId() > b.promocaoId() ? a : b);
+        }
+
+        Dinheiro taxaEntrega = restaurante.getTaxaEntrega() == null ? Dinheiro.ZERO : restaurante.getTaxaEntrega();
+        return new TabelaPrecos(restaurante.getId(), taxaEntrega, Map.copyOf(precos), Map.copyOf(cupons), validaAte);
+    }
+
+    /**
+     * Preço da cesta. Produto fora do cardápio do restaurante lança {@link EntityNotFoundException};
+     * produto indisponível, cupom desconhecido ou abaixo do mínimo lançam {@link BusinessException}.
+     */
+    public CotacaoResponse cotar(List<ItemPedidoRequest> itens, String codigoCupom) {
+        List<CotacaoResponse.Item> linhas = new ArrayList<>(itens.size());
+        long subtotal = 0;
+        long semPromocao = 0;
+        for (ItemPedidoRequest item : itens) {
+            Preco preco = precos.get(item.getProdutoId());
+            if (preco == null) {
+                throw new EntityNotFoundException("Produto", item.getProdutoId());
+            }
+            if (!preco.disponivel()) {
+                throw new BusinessException("Produto indisponível: " + preco.nome());
+            }
+            int quantidade = item.getQuantidade();
+            long linha = Dinheiro.acumular(0, preco.promocional(), quantidade);
+            subtotal = Math.addExact(subtotal, linha);
+            semPromocao = Dinheiro.acumular(semPromocao, preco.original(), quantidade);
+            linhas.add(new CotacaoResponse.Item(preco.produtoId(), preco.nome(), quantidade,
+                    preco.original(), preco.promocional(), Dinheiro.deCentavos(linha)));
+        }
+
+        long descontoCupom = 0;
+        Dinheiro taxa = taxaEntrega;
+        String cupomAplicado = null;
+        if (codigoCupom != null && !codigoCupom.isBlank()) {
+            Cupom cupom = cupons.get(normalizar(codigoCupom));
+            if (cupom == null) {
+                throw new BusinessException("Cupom inválido ou fora da validade: " + codigoCupom.trim());
+            }
+            if (subtotal < cupom.minimo()) {
+                throw new BusinessException("O cupom " + cupom.codigo() + " exige pedido mínimo de R$ " + Dinheiro.deCentavos(cupom.minimo()));
+            }
+            descontoCupom = Math.min(subtotal, cupom.pontosBase() > 0
+                    ? Dinheiro.deCentavos(subtotal).pontosBase(cupom.pontosBase()).centavos()
+                    : cupom.valor());
+            if (cupom.freteGratis()) {
+                taxa = Dinheiro.ZERO;
+            }
+            cupomAplicado = cupom.codigo();
+        }
+
+        long total = Math.addExact(subtotal - descontoCupom, taxa.centavos());
+        return new CotacaoResponse(restauranteId, linhas, Dinheiro.deCentavos(subtotal),
+                Dinheiro.deCentavos(semPromocao - subtotal), Dinheiro.deCentavos(descontoCupom), taxa,
+                Dinheiro.deCentavos(total), cupomAplicado);
+    }
+
+    /** Se a tabela ainda vale no momento: nenhuma promoção começou ou terminou desde a compilação. */
+    public boolean validaEm(LocalDateTime momento) {
+        return validaAte == null || momento.isBefore(validaAte);
+    }
+
+    public Long restauranteId() {
+        return restauranteId;
+    }
+
+    public int produtos() {
+        return precos.size();
+    }
+
+    private static boolean aplicaAoProduto(Promocao promocao, Produto produto) {
+        return switch (promocao.getEscopo()) {
+            case PRODUTO -> produto.getId() != null && produto.getId().equals(promocao.getProdutoId());
+            case CATEGORIA -> promocao.getCategoria() != null && promocao.getCategoria().equalsIgnoreCase(produto.getCategoria());
+            case CUPOM -> false;
+        };
+    }
+
+    // desconto por unidade, limitado ao preço
+    private static long desconto(long preco, Promocao promocao) {
+        long desconto = promocao.getDescontoPontosBase() != null
+                ? Dinheiro.deCentavos(preco).pontosBase(promocao.getDescontoPontosBase()).centavos()
+                : promocao.getDescontoValor() == null ? 0 : promocao.getDescontoValor().centavos();
+        return Math.max(0, Math.min(preco, desconto));
+    }
+
+    private static LocalDateTime depoisDe(LocalDateTime data, LocalDateTime agora) {
+        return data != null && data.isAfter(agora) ? data : null;
+    }
+
+    private static LocalDateTime maisCedo(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static String normalizar(String codigo) {
+        return codigo.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,5 @@
+package com.deliverytech.repository;
+
+/** Projeção de um entregador disponível com posição, lida de uma vez para a rodada de despacho. */
+public record EntregadorLivre(Long id, String cidade, Double latitude, Double longitude, Double velocidadeMediaKmh) {
+}
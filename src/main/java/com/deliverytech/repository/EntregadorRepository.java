@@ -0,0 +1,28 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.Entregador;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EntregadorRepository extends JpaRepository<Entregador, Long> {
+
+    List<Entregador> findByCidadeIgnoreCaseAndAtivoTrueOrderByNome(String cidade);
+
+    // A linha fica travada até o fim da transação: atribuição, liberação, posição e turno do mesmo
+    // entregador passam um de cada vez, e a atribuição confere a disponibilidade já travada.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Entregador e where e.id = :id")
+    Optional<Entregador> travarPorId(@Param("id") Long id);
+
+    // pelo índice (disponivel, cidade); sem posição o entregador não entra no despacho
+    @Query("select new com.deliverytech.repository.EntregadorLivre(e.id, e.cidade, e.latitude, e.longitude, e.velocidadeMediaKmh) "
+            + "from Entregador e where e.disponivel = true and e.ativo = true "
+            + "and e.latitude is not null and e.longitude is not null")
+    List<EntregadorLivre> findLivres();
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.Pedido;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Executa consultas restritas a um restaurante: liga o filtro {@value Pedido#FILTRO_RESTAURANTE}
+ * na sessão atual, que acrescenta {@code restaurante_id = ?} a toda consulta de {@code Pedido} e
+ * {@code Produto}, e o desliga no fim. Deve ser chamado dentro de uma transação, para que as
+ * consultas usem a mesma sessão.
+ *
+ * <p>O filtro vale para consultas (JPQL, critérios e métodos derivados dos repositórios), não
+ * para a busca por id ({@code findById}); nesse caso confira o restaurante da entidade.</p>
+ */
+@Component
+public class EscopoRestaurante {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> T executar(Long restauranteId, Supplier<T> consulta) {
+        Session sessao = entityManager.unwrap(Session.class);
+        sessao.enableFilter(Pedido.FILTRO_RESTAURANTE).setParameter("restauranteId", restauranteId);
+        try {
+            return consulta.get();
+        } finally {
+            sessao.disableFilter(Pedido.FILTRO_RESTAURANTE);
+        }
+    }
+}
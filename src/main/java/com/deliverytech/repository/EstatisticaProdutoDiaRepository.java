@@ -0,0 +1,26 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.EstatisticaProdutoDia;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstatisticaProdutoDiaRepository extends JpaRepository<EstatisticaProdutoDia, Long> {
+
+    @Modifying
+    @Query("update EstatisticaProdutoDia e set e.quantidadeVendida = e.quantidadeVendida + :quantidade "
+            + "where e.restauranteId = :restauranteId and e.dia = :dia and e.produtoId = :produtoId")
+    int incrementar(@Param("restauranteId") Long restauranteId, @Param("dia") LocalDate dia,
+                    @Param("produtoId") Long produtoId, @Param("quantidade") long quantidade);
+
+    @Query("select e.produtoId, sum(e.quantidadeVendida) from EstatisticaProdutoDia e "
+            + "where e.restauranteId = :restauranteId and e.dia between :inicio and :fim "
+            + "group by e.produtoId order by sum(e.quantidadeVendida) desc")
+    List<Object[]> somarPorProduto(@Param("restauranteId") Long restauranteId, @Param("inicio") LocalDate inicio,
+                                   @Param("fim") LocalDate fim, Pageable pageable);
+}
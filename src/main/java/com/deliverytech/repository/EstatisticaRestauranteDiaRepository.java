@@ -0,0 +1,24 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.EstatisticaRestauranteDia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstatisticaRestauranteDiaRepository extends JpaRepository<EstatisticaRestauranteDia, Long> {
+
+    List<EstatisticaRestauranteDia> findByRestauranteIdAndDiaBetweenOrderByDia(Long restauranteId, LocalDate inicio, LocalDate fim);
+
+    @Modifying
+    @Query("update EstatisticaRestauranteDia e set e.quantidadePedidos = e.quantidadePedidos + :pedidos, "
+            + "e.quantidadeCancelados = e.quantidadeCancelados + :cancelados, e.faturamento = e.faturamento + :faturamento "
+            + "where e.restauranteId = :restauranteId and e.dia = :dia")
+    int incrementar(@Param("restauranteId") Long restauranteId, @Param("dia") LocalDate dia,
+                    @Param("pedidos") long pedidos, @Param("cancelados") long cancelados,
+                    @Param("faturamento") Dinheiro faturamento);
+}
@@ -0,0 +1,7 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.Dinheiro;
+
+/** Projeção de um item com o id do seu pedido, para agrupar itens de vários pedidos lidos de uma vez. */
+public record ItemDoPedido(Long pedidoId, Long produtoId, String nomeProduto, Integer quantidade, Dinheiro precoUnitario) {
+}
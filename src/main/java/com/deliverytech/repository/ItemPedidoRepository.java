@@ -0,0 +1,20 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.ItemPedido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
+
+    @Query("select i from ItemPedido i join fetch i.produto where i.pedido.id in :pedidoIds")
+    List<ItemPedido> findByPedidoIdIn(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+    // Só as colunas da resposta: não carrega Pedido (e seus relacionamentos) nem Produto inteiro
+    @Query("select new com.deliverytech.repository.ItemDoPedido(i.pedido.id, p.id, p.nome, i.quantidade, i.precoUnitario) "
+            + "from ItemPedido i join i.produto p where i.pedido.id in :pedidoIds order by i.id")
+    List<ItemDoPedido> findResumoByPedidoIdIn(@Param("pedidoIds") Collection<Long> pedidoIds);
+}
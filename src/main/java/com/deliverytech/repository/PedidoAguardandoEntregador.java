@@ -0,0 +1,11 @@
+package com.deliverytech.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de um pedido à espera de entregador, com a cidade da entrega, a posição do restaurante (a coleta)
+ * e a da entrega, nula quando o endereço veio sem ela.
+ */
+public record PedidoAguardandoEntregador(Long id, String cidade, Double latitude, Double longitude,
+                                         Double latitudeEntrega, Double longitudeEntrega, LocalDateTime dataPedido) {
+}
@@ -1,15 +1,113 @@
 package com.deliverytech.repository;
 
+import com.deliverytech.dto.response.ResumoPedidoResponse;
+import com.deliverytech.model.Endereco;
 import com.deliverytech.model.Pedido;
 import com.deliverytech.model.StatusPedido;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+
+    int TAMANHO_LOTE_STREAM = 500;
+
+    // Valor de jakarta.persistence.lock.timeout que o Hibernate traduz em SKIP LOCKED
+    // (o mesmo -2 do LockOptions.SKIP_LOCKED, que está depreciado)
+    String PULAR_TRAVADOS = "-2";
+
     List<Pedido> findByClienteId(Long clienteId);
     List<Pedido> findByRestauranteId(Long restauranteId);
     List<Pedido> findByStatus(StatusPedido status);
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
+    boolean existsByEntregadorIdAndStatus(Long entregadorId, StatusPedido status);
+
+    // Restaurantes com mais pedidos a partir de uma data, do mais pedido para o menos (aquecimento dos caches)
+    @Query("select p.restaurante.id from Pedido p where p.dataPedido >= :desde group by p.restaurante.id order by count(p) desc")
+    List<Long> findRestaurantesMaisPedidosDesde(@Param("desde") LocalDateTime desde, Pageable pageable);
+
+    // Cursor somente-leitura para exportações grandes: precisa de uma transação aberta e deve ser fechado após o uso
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TAMANHO_LOTE_STREAM),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Pedido p join fetch p.cliente join fetch p.restaurante "
+            + "where p.dataPedido between :inicio and :fim order by p.id")
+    Stream<Pedido> streamByDataPedidoBetween(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    // Histórico do cliente em keyset (dataPedido desc, id desc), pelo índice (cliente_id, dataPedido desc, id desc),
+    // lendo só as colunas do resumo. A primeira página não tem cursor; as seguintes partem do último pedido lido.
+    @Query("select new com.deliverytech.dto.response.ResumoPedidoResponse(p.id, r.nome, p.total, p.status, p.dataPedido) "
+            + "from Pedido p join p.restaurante r where p.cliente.id = :clienteId "
+            + "order by p.dataPedido desc, p.id desc")
+    List<ResumoPedidoResponse> findHistorico(@Param("clienteId") Long clienteId, Pageable limite);
+
+    @Query("select new com.deliverytech.dto.response.ResumoPedidoResponse(p.id, r.nome, p.total, p.status, p.dataPedido) "
+            + "from Pedido p join p.restaurante r where p.cliente.id = :clienteId "
+            + "and (p.dataPedido < :data or (p.dataPedido = :data and p.id < :id)) "
+            + "order by p.dataPedido desc, p.id desc")
+    List<ResumoPedidoResponse> findHistoricoAntesDe(@Param("clienteId") Long clienteId, @Param("data") LocalDateTime data,
+                                                    @Param("id") Long id, Pageable limite);
+
+    // Painel do restaurante: sem parâmetro de restaurante, que vem do filtro ligado pelo EscopoRestaurante
+    @Query(value = "select p from Pedido p join fetch p.cliente join fetch p.restaurante",
+            countQuery = "select count(p) from Pedido p")
+    Page<Pedido> findPainel(Pageable pageable);
+
+    @Query(value = "select p from Pedido p join fetch p.cliente join fetch p.restaurante where p.status = :status",
+            countQuery = "select count(p) from Pedido p where p.status = :status")
+    Page<Pedido> findPainelPorStatus(@Param("status") StatusPedido status, Pageable pageable);
+
+    // Pedido travado até o fim da transação: mudanças de status (pela API, pelos prazos ou pelo despacho)
+    // passam uma de cada vez e decidem sobre o status atual, não sobre uma leitura anterior
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Pedido p where p.id = :id")
+    Optional<Pedido> travarPorId(@Param("id") Long id);
+
+    // Lote de pedidos parados no status desde antes do limite, mais antigos primeiro (índice status + dataAtualizacaoStatus).
+    // As linhas ficam travadas até o fim da transação; linhas já travadas por outra instância são puladas
+    // (SKIP LOCKED nos bancos que suportam), então várias instâncias podem varrer ao mesmo tempo.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = PULAR_TRAVADOS))
+    @Query("select p from Pedido p where p.status = :status and p.dataAtualizacaoStatus < :limite "
+            + "order by p.dataAtualizacaoStatus")
+    List<Pedido> travarParadosDesde(@Param("status") StatusPedido status, @Param("limite") LocalDateTime limite, Pageable lote);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = PULAR_TRAVADOS))
+    @Query("select p from Pedido p where p.status = :status and p.dataAtualizacaoStatus < :limite "
+            + "and p.dataEscalonamento is null order by p.dataAtualizacaoStatus")
+    List<Pedido> travarNaoEscaladosParadosDesde(@Param("status") StatusPedido status, @Param("limite") LocalDateTime limite,
+                                                Pageable lote);
+
+    // Pedidos em preparo ainda sem entregador, mais antigos primeiro, pelo índice (status, dataAtualizacaoStatus);
+    // a coleta é no restaurante, então sem a posição dele o pedido não entra no despacho
+    @Query("select new com.deliverytech.repository.PedidoAguardandoEntregador(p.id, p.enderecoEntrega.cidade, r.latitude, "
+            + "r.longitude, p.enderecoEntrega.latitude, p.enderecoEntrega.longitude, p.dataPedido) from Pedido p join p.restaurante r where p.status = :status and p.entregador is null "
+            + "and r.latitude is not null and r.longitude is not null order by p.dataAtualizacaoStatus")
+    List<PedidoAguardandoEntregador> findAguardandoEntregador(@Param("status") StatusPedido status, Pageable limite);
+
+    // Endereços de entrega com posição dos pedidos do cliente, mais recentes primeiro (índice cliente + dataPedido)
+    @Query("select p.enderecoEntrega from Pedido p where p.cliente.id = :clienteId and p.enderecoEntrega.latitude is not null "
+            + "and p.enderecoEntrega.longitude is not null order by p.dataPedido desc, p.id desc")
+    List<Endereco> findEnderecosComPosicao(@Param("clienteId") Long clienteId, Pageable limite);
+
+    // Pedidos gravados antes da coluna existir (ou inseridos fora do serviço) passam a contar da data do pedido
+    @Modifying
+    @Query("update Pedido p set p.dataAtualizacaoStatus = p.dataPedido where p.dataAtualizacaoStatus is null")
+    int preencherDataAtualizacaoStatus();
 }
@@ -1,12 +1,34 @@
 package com.deliverytech.repository;
 
 import com.deliverytech.model.Produto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+
+    String REGIAO_CACHE_POR_CATEGORIA = "catalogo.produtos-por-categoria";
+
     List<Produto> findByRestauranteId(Long restauranteId);
     List<Produto> findByDisponivelTrue();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CACHE_POR_CATEGORIA)
+    })
     List<Produto> findByCategoria(String categoria);
+
+    // Produtos travados até o fim da transação, sempre na ordem do id: a gravação do estoque aplica a
+    // diferença desta instância sobre o saldo atual do banco, sem perder o que outras instâncias gravaram
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Produto p where p.id in :ids order by p.id")
+    List<Produto> travarTodosPorId(@Param("ids") Collection<Long> ids);
 }
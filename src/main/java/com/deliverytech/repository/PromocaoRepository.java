@@ -0,0 +1,13 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.model.Promocao;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PromocaoRepository extends JpaRepository<Promocao, Long> {
+
+    List<Promocao> findByRestauranteIdAndAtivaTrue(Long restauranteId);
+
+    List<Promocao> findByRestauranteIdOrderByIdDesc(Long restauranteId);
+}
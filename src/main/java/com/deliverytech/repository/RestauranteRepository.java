@@ -2,13 +2,29 @@ package com.deliverytech.repository;
 
 import com.deliverytech.model.Restaurante;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
+
+    String REGIAO_CACHE_POR_CATEGORIA = "catalogo.restaurantes-por-categoria";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CACHE_POR_CATEGORIA)
+    })
     List<Restaurante> findByCategoria(String categoria);
     Page<Restaurante> findByAtivoTrue(Pageable pageable);
+
+    @Query("select r.id from Restaurante r where r.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,206 @@
+package com.deliverytech.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial em grade: o globo é dividido em células de tamanho fixo em graus e cada ponto
+ * fica na célula da sua coordenada. Consultas por raio visitam apenas as células do retângulo que
+ * envolve o círculo; a busca dos N mais próximos expande anéis de células até que nenhum ponto
+ * fora do anel possa estar mais perto que o N-ésimo encontrado.
+ */
+public class IndiceGeografico {
+
+    public static final double RAIO_TERRA_KM = 6371.0;
+    private static final double KM_POR_GRAU = 111.32;
+
+    private final double tamanhoCelula;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Ponto> pontos = new HashMap<>();
+    private final Map<Long, List<Ponto>> celulas = new HashMap<>();
+
+    /**
+     * @param tamanhoCelulaGraus lado da célula em graus (0,05° ≈ 5,5 km); deve ficar na ordem do raio típico das consultas
+     */
+    public IndiceGeografico(double tamanhoCelulaGraus) {
+        this.tamanhoCelula = tamanhoCelulaGraus;
+    }
+
+    public record Ponto(long id, double latitude, double longitude) {
+    }
+
+    public record Vizinho(long id, double distanciaKm) {
+    }
+
+    private record Candidato(long id, double haversine) {
+    }
+
+    public void atualizar(long id, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+            Ponto ponto = new Ponto(id, latitude, longitude);
+            pontos.put(id, ponto);
+            celulas.computeIfAbsent(chave(linha(latitude), coluna(longitude)), c -> new ArrayList<>()).add(ponto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return pontos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Todos os pontos a até {@code raioKm} da coordenada, do mais próximo ao mais distante. */
+    public List<Vizinho> buscarNoRaio(double latitude, double longitude, double raioKm) {
+        double deltaLatitude = raioKm / KM_POR_GRAU;
+        double deltaLongitude = raioKm / (KM_POR_GRAU * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+
+        List<Vizinho> encontrados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long l = linha(latitude - deltaLatitude); l <= linha(latitude + deltaLatitude); l++) {
+                for (long c = coluna(longitude - deltaLongitude); c <= coluna(longitude + deltaLongitude); c++) {
+                    List<Ponto> celula = celulas.get(chave(l, c));
+                    if (celula == null) {
+                        continue;
+                    }
+                    for (Ponto ponto : celula) {
+                        double distancia = distanciaKm(latitude, longitude, ponto.latitude(), ponto.longitude());
+                        if (distancia <= raioKm) {
+                            encontrados.add(new Vizinho(ponto.id(), distancia));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        encontrados.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return encontrados;
+    }
+
+    /**
+     * Os {@code quantidade} pontos mais próximos, limitados a {@code raioMaximoKm}, do mais próximo ao mais distante.
+     * Os candidatos são comparados pelo termo da fórmula de haversine, que cresce com a distância; o arco-seno
+     * só é calculado para o corte dos anéis e para o resultado.
+     */
+    public List<Vizinho> buscarMaisProximos(double latitude, double longitude, int quantidade, double raioMaximoKm) {
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(quantidade + 1,
+                Comparator.comparingDouble(Candidato::haversine).reversed());
+        // menor distância, em km, coberta por um anel de células na latitude consultada
+        double kmPorAnel = tamanhoCelula * KM_POR_GRAU * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        double haversineMaximo = raioMaximoKm / RAIO_TERRA_KM >= Math.PI ? 1 : haversine(raioMaximoKm / RAIO_TERRA_KM);
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        long linhaCentro = linha(latitude);
+        long colunaCentro = coluna(longitude);
+
+        lock.readLock().lock();
+        try {
+            int visitados = 0;
+            for (int anel = 0; visitados < pontos.size(); anel++) {
+                double distanciaMinimaDoAnel = Math.max(0, anel - 1) * kmPorAnel;
+                if (distanciaMinimaDoAnel > raioMaximoKm
+                        || (melhores.size() == quantidade && distanciaMinimaDoAnel > distanciaKm(melhores.peek().haversine()))) {
+                    break;
+                }
+                for (long l = linhaCentro - anel; l <= linhaCentro + anel; l++) {
+                    // no meio do quadrado só as colunas das bordas pertencem ao anel
+                    long passo = Math.abs(l - linhaCentro) == anel ? 1 : Math.max(1, 2L * anel);
+                    for (long c = colunaCentro - anel; c <= colunaCentro + anel; c += passo) {
+                        List<Ponto> celula = celulas.get(chave(l, c));
+                        if (celula == null) {
+                            continue;
+                        }
+                        visitados += celula.size();
+                        for (Ponto ponto : celula) {
+                            double h = haversine(latitude, longitude, cosLatitude, ponto.latitude(), ponto.longitude());
+                            if (h > haversineMaximo) {
+                                continue;
+                            }
+                            if (melhores.size() < quantidade) {
+                                melhores.add(new Candidato(ponto.id(), h));
+                            } else if (h < melhores.peek().haversine()) {
+                                melhores.poll();
+                                melhores.add(new Candidato(ponto.id(), h));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Vizinho> resultado = new ArrayList<>(melhores.size());
+        for (Candidato candidato : melhores) {
+            resultado.add(new Vizinho(candidato.id(), distanciaKm(candidato.haversine())));
+        }
+        resultado.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return resultado;
+    }
+
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        return distanciaKm(haversine(lat1, lon1, Math.cos(Math.toRadians(lat1)), lat2, lon2));
+    }
+
+    private static double haversine(double lat1, double lon1, double cosLat1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        return Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + cosLat1 * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+    }
+
+    private static double haversine(double anguloRadianos) {
+        double s = Math.sin(anguloRadianos / 2);
+        return s * s;
+    }
+
+    private static double distanciaKm(double haversine) {
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    private void removerInterno(long id) {
+        Ponto anterior = pontos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        long chave = chave(linha(anterior.latitude()), coluna(anterior.longitude()));
+        List<Ponto> celula = celulas.get(chave);
+        celula.remove(anterior);
+        if (celula.isEmpty()) {
+            celulas.remove(chave);
+        }
+    }
+
+    private long linha(double latitude) {
+        return (long) Math.floor(latitude / tamanhoCelula);
+    }
+
+    private long coluna(double longitude) {
+        return (long) Math.floor(longitude / tamanhoCelula);
+    }
+
+    private static long chave(long linha, long coluna) {
+        return (linha << 32) ^ (coluna & 0xffffffffL);
+    }
+}
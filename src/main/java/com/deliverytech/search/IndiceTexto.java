@@ -0,0 +1,258 @@
+package com.deliverytech.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória com busca por prefixo, filtro de disponibilidade e facetas por categoria.
+ *
+ * <p>Cada documento recebe um número interno sequencial; as listas de postagens guardam esses números
+ * em ordem crescente, então a interseção entre termos é feita com {@link BitSet}. Atualizar um documento
+ * marca a versão antiga como removida e indexa uma nova; quando os removidos passam dos vivos o índice
+ * é compactado. Os resultados seguem a ordem de indexação.</p>
+ */
+public class IndiceTexto {
+
+    private static final int COMPACTACAO_MINIMA = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postagens> termos = new TreeMap<>();
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+    private final Map<String, Integer> categoriaPorChave = new HashMap<>();
+    private final List<String> nomesCategorias = new ArrayList<>();
+    private BitSet vivos = new BitSet();
+    private BitSet disponiveis = new BitSet();
+    private long[] ids = new long[1024];
+    private int[] categorias = new int[1024];
+    private int proximoDocumento;
+    private int removidos;
+
+    public void indexar(long id, String categoria, boolean disponivel, String... textos) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+            int documento = proximoDocumento++;
+            if (documento == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                categorias = Arrays.copyOf(categorias, categorias.length * 2);
+            }
+            ids[documento] = id;
+            categorias[documento] = ordinalCategoria(categoria);
+            vivos.set(documento);
+            disponiveis.set(documento, disponivel);
+            documentoPorId.put(id, documento);
+
+            Set<String> vistos = new HashSet<>();
+            for (String texto : textos) {
+                for (String termo : NormalizadorTexto.termos(texto)) {
+                    if (vistos.add(termo)) {
+                        termos.computeIfAbsent(termo, t -> new Postagens()).adicionar(documento);
+                    }
+                }
+            }
+
+            if (removidos > COMPACTACAO_MINIMA && removidos > documentoPorId.size()) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerInterno(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cada termo da consulta é tratado como prefixo e todos precisam casar com o documento
+     * ("pizz marg" encontra "Pizza Margherita"). Consulta vazia retorna todos os documentos.
+     *
+     * @param categoria filtro exato de categoria, sem diferenciar acentos e maiúsculas; {@code null} para todas
+     * @param disponivel {@code true}/{@code false} para filtrar pela disponibilidade; {@code null} para ignorar
+     */
+    public ResultadoBusca buscar(String consulta, String categoria, Boolean disponivel, int offset, int limite) {
+        List<String> termosConsulta = NormalizadorTexto.termos(consulta);
+        lock.readLock().lock();
+        try {
+            BitSet resultado = termosConsulta.isEmpty() ? (BitSet) vivos.clone() : casarTermos(termosConsulta);
+            if (disponivel != null) {
+                if (disponivel) {
+                    resultado.and(disponiveis);
+                } else {
+                    resultado.andNot(disponiveis);
+                }
+            }
+
+            long[] contagens = new long[nomesCategorias.size()];
+            for (int doc = resultado.nextSetBit(0); doc >= 0; doc = resultado.nextSetBit(doc + 1)) {
+                contagens[categorias[doc]]++;
+            }
+            Map<String, Long> facetas = new LinkedHashMap<>();
+            for (int i = 0; i < contagens.length; i++) {
+                if (contagens[i] > 0) {
+                    facetas.put(nomesCategorias.get(i), contagens[i]);
+                }
+            }
+
+            if (categoria != null) {
+                Integer ordinal = categoriaPorChave.get(NormalizadorTexto.normalizar(categoria));
+                if (ordinal == null) {
+                    return new ResultadoBusca(0, List.of(), facetas);
+                }
+                for (int doc = resultado.nextSetBit(0); doc >= 0; doc = resultado.nextSetBit(doc + 1)) {
+                    if (categorias[doc] != ordinal) {
+                        resultado.clear(doc);
+                    }
+                }
+            }
+
+            int total = resultado.cardinality();
+            if (offset >= total) {
+                return new ResultadoBusca(total, List.of(), facetas);
+            }
+            List<Long> pagina = new ArrayList<>(Math.min(limite, 64));
+            int posicao = 0;
+            for (int doc = resultado.nextSetBit(0); doc >= 0 && pagina.size() < limite; doc = resultado.nextSetBit(doc + 1)) {
+                if (posicao++ >= offset) {
+                    pagina.add(ids[doc]);
+                }
+            }
+            return new ResultadoBusca(total, pagina, facetas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet casarTermos(List<String> termosConsulta) {
+        BitSet resultado = null;
+        for (String prefixo : termosConsulta) {
+            BitSet casados = new BitSet(proximoDocumento);
+            for (Map.Entry<String, Postagens> entrada : termos.tailMap(prefixo, true).entrySet()) {
+                if (!entrada.getKey().startsWith(prefixo)) {
+                    break;
+                }
+                entrada.getValue().marcar(casados);
+            }
+            if (resultado == null) {
+                resultado = casados;
+            } else {
+                resultado.and(casados);
+            }
+            if (resultado.isEmpty()) {
+                return resultado;
+            }
+        }
+        resultado.and(vivos);
+        return resultado;
+    }
+
+    private void removerInterno(long id) {
+        Integer anterior = documentoPorId.remove(id);
+        if (anterior != null) {
+            vivos.clear(anterior);
+            removidos++;
+        }
+    }
+
+    private int ordinalCategoria(String categoria) {
+        String chave = NormalizadorTexto.normalizar(categoria);
+        return categoriaPorChave.computeIfAbsent(chave, c -> {
+            nomesCategorias.add(categoria == null ? "" : categoria);
+            return nomesCategorias.size() - 1;
+        });
+    }
+
+    // Renumera os documentos vivos e descarta das postagens os que foram removidos
+    private void compactar() {
+        int[] novoNumero = new int[proximoDocumento];
+        int vivosAtuais = 0;
+        for (int doc = 0; doc < proximoDocumento; doc++) {
+            novoNumero[doc] = vivos.get(doc) ? vivosAtuais++ : -1;
+        }
+
+        long[] novosIds = new long[Math.max(1024, vivosAtuais * 2)];
+        int[] novasCategorias = new int[novosIds.length];
+        BitSet novosDisponiveis = new BitSet(vivosAtuais);
+        for (int doc = 0; doc < proximoDocumento; doc++) {
+            int novo = novoNumero[doc];
+            if (novo >= 0) {
+                novosIds[novo] = ids[doc];
+                novasCategorias[novo] = categorias[doc];
+                novosDisponiveis.set(novo, disponiveis.get(doc));
+            }
+        }
+
+        Iterator<Postagens> postagens = termos.values().iterator();
+        while (postagens.hasNext()) {
+            Postagens p = postagens.next();
+            p.renumerar(novoNumero);
+            if (p.tamanho == 0) {
+                postagens.remove();
+            }
+        }
+        documentoPorId.replaceAll((id, doc) -> novoNumero[doc]);
+
+        ids = novosIds;
+        categorias = novasCategorias;
+        disponiveis = novosDisponiveis;
+        vivos = new BitSet(vivosAtuais);
+        vivos.set(0, vivosAtuais);
+        proximoDocumento = vivosAtuais;
+        removidos = 0;
+    }
+
+    private static final class Postagens {
+
+        private int[] documentos = new int[4];
+        private int tamanho;
+
+        void adicionar(int documento) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+            }
+            documentos[tamanho++] = documento;
+        }
+
+        void marcar(BitSet destino) {
+            for (int i = 0; i < tamanho; i++) {
+                destino.set(documentos[i]);
+            }
+        }
+
+        void renumerar(int[] novoNumero) {
+            int escritos = 0;
+            for (int i = 0; i < tamanho; i++) {
+                int novo = novoNumero[documentos[i]];
+                if (novo >= 0) {
+                    documentos[escritos++] = novo;
+                }
+            }
+            tamanho = escritos;
+            documentos = Arrays.copyOf(documentos, Math.max(4, escritos));
+        }
+    }
+}
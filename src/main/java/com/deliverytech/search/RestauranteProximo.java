@@ -0,0 +1,6 @@
+package com.deliverytech.search;
+
+import com.deliverytech.model.Restaurante;
+
+public record RestauranteProximo(Restaurante restaurante, double distanciaKm, int tempoEstimadoMinutos) {
+}
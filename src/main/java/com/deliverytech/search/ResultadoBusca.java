@@ -0,0 +1,11 @@
+package com.deliverytech.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma consulta ao {@link IndiceTexto}: total de documentos encontrados,
+ * os IDs da página pedida e a contagem por categoria (sem o filtro de categoria aplicado).
+ */
+public record ResultadoBusca(long total, List<Long> ids, Map<String, Long> facetas) {
+}
@@ -26,7 +26,8 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    // verifica assinatura e expiração; lança JwtException se o token não vale
+    Claims extractAllClaims(String token) {
         return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
     }
 
@@ -39,6 +40,8 @@ public class JwtUtil {
         claims.put("userId", usuario.getId());
         claims.put("role", usuario.getRole());
         claims.put("restauranteId", usuario.getRestauranteId());
+        claims.put("clienteId", usuario.getClienteId());
+        claims.put("entregadorId", usuario.getEntregadorId());
         return createToken(claims, userDetails.getUsername());
     }
 
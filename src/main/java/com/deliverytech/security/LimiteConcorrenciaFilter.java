@@ -0,0 +1,65 @@
+package com.deliverytech.security;
+
+import com.deliverytech.config.LimiteRequisicoesProperties;
+import com.deliverytech.security.limite.LimiteConcorrenciaAdaptativo;
+import com.deliverytech.security.limite.RegrasLimite;
+import com.deliverytech.security.limite.RespostaLimite;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Descarte de carga: roda antes do {@link JwtAuthenticationFilter} (que já consulta o banco) e
+ * recusa com 503 as requisições acima do {@link LimiteConcorrenciaAdaptativo}, que encolhe quando
+ * a latência sobe. Recusar cedo mantém rápidas as requisições aceitas em vez de deixar todas
+ * esperando na fila até o timeout.
+ */
+@Component
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final LimiteRequisicoesProperties propriedades;
+    private final RegrasLimite regras;
+    private final LimiteConcorrenciaAdaptativo limite;
+    private final ObjectMapper objectMapper;
+    private final Counter recusas;
+
+    public LimiteConcorrenciaFilter(LimiteRequisicoesProperties propriedades, RegrasLimite regras,
+                                    LimiteConcorrenciaAdaptativo limite, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.propriedades = propriedades;
+        this.regras = regras;
+        this.limite = limite;
+        this.objectMapper = objectMapper;
+        this.recusas = LimiteTaxaFilter.recusas(registry, "concorrencia");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !propriedades.getConcorrencia().isHabilitado() || regras.ignorado(LimiteTaxaFilter.caminho(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limite.adquirir()) {
+            recusas.increment();
+            RespostaLimite.recusar(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE, 1000,
+                    "Serviço sobrecarregado. Tente novamente em instantes.", LimiteTaxaFilter.caminho(request));
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limite.liberar(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.deliverytech.security;
+
+import com.deliverytech.config.LimiteRequisicoesProperties;
+import com.deliverytech.security.limite.Consumo;
+import com.deliverytech.security.limite.LimitadorTaxa;
+import com.deliverytech.security.limite.RegrasLimite;
+import com.deliverytech.security.limite.RegrasLimite.Regra;
+import com.deliverytech.security.limite.RespostaLimite;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Limita a taxa de requisições com baldes de tokens. Roda logo depois do {@link JwtAuthenticationFilter}
+ * para já conhecer o usuário: cada requisição consome um token do balde do IP e um do balde do
+ * usuário na regra da rota (ou do IP, se anônima). Sem token, responde 429 com {@code Retry-After}.
+ */
+@Component
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    private final LimiteRequisicoesProperties propriedades;
+    private final RegrasLimite regras;
+    private final LimitadorTaxa limitador;
+    private final ObjectMapper objectMapper;
+    private final Counter recusasPorIp;
+    private final Counter recusasPorUsuario;
+
+    public LimiteTaxaFilter(LimiteRequisicoesProperties propriedades, RegrasLimite regras, LimitadorTaxa limitador,
+                            ObjectMapper objectMapper, MeterRegistry registry) {
+        this.propriedades = propriedades;
+        this.regras = regras;
+        this.limitador = limitador;
+        this.objectMapper = objectMapper;
+        this.recusasPorIp = recusas(registry, "taxa_ip");
+        this.recusasPorUsuario = recusas(registry, "taxa_usuario");
+    }
+
+    static Counter recusas(MeterRegistry registry, String motivo) {
+        return Counter.builder("deliverytech.limite.recusas")
+                .description("Requisições recusadas pelos limites de taxa e de concorrência")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !propriedades.getTaxa().isHabilitado() || regras.ignorado(caminho(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = caminho(request);
+        String ip = request.getRemoteAddr();
+
+        Consumo porIp = limitador.consumir("ip:" + ip, regras.porIp());
+        if (!porIp.permitido()) {
+            recusasPorIp.increment();
+            RespostaLimite.recusar(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS, porIp.esperaMs(),
+                    "Limite de requisições por endereço excedido. Tente novamente em instantes.", caminho);
+            return;
+        }
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        String cliente = autenticacao != null && autenticacao.isAuthenticated() && !(autenticacao instanceof AnonymousAuthenticationToken)
+                ? "usuario:" + autenticacao.getName()
+                : "ip:" + ip;
+        Regra regra = regras.regraPara(request.getMethod(), caminho);
+        Consumo consumo = limitador.consumir(regra.nome() + "|" + cliente, regra.limite());
+        if (consumo.restantes() >= 0) {
+            response.setHeader("X-RateLimit-Limit", String.valueOf(regra.limite().rajada()));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(consumo.restantes()));
+        }
+        if (!consumo.permitido()) {
+            recusasPorUsuario.increment();
+            RespostaLimite.recusar(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS, consumo.esperaMs(),
+                    "Limite de requisições excedido. Tente novamente em instantes.", caminho);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.security;
+
+import com.deliverytech.model.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Usuário da requisição, montado só com as claims do token já verificado, sem consulta ao banco.
+ * {@code restauranteId} vem preenchido para a equipe de um restaurante e delimita o que ela enxerga;
+ * {@code clienteId}, para o usuário de um cliente, com o cadastro de cliente que ele mesmo fez;
+ * {@code entregadorId}, para o entregador, com o próprio cadastro de entregador.
+ */
+public record UsuarioAutenticado(Long id, String email, Role role, Long restauranteId, Long clienteId, Long entregadorId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
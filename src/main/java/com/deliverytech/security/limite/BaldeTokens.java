@@ -0,0 +1,41 @@
+package com.deliverytech.security.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem trava, na forma do GCRA: em vez de contar tokens e guardar o instante da
+ * última recarga (dois valores que precisariam mudar juntos), guarda só o instante teórico em que
+ * o balde volta a ficar cheio. Consumir é um compare-and-set nesse único {@code long}.
+ */
+public final class BaldeTokens {
+
+    private final Limite limite;
+    private final AtomicLong instanteTeorico;
+
+    public BaldeTokens(Limite limite, long agoraNanos) {
+        this.limite = limite;
+        this.instanteTeorico = new AtomicLong(agoraNanos);
+    }
+
+    public Consumo consumir(long agoraNanos) {
+        long intervalo = limite.intervaloNanos();
+        long tolerancia = limite.toleranciaNanos();
+        while (true) {
+            long atual = instanteTeorico.get();
+            long base = Math.max(atual, agoraNanos);
+            long espera = base - agoraNanos - tolerancia;
+            if (espera > 0) {
+                return new Consumo(false, 0, Math.max(1, espera / 1_000_000));
+            }
+            long novo = base + intervalo;
+            if (instanteTeorico.compareAndSet(atual, novo)) {
+                return new Consumo(true, limite.restantes(novo - agoraNanos), 0);
+            }
+        }
+    }
+
+    /** Um balde cheio é igual a um novo, então pode ser descartado sem mudar o comportamento. */
+    boolean cheio(long agoraNanos) {
+        return instanteTeorico.get() - agoraNanos <= 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.deliverytech.security.limite;
+
+/** Resultado da tentativa de consumir um token. */
+public record Consumo(boolean permitido, long restantes, long esperaMs) {
+
+    static final Consumo LIBERADO = new Consumo(true, -1, 0);
+}
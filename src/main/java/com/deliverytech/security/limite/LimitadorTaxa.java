@@ -0,0 +1,6 @@
+package com.deliverytech.security.limite;
+
+/** Consome tokens de baldes identificados por chave (rota + usuário ou IP). */
+public interface LimitadorTaxa {
+    Consumo consumir(String chave, Limite limite);
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.security.limite;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Baldes em memória, um por chave. Vale por instância: com várias réplicas atrás de um
+ * balanceador, o limite efetivo é multiplicado pelo número de réplicas (use o modo redis).
+ */
+public class LimitadorTaxaLocal implements LimitadorTaxa {
+
+    private static final long INTERVALO_LIMPEZA_NANOS = 1_000_000_000L;
+
+    private final Map<String, BaldeTokens> baldes = new ConcurrentHashMap<>();
+    private final int maxChaves;
+    private final AtomicLong ultimaLimpeza = new AtomicLong(System.nanoTime());
+
+    public LimitadorTaxaLocal(int maxChaves) {
+        this.maxChaves = maxChaves;
+    }
+
+    @Override
+    public Consumo consumir(String chave, Limite limite) {
+        long agora = System.nanoTime();
+        BaldeTokens balde = baldes.get(chave);
+        if (balde == null) {
+            limparSeNecessario(agora);
+            balde = baldes.computeIfAbsent(chave, c -> new BaldeTokens(limite, agora));
+        }
+        return balde.consumir(agora);
+    }
+
+    int quantidadeBaldes() {
+        return baldes.size();
+    }
+
+    // remove os baldes cheios (equivalentes a novos), no máximo uma vez por segundo; uma thread que
+    // ainda segure um balde removido ganha no máximo um token a mais
+    private void limparSeNecessario(long agora) {
+        long ultima = ultimaLimpeza.get();
+        if (baldes.size() >= maxChaves && agora - ultima >= INTERVALO_LIMPEZA_NANOS
+                && ultimaLimpeza.compareAndSet(ultima, agora)) {
+            baldes.values().removeIf(balde -> balde.cheio(agora));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.deliverytech.security.limite;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * O mesmo GCRA do {@link BaldeTokens}, executado num script Lua para que todas as réplicas
+ * compartilhem o balde. O relógio é o do Redis, então réplicas com relógios diferentes não
+ * interferem. Se o Redis falhar a requisição passa: o limite protege a aplicação, não deve
+ * derrubá-la junto.
+ */
+public class LimitadorTaxaRedis implements LimitadorTaxa {
+
+    private static final Logger log = LoggerFactory.getLogger(LimitadorTaxaRedis.class);
+    private static final String PREFIXO = "deliverytech:limite:";
+
+    // ARGV em microssegundos: intervalo, tolerância. Retorna {1, adiantamento} ou {0, espera}.
+    private static final RedisScript<List> GCRA = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local agora = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local intervalo = tonumber(ARGV[1])
+            local tolerancia = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or agora)
+            if tat < agora then tat = agora end
+            local espera = tat - agora - tolerancia
+            if espera > 0 then return {0, espera} end
+            local novo = tat + intervalo
+            redis.call('SET', KEYS[1], string.format('%d', novo), 'PX', math.ceil((novo - agora) / 1000) + 1)
+            return {1, novo - agora}
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+
+    public LimitadorTaxaRedis(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public Consumo consumir(String chave, Limite limite) {
+        List<?> resultado;
+        try {
+            resultado = redis.execute(GCRA, List.of(PREFIXO + chave),
+                    String.valueOf(limite.intervaloNanos() / 1000), String.valueOf(limite.toleranciaNanos() / 1000));
+        } catch (RuntimeException e) {
+            log.warn("Redis indisponível para o limite de requisições; liberando a requisição: {}", e.getMessage());
+            return Consumo.LIBERADO;
+        }
+        long valorMicros = ((Number) resultado.get(1)).longValue();
+        if (((Number) resultado.get(0)).longValue() == 0) {
+            return new Consumo(false, 0, Math.max(1, valorMicros / 1000));
+        }
+        return new Consumo(true, limite.restantes(valorMicros * 1000), 0);
+    }
+}
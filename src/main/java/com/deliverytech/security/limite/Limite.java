@@ -0,0 +1,29 @@
+package com.deliverytech.security.limite;
+
+/**
+ * Taxa sustentada e rajada de um balde de tokens: o balde começa cheio com {@code rajada}
+ * tokens e recupera {@code porSegundo} tokens por segundo.
+ */
+public record Limite(double porSegundo, int rajada) {
+
+    public Limite {
+        if (porSegundo <= 0 || rajada < 1) {
+            throw new IllegalArgumentException("Limite inválido: " + porSegundo + "/s, rajada " + rajada);
+        }
+    }
+
+    /** Intervalo entre dois tokens. */
+    long intervaloNanos() {
+        return (long) (1_000_000_000L / porSegundo);
+    }
+
+    /** Quanto o instante teórico pode estar à frente do relógio sem recusar (rajada - 1 intervalos). */
+    long toleranciaNanos() {
+        return (rajada - 1) * intervaloNanos();
+    }
+
+    /** Tokens que sobram quando o instante teórico está {@code adiantamentoNanos} à frente do relógio. */
+    long restantes(long adiantamentoNanos) {
+        return Math.max(0, (rajada * intervaloNanos() - adiantamentoNanos) / intervaloNanos());
+    }
+}
@@ -0,0 +1,104 @@
+package com.deliverytech.security.limite;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de requisições simultâneas que se ajusta pela latência, no estilo do limite por
+ * gradiente: a cada janela compara a latência média com a linha de base (a menor latência
+ * recente). Enquanto a média fica dentro da tolerância o limite cresce se estiver sendo usado;
+ * quando a latência sobe, sinal de fila nas threads, no pool de conexões ou no banco, o limite
+ * cai na mesma proporção e o excedente é recusado na entrada em vez de esperar até o timeout.
+ */
+public class LimiteConcorrenciaAdaptativo {
+
+    private static final long JANELA_NANOS = 100_000_000L;
+    private static final int MIN_AMOSTRAS = 10;
+    private static final double SUAVIZACAO = 0.2;
+    // a linha de base sobe devagar para acompanhar mudanças duradouras (ex.: mais dados no banco)
+    private static final double ESQUECIMENTO_BASE = 0.01;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger picoNaJanela = new AtomicInteger();
+    private final LongAdder somaNanos = new LongAdder();
+    private final LongAdder amostras = new LongAdder();
+    private final ReentrantLock ajuste = new ReentrantLock();
+
+    private volatile int limite;
+    private volatile long inicioJanela = System.nanoTime();
+    private double latenciaBaseNanos;
+
+    /**
+     * @param tolerancia quantas vezes a latência média pode passar da linha de base antes de reduzir o limite
+     */
+    public LimiteConcorrenciaAdaptativo(int inicial, int minimo, int maximo, double tolerancia) {
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+    }
+
+    public boolean adquirir() {
+        int atual = emAndamento.incrementAndGet();
+        if (atual > limite) {
+            emAndamento.decrementAndGet();
+            return false;
+        }
+        picoNaJanela.accumulateAndGet(atual, Math::max);
+        return true;
+    }
+
+    public void liberar(long duracaoNanos) {
+        liberar(duracaoNanos, System.nanoTime());
+    }
+
+    void liberar(long duracaoNanos, long agora) {
+        emAndamento.decrementAndGet();
+        somaNanos.add(duracaoNanos);
+        amostras.increment();
+        // quem encontrar a janela vencida recalcula; os demais não esperam
+        if (agora - inicioJanela >= JANELA_NANOS && ajuste.tryLock()) {
+            try {
+                recalcular(agora);
+            } finally {
+                ajuste.unlock();
+            }
+        }
+    }
+
+    private void recalcular(long agora) {
+        if (agora - inicioJanela < JANELA_NANOS || amostras.sum() < MIN_AMOSTRAS) {
+            return;
+        }
+        double media = (double) somaNanos.sumThenReset() / amostras.sumThenReset();
+        int pico = picoNaJanela.getAndSet(emAndamento.get());
+        inicioJanela = agora;
+
+        latenciaBaseNanos = latenciaBaseNanos == 0 || media < latenciaBaseNanos
+                ? media
+                : latenciaBaseNanos + (media - latenciaBaseNanos) * ESQUECIMENTO_BASE;
+
+        int atual = limite;
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * latenciaBaseNanos / media));
+        if (gradiente >= 1.0 && pico < atual / 2) {
+            // latência boa, mas o limite nem está sendo usado: crescer só atrasaria a reação a uma sobrecarga
+            return;
+        }
+        double novo = atual * gradiente + Math.sqrt(atual);
+        double suavizado = atual * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = (int) Math.max(minimo, Math.min(maximo, Math.round(suavizado)));
+    }
+
+    public int limite() {
+        return limite;
+    }
+
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.security.limite;
+
+import com.deliverytech.config.LimiteRequisicoesProperties;
+import com.deliverytech.config.LimiteRequisicoesProperties.Rota;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/** Resolve, uma vez na inicialização, os padrões de caminho das propriedades de limite. */
+public class RegrasLimite {
+
+    /** Limite aplicado à requisição; o nome separa os baldes de cada regra. */
+    public record Regra(String nome, String metodo, PathPattern padrao, Limite limite) {
+
+        boolean casa(String metodoRequisicao, PathContainer caminho) {
+            return (metodo == null || metodo.equalsIgnoreCase(metodoRequisicao)) && padrao.matches(caminho);
+        }
+    }
+
+    private final List<PathPattern> ignorados;
+    private final List<Regra> rotas;
+    private final Regra padrao;
+    private final Limite porIp;
+
+    public RegrasLimite(LimiteRequisicoesProperties propriedades) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        LimiteRequisicoesProperties.Taxa taxa = propriedades.getTaxa();
+        this.ignorados = propriedades.getIgnorados().stream().map(parser::parse).toList();
+        this.rotas = taxa.getRotas().stream().map(rota -> regra(parser, rota)).toList();
+        this.padrao = new Regra("padrao", null, parser.parse("/**"),
+                new Limite(taxa.getPorUsuario().getPorSegundo(), taxa.getPorUsuario().getRajada()));
+        this.porIp = new Limite(taxa.getPorIp().getPorSegundo(), taxa.getPorIp().getRajada());
+    }
+
+    private static Regra regra(PathPatternParser parser, Rota rota) {
+        String metodo = StringUtils.hasText(rota.getMetodo()) ? rota.getMetodo() : null;
+        String nome = (metodo == null ? "" : metodo + " ") + rota.getPadrao();
+        return new Regra(nome, metodo, parser.parse(rota.getPadrao()), new Limite(rota.getPorSegundo(), rota.getRajada()));
+    }
+
+    public boolean ignorado(String caminho) {
+        PathContainer container = PathContainer.parsePath(caminho);
+        for (PathPattern ignorado : ignorados) {
+            if (ignorado.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Regra regraPara(String metodo, String caminho) {
+        PathContainer container = PathContainer.parsePath(caminho);
+        for (Regra rota : rotas) {
+            if (rota.casa(metodo, container)) {
+                return rota;
+            }
+        }
+        return padrao;
+    }
+
+    public Limite porIp() {
+        return porIp;
+    }
+}
@@ -0,0 +1,27 @@
+package com.deliverytech.security.limite;
+
+import com.deliverytech.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/** Resposta de recusa dos filtros de limite, no mesmo formato de erro do restante da API. */
+public final class RespostaLimite {
+
+    private RespostaLimite() {
+    }
+
+    public static void recusar(HttpServletResponse response, ObjectMapper objectMapper, HttpStatus status,
+                               long esperaMs, String mensagem, String caminho) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (esperaMs + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), status.getReasonPhrase(), mensagem, caminho));
+    }
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.BuscaResponse;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+
+public interface BuscaService {
+    BuscaResponse<Produto> buscarProdutos(String consulta, String categoria, Boolean disponivel, int page, int pageSize);
+    BuscaResponse<Restaurante> buscarRestaurantes(String consulta, String categoria, Boolean ativo, int page, int pageSize);
+    void indexarProduto(Produto produto);
+    void indexarRestaurante(Restaurante restaurante);
+    void indexarProdutosAposId(long ultimoId);
+    void indexarRestaurantesAposId(long ultimoId);
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.PageResponse;
+import com.deliverytech.dto.response.ProdutoResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Leituras quentes do catálogo servidas de cache com carga única por chave. Quem altera produtos
+ * invalida as entradas afetadas pelos métodos {@code invalidar*}.
+ */
+public interface CatalogoService {
+    List<ProdutoResponse> produtosDoRestaurante(Long restauranteId);
+    PageResponse<ProdutoResponse> listarProdutos(Pageable pageable);
+    void invalidarRestaurante(Long restauranteId);
+    void invalidarTudo();
+}
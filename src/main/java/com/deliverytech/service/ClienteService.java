@@ -11,6 +11,8 @@ import java.util.Optional;
 @Cacheable("clientes")
 public interface ClienteService {
     Cliente cadastrar(Cliente cliente);
+    /** Cadastra o cliente do próprio usuário, que passa a enxergar os pedidos dele; um usuário tem um cliente só. */
+    Cliente cadastrarParaUsuario(Cliente cliente, Long usuarioId);
     Optional<Cliente> buscarPorId(Long id);
     Page<Cliente> listarAtivos(Pageable pageable);
     Cliente atualizar(Long id, Cliente clienteAtualizado);
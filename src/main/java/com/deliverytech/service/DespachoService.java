@@ -0,0 +1,9 @@
+package com.deliverytech.service;
+
+public interface DespachoService {
+    /**
+     * Uma rodada de despacho: atribui os pedidos em preparo sem entregador aos entregadores livres
+     * da mesma cidade; retorna quantos pedidos foram atribuídos.
+     */
+    int despachar();
+}
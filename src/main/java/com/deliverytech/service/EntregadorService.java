@@ -0,0 +1,16 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Entregador;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EntregadorService {
+    Entregador cadastrar(Entregador entregador);
+    Optional<Entregador> buscarPorId(Long id);
+    List<Entregador> listarPorCidade(String cidade);
+    Entregador atualizarPosicao(Long id, double latitude, double longitude);
+
+    /** Entra ou sai de turno; não volta a ficar disponível com uma entrega em andamento. */
+    Entregador alterarDisponibilidade(Long id, boolean disponivel);
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.EstatisticaRestauranteResponse;
+import com.deliverytech.dto.response.ReconstrucaoEstatisticasResponse;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.StatusPedido;
+
+import java.time.LocalDate;
+
+public interface EstatisticaRestauranteService {
+    void registrarCriacao(Pedido pedido);
+    void registrarMudancaStatus(Pedido pedido, StatusPedido anterior);
+    EstatisticaRestauranteResponse consultar(Long restauranteId, LocalDate inicio, LocalDate fim, int topProdutos);
+    ReconstrucaoEstatisticasResponse reconstruir(LocalDate inicio, LocalDate fim);
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.ItemPedido;
+
+import java.util.Collection;
+import java.util.OptionalLong;
+
+public interface EstoqueService {
+    /**
+     * Reserva as quantidades dos itens, tudo ou nada; lança {@code BusinessException} se algum produto
+     * não tiver estoque. Numa transação, a reserva é desfeita se ela for desfeita.
+     */
+    void reservar(Collection<ItemPedido> itens);
+
+    /** Devolve ao estoque as quantidades dos itens; numa transação, só depois da confirmação. */
+    void liberar(Collection<ItemPedido> itens);
+
+    /** Unidades disponíveis agora, ou vazio se o produto não tem controle de estoque. */
+    OptionalLong disponivel(Long produtoId);
+
+    /** Define o estoque do produto ({@code null} tira o controle) e grava na hora. */
+    void definir(Long produtoId, Integer quantidade);
+
+    /** Grava no banco os estoques alterados desde a última gravação; retorna quantos produtos gravou. */
+    int persistir();
+}
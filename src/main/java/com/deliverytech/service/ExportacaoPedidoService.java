@@ -0,0 +1,11 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.FormatoExportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportacaoPedidoService {
+    long exportar(LocalDateTime inicio, LocalDateTime fim, FormatoExportacao formato, OutputStream saida) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.RelatorioImportacaoResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacaoService {
+    RelatorioImportacaoResponse importarProdutos(InputStream entrada, String contentType) throws IOException;
+    RelatorioImportacaoResponse importarRestaurantes(InputStream entrada, String contentType) throws IOException;
+}
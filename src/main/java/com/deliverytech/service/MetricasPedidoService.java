@@ -0,0 +1,9 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.StatusPedido;
+
+public interface MetricasPedidoService {
+    void registrarCriacao(Pedido pedido);
+    void registrarMudancaStatus(StatusPedido anterior, StatusPedido novo);
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.StatusPedido;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface PainelRestauranteService {
+    /** Pedidos do restaurante, opcionalmente de um status, mais recentes primeiro. */
+    Page<Pedido> listarPedidos(Long restauranteId, StatusPedido status, Pageable pageable);
+    List<Produto> listarProdutos(Long restauranteId);
+}
@@ -1,5 +1,7 @@
 package com.deliverytech.service;
 
+import com.deliverytech.dto.response.HistoricoPedidosResponse;
+import com.deliverytech.model.Endereco;
 import com.deliverytech.model.Pedido;
 import com.deliverytech.model.StatusPedido;
 
@@ -13,4 +15,21 @@ public interface PedidoService {
     List<Pedido> listarPorRestaurante(Long restauranteId);
     Pedido atualizarStatus(Long id, StatusPedido status);
     void cancelar(Long id);
+
+    /**
+     * Atribui o entregador ao pedido em preparo e o pedido passa a ENVIADO; o entregador fica ocupado
+     * até a entrega ou o cancelamento. Retorna {@code false}, sem alterar nada, se o pedido já não
+     * espera entregador ou o entregador já não está livre.
+     */
+    boolean atribuirEntregador(Long pedidoId, Long entregadorId);
+
+    /**
+     * Histórico do cliente, mais recentes primeiro, em páginas de até {@code limite} pedidos a partir
+     * do {@code cursor} devolvido pela página anterior (nulo na primeira). Com {@code comItens}, os
+     * itens de todos os pedidos da página vêm numa única consulta.
+     */
+    HistoricoPedidosResponse historicoDoCliente(Long clienteId, String cursor, int limite, boolean comItens);
+
+    /** Endereço de entrega do pedido mais recente do cliente que informou a posição, se houver. */
+    Optional<Endereco> ultimoEnderecoComPosicao(Long clienteId);
 }
@@ -0,0 +1,9 @@
+package com.deliverytech.service;
+
+public interface PrazoPedidoService {
+    /** Cancela os pedidos que continuam em CRIADO depois do prazo de confirmação; retorna quantos foram cancelados. */
+    int cancelarNaoConfirmados();
+
+    /** Escala, uma única vez por pedido, os que continuam em EM_PREPARACAO depois do prazo de preparo. */
+    int escalarPreparoAtrasado();
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.response.CotacaoResponse;
+
+import java.util.List;
+
+/**
+ * Preço de cestas pelas regras de cada restaurante (taxa de entrega, promoções e cupons). Quem altera
+ * produtos, promoções ou a taxa de entrega invalida a tabela do restaurante pelos métodos {@code invalidar*}.
+ */
+public interface PrecificacaoService {
+    CotacaoResponse cotar(Long restauranteId, List<ItemPedidoRequest> itens, String cupom);
+    void invalidarRestaurante(Long restauranteId);
+    void invalidarTudo();
+}
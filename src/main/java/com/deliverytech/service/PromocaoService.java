@@ -0,0 +1,11 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Promocao;
+
+import java.util.List;
+
+public interface PromocaoService {
+    Promocao cadastrar(Promocao promocao);
+    List<Promocao> listarPorRestaurante(Long restauranteId);
+    void desativar(Long id);
+}
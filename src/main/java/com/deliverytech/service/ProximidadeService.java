@@ -0,0 +1,12 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.search.RestauranteProximo;
+
+import java.util.List;
+
+public interface ProximidadeService {
+    List<RestauranteProximo> buscarProximos(double latitude, double longitude, Double raioKm, int limite);
+    void indexarRestaurante(Restaurante restaurante);
+    void indexarRestaurantesAposId(long ultimoId);
+}
@@ -0,0 +1,118 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.BuscaResponse;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.search.IndiceTexto;
+import com.deliverytech.search.ResultadoBusca;
+import com.deliverytech.service.BuscaService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class BuscaServiceImpl implements BuscaService {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaServiceImpl.class);
+
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IndiceTexto indiceProdutos = new IndiceTexto();
+    private final IndiceTexto indiceRestaurantes = new IndiceTexto();
+
+    // Carrega o índice antes de a aplicação ser considerada pronta
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        indexarProdutosAposId(0);
+        indexarRestaurantesAposId(0);
+        log.info("Índice de busca carregado: {} produtos e {} restaurantes em {} ms",
+                indiceProdutos.tamanho(), indiceRestaurantes.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    @Override
+    public BuscaResponse<Produto> buscarProdutos(String consulta, String categoria, Boolean disponivel, int page, int pageSize) {
+        ResultadoBusca resultado = indiceProdutos.buscar(consulta, categoria, disponivel, deslocamento(page, pageSize), pageSize);
+        return new BuscaResponse<>(resultado.total(), resultado.facetas(),
+                ordenar(resultado.ids(), produtoRepository.findAllById(resultado.ids()), Produto::getId));
+    }
+
+    @Override
+    public BuscaResponse<Restaurante> buscarRestaurantes(String consulta, String categoria, Boolean ativo, int page, int pageSize) {
+        ResultadoBusca resultado = indiceRestaurantes.buscar(consulta, categoria, ativo, deslocamento(page, pageSize), pageSize);
+        return new BuscaResponse<>(resultado.total(), resultado.facetas(),
+                ordenar(resultado.ids(), restauranteRepository.findAllById(resultado.ids()), Restaurante::getId));
+    }
+
+    // em long: uma página enorme vira um deslocamento além do fim do índice, e não um negativo
+    private static int deslocamento(int page, int pageSize) {
+        return (int) Math.min((long) page * pageSize, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void indexarProduto(Produto produto) {
+        indiceProdutos.indexar(produto.getId(), produto.getCategoria(), Boolean.TRUE.equals(produto.getDisponivel()),
+                produto.getNome(), produto.getDescricao(), produto.getCategoria());
+    }
+
+    @Override
+    public void indexarRestaurante(Restaurante restaurante) {
+        indiceRestaurantes.indexar(restaurante.getId(), restaurante.getCategoria(), Boolean.TRUE.equals(restaurante.getAtivo()),
+                restaurante.getNome(), restaurante.getCategoria());
+    }
+
+    @Override
+    public void indexarProdutosAposId(long ultimoId) {
+        jdbcTemplate.query(con -> consulta(con.prepareStatement(
+                "select id, nome, descricao, categoria, disponivel from produto where id > ?"), ultimoId),
+                rs -> {
+                    String categoria = rs.getString("categoria");
+                    indiceProdutos.indexar(rs.getLong("id"), categoria, rs.getBoolean("disponivel"),
+                            rs.getString("nome"), rs.getString("descricao"), categoria);
+                });
+    }
+
+    @Override
+    public void indexarRestaurantesAposId(long ultimoId) {
+        jdbcTemplate.query(con -> consulta(con.prepareStatement(
+                "select id, nome, categoria, ativo from restaurante where id > ?"), ultimoId),
+                rs -> {
+                    String categoria = rs.getString("categoria");
+                    indiceRestaurantes.indexar(rs.getLong("id"), categoria, rs.getBoolean("ativo"),
+                            rs.getString("nome"), categoria);
+                });
+    }
+
+    private static PreparedStatement consulta(PreparedStatement ps, long ultimoId) throws SQLException {
+        ps.setFetchSize(TAMANHO_LOTE_CARGA);
+        ps.setLong(1, ultimoId);
+        return ps;
+    }
+
+    // findAllById não garante a ordem; devolve as entidades na ordem do índice
+    private static <T> List<T> ordenar(List<Long> ids, List<T> entidades, Function<T, Long> id) {
+        Map<Long, T> porId = entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+}
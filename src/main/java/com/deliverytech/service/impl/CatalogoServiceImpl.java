@@ -0,0 +1,126 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.cache.CacheCoalescente;
+import com.deliverytech.dto.response.PageResponse;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.model.Produto;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.CatalogoService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cardápio por restaurante e páginas do catálogo em {@link CacheCoalescente}: quando uma chave
+ * popular vence, uma única consulta recarrega o valor enquanto as demais requisições esperam por ela
+ * ou recebem a versão anterior. Os valores guardados são as respostas já montadas, nunca entidades,
+ * para que a recarga em segundo plano não dependa da sessão de quem a disparou.
+ *
+ * <p>Métricas por cache (tag {@code cache}): {@code deliverytech.cache.catalogo.acessos} com
+ * {@code resultado=acerto|obsoleto|falha}, {@code deliverytech.cache.catalogo.aguardando} (falhas que
+ * esperaram a carga de outra requisição), {@code deliverytech.cache.catalogo.recargas} por
+ * {@code tipo=sincrona|segundo-plano|antecipada} e {@code deliverytech.cache.catalogo.erros}.</p>
+ */
+@Service
+@Timed("deliverytech.servico")
+public class CatalogoServiceImpl implements CatalogoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final ExecutorService recargas = Executors.newVirtualThreadPerTaskExecutor();
+    private final CacheCoalescente<Long, List<ProdutoResponse>> cardapios;
+    private final CacheCoalescente<Pageable, PageResponse<ProdutoResponse>> paginas;
+
+    public CatalogoServiceImpl(ProdutoRepository produtoRepository, MeterRegistry registry,
+                               @Value("${deliverytech.cache-catalogo.ttl:PT1M}") Duration ttl,
+                               @Value("${deliverytech.cache-catalogo.janela-obsoleto:PT5M}") Duration janelaObsoleto,
+                               @Value("${deliverytech.cache-catalogo.beta:1.0}") double beta,
+                               @Value("${deliverytech.cache-catalogo.max-entradas:10000}") int maxEntradas) {
+        this.produtoRepository = produtoRepository;
+        this.cardapios = new CacheCoalescente<>("cardapios", ttl, janelaObsoleto, beta, maxEntradas, recargas);
+        this.paginas = new CacheCoalescente<>("paginas-produtos", ttl, janelaObsoleto, beta, maxEntradas, recargas);
+        registrarMetricas(registry, cardapios);
+        registrarMetricas(registry, paginas);
+    }
+
+    @Override
+    public List<ProdutoResponse> produtosDoRestaurante(Long restauranteId) {
+        return cardapios.obter(restauranteId, () -> produtoRepository.findByRestauranteId(restauranteId).stream()
+                .map(CatalogoServiceImpl::resposta)
+                .toList());
+    }
+
+    @Override
+    public PageResponse<ProdutoResponse> listarProdutos(Pageable pageable) {
+        return paginas.obter(pageable, () -> {
+            Page<Produto> pagina = produtoRepository.findAll(pageable);
+            return new PageResponse<>(
+                    pagina.stream().map(CatalogoServiceImpl::resposta).toList(),
+                    pagina.getTotalElements(),
+                    pagina.getTotalPages(),
+                    pagina.getSize(),
+                    pagina.getNumber());
+        });
+    }
+
+    @Override
+    public void invalidarRestaurante(Long restauranteId) {
+        cardapios.invalidar(restauranteId);
+        // um produto muda a contagem ou o conteúdo de qualquer página
+        paginas.invalidarTudo();
+    }
+
+    @Override
+    public void invalidarTudo() {
+        cardapios.invalidarTudo();
+        paginas.invalidarTudo();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        recargas.shutdownNow();
+    }
+
+    private static ProdutoResponse resposta(Produto p) {
+        return new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel());
+    }
+
+    private static void registrarMetricas(MeterRegistry registry, CacheCoalescente<?, ?> cache) {
+        contador(registry, "deliverytech.cache.catalogo.acessos", cache, CacheCoalescente::acertos, "resultado", "acerto");
+        contador(registry, "deliverytech.cache.catalogo.acessos", cache, CacheCoalescente::obsoletos, "resultado", "obsoleto");
+        contador(registry, "deliverytech.cache.catalogo.acessos", cache, CacheCoalescente::falhas, "resultado", "falha");
+        contador(registry, "deliverytech.cache.catalogo.recargas", cache, CacheCoalescente::recargasSincronas, "tipo", "sincrona");
+        contador(registry, "deliverytech.cache.catalogo.recargas", cache, CacheCoalescente::recargasSegundoPlano, "tipo", "segundo-plano");
+        contador(registry, "deliverytech.cache.catalogo.recargas", cache, CacheCoalescente::recargasAntecipadas, "tipo", "antecipada");
+        FunctionCounter.builder("deliverytech.cache.catalogo.aguardando", cache, CacheCoalescente::aguardando)
+                .description("Falhas de cache que esperaram a carga já iniciada por outra requisição")
+                .tag("cache", cache.nome())
+                .register(registry);
+        FunctionCounter.builder("deliverytech.cache.catalogo.erros", cache, CacheCoalescente::errosCarga)
+                .description("Cargas do cache do catálogo que terminaram em exceção")
+                .tag("cache", cache.nome())
+                .register(registry);
+        Gauge.builder("deliverytech.cache.catalogo.entradas", cache, CacheCoalescente::tamanho)
+                .tag("cache", cache.nome())
+                .register(registry);
+    }
+
+    private static <C extends CacheCoalescente<?, ?>> void contador(MeterRegistry registry, String nome, C cache,
+                                                                    ToLongFunction<C> valor, String tag, String valorTag) {
+        FunctionCounter.builder(nome, cache, c -> valor.applyAsLong(c))
+                .tag("cache", cache.nome())
+                .tag(tag, valorTag)
+                .register(registry);
+    }
+}
@@ -1,28 +1,49 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.exception.BusinessException;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Usuario;
 import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.repository.UsuarioRepository;
 import com.deliverytech.service.ClienteService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
+@Timed("deliverytech.servico")
 @RequiredArgsConstructor
 public class ClienteServiceImpl implements ClienteService {
 
     private final ClienteRepository clienteRepository;
+    private final UsuarioRepository usuarioRepository;
 
     @Override
     public Cliente cadastrar(Cliente cliente) {
         return clienteRepository.save(cliente);
     }
 
+    // o vínculo é o que o token do usuário leva como clienteId a partir do próximo login
+    @Override
+    @Transactional
+    public Cliente cadastrarParaUsuario(Cliente cliente, Long usuarioId) {
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário", usuarioId));
+        if (usuario.getClienteId() != null) {
+            throw new BusinessException("Usuário já tem cadastro de cliente");
+        }
+        Cliente salvo = clienteRepository.save(cliente);
+        usuario.setClienteId(salvo.getId());
+        return salvo;
+    }
+
     @Override
     public Optional<Cliente> buscarPorId(Long id) {
         return clienteRepository.findById(id);
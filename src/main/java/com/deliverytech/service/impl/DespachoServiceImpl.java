@@ -0,0 +1,189 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.despacho.MotorDespacho;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.EntregadorLivre;
+import com.deliverytech.repository.EntregadorRepository;
+import com.deliverytech.repository.PedidoAguardandoEntregador;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.search.IndiceGeografico;
+import com.deliverytech.search.NormalizadorTexto;
+import com.deliverytech.service.DespachoService;
+import com.deliverytech.service.PedidoService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rodada periódica de despacho. Lê de uma vez os pedidos em preparo sem entregador e os entregadores
+ * livres, separa por cidade (a da entrega e a do entregador, sem acento nem caixa) e entrega cada
+ * cidade ao {@link MotorDespacho}. A coleta é no restaurante; a distância é a do entregador até ele.
+ * Um pedido com a entrega a mais da distância máxima do restaurante não entra na rodada: fica em
+ * preparo, para ser tratado à mão (o prazo de preparo escala o atraso). Sem a posição da entrega não há
+ * como medir, e o pedido entra.
+ *
+ * <p>As atribuições são gravadas pelo {@link PedidoService}, em lotes de uma transação cada, com as
+ * mesmas estatísticas e métricas de qualquer mudança de status. Um pedido ou entregador que mudou
+ * desde a leitura é descartado e volta na próxima rodada; um lote com erro para a rodada ali.</p>
+ *
+ * <p>Métricas {@code deliverytech.despacho.atribuicoes} ({@code resultado=atribuido|descartado}) e
+ * {@code deliverytech.despacho.calculo}, o tempo do motor por rodada.</p>
+ */
+@Service
+@Timed("deliverytech.servico")
+public class DespachoServiceImpl implements DespachoService {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachoServiceImpl.class);
+
+    private final PedidoRepository pedidoRepository;
+    private final EntregadorRepository entregadorRepository;
+    private final PedidoService pedidoService;
+    private final TransactionTemplate transacao;
+    private final MotorDespacho motor;
+    private final Counter atribuidos;
+    private final Counter descartados;
+    private final Timer calculo;
+
+    @Value("${deliverytech.despacho.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${deliverytech.despacho.max-pedidos-por-rodada:50000}")
+    private int maxPedidosPorRodada;
+
+    @Value("${deliverytech.despacho.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    @Value("${deliverytech.despacho.velocidade-padrao-kmh:25}")
+    private double velocidadePadraoKmh;
+
+    @Value("${deliverytech.despacho.distancia-maxima-entrega-km:15}")
+    private double distanciaMaximaEntregaKm;
+
+    public DespachoServiceImpl(PedidoRepository pedidoRepository, EntregadorRepository entregadorRepository,
+                               PedidoService pedidoService, PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${deliverytech.despacho.candidatos-por-pedido:8}") int candidatos,
+                               @Value("${deliverytech.despacho.raio-maximo-km:10}") double raioMaximoKm) {
+        this.pedidoRepository = pedidoRepository;
+        this.entregadorRepository = entregadorRepository;
+        this.pedidoService = pedidoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.motor = new MotorDespacho(candidatos, raioMaximoKm);
+        this.atribuidos = Counter.builder("deliverytech.despacho.atribuicoes")
+                .description("Atribuições de pedidos a entregadores, pelo resultado da gravação")
+                .tag("resultado", "atribuido")
+                .register(registry);
+        this.descartados = Counter.builder("deliverytech.despacho.atribuicoes")
+                .description("Atribuições de pedidos a entregadores, pelo resultado da gravação")
+                .tag("resultado", "descartado")
+                .register(registry);
+        this.calculo = Timer.builder("deliverytech.despacho.calculo")
+                .description("Tempo do motor de despacho por rodada, todas as cidades")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${deliverytech.despacho.intervalo:PT5S}",
+            fixedDelayString = "${deliverytech.despacho.intervalo:PT5S}")
+    public void rodar() {
+        if (!habilitado) {
+            return;
+        }
+        int atribuidos = despachar();
+        if (atribuidos > 0) {
+            log.info("Despacho: {} pedidos atribuídos a entregadores", atribuidos);
+        }
+    }
+
+    @Override
+    public int despachar() {
+        List<PedidoAguardandoEntregador> pedidos = pedidoRepository.findAguardandoEntregador(StatusPedido.EM_PREPARACAO,
+                PageRequest.of(0, maxPedidosPorRodada));
+        if (pedidos.isEmpty()) {
+            return 0;
+        }
+        List<EntregadorLivre> livres = entregadorRepository.findLivres();
+        if (livres.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<MotorDespacho.PedidoPendente>> pedidosPorCidade = new HashMap<>();
+        int foraDoAlcance = 0;
+        for (PedidoAguardandoEntregador pedido : pedidos) {
+            if (entregaForaDoAlcance(pedido)) {
+                foraDoAlcance++;
+                continue;
+            }
+            pedidosPorCidade.computeIfAbsent(NormalizadorTexto.normalizar(pedido.cidade()).trim(), c -> new ArrayList<>())
+                    .add(new MotorDespacho.PedidoPendente(pedido.id(), pedido.latitude(), pedido.longitude()));
+        }
+        if (foraDoAlcance > 0) {
+            log.debug("Despacho: {} pedidos com a entrega a mais de {} km do restaurante ficaram de fora",
+                    foraDoAlcance, distanciaMaximaEntregaKm);
+        }
+        Map<String, List<MotorDespacho.EntregadorLivre>> entregadoresPorCidade = new HashMap<>();
+        for (EntregadorLivre entregador : livres) {
+            double velocidade = entregador.velocidadeMediaKmh() == null || entregador.velocidadeMediaKmh() <= 0
+                    ? velocidadePadraoKmh : entregador.velocidadeMediaKmh();
+            entregadoresPorCidade.computeIfAbsent(NormalizadorTexto.normalizar(entregador.cidade()).trim(), c -> new ArrayList<>())
+                    .add(new MotorDespacho.EntregadorLivre(entregador.id(), entregador.latitude(), entregador.longitude(), velocidade));
+        }
+
+        List<MotorDespacho.Atribuicao> atribuicoes = calculo.record(() -> {
+            List<MotorDespacho.Atribuicao> todas = new ArrayList<>();
+            pedidosPorCidade.forEach((cidade, pedidosDaCidade) -> {
+                List<MotorDespacho.EntregadorLivre> entregadores = entregadoresPorCidade.get(cidade);
+                if (entregadores != null) {
+                    todas.addAll(motor.atribuir(pedidosDaCidade, entregadores));
+                }
+            });
+            return todas;
+        });
+        return gravar(atribuicoes);
+    }
+
+    private boolean entregaForaDoAlcance(PedidoAguardandoEntregador pedido) {
+        return pedido.latitudeEntrega() != null && pedido.longitudeEntrega() != null
+                && IndiceGeografico.distanciaKm(pedido.latitude(), pedido.longitude(),
+                        pedido.latitudeEntrega(), pedido.longitudeEntrega()) > distanciaMaximaEntregaKm;
+    }
+
+    private int gravar(List<MotorDespacho.Atribuicao> atribuicoes) {
+        int total = 0;
+        for (int inicio = 0; inicio < atribuicoes.size(); inicio += tamanhoLote) {
+            List<MotorDespacho.Atribuicao> lote = atribuicoes.subList(inicio, Math.min(atribuicoes.size(), inicio + tamanhoLote));
+            Integer gravados;
+            try {
+                gravados = transacao.execute(status -> {
+                    int n = 0;
+                    for (MotorDespacho.Atribuicao atribuicao : lote) {
+                        if (pedidoService.atribuirEntregador(atribuicao.pedidoId(), atribuicao.entregadorId())) {
+                            n++;
+                        }
+                    }
+                    return n;
+                });
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar lote de atribuições; os pedidos voltam na próxima rodada", e);
+                break;
+            }
+            atribuidos.increment(gravados);
+            descartados.increment(lote.size() - gravados);
+            total += gravados;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.Entregador;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.EntregadorRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.EntregadorService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class EntregadorServiceImpl implements EntregadorService {
+
+    private final EntregadorRepository entregadorRepository;
+    private final PedidoRepository pedidoRepository;
+
+    @Override
+    public Entregador cadastrar(Entregador entregador) {
+        if (entregador.getLatitude() != null && entregador.getLongitude() != null) {
+            entregador.setDataAtualizacaoPosicao(LocalDateTime.now());
+        }
+        return entregadorRepository.save(entregador);
+    }
+
+    @Override
+    public Optional<Entregador> buscarPorId(Long id) {
+        return entregadorRepository.findById(id);
+    }
+
+    @Override
+    public List<Entregador> listarPorCidade(String cidade) {
+        return entregadorRepository.findByCidadeIgnoreCaseAndAtivoTrueOrderByNome(cidade);
+    }
+
+    @Override
+    @Transactional
+    public Entregador atualizarPosicao(Long id, double latitude, double longitude) {
+        Entregador entregador = entregadorRepository.travarPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Entregador", id));
+        entregador.setLatitude(latitude);
+        entregador.setLongitude(longitude);
+        entregador.setDataAtualizacaoPosicao(LocalDateTime.now());
+        return entregadorRepository.save(entregador);
+    }
+
+    @Override
+    @Transactional
+    public Entregador alterarDisponibilidade(Long id, boolean disponivel) {
+        // travado, o entregador não recebe um pedido entre a conferência das entregas e a gravação
+        Entregador entregador = entregadorRepository.travarPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Entregador", id));
+        if (disponivel && pedidoRepository.existsByEntregadorIdAndStatus(id, StatusPedido.ENVIADO)) {
+            throw new BusinessException("Entregador com entrega em andamento");
+        }
+        if (disponivel && (entregador.getLatitude() == null || entregador.getLongitude() == null)) {
+            throw new BusinessException("Informe a posição do entregador antes de ficar disponível");
+        }
+        entregador.setDisponivel(disponivel);
+        return entregadorRepository.save(entregador);
+    }
+}
@@ -0,0 +1,287 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.EstatisticaRestauranteResponse;
+import com.deliverytech.dto.response.ReconstrucaoEstatisticasResponse;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.EstatisticaProdutoDia;
+import com.deliverytech.model.EstatisticaRestauranteDia;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.EstatisticaProdutoDiaRepository;
+import com.deliverytech.repository.EstatisticaRestauranteDiaRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.EstatisticaRestauranteService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("deliverytech.servico")
+public class EstatisticaRestauranteServiceImpl implements EstatisticaRestauranteService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticaRestauranteServiceImpl.class);
+
+    // Cada consulta lê o histórico e os agregados no mesmo instante e devolve só a diferença entre eles,
+    // ordenada pela chave: as linhas são corrigidas na mesma ordem em que os pedidos as incrementam.
+    private static final String CORRECAO_RESTAURANTE_DIA =
+            "select restaurante_id, dia, sum(pedidos) as pedidos, sum(cancelados) as cancelados, sum(faturamento) as faturamento "
+            + "from (select p.restaurante_id, cast(p.data_pedido as date) as dia, count(*) as pedidos, "
+            + "sum(case when p.status = 'CANCELADO' then 1 else 0 end) as cancelados, "
+            + "coalesce(sum(case when p.status = 'CANCELADO' then 0 else p.total end), 0) as faturamento "
+            + "from pedido p where p.restaurante_id between ? and ? and p.data_pedido >= ? and p.data_pedido < ? "
+            + "group by p.restaurante_id, cast(p.data_pedido as date) "
+            + "union all select e.restaurante_id, e.dia, -e.quantidade_pedidos, -e.quantidade_cancelados, -e.faturamento "
+            + "from estatistica_restaurante_dia e where e.restaurante_id between ? and ? and e.dia between ? and ?) c "
+            + "group by restaurante_id, dia having sum(pedidos) <> 0 or sum(cancelados) <> 0 or sum(faturamento) <> 0 "
+            + "order by restaurante_id, dia";
+    private static final String CORRECAO_PRODUTO_DIA =
+            "select restaurante_id, dia, produto_id, sum(quantidade) as quantidade "
+            + "from (select p.restaurante_id, cast(p.data_pedido as date) as dia, i.produto_id, sum(i.quantidade) as quantidade "
+            + "from pedido p join item_pedido i on i.pedido_id = p.id "
+            + "where p.restaurante_id between ? and ? and p.data_pedido >= ? and p.data_pedido < ? and p.status <> 'CANCELADO' "
+            + "group by p.restaurante_id, cast(p.data_pedido as date), i.produto_id "
+            + "union all select e.restaurante_id, e.dia, e.produto_id, -e.quantidade_vendida "
+            + "from estatistica_produto_dia e where e.restaurante_id between ? and ? and e.dia between ? and ?) c "
+            + "group by restaurante_id, dia, produto_id having sum(quantidade) <> 0 "
+            + "order by restaurante_id, dia, produto_id";
+
+    private final EstatisticaRestauranteDiaRepository restauranteDiaRepository;
+    private final EstatisticaProdutoDiaRepository produtoDiaRepository;
+    private final ProdutoRepository produtoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate novaTransacao;
+
+    @Value("${deliverytech.estatisticas.particoes-reconstrucao:4}")
+    private int particoesReconstrucao;
+
+    public EstatisticaRestauranteServiceImpl(EstatisticaRestauranteDiaRepository restauranteDiaRepository,
+                                             EstatisticaProdutoDiaRepository produtoDiaRepository,
+                                             ProdutoRepository produtoRepository,
+                                             JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager) {
+        this.restauranteDiaRepository = restauranteDiaRepository;
+        this.produtoDiaRepository = produtoDiaRepository;
+        this.produtoRepository = produtoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void registrarCriacao(Pedido pedido) {
+        if (pedido.getRestaurante() == null) {
+            return;
+        }
+        LocalDate dia = pedido.getDataPedido().toLocalDate();
+        if (pedido.getStatus() == StatusPedido.CANCELADO) {
+            incrementarRestaurante(pedido.getRestaurante().getId(), dia, 1, 1, Dinheiro.ZERO);
+            return;
+        }
+        incrementarRestaurante(pedido.getRestaurante().getId(), dia, 1, 0, total(pedido));
+        incrementarProdutos(pedido, dia, 1);
+    }
+
+    /**
+     * Só o cancelamento (ou a saída dele) altera os agregados: o pedido continua contado,
+     * mas seu total e seus itens deixam de compor o faturamento e o ranking de produtos.
+     */
+    @Override
+    @Transactional
+    public void registrarMudancaStatus(Pedido pedido, StatusPedido anterior) {
+        boolean eraCancelado = anterior == StatusPedido.CANCELADO;
+        boolean estaCancelado = pedido.getStatus() == StatusPedido.CANCELADO;
+        if (eraCancelado == estaCancelado || pedido.getRestaurante() == null) {
+            return;
+        }
+        int sinal = estaCancelado ? -1 : 1;
+        LocalDate dia = pedido.getDataPedido().toLocalDate();
+        incrementarRestaurante(pedido.getRestaurante().getId(), dia, 0, -sinal, total(pedido).vezes(sinal));
+        incrementarProdutos(pedido, dia, sinal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstatisticaRestauranteResponse consultar(Long restauranteId, LocalDate inicio, LocalDate fim, int topProdutos) {
+        List<EstatisticaRestauranteDia> linhas = restauranteDiaRepository.findByRestauranteIdAndDiaBetweenOrderByDia(restauranteId, inicio, fim);
+
+        long pedidos = 0;
+        long cancelados = 0;
+        long centavos = 0;
+        List<EstatisticaRestauranteResponse.Dia> dias = new ArrayList<>(linhas.size());
+        for (EstatisticaRestauranteDia linha : linhas) {
+            pedidos += linha.getQuantidadePedidos();
+            cancelados += linha.getQuantidadeCancelados();
+            centavos = Math.addExact(centavos, linha.getFaturamento().centavos());
+            dias.add(new EstatisticaRestauranteResponse.Dia(linha.getDia(), linha.getQuantidadePedidos(),
+                    linha.getQuantidadeCancelados(), linha.getFaturamento()));
+        }
+
+        long validos = pedidos - cancelados;
+        Dinheiro faturamento = Dinheiro.deCentavos(centavos);
+        Dinheiro ticketMedio = validos == 0 ? Dinheiro.ZERO : faturamento.divididoPor(validos);
+        double taxaCancelamento = pedidos == 0 ? 0.0 : (double) cancelados / pedidos;
+
+        return new EstatisticaRestauranteResponse(restauranteId, inicio, fim, pedidos, cancelados, faturamento,
+                ticketMedio, taxaCancelamento, dias, topProdutos(restauranteId, inicio, fim, topProdutos));
+    }
+
+    /**
+     * Recalcula os agregados do período a partir do histórico de pedidos. Os restaurantes são divididos
+     * em faixas de ID e cada faixa é corrigida em sua própria transação, em paralelo.
+     * <p>
+     * As linhas não são apagadas e regravadas: a correção de cada uma é a diferença entre o histórico e o
+     * agregado lidos na mesma consulta, aplicada como mais um incremento. Um pedido confirmado antes da
+     * leitura está dos dois lados da diferença; um confirmado depois soma o próprio incremento à linha já
+     * corrigida. Assim a reconstrução roda com os pedidos entrando, sem travar nem perder ou duplicar
+     * incrementos, e o resultado conta as linhas corrigidas.
+     */
+    @Override
+    public ReconstrucaoEstatisticasResponse reconstruir(LocalDate inicio, LocalDate fim) {
+        long comeco = System.nanoTime();
+        Map<String, Object> limites = jdbcTemplate.queryForMap("select min(id) as menor, max(id) as maior from restaurante");
+        if (limites.get("menor") == null) {
+            return new ReconstrucaoEstatisticasResponse(inicio, fim, 0, 0L, 0L, 0L);
+        }
+        long menor = ((Number) limites.get("menor")).longValue();
+        long maior = ((Number) limites.get("maior")).longValue();
+        int particoes = (int) Math.max(1, Math.min(particoesReconstrucao, maior - menor + 1));
+        long tamanhoFaixa = (maior - menor + particoes) / particoes;
+
+        long linhasRestaurante = 0;
+        long linhasProduto = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(particoes)) {
+            List<Future<long[]>> resultados = new ArrayList<>(particoes);
+            for (int i = 0; i < particoes; i++) {
+                long de = menor + i * tamanhoFaixa;
+                long ate = Math.min(maior, de + tamanhoFaixa - 1);
+                resultados.add(executor.submit(() -> reconstruirFaixa(de, ate, inicio, fim)));
+            }
+            for (Future<long[]> resultado : resultados) {
+                long[] linhas = resultado.get();
+                linhasRestaurante += linhas[0];
+                linhasProduto += linhas[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução das estatísticas interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na reconstrução das estatísticas", e.getCause());
+        }
+
+        long duracaoMs = (System.nanoTime() - comeco) / 1_000_000;
+        log.info("Estatísticas reconstruídas de {} a {} em {} partições: {} linhas de restaurante corrigidas, {} de produto, {} ms",
+                inicio, fim, particoes, linhasRestaurante, linhasProduto, duracaoMs);
+        return new ReconstrucaoEstatisticasResponse(inicio, fim, particoes, linhasRestaurante, linhasProduto, duracaoMs);
+    }
+
+    private long[] reconstruirFaixa(long de, long ate, LocalDate inicio, LocalDate fim) {
+        Timestamp desde = Timestamp.valueOf(inicio.atStartOfDay());
+        Timestamp antes = Timestamp.valueOf(fim.plusDays(1).atStartOfDay());
+        return transacao.execute(status -> {
+            long restaurante = 0;
+            for (Map<String, Object> correcao : jdbcTemplate.queryForList(CORRECAO_RESTAURANTE_DIA,
+                    de, ate, desde, antes, de, ate, inicio, fim)) {
+                incrementarRestaurante(((Number) correcao.get("restaurante_id")).longValue(), dia(correcao),
+                        ((Number) correcao.get("pedidos")).longValue(), ((Number) correcao.get("cancelados")).longValue(),
+                        Dinheiro.de((BigDecimal) correcao.get("faturamento")));
+                restaurante++;
+            }
+            long produto = 0;
+            for (Map<String, Object> correcao : jdbcTemplate.queryForList(CORRECAO_PRODUTO_DIA,
+                    de, ate, desde, antes, de, ate, inicio, fim)) {
+                incrementarProduto(((Number) correcao.get("restaurante_id")).longValue(), dia(correcao),
+                        ((Number) correcao.get("produto_id")).longValue(), ((Number) correcao.get("quantidade")).longValue());
+                produto++;
+            }
+            return new long[] {restaurante, produto};
+        });
+    }
+
+    private static LocalDate dia(Map<String, Object> linha) {
+        return ((Date) linha.get("dia")).toLocalDate();
+    }
+
+    private List<EstatisticaRestauranteResponse.ProdutoVendido> topProdutos(Long restauranteId, LocalDate inicio, LocalDate fim, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        List<Object[]> somas = produtoDiaRepository.somarPorProduto(restauranteId, inicio, fim, PageRequest.of(0, limite));
+        List<Long> ids = somas.stream().map(s -> (Long) s[0]).toList();
+        Map<Long, String> nomes = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Produto::getNome));
+        return somas.stream()
+                .map(s -> new EstatisticaRestauranteResponse.ProdutoVendido((Long) s[0], nomes.get((Long) s[0]), ((Number) s[1]).longValue()))
+                .toList();
+    }
+
+    private void incrementarRestaurante(Long restauranteId, LocalDate dia, long pedidos, long cancelados, Dinheiro faturamento) {
+        if (restauranteDiaRepository.incrementar(restauranteId, dia, pedidos, cancelados, faturamento) == 0) {
+            criarSeAusente(() -> restauranteDiaRepository.saveAndFlush(
+                    EstatisticaRestauranteDia.builder().restauranteId(restauranteId).dia(dia).build()));
+            restauranteDiaRepository.incrementar(restauranteId, dia, pedidos, cancelados, faturamento);
+        }
+    }
+
+    private void incrementarProdutos(Pedido pedido, LocalDate dia, int sinal) {
+        if (pedido.getItens() == null) {
+            return;
+        }
+        // em ordem de produto, como a reconstrução: duas transações nunca travam as mesmas linhas em ordem inversa
+        Map<Long, Long> quantidades = new TreeMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            quantidades.merge(item.getProduto().getId(), (long) item.getQuantidade(), Long::sum);
+        }
+        Long restauranteId = pedido.getRestaurante().getId();
+        quantidades.forEach((produtoId, quantidade) -> incrementarProduto(restauranteId, dia, produtoId, quantidade * sinal));
+    }
+
+    private void incrementarProduto(Long restauranteId, LocalDate dia, Long produtoId, long quantidade) {
+        if (produtoDiaRepository.incrementar(restauranteId, dia, produtoId, quantidade) == 0) {
+            criarSeAusente(() -> produtoDiaRepository.saveAndFlush(
+                    EstatisticaProdutoDia.builder().restauranteId(restauranteId).dia(dia).produtoId(produtoId).build()));
+            produtoDiaRepository.incrementar(restauranteId, dia, produtoId, quantidade);
+        }
+    }
+
+    // A linha zerada é criada em transação própria: se outra requisição criar a mesma linha ao mesmo tempo,
+    // a violação da chave única não derruba a transação do pedido.
+    private void criarSeAusente(Runnable criacao) {
+        try {
+            novaTransacao.executeWithoutResult(status -> criacao.run());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Linha de estatística criada por outra transação: {}", e.getMessage());
+        }
+    }
+
+    private static Dinheiro total(Pedido pedido) {
+        return pedido.getTotal() == null ? Dinheiro.ZERO : pedido.getTotal();
+    }
+}
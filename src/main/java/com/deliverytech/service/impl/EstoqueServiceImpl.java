@@ -0,0 +1,324 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.estoque.ContadorEstoque;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.CatalogoService;
+import com.deliverytech.service.EstoqueService;
+import com.deliverytech.service.PrecificacaoService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estoque dos produtos em {@link ContadorEstoque}s em memória, carregados do banco na primeira
+ * reserva de cada produto. A reserva do pedido não toca o banco; as reservas e devoluções são
+ * gravadas em lotes pela varredura periódica e no encerramento da aplicação.
+ *
+ * <ul>
+ *   <li>Ao gravar um saldo zero o produto fica indisponível; quando o saldo gravado sai de zero
+ *       (cancelamento ou reposição) ele volta. Nos dois casos catálogo, busca e tabela de preços
+ *       do restaurante são atualizados.</li>
+ *   <li>O banco guarda o saldo de todas as instâncias. A gravação trava as linhas, desconta do saldo
+ *       gravado o que esta instância reservou desde a anterior (nunca sobrescreve o saldo com o seu)
+ *       e traz para o contador o que as outras venderam ou repuseram no meio tempo. Entre duas
+ *       gravações uma instância não vê as vendas das outras: com várias vendendo o mesmo produto, a
+ *       venda além do estoque fica limitada a um intervalo de persistência, e o saldo gravado não
+ *       passa de zero. Uma queda perde as reservas ainda não gravadas.</li>
+ * </ul>
+ *
+ * <p>Métrica {@code deliverytech.estoque.reservas} com {@code resultado=reservado|sem_estoque}.</p>
+ */
+@Service
+@Timed("deliverytech.servico")
+public class EstoqueServiceImpl implements EstoqueService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoqueServiceImpl.class);
+
+    // marca os produtos sem controle de estoque, para não consultar o banco a cada pedido
+    private static final Saldo SEM_CONTROLE = new Saldo(0, 1);
+
+    private final ProdutoRepository produtoRepository;
+    private final BuscaService buscaService;
+    private final CatalogoService catalogoService;
+    private final PrecificacaoService precificacaoService;
+    private final TransactionTemplate transacao;
+    private final Map<Long, Saldo> saldos = new ConcurrentHashMap<>();
+    private final Set<Long> alterados = ConcurrentHashMap.newKeySet();
+    private final int faixas = Runtime.getRuntime().availableProcessors();
+    private final Counter reservados;
+    private final Counter semEstoque;
+
+    @Value("${deliverytech.estoque.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private record Reserva(Long produtoId, Saldo saldo, int quantidade) {}
+
+    private record Linha(Long produtoId, String nome, int quantidade) {}
+
+    // contador do produto, reservas ainda não gravadas (em faixas, como o contador) e o último saldo lido do banco
+    private static final class Saldo {
+        final ContadorEstoque contador;
+        final LongAdder pendente = new LongAdder();
+        // lido e escrito só por persistir() e definir(), que são synchronized
+        long gravado;
+
+        Saldo(long inicial, int faixas) {
+            this.contador = new ContadorEstoque(inicial, faixas);
+            this.gravado = inicial;
+        }
+    }
+
+    public EstoqueServiceImpl(ProdutoRepository produtoRepository, BuscaService buscaService,
+                              CatalogoService catalogoService, PrecificacaoService precificacaoService,
+                              PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.produtoRepository = produtoRepository;
+        this.buscaService = buscaService;
+        this.catalogoService = catalogoService;
+        this.precificacaoService = precificacaoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.reservados = Counter.builder("deliverytech.estoque.reservas")
+                .description("Reservas de estoque na criação de pedidos, pelo resultado")
+                .tag("resultado", "reservado")
+                .register(registry);
+        this.semEstoque = Counter.builder("deliverytech.estoque.reservas")
+                .description("Reservas de estoque na criação de pedidos, pelo resultado")
+                .tag("resultado", "sem_estoque")
+                .register(registry);
+    }
+
+    @Override
+    public void reservar(Collection<ItemPedido> itens) {
+        List<Reserva> feitas = new ArrayList<>();
+        for (Linha linha : somarPorProduto(itens)) {
+            Saldo saldo = saldo(linha.produtoId());
+            if (saldo == SEM_CONTROLE) {
+                continue;
+            }
+            if (!saldo.contador.reservar(linha.quantidade())) {
+                feitas.forEach(this::devolver);
+                semEstoque.increment();
+                throw new BusinessException("Estoque insuficiente: " + linha.nome());
+            }
+            saldo.pendente.add(linha.quantidade());
+            feitas.add(new Reserva(linha.produtoId(), saldo, linha.quantidade()));
+        }
+        if (feitas.isEmpty()) {
+            return;
+        }
+        feitas.forEach(reserva -> alterados.add(reserva.produtoId()));
+        reservados.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        feitas.forEach(EstoqueServiceImpl.this::devolver);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void liberar(Collection<ItemPedido> itens) {
+        Collection<Linha> linhas = somarPorProduto(itens);
+        if (linhas.isEmpty()) {
+            return;
+        }
+        Runnable devolver = () -> linhas.forEach(linha -> {
+            Saldo saldo = saldo(linha.produtoId());
+            if (saldo != SEM_CONTROLE) {
+                devolver(new Reserva(linha.produtoId(), saldo, linha.quantidade()));
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    devolver.run();
+                }
+            });
+        } else {
+            devolver.run();
+        }
+    }
+
+    @Override
+    public OptionalLong disponivel(Long produtoId) {
+        Saldo saldo = saldo(produtoId);
+        return saldo == SEM_CONTROLE ? OptionalLong.empty() : OptionalLong.of(saldo.contador.disponivel());
+    }
+
+    // sob o mesmo monitor de persistir(): uma gravação em andamento não desconta reservas de antes do novo saldo
+    @Override
+    public synchronized void definir(Long produtoId, Integer quantidade) {
+        Produto salvo = transacao.execute(status -> {
+            Produto produto = produtoRepository.findById(produtoId)
+                    .orElseThrow(() -> new EntityNotFoundException("Produto", produtoId));
+            produto.setEstoque(quantidade);
+            if (quantidade != null) {
+                produto.setDisponivel(quantidade > 0);
+            }
+            return produtoRepository.save(produto);
+        });
+        if (quantidade == null) {
+            saldos.put(produtoId, SEM_CONTROLE);
+        } else {
+            saldos.compute(produtoId, (id, atual) -> {
+                if (atual == null || atual == SEM_CONTROLE) {
+                    return new Saldo(quantidade, faixas);
+                }
+                // o saldo definido já vale com as reservas feitas até aqui, que não descontam mais nada
+                atual.pendente.reset();
+                atual.contador.definir(quantidade);
+                atual.gravado = quantidade;
+                return atual;
+            });
+        }
+        disponibilidadeAlterada(salvo);
+    }
+
+    @Scheduled(initialDelayString = "${deliverytech.estoque.intervalo-persistencia:PT5S}",
+            fixedDelayString = "${deliverytech.estoque.intervalo-persistencia:PT5S}")
+    public void gravarAlterados() {
+        int gravados = persistir();
+        if (gravados > 0) {
+            log.debug("{} saldos de estoque gravados", gravados);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        persistir();
+    }
+
+    /**
+     * Grava em lotes, uma transação por lote. Os produtos saem da lista de alterados e as reservas
+     * pendentes são zeradas antes da gravação: uma reserva durante a gravação fica para a próxima.
+     * Um lote com erro volta inteiro para a lista, com as suas reservas.
+     */
+    @Override
+    public synchronized int persistir() {
+        if (alterados.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(alterados);
+        ids.forEach(alterados::remove);
+
+        int gravados = 0;
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+            List<Long> lote = ids.subList(inicio, Math.min(ids.size(), inicio + tamanhoLote));
+            Map<Long, Long> reservados = new HashMap<>();
+            for (Long id : lote) {
+                Saldo saldo = saldos.get(id);
+                if (saldo != null && saldo != SEM_CONTROLE) {
+                    reservados.put(id, saldo.pendente.sumThenReset());
+                }
+            }
+            if (reservados.isEmpty()) {
+                continue;
+            }
+            Map<Long, Integer> lidos = new HashMap<>();
+            List<Produto> disponibilidadeAlterada = new ArrayList<>();
+            try {
+                transacao.executeWithoutResult(status -> {
+                    for (Produto produto : produtoRepository.travarTodosPorId(reservados.keySet())) {
+                        if (produto.getEstoque() == null) {
+                            continue;
+                        }
+                        int atual = produto.getEstoque();
+                        int quantidade = Math.toIntExact(Math.max(0, atual - reservados.get(produto.getId())));
+                        produto.setEstoque(quantidade);
+                        lidos.put(produto.getId(), quantidade);
+                        boolean disponivel = Boolean.TRUE.equals(produto.getDisponivel());
+                        if (quantidade == 0 && disponivel || quantidade > 0 && atual == 0 && !disponivel) {
+                            produto.setDisponivel(quantidade > 0);
+                            disponibilidadeAlterada.add(produto);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                reservados.forEach((id, reservado) -> saldos.get(id).pendente.add(reservado));
+                alterados.addAll(lote);
+                log.error("Falha ao gravar lote de {} saldos de estoque; nova tentativa na próxima gravação", lote.size(), e);
+                continue;
+            }
+            // o contador passa a contar também o que as outras instâncias venderam ou repuseram desde a última leitura
+            lidos.forEach((id, quantidade) -> {
+                Saldo saldo = saldos.get(id);
+                saldo.contador.ajustar(quantidade - (saldo.gravado - reservados.get(id)));
+                saldo.gravado = quantidade;
+            });
+            gravados += lote.size();
+            disponibilidadeAlterada.forEach(this::disponibilidadeAlterada);
+        }
+        return gravados;
+    }
+
+    private Saldo saldo(Long produtoId) {
+        return saldos.computeIfAbsent(produtoId, id -> produtoRepository.findById(id)
+                .map(Produto::getEstoque)
+                .map(estoque -> new Saldo(estoque, faixas))
+                .orElse(SEM_CONTROLE));
+    }
+
+    private void devolver(Reserva reserva) {
+        reserva.saldo().contador.liberar(reserva.quantidade());
+        reserva.saldo().pendente.add(-reserva.quantidade());
+        alterados.add(reserva.produtoId());
+    }
+
+    private void disponibilidadeAlterada(Produto produto) {
+        buscaService.indexarProduto(produto);
+        if (produto.getRestaurante() != null) {
+            catalogoService.invalidarRestaurante(produto.getRestaurante().getId());
+            precificacaoService.invalidarRestaurante(produto.getRestaurante().getId());
+        } else {
+            catalogoService.invalidarTudo();
+            precificacaoService.invalidarTudo();
+        }
+    }
+
+    // o mesmo produto em dois itens reserva a soma, numa tentativa só
+    private static Collection<Linha> somarPorProduto(Collection<ItemPedido> itens) {
+        Map<Long, Linha> linhas = new LinkedHashMap<>();
+        if (itens == null) {
+            return linhas.values();
+        }
+        for (ItemPedido item : itens) {
+            Produto produto = item.getProduto();
+            if (produto == null || produto.getId() == null || item.getQuantidade() == null) {
+                continue;
+            }
+            linhas.merge(produto.getId(), new Linha(produto.getId(), produto.getNome(), item.getQuantidade()),
+                    (a, b) -> new Linha(a.produtoId(), a.nome(), Math.addExact(a.quantidade(), b.quantidade())));
+        }
+        return linhas.values();
+    }
+}
@@ -0,0 +1,141 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.model.FormatoExportacao;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.repository.ItemPedidoRepository;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.ExportacaoPedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class ExportacaoPedidoServiceImpl implements ExportacaoPedidoService {
+
+    private static final String CABECALHO_CSV =
+            "pedidoId,dataPedido,status,clienteId,restauranteId,total,produtoId,nomeProduto,quantidade,precoUnitario\n";
+
+    private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Percorre os pedidos do período com um cursor somente-leitura e escreve um lote por vez.
+     * Ao fim de cada lote o contexto de persistência é limpo, então a memória usada
+     * não depende do tamanho do período exportado.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(LocalDateTime inicio, LocalDateTime fim, FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+        }
+
+        long total = 0;
+        List<Pedido> lote = new ArrayList<>(PedidoRepository.TAMANHO_LOTE_STREAM);
+        try (Stream<Pedido> pedidos = pedidoRepository.streamByDataPedidoBetween(inicio, fim)) {
+            var iterator = pedidos.iterator();
+            while (iterator.hasNext()) {
+                lote.add(iterator.next());
+                if (lote.size() == PedidoRepository.TAMANHO_LOTE_STREAM) {
+                    total += escreverLote(lote, formato, writer);
+                }
+            }
+            total += escreverLote(lote, formato, writer);
+        }
+        writer.flush();
+        return total;
+    }
+
+    private int escreverLote(List<Pedido> lote, FormatoExportacao formato, Writer writer) throws IOException {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(lote.size());
+        lote.forEach(p -> ids.add(p.getId()));
+        Map<Long, List<ItemPedido>> itensPorPedido = new HashMap<>();
+        for (ItemPedido item : itemPedidoRepository.findByPedidoIdIn(ids)) {
+            itensPorPedido.computeIfAbsent(item.getPedido().getId(), k -> new ArrayList<>()).add(item);
+        }
+
+        for (Pedido pedido : lote) {
+            List<ItemPedido> itens = itensPorPedido.getOrDefault(pedido.getId(), List.of());
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(pedido, itens, writer);
+            } else {
+                escreverNdjson(pedido, itens, writer);
+            }
+        }
+        writer.flush();
+
+        int escritos = lote.size();
+        lote.clear();
+        entityManager.clear();
+        return escritos;
+    }
+
+    private void escreverNdjson(Pedido pedido, List<ItemPedido> itens, Writer writer) throws IOException {
+        List<ItemPedidoResponse> itensResp = itens.stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
+                .toList();
+        PedidoResponse response = new PedidoResponse(
+                pedido.getId(),
+                pedido.getCliente().getId(),
+                pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(),
+                pedido.getTotal(),
+                pedido.getStatus(),
+                pedido.getDataPedido(),
+                itensResp);
+        writer.write(objectMapper.writeValueAsString(response));
+        writer.write('\n');
+    }
+
+    private void escreverCsv(Pedido pedido, List<ItemPedido> itens, Writer writer) throws IOException {
+        String prefixo = pedido.getId() + "," + pedido.getDataPedido() + "," + pedido.getStatus() + ","
+                + pedido.getCliente().getId() + "," + pedido.getRestaurante().getId() + "," + pedido.getTotal() + ",";
+        if (itens.isEmpty()) {
+            writer.write(prefixo + ",,,\n");
+            return;
+        }
+        for (ItemPedido item : itens) {
+            writer.write(prefixo);
+            writer.write(item.getProduto().getId() + "," + escaparCsv(item.getProduto().getNome()) + ","
+                    + item.getQuantidade() + "," + item.getPrecoUnitario() + "\n");
+        }
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,360 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.request.ProdutoRequest;
+import com.deliverytech.dto.request.RestauranteRequest;
+import com.deliverytech.dto.response.RelatorioImportacaoResponse;
+import com.deliverytech.dto.response.RelatorioImportacaoResponse.ErroLinha;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.CatalogoService;
+import com.deliverytech.service.ImportacaoService;
+import com.deliverytech.service.PrecificacaoService;
+import com.deliverytech.service.ProximidadeService;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class ImportacaoServiceImpl implements ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoServiceImpl.class);
+
+    private static final String INSERT_PRODUTO =
+            "insert into produto (nome, categoria, descricao, preco, disponivel, restaurante_id) values (?, ?, ?, ?, true, ?)";
+    private static final String INSERT_RESTAURANTE =
+            "insert into restaurante (nome, categoria, telefone, taxa_entrega, tempo_entrega_minutos, latitude, longitude, ativo) values (?, ?, ?, ?, ?, ?, ?, true)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RestauranteRepository restauranteRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BuscaService buscaService;
+    private final ProximidadeService proximidadeService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogoService catalogoService;
+    private final PrecificacaoService precificacaoService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${deliverytech.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${deliverytech.importacao.max-erros:1000}")
+    private int maxErros;
+
+    @Override
+    public RelatorioImportacaoResponse importarProdutos(InputStream entrada, String contentType) throws IOException {
+        try {
+            return importar(entrada, contentType, ProdutoRequest.class, this::gravarProdutos);
+        } finally {
+            invalidarCacheCatalogo();
+        }
+    }
+
+    @Override
+    public RelatorioImportacaoResponse importarRestaurantes(InputStream entrada, String contentType) throws IOException {
+        try {
+            return importar(entrada, contentType, RestauranteRequest.class, this::gravarRestaurantes);
+        } finally {
+            invalidarCacheCatalogo();
+        }
+    }
+
+    // O Hibernate não vê as inserções por JDBC: as consultas por categoria e as listas de produtos
+    // por restaurante no cache de segundo nível, os cardápios e as tabelas de preços em cache ficariam sem as linhas novas
+    private void invalidarCacheCatalogo() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegions();
+        cache.evictCollectionData(Restaurante.class.getName() + ".produtos");
+        catalogoService.invalidarTudo();
+        precificacaoService.invalidarTudo();
+    }
+
+    /**
+     * Lê a entrada registro a registro, valida cada um com as mesmas regras da API
+     * e grava os válidos em lotes JDBC. Linhas são numeradas a partir de 1, sem contar o cabeçalho do CSV.
+     *
+     * <p>Cada lote é gravado na sua própria transação: um lote que o banco recusa não grava nenhuma linha,
+     * e todas as linhas dele entram no relatório de erros. A importação não é atômica como um todo: os lotes
+     * já gravados ficam no banco se um lote seguinte falhar ou se a leitura da entrada for interrompida.</p>
+     */
+    private <T> RelatorioImportacaoResponse importar(InputStream entrada, String contentType, Class<T> tipo, Gravador<T> gravador) throws IOException {
+        long inicio = System.nanoTime();
+        Acumulador acumulador = new Acumulador(maxErros);
+        List<Linha<T>> lote = new ArrayList<>(tamanhoLote);
+
+        try (LeitorRegistros leitor = abrirLeitor(entrada, contentType)) {
+            Object registro;
+            while ((registro = leitor.proximo()) != null) {
+                long numero = ++acumulador.totalLinhas;
+                T request;
+                try {
+                    request = objectMapper.convertValue(registro, tipo);
+                } catch (IllegalArgumentException e) {
+                    String motivo = e.getCause() instanceof JsonMappingException jme ? jme.getOriginalMessage() : e.getMessage();
+                    acumulador.rejeitar(numero, Map.of("registro", "Valor inválido: " + motivo));
+                    continue;
+                }
+
+                Set<ConstraintViolation<T>> violacoes = validator.validate(request);
+                if (!violacoes.isEmpty()) {
+                    Map<String, String> detalhes = new HashMap<>();
+                    violacoes.forEach(v -> detalhes.put(v.getPropertyPath().toString(), v.getMessage()));
+                    acumulador.rejeitar(numero, detalhes);
+                    continue;
+                }
+
+                lote.add(new Linha<>(numero, request));
+                if (lote.size() == tamanhoLote) {
+                    gravador.gravar(lote, acumulador);
+                    lote.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravador.gravar(lote, acumulador);
+        }
+
+        long duracaoMs = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        long linhasPorSegundo = acumulador.totalLinhas * 1000 / duracaoMs;
+        log.info("Importação de {}: {} linhas, {} importadas, {} rejeitadas em {} ms ({} linhas/s)",
+                tipo.getSimpleName(), acumulador.totalLinhas, acumulador.importadas, acumulador.rejeitadas, duracaoMs, linhasPorSegundo);
+
+        return new RelatorioImportacaoResponse(acumulador.totalLinhas, acumulador.importadas, acumulador.rejeitadas,
+                duracaoMs, linhasPorSegundo, acumulador.errosTruncados, acumulador.erros);
+    }
+
+    private void gravarProdutos(List<Linha<ProdutoRequest>> lote, Acumulador acumulador) {
+        Set<Long> restauranteIds = new HashSet<>();
+        lote.forEach(l -> restauranteIds.add(l.request().getRestauranteId()));
+        Set<Long> existentes = new HashSet<>(restauranteRepository.findIdsExistentes(restauranteIds));
+
+        List<Linha<ProdutoRequest>> validos = new ArrayList<>(lote.size());
+        for (Linha<ProdutoRequest> linha : lote) {
+            Long restauranteId = linha.request().getRestauranteId();
+            if (existentes.contains(restauranteId)) {
+                validos.add(linha);
+            } else {
+                acumulador.rejeitar(linha.numero(), Map.of("restauranteId", "Restaurante com ID " + restauranteId + " não encontrado"));
+            }
+        }
+
+        List<Long> ids = inserir(INSERT_PRODUTO, validos, acumulador, (ps, p) -> {
+            ps.setString(1, p.getNome());
+            ps.setString(2, p.getCategoria());
+            ps.setString(3, p.getDescricao());
+            ps.setBigDecimal(4, Dinheiro.de(p.getPreco()).paraBigDecimal());
+            ps.setLong(5, p.getRestauranteId());
+        });
+        for (int i = 0; i < ids.size(); i++) {
+            ProdutoRequest p = validos.get(i).request();
+            buscaService.indexarProduto(Produto.builder().id(ids.get(i)).nome(p.getNome()).categoria(p.getCategoria())
+                    .descricao(p.getDescricao()).disponivel(true).build());
+        }
+    }
+
+    private void gravarRestaurantes(List<Linha<RestauranteRequest>> lote, Acumulador acumulador) {
+        List<Long> ids = inserir(INSERT_RESTAURANTE, lote, acumulador, (ps, r) -> {
+            ps.setString(1, r.getNome());
+            ps.setString(2, r.getCategoria());
+            ps.setString(3, r.getTelefone());
+            ps.setBigDecimal(4, Dinheiro.de(r.getTaxaEntrega()).paraBigDecimal());
+            ps.setInt(5, r.getTempoEntregaMinutos());
+            ps.setObject(6, r.getLatitude(), Types.DOUBLE);
+            ps.setObject(7, r.getLongitude(), Types.DOUBLE);
+        });
+        for (int i = 0; i < ids.size(); i++) {
+            RestauranteRequest r = lote.get(i).request();
+            Restaurante restaurante = Restaurante.builder().id(ids.get(i)).nome(r.getNome()).categoria(r.getCategoria())
+                    .tempoEntregaMinutos(r.getTempoEntregaMinutos()).latitude(r.getLatitude()).longitude(r.getLongitude())
+                    .ativo(true).build();
+            buscaService.indexarRestaurante(restaurante);
+            proximidadeService.indexarRestaurante(restaurante);
+        }
+    }
+
+    /**
+     * Insere as linhas num lote JDBC dentro de uma transação e devolve os IDs gerados, na ordem das linhas.
+     * As linhas entram sem passar pelos serviços, então quem chama indexa esses IDs nos índices em memória;
+     * com os IDs do próprio lote, inserções simultâneas de outras requisições não se misturam com as da importação.
+     * Se o banco recusar o lote, nenhuma linha fica gravada, todas vão para o relatório e a lista volta vazia.
+     */
+    private <T> List<Long> inserir(String sql, List<Linha<T>> linhas, Acumulador acumulador, ParameterizedPreparedStatementSetter<T> setter) {
+        if (linhas.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder chaves = new GeneratedKeyHolder();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.setValues(ps, linhas.get(i).request());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return linhas.size();
+                        }
+                    },
+                    chaves));
+        } catch (DataAccessException e) {
+            log.warn("Lote de {} linhas recusado pelo banco a partir da linha {}", linhas.size(), linhas.get(0).numero(), e);
+            linhas.forEach(l -> acumulador.rejeitar(l.numero(), Map.of("registro", "Lote não gravado por erro no banco de dados")));
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(linhas.size());
+        for (Map<String, Object> chave : chaves.getKeyList()) {
+            ids.add(((Number) chave.values().iterator().next()).longValue());
+        }
+        acumulador.importadas += linhas.size();
+        return ids;
+    }
+
+    private LeitorRegistros abrirLeitor(InputStream entrada, String contentType) throws IOException {
+        if (contentType != null && contentType.startsWith("text/csv")) {
+            return new LeitorRegistrosCsv(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+        }
+        // aceita tanto um array JSON quanto NDJSON (um objeto por linha)
+        MappingIterator<JsonNode> iterator = objectMapper.readerFor(JsonNode.class).readValues(entrada);
+        return new LeitorRegistrosJson(iterator);
+    }
+
+    @FunctionalInterface
+    private interface Gravador<T> {
+        void gravar(List<Linha<T>> lote, Acumulador acumulador);
+    }
+
+    private record Linha<T>(long numero, T request) {}
+
+    private interface LeitorRegistros extends AutoCloseable {
+        Object proximo() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class LeitorRegistrosCsv implements LeitorRegistros {
+
+        private final BufferedReader reader;
+        private final LeitorCsv csv;
+        private String[] cabecalho;
+
+        LeitorRegistrosCsv(BufferedReader reader) {
+            this.reader = reader;
+            this.csv = new LeitorCsv(reader);
+        }
+
+        @Override
+        public Object proximo() throws IOException {
+            if (cabecalho == null) {
+                cabecalho = csv.proximoRegistro();
+                if (cabecalho == null) {
+                    return null;
+                }
+                for (int i = 0; i < cabecalho.length; i++) {
+                    cabecalho[i] = cabecalho[i].trim();
+                }
+            }
+            String[] campos = csv.proximoRegistro();
+            if (campos == null) {
+                return null;
+            }
+            Map<String, Object> registro = new LinkedHashMap<>();
+            for (int i = 0; i < cabecalho.length && i < campos.length; i++) {
+                String valor = campos[i].trim();
+                registro.put(cabecalho[i], valor.isEmpty() ? null : valor);
+            }
+            return registro;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class LeitorRegistrosJson implements LeitorRegistros {
+
+        private final MappingIterator<JsonNode> iterator;
+
+        LeitorRegistrosJson(MappingIterator<JsonNode> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public Object proximo() throws IOException {
+            return iterator.hasNextValue() ? iterator.nextValue() : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+
+    private static class Acumulador {
+
+        private final int maxErros;
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private long totalLinhas;
+        private long importadas;
+        private long rejeitadas;
+        private boolean errosTruncados;
+
+        Acumulador(int maxErros) {
+            this.maxErros = maxErros;
+        }
+
+        void rejeitar(long linha, Map<String, String> detalhes) {
+            rejeitadas++;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroLinha(linha, detalhes));
+            } else {
+                errosTruncados = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.deliverytech.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) que devolve um registro por vez, sem carregar o arquivo em memória.
+ * Aceita campos entre aspas com vírgulas, aspas duplicadas e quebras de linha.
+ */
+class LeitorCsv {
+
+    private final Reader reader;
+    private int proximo = -2;
+
+    LeitorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Retorna os campos do próximo registro ou {@code null} no fim da entrada. */
+    String[] proximoRegistro() throws IOException {
+        int c = ler();
+        while (c == '\r' || c == '\n') {
+            c = ler();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (c != -1) {
+            if (entreAspas) {
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        c = seguinte;
+                        continue;
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int seguinte = ler();
+                    if (seguinte != '\n') {
+                        proximo = seguinte;
+                    }
+                }
+                break;
+            } else {
+                campo.append((char) c);
+            }
+            c = ler();
+        }
+        campos.add(campo.toString());
+        return campos.toArray(String[]::new);
+    }
+
+    private int ler() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
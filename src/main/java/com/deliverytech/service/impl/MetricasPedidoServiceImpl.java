@@ -0,0 +1,164 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.service.MetricasPedidoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de negócio dos pedidos. Toda tag tem um conjunto fechado de valores: status vêm do enum
+ * e os restaurantes ganham tag própria só até o limite configurado; os demais somam em "outros".
+ */
+@Service
+public class MetricasPedidoServiceImpl implements MetricasPedidoService {
+
+    static final String OUTROS = "outros";
+    private static final Set<StatusPedido> FINAIS = EnumSet.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO);
+
+    private final MeterRegistry registry;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRestaurantesComTag;
+
+    private final DistributionSummary valorPedidos;
+    private final Counter criadosOutros;
+    private final Map<Long, Counter> criadosPorRestaurante = new ConcurrentHashMap<>();
+    private final Counter[][] transicoes;
+    private final Map<StatusPedido, AtomicLong> emAndamento = new EnumMap<>(StatusPedido.class);
+
+    public MetricasPedidoServiceImpl(MeterRegistry registry, JdbcTemplate jdbcTemplate,
+                                     @Value("${deliverytech.metricas.max-restaurantes-com-tag:100}") int maxRestaurantesComTag) {
+        this.registry = registry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRestaurantesComTag = maxRestaurantesComTag;
+
+        this.valorPedidos = DistributionSummary.builder("deliverytech.pedidos.valor")
+                .description("Valor total dos pedidos criados")
+                .baseUnit("reais")
+                .serviceLevelObjectives(25, 50, 100, 200, 500)
+                .register(registry);
+        this.criadosOutros = novoContadorCriados(OUTROS);
+
+        StatusPedido[] status = StatusPedido.values();
+        this.transicoes = new Counter[status.length][status.length];
+        for (StatusPedido s : status) {
+            if (!FINAIS.contains(s)) {
+                AtomicLong quantidade = new AtomicLong();
+                emAndamento.put(s, quantidade);
+                Gauge.builder("deliverytech.pedidos.em.andamento", quantidade, AtomicLong::get)
+                        .description("Pedidos que ainda não foram entregues nem cancelados")
+                        .tag("status", s.name())
+                        .register(registry);
+            }
+        }
+    }
+
+    /** Parte da contagem no banco; daí em diante os gauges são mantidos pelas criações e transições. */
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregar() {
+        emAndamento.values().forEach(q -> q.set(0));
+        jdbcTemplate.query("select status, count(*) from pedido where status not in ('ENTREGUE', 'CANCELADO') group by status",
+                rs -> {
+                    AtomicLong quantidade = emAndamento.get(StatusPedido.valueOf(rs.getString(1)));
+                    if (quantidade != null) {
+                        quantidade.addAndGet(rs.getLong(2));
+                    }
+                });
+    }
+
+    @Override
+    public void registrarCriacao(Pedido pedido) {
+        Long restauranteId = pedido.getRestaurante().getId();
+        StatusPedido status = pedido.getStatus();
+        aposConfirmacao(() -> {
+            contadorCriados(restauranteId).increment();
+            if (pedido.getTotal() != null) {
+                valorPedidos.record(pedido.getTotal().centavos() / 100.0);
+            }
+            ajustarEmAndamento(status, 1);
+        });
+    }
+
+    @Override
+    public void registrarMudancaStatus(StatusPedido anterior, StatusPedido novo) {
+        if (anterior == null || anterior == novo) {
+            return;
+        }
+        aposConfirmacao(() -> {
+            contadorTransicao(anterior, novo).increment();
+            ajustarEmAndamento(anterior, -1);
+            ajustarEmAndamento(novo, 1);
+        });
+    }
+
+    // dentro de uma transação só conta se ela for confirmada: um pedido desfeito (inclusive os do
+    // aquecimento na inicialização) não deixa os contadores e os gauges de andamento fora do banco
+    private static void aposConfirmacao(Runnable registro) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registro.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registro.run();
+            }
+        });
+    }
+
+    private void ajustarEmAndamento(StatusPedido status, long delta) {
+        AtomicLong quantidade = status == null ? null : emAndamento.get(status);
+        if (quantidade != null) {
+            quantidade.addAndGet(delta);
+        }
+    }
+
+    // registrado na primeira ocorrência, para não publicar transições que nunca acontecem
+    private Counter contadorTransicao(StatusPedido de, StatusPedido para) {
+        Counter contador = transicoes[de.ordinal()][para.ordinal()];
+        if (contador == null) {
+            contador = Counter.builder("deliverytech.pedidos.transicoes")
+                    .description("Mudanças de status dos pedidos")
+                    .tag("de", de.name())
+                    .tag("para", para.name())
+                    .register(registry);
+            transicoes[de.ordinal()][para.ordinal()] = contador;
+        }
+        return contador;
+    }
+
+    private Counter contadorCriados(Long restauranteId) {
+        Counter contador = criadosPorRestaurante.get(restauranteId);
+        if (contador != null) {
+            return contador;
+        }
+        // o limite pode ser ultrapassado por poucas entradas sob concorrência; continua limitado
+        if (criadosPorRestaurante.size() >= maxRestaurantesComTag) {
+            return criadosOutros;
+        }
+        return criadosPorRestaurante.computeIfAbsent(restauranteId, id -> novoContadorCriados(String.valueOf(id)));
+    }
+
+    private Counter novoContadorCriados(String restaurante) {
+        return Counter.builder("deliverytech.pedidos.criados")
+                .description("Pedidos criados por restaurante")
+                .tag("restaurante", restaurante)
+                .register(registry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.EscopoRestaurante;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.PainelRestauranteService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Consultas do painel de um restaurante. O restaurante não entra nas consultas como parâmetro:
+ * elas rodam no {@link EscopoRestaurante}, então esquecer o predicado não expõe dados de outro
+ * restaurante, e o filtro casa com os índices que começam por restaurante_id.
+ */
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class PainelRestauranteServiceImpl implements PainelRestauranteService {
+
+    private final EscopoRestaurante escopoRestaurante;
+    private final PedidoRepository pedidoRepository;
+    private final ProdutoRepository produtoRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Pedido> listarPedidos(Long restauranteId, StatusPedido status, Pageable pageable) {
+        return escopoRestaurante.executar(restauranteId, () -> status == null
+                ? pedidoRepository.findPainel(pageable)
+                : pedidoRepository.findPainelPorStatus(status, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Produto> listarProdutos(Long restauranteId) {
+        return escopoRestaurante.executar(restauranteId, () -> produtoRepository.findAll(Sort.by("nome")));
+    }
+}
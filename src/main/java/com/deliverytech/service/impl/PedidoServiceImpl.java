@@ -1,25 +1,64 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.dto.response.HistoricoPedidosResponse;
+import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.ResumoPedidoResponse;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.model.Entregador;
 import com.deliverytech.model.Pedido;
 import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.EntregadorRepository;
+import com.deliverytech.repository.ItemDoPedido;
+import com.deliverytech.repository.ItemPedidoRepository;
 import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.EstatisticaRestauranteService;
+import com.deliverytech.service.EstoqueService;
+import com.deliverytech.service.MetricasPedidoService;
 import com.deliverytech.service.PedidoService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("deliverytech.servico")
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
 
     private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final EntregadorRepository entregadorRepository;
+    private final EstatisticaRestauranteService estatisticaService;
+    private final MetricasPedidoService metricasService;
+    private final EstoqueService estoqueService;
 
     @Override
+    @Transactional
     public Pedido criar(Pedido pedido) {
         pedido.setStatus(StatusPedido.CRIADO);
-        return pedidoRepository.save(pedido);
+        pedido.setDataAtualizacaoStatus(LocalDateTime.now());
+        if (pedido.getItens() != null) {
+            pedido.getItens().forEach(item -> item.setPedido(pedido));
+            // reserva em memória; desfeita sozinha se a transação do pedido for desfeita
+            estoqueService.reservar(pedido.getItens());
+        }
+        Pedido salvo = pedidoRepository.save(pedido);
+        estatisticaService.registrarCriacao(salvo);
+        metricasService.registrarCriacao(salvo);
+        return salvo;
     }
 
     @Override
@@ -38,19 +77,136 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
+    @Transactional
     public Pedido atualizarStatus(Long id, StatusPedido status) {
-        return pedidoRepository.findById(id)
-            .map(p -> {
-                p.setStatus(status);
-                return pedidoRepository.save(p);
-            }).orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        return pedidoRepository.travarPorId(id)
+            .map(p -> mudarStatus(p, status))
+            .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
     }
 
     @Override
+    @Transactional
+    public boolean atribuirEntregador(Long pedidoId, Long entregadorId) {
+        // sempre o pedido antes do entregador, a mesma ordem do cancelamento e da entrega, que liberam o entregador
+        Pedido pedido = pedidoRepository.travarPorId(pedidoId).orElse(null);
+        Entregador entregador = entregadorRepository.travarPorId(entregadorId).orElse(null);
+        // a rodada de despacho trabalha sobre uma leitura anterior: pedido ou entregador podem ter mudado desde então
+        if (pedido == null || entregador == null || pedido.getStatus() != StatusPedido.EM_PREPARACAO
+                || pedido.getEntregador() != null || !Boolean.TRUE.equals(entregador.getDisponivel())
+                || !Boolean.TRUE.equals(entregador.getAtivo())) {
+            return false;
+        }
+        entregador.setDisponivel(false);
+        pedido.setEntregador(entregador);
+        mudarStatus(pedido, StatusPedido.ENVIADO);
+        return true;
+    }
+
+    @Override
+    @Transactional
     public void cancelar(Long id) {
-        pedidoRepository.findById(id).ifPresent(p -> {
+        pedidoRepository.travarPorId(id).ifPresent(p -> {
+            StatusPedido anterior = p.getStatus();
             p.setStatus(StatusPedido.CANCELADO);
+            p.setDataAtualizacaoStatus(LocalDateTime.now());
+            liberarEstoque(p, anterior);
+            liberarEntregador(p, anterior);
             pedidoRepository.save(p);
+            estatisticaService.registrarMudancaStatus(p, anterior);
+            metricasService.registrarMudancaStatus(anterior, StatusPedido.CANCELADO);
         });
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoricoPedidosResponse historicoDoCliente(Long clienteId, String cursor, int limite, boolean comItens) {
+        // um pedido além do limite diz se há próxima página, sem contagem
+        Pageable lote = PageRequest.of(0, limite + 1);
+        List<ResumoPedidoResponse> pedidos;
+        if (cursor == null) {
+            pedidos = pedidoRepository.findHistorico(clienteId, lote);
+        } else {
+            String[] posicao = lerCursor(cursor);
+            pedidos = pedidoRepository.findHistoricoAntesDe(clienteId, LocalDateTime.parse(posicao[0]),
+                    Long.valueOf(posicao[1]), lote);
+        }
+
+        String proximoCursor = null;
+        if (pedidos.size() > limite) {
+            pedidos = new ArrayList<>(pedidos.subList(0, limite));
+            ResumoPedidoResponse ultimo = pedidos.get(limite - 1);
+            proximoCursor = escreverCursor(ultimo.getDataPedido(), ultimo.getId());
+        }
+
+        if (comItens && !pedidos.isEmpty()) {
+            Map<Long, List<ItemPedidoResponse>> itensPorPedido = itemPedidoRepository
+                    .findResumoByPedidoIdIn(pedidos.stream().map(ResumoPedidoResponse::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(ItemDoPedido::pedidoId, Collectors.mapping(
+                            i -> new ItemPedidoResponse(i.produtoId(), i.nomeProduto(), i.quantidade(), i.precoUnitario()),
+                            Collectors.toList())));
+            pedidos.forEach(p -> p.setItens(itensPorPedido.getOrDefault(p.getId(), List.of())));
+        }
+        return new HistoricoPedidosResponse(pedidos, proximoCursor);
+    }
+
+    @Override
+    public Optional<Endereco> ultimoEnderecoComPosicao(Long clienteId) {
+        return pedidoRepository.findEnderecosComPosicao(clienteId, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    private Pedido mudarStatus(Pedido pedido, StatusPedido status) {
+        StatusPedido anterior = pedido.getStatus();
+        if (anterior == StatusPedido.CANCELADO && status != StatusPedido.CANCELADO) {
+            // o cancelamento devolveu os itens: sair dele reserva de novo, e sem estoque a mudança falha
+            estoqueService.reservar(pedido.getItens());
+        }
+        pedido.setStatus(status);
+        if (anterior != status) {
+            pedido.setDataAtualizacaoStatus(LocalDateTime.now());
+        }
+        if (status == StatusPedido.CANCELADO) {
+            liberarEstoque(pedido, anterior);
+        }
+        if (status == StatusPedido.CANCELADO || status == StatusPedido.ENTREGUE) {
+            liberarEntregador(pedido, anterior);
+        }
+        Pedido salvo = pedidoRepository.save(pedido);
+        estatisticaService.registrarMudancaStatus(salvo, anterior);
+        metricasService.registrarMudancaStatus(anterior, status);
+        return salvo;
+    }
+
+    // o entregador volta para o despacho na posição que informou por último
+    private void liberarEntregador(Pedido pedido, StatusPedido anterior) {
+        if (pedido.getEntregador() != null && anterior != StatusPedido.CANCELADO && anterior != StatusPedido.ENTREGUE) {
+            entregadorRepository.travarPorId(pedido.getEntregador().getId()).ifPresent(e -> e.setDisponivel(true));
+        }
+    }
+
+    // pedido entregue já consumiu os itens, e um cancelado já devolveu os seus
+    private void liberarEstoque(Pedido pedido, StatusPedido anterior) {
+        if (anterior != StatusPedido.CANCELADO && anterior != StatusPedido.ENTREGUE) {
+            estoqueService.liberar(pedido.getItens());
+        }
+    }
+
+    // cursor opaco para o cliente: a posição (dataPedido, id) do último pedido entregue
+    private static String escreverCursor(LocalDateTime dataPedido, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dataPedido + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] lerCursor(String cursor) {
+        try {
+            String[] posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+            if (posicao.length == 2) {
+                LocalDateTime.parse(posicao[0]);
+                Long.parseLong(posicao[1]);
+                return posicao;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // cai no erro abaixo
+        }
+        throw new BusinessException("Cursor de paginação inválido");
+    }
 }
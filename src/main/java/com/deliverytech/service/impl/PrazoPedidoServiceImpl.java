@@ -0,0 +1,150 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.PrazoPedidoService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Prazos dos pedidos por varredura periódica do índice (status, dataAtualizacaoStatus): não há
+ * estado em memória, então um restart não perde prazos e o custo por varredura depende só dos
+ * pedidos vencidos, não de quantos estão pendentes. Cada lote é uma transação que trava as
+ * linhas vencidas (pulando as travadas por outra instância) e aplica as mudanças pelo
+ * {@link PedidoService}, com estatísticas e métricas atualizadas como em qualquer cancelamento.
+ */
+@Service
+@Timed("deliverytech.servico")
+public class PrazoPedidoServiceImpl implements PrazoPedidoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PrazoPedidoServiceImpl.class);
+
+    private final PedidoRepository pedidoRepository;
+    private final PedidoService pedidoService;
+    private final TransactionTemplate transacao;
+    private final Counter cancelados;
+    private final Counter escalados;
+
+    @Value("${deliverytech.prazos-pedido.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${deliverytech.prazos-pedido.confirmacao:PT10M}")
+    private Duration prazoConfirmacao;
+
+    @Value("${deliverytech.prazos-pedido.preparo:PT45M}")
+    private Duration prazoPreparo;
+
+    @Value("${deliverytech.prazos-pedido.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    @Value("${deliverytech.prazos-pedido.max-lotes-por-varredura:50}")
+    private int maxLotesPorVarredura;
+
+    public PrazoPedidoServiceImpl(PedidoRepository pedidoRepository, PedidoService pedidoService,
+                                  PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.pedidoRepository = pedidoRepository;
+        this.pedidoService = pedidoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.cancelados = Counter.builder("deliverytech.pedidos.prazos.vencidos")
+                .description("Pedidos que passaram do prazo, pela ação tomada")
+                .tag("acao", "cancelado")
+                .register(registry);
+        this.escalados = Counter.builder("deliverytech.pedidos.prazos.vencidos")
+                .description("Pedidos que passaram do prazo, pela ação tomada")
+                .tag("acao", "escalado")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preencherDatasAusentes() {
+        Integer preenchidos = transacao.execute(status -> pedidoRepository.preencherDataAtualizacaoStatus());
+        if (preenchidos != null && preenchidos > 0) {
+            log.info("{} pedidos sem data de atualização de status passaram a contar da data do pedido", preenchidos);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${deliverytech.prazos-pedido.intervalo:PT30S}",
+            fixedDelayString = "${deliverytech.prazos-pedido.intervalo:PT30S}")
+    public void varrer() {
+        if (!habilitado) {
+            return;
+        }
+        int cancelados = cancelarNaoConfirmados();
+        int escalados = escalarPreparoAtrasado();
+        if (cancelados > 0 || escalados > 0) {
+            log.info("Varredura de prazos: {} pedidos cancelados sem confirmação, {} com preparo atrasado escalados",
+                    cancelados, escalados);
+        }
+    }
+
+    @Override
+    public int cancelarNaoConfirmados() {
+        return processarEmLotes(lote -> pedidoRepository.travarParadosDesde(StatusPedido.CRIADO,
+                        LocalDateTime.now().minus(prazoConfirmacao), lote),
+                pedido -> {
+                    pedidoService.cancelar(pedido.getId());
+                    cancelados.increment();
+                });
+    }
+
+    @Override
+    public int escalarPreparoAtrasado() {
+        return processarEmLotes(lote -> pedidoRepository.travarNaoEscaladosParadosDesde(StatusPedido.EM_PREPARACAO,
+                        LocalDateTime.now().minus(prazoPreparo), lote),
+                pedido -> {
+                    pedido.setDataEscalonamento(LocalDateTime.now());
+                    escalados.increment();
+                    log.warn("Pedido {} do restaurante {} em preparo desde {}, além do prazo de {} min",
+                            pedido.getId(), pedido.getRestaurante() == null ? null : pedido.getRestaurante().getId(),
+                            pedido.getDataAtualizacaoStatus(), prazoPreparo.toMinutes());
+                });
+    }
+
+    /**
+     * Busca e trata lotes até vir um lote incompleto ou atingir o máximo por varredura; o resto
+     * fica para a próxima. Os pedidos tratados saem do filtro da consulta, então a primeira página
+     * é sempre a próxima. Um lote com erro é desfeito inteiro e a varredura para ali.
+     */
+    private int processarEmLotes(Function<Pageable, List<Pedido>> buscar, Consumer<Pedido> acao) {
+        Pageable lote = PageRequest.of(0, tamanhoLote);
+        int total = 0;
+        for (int i = 0; i < maxLotesPorVarredura; i++) {
+            Integer tratados;
+            try {
+                tratados = transacao.execute(status -> {
+                    List<Pedido> pedidos = buscar.apply(lote);
+                    pedidos.forEach(acao);
+                    return pedidos.size();
+                });
+            } catch (RuntimeException e) {
+                log.error("Falha ao tratar lote de pedidos vencidos; nova tentativa na próxima varredura", e);
+                break;
+            }
+            total += tratados;
+            if (tratados < tamanhoLote) {
+                break;
+            }
+        }
+        return total;
+    }
+}
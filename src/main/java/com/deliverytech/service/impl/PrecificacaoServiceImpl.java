@@ -0,0 +1,97 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.cache.CacheCoalescente;
+import com.deliverytech.dto.request.ItemPedidoRequest;
+import com.deliverytech.dto.response.CotacaoResponse;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.precificacao.TabelaPrecos;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.PromocaoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.PrecificacaoService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cotação pelas {@link TabelaPrecos} dos restaurantes, compiladas na primeira cotação e guardadas num
+ * {@link CacheCoalescente}: cotações simultâneas de um restaurante sem tabela esperam uma única
+ * compilação. A tabela é descartada quando alguma promoção começa ou termina, e produtos, promoções e
+ * a taxa de entrega invalidam a do restaurante na hora; o TTL cobre o que muda por fora dos serviços.
+ *
+ * <p>Métrica {@code deliverytech.precificacao.tabelas} com {@code resultado=acerto|obsoleto|falha}.</p>
+ */
+@Service
+@Timed("deliverytech.servico")
+public class PrecificacaoServiceImpl implements PrecificacaoService {
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final PromocaoRepository promocaoRepository;
+    private final ExecutorService recargas = Executors.newVirtualThreadPerTaskExecutor();
+    private final CacheCoalescente<Long, TabelaPrecos> tabelas;
+
+    public PrecificacaoServiceImpl(RestauranteRepository restauranteRepository, ProdutoRepository produtoRepository,
+                                   PromocaoRepository promocaoRepository, MeterRegistry registry,
+                                   @Value("${deliverytech.precificacao.ttl:PT10M}") Duration ttl,
+                                   @Value("${deliverytech.precificacao.janela-obsoleto:PT1M}") Duration janelaObsoleto,
+                                   @Value("${deliverytech.precificacao.max-tabelas:10000}") int maxTabelas) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+        this.promocaoRepository = promocaoRepository;
+        this.tabelas = new CacheCoalescente<>("tabelas-precos", ttl, janelaObsoleto, 1.0, maxTabelas, recargas);
+        FunctionCounter.builder("deliverytech.precificacao.tabelas", tabelas, CacheCoalescente::acertos)
+                .tag("resultado", "acerto").register(registry);
+        FunctionCounter.builder("deliverytech.precificacao.tabelas", tabelas, CacheCoalescente::obsoletos)
+                .tag("resultado", "obsoleto").register(registry);
+        FunctionCounter.builder("deliverytech.precificacao.tabelas", tabelas, CacheCoalescente::falhas)
+                .tag("resultado", "falha").register(registry);
+    }
+
+    @Override
+    public CotacaoResponse cotar(Long restauranteId, List<ItemPedidoRequest> itens, String cupom) {
+        return tabela(restauranteId).cotar(itens, cupom);
+    }
+
+    @Override
+    public void invalidarRestaurante(Long restauranteId) {
+        tabelas.invalidar(restauranteId);
+    }
+
+    @Override
+    public void invalidarTudo() {
+        tabelas.invalidarTudo();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        recargas.shutdownNow();
+    }
+
+    private TabelaPrecos tabela(Long restauranteId) {
+        TabelaPrecos tabela = tabelas.obter(restauranteId, () -> compilar(restauranteId));
+        if (!tabela.validaEm(LocalDateTime.now())) {
+            // uma promoção começou ou terminou depois da compilação
+            tabelas.invalidar(restauranteId);
+            tabela = tabelas.obter(restauranteId, () -> compilar(restauranteId));
+        }
+        return tabela;
+    }
+
+    private TabelaPrecos compilar(Long restauranteId) {
+        Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante", restauranteId));
+        return TabelaPrecos.compilar(restaurante, produtoRepository.findByRestauranteId(restauranteId),
+                promocaoRepository.findByRestauranteIdAndAtivaTrue(restauranteId), LocalDateTime.now());
+    }
+}
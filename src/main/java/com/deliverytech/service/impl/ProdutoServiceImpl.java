@@ -3,7 +3,11 @@ package com.deliverytech.service.impl;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Produto;
 import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.CatalogoService;
+import com.deliverytech.service.PrecificacaoService;
 import com.deliverytech.service.ProdutoService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,14 +17,21 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("deliverytech.servico")
 @RequiredArgsConstructor
 public class ProdutoServiceImpl implements ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final BuscaService buscaService;
+    private final CatalogoService catalogoService;
+    private final PrecificacaoService precificacaoService;
 
     @Override
     public Produto cadastrar(Produto produto) {
-        return produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        buscaService.indexarProduto(salvo);
+        invalidarCatalogo(salvo);
+        return salvo;
     }
 
     @Override
@@ -41,7 +52,10 @@ public class ProdutoServiceImpl implements ProdutoService {
                 p.setDescricao(atualizado.getDescricao());
                 p.setCategoria(atualizado.getCategoria());
                 p.setPreco(atualizado.getPreco());
-                return produtoRepository.save(p);
+                Produto salvo = produtoRepository.save(p);
+                buscaService.indexarProduto(salvo);
+                invalidarCatalogo(salvo);
+                return salvo;
             }).orElseThrow(() -> new EntityNotFoundException("Produto", id));
     }
 
@@ -49,7 +63,10 @@ public class ProdutoServiceImpl implements ProdutoService {
     public void alterarDisponibilidade(Long id, boolean disponivel) {
         produtoRepository.findById(id).map(p -> {
             p.setDisponivel(disponivel);
-           return produtoRepository.save(p);
+            Produto salvo = produtoRepository.save(p);
+            buscaService.indexarProduto(salvo);
+            invalidarCatalogo(salvo);
+            return salvo;
         }).orElseThrow(() -> new EntityNotFoundException("Produto", id));
     }
 
@@ -57,4 +74,15 @@ public class ProdutoServiceImpl implements ProdutoService {
     public Page<Produto> listar(Pageable pageable) {
         return produtoRepository.findAll(pageable);
     }
+
+    // sem transação externa o save já foi confirmado aqui: uma recarga iniciada depois lê o valor novo
+    private void invalidarCatalogo(Produto produto) {
+        if (produto.getRestaurante() != null) {
+            catalogoService.invalidarRestaurante(produto.getRestaurante().getId());
+            precificacaoService.invalidarRestaurante(produto.getRestaurante().getId());
+        } else {
+            catalogoService.invalidarTudo();
+            precificacaoService.invalidarTudo();
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.EscopoPromocao;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Promocao;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.PromocaoRepository;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.PrecificacaoService;
+import com.deliverytech.service.PromocaoService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class PromocaoServiceImpl implements PromocaoService {
+
+    private final PromocaoRepository promocaoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final PrecificacaoService precificacaoService;
+
+    @Override
+    public Promocao cadastrar(Promocao promocao) {
+        validar(promocao);
+        Promocao salva = promocaoRepository.save(promocao);
+        precificacaoService.invalidarRestaurante(salva.getRestauranteId());
+        return salva;
+    }
+
+    @Override
+    public List<Promocao> listarPorRestaurante(Long restauranteId) {
+        return promocaoRepository.findByRestauranteIdOrderByIdDesc(restauranteId);
+    }
+
+    @Override
+    public void desativar(Long id) {
+        Promocao promocao = promocaoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Promoção", id));
+        promocao.setAtiva(false);
+        promocaoRepository.save(promocao);
+        precificacaoService.invalidarRestaurante(promocao.getRestauranteId());
+    }
+
+    private void validar(Promocao promocao) {
+        if (!restauranteRepository.existsById(promocao.getRestauranteId())) {
+            throw new EntityNotFoundException("Restaurante", promocao.getRestauranteId());
+        }
+        switch (promocao.getEscopo()) {
+            case PRODUTO -> {
+                if (promocao.getProdutoId() == null) {
+                    throw new BusinessException("Promoção de produto exige o produtoId");
+                }
+                Produto produto = produtoRepository.findById(promocao.getProdutoId())
+                        .orElseThrow(() -> new EntityNotFoundException("Produto", promocao.getProdutoId()));
+                if (produto.getRestaurante() == null || !promocao.getRestauranteId().equals(produto.getRestaurante().getId())) {
+                    throw new BusinessException("O produto " + produto.getId() + " não pertence ao restaurante " + promocao.getRestauranteId());
+                }
+            }
+            case CATEGORIA -> {
+                if (promocao.getCategoria() == null || promocao.getCategoria().isBlank()) {
+                    throw new BusinessException("Promoção de categoria exige a categoria");
+                }
+            }
+            case CUPOM -> {
+                if (promocao.getCodigoCupom() == null || promocao.getCodigoCupom().isBlank()) {
+                    throw new BusinessException("Cupom exige o código");
+                }
+            }
+        }
+        boolean percentual = promocao.getDescontoPontosBase() != null;
+        boolean valor = promocao.getDescontoValor() != null;
+        if (percentual && valor) {
+            throw new BusinessException("Informe o desconto em percentual ou em valor, não os dois");
+        }
+        // só um cupom de frete grátis pode não ter desconto
+        boolean freteGratis = promocao.getEscopo() == EscopoPromocao.CUPOM && Boolean.TRUE.equals(promocao.getFreteGratis());
+        if (!percentual && !valor && !freteGratis) {
+            throw new BusinessException("Informe o desconto em percentual ou em valor");
+        }
+        if (promocao.getEscopo() != EscopoPromocao.CUPOM && (Boolean.TRUE.equals(promocao.getFreteGratis()) || promocao.getValorMinimoPedido() != null)) {
+            throw new BusinessException("Frete grátis e pedido mínimo só valem para cupons");
+        }
+        if (promocao.getInicio() != null && promocao.getFim() != null && !promocao.getFim().isAfter(promocao.getInicio())) {
+            throw new BusinessException("O fim da promoção deve ser depois do início");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.search.IndiceGeografico;
+import com.deliverytech.search.IndiceGeografico.Vizinho;
+import com.deliverytech.search.RestauranteProximo;
+import com.deliverytech.service.ProximidadeService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("deliverytech.servico")
+@RequiredArgsConstructor
+public class ProximidadeServiceImpl implements ProximidadeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProximidadeServiceImpl.class);
+
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+    private static final double TAMANHO_CELULA_GRAUS = 0.05;
+    // Sem raio, os N mais próximos são uma amostra maior que o limite para que um restaurante
+    // um pouco mais distante, mas bem mais rápido, ainda possa entrar no ranking
+    private static final int FATOR_CANDIDATOS = 5;
+
+    private final RestauranteRepository restauranteRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IndiceGeografico indice = new IndiceGeografico(TAMANHO_CELULA_GRAUS);
+    private final Map<Long, Integer> temposEntrega = new ConcurrentHashMap<>();
+
+    @Value("${deliverytech.proximidade.velocidade-media-kmh:20}")
+    private double velocidadeMediaKmh;
+
+    @Value("${deliverytech.proximidade.raio-maximo-km:30}")
+    private double raioMaximoKm;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        indexarRestaurantesAposId(0);
+        log.info("Índice geográfico carregado: {} restaurantes em {} ms", indice.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Ordena os restaurantes ativos pelo tempo estimado até o cliente: o tempo de entrega
+     * informado pelo restaurante mais o deslocamento na velocidade média configurada.
+     *
+     * @param raioKm com raio, considera todos os restaurantes dentro dele; sem raio, parte dos mais próximos
+     */
+    @Override
+    public List<RestauranteProximo> buscarProximos(double latitude, double longitude, Double raioKm, int limite) {
+        List<Vizinho> candidatos = raioKm != null
+                ? indice.buscarNoRaio(latitude, longitude, Math.min(raioKm, raioMaximoKm))
+                : indice.buscarMaisProximos(latitude, longitude, limite * FATOR_CANDIDATOS, raioMaximoKm);
+
+        List<Candidato> ranking = new ArrayList<>(candidatos.size());
+        for (Vizinho vizinho : candidatos) {
+            Integer tempoEntrega = temposEntrega.get(vizinho.id());
+            if (tempoEntrega != null) {
+                int tempoEstimado = tempoEntrega + (int) Math.ceil(vizinho.distanciaKm() / velocidadeMediaKmh * 60);
+                ranking.add(new Candidato(vizinho.id(), vizinho.distanciaKm(), tempoEstimado));
+            }
+        }
+        ranking.sort(Comparator.comparingInt(Candidato::tempoEstimadoMinutos).thenComparingDouble(Candidato::distanciaKm));
+        List<Candidato> selecionados = ranking.subList(0, Math.min(limite, ranking.size()));
+
+        Map<Long, Restaurante> porId = restauranteRepository.findAllById(selecionados.stream().map(Candidato::id).toList())
+                .stream().collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+        List<RestauranteProximo> resultado = new ArrayList<>(selecionados.size());
+        for (Candidato candidato : selecionados) {
+            Restaurante restaurante = porId.get(candidato.id());
+            if (restaurante != null) {
+                resultado.add(new RestauranteProximo(restaurante, candidato.distanciaKm(), candidato.tempoEstimadoMinutos()));
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public void indexarRestaurante(Restaurante restaurante) {
+        indexar(restaurante.getId(), Boolean.TRUE.equals(restaurante.getAtivo()), restaurante.getLatitude(),
+                restaurante.getLongitude(), restaurante.getTempoEntregaMinutos());
+    }
+
+    @Override
+    public void indexarRestaurantesAposId(long ultimoId) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(
+                    "select id, ativo, latitude, longitude, tempo_entrega_minutos from restaurante where id > ?");
+            ps.setFetchSize(TAMANHO_LOTE_CARGA);
+            ps.setLong(1, ultimoId);
+            return ps;
+        }, rs -> {
+            indexar(rs.getLong("id"), rs.getBoolean("ativo"), rs.getObject("latitude", Double.class),
+                    rs.getObject("longitude", Double.class), rs.getObject("tempo_entrega_minutos", Integer.class));
+        });
+    }
+
+    // Só restaurantes ativos e com localização entram no índice; os demais são retirados dele
+    private void indexar(long id, boolean ativo, Double latitude, Double longitude, Integer tempoEntregaMinutos) {
+        if (!ativo || latitude == null || longitude == null) {
+            indice.remover(id);
+            temposEntrega.remove(id);
+            return;
+        }
+        temposEntrega.put(id, tempoEntregaMinutos == null ? 0 : tempoEntregaMinutos);
+        indice.atualizar(id, latitude, longitude);
+    }
+
+    private record Candidato(long id, double distanciaKm, int tempoEstimadoMinutos) {}
+}
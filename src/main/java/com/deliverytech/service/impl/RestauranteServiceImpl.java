@@ -3,7 +3,11 @@ package com.deliverytech.service.impl;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.model.Restaurante;
 import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.PrecificacaoService;
+import com.deliverytech.service.ProximidadeService;
 import com.deliverytech.service.RestauranteService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
@@ -14,14 +18,21 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("deliverytech.servico")
 @RequiredArgsConstructor
 public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
+    private final BuscaService buscaService;
+    private final ProximidadeService proximidadeService;
+    private final PrecificacaoService precificacaoService;
 
     @Override
     public Restaurante cadastrar(Restaurante restaurante) {
-        return restauranteRepository.save(restaurante);
+        Restaurante salvo = restauranteRepository.save(restaurante);
+        buscaService.indexarRestaurante(salvo);
+        proximidadeService.indexarRestaurante(salvo);
+        return salvo;
     }
 
     @Override
@@ -48,7 +59,14 @@ public class RestauranteServiceImpl implements RestauranteService {
                 r.setCategoria(atualizado.getCategoria());
                 r.setTaxaEntrega(atualizado.getTaxaEntrega());
                 r.setTempoEntregaMinutos(atualizado.getTempoEntregaMinutos());
-                return restauranteRepository.save(r);
+                r.setLatitude(atualizado.getLatitude());
+                r.setLongitude(atualizado.getLongitude());
+                Restaurante salvo = restauranteRepository.save(r);
+                buscaService.indexarRestaurante(salvo);
+                proximidadeService.indexarRestaurante(salvo);
+                // a taxa de entrega faz parte da tabela de preços
+                precificacaoService.invalidarRestaurante(salvo.getId());
+                return salvo;
             }).orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
     }
 }
@@ -0,0 +1,137 @@
+package com.deliverytech.openapi;
+
+import com.deliverytech.DeliveryTechApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Gera no build a especificação OpenAPI que o perfil {@code prod} serve como arquivo estático.
+ *
+ * <p>Sobe a aplicação com H2 em memória numa porta livre, lê os grupos de {@code /api-docs/swagger-config}
+ * e grava em {@code openapi.saida} (por padrão {@code target/classes/static/openapi}, que entra no jar):</p>
+ * <ul>
+ *   <li>um {@code <grupo>.json} por grupo de {@code springdoc.group-configs}, sem a lista de servidores
+ *       (o Swagger UI usa então a origem da própria página);</li>
+ *   <li>{@code swagger-config.json} com a lista de grupos apontando para esses arquivos;</li>
+ *   <li>{@code index.html} com o Swagger UI do webjar que o springdoc já traz, na versão do classpath.</li>
+ * </ul>
+ */
+public class GeradorOpenApi {
+
+    private static final String WEBJAR_SWAGGER_UI = "META-INF/maven/org.webjars/swagger-ui/pom.properties";
+
+    public static void main(String[] args) throws Exception {
+        Path saida = Path.of(System.getProperty("openapi.saida", "target/classes/static/openapi"));
+
+        // argumentos de linha de comando têm precedência sobre o application.properties
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(DeliveryTechApiApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:openapi;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.com.deliverytech=INFO",
+                "--management.tracing.sampling.probability=0",
+                "--deliverytech.aquecimento.habilitado=false");
+        int exitCode;
+        try {
+            String baseUrl = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            String caminhoDocs = contexto.getEnvironment().getProperty("springdoc.api-docs.path", "/v3/api-docs");
+            int grupos = gerar(baseUrl, caminhoDocs, saida, contexto.getBean(ObjectMapper.class));
+            System.out.printf("Especificação OpenAPI de %d grupos gravada em %s%n", grupos, saida.toAbsolutePath());
+            exitCode = grupos == 0 ? 1 : 0;
+        } finally {
+            contexto.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int gerar(String baseUrl, String caminhoDocs, Path saida, ObjectMapper objectMapper)
+            throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newHttpClient();
+        Files.createDirectories(saida);
+
+        JsonNode configuracao = objectMapper.readTree(obter(http, baseUrl + caminhoDocs + "/swagger-config"));
+        ObjectNode configuracaoEstatica = objectMapper.createObjectNode();
+        ArrayNode urls = configuracaoEstatica.putArray("urls");
+        for (JsonNode grupo : configuracao.path("urls")) {
+            String nome = grupo.get("name").asText();
+            String arquivo = arquivo(nome);
+            ObjectNode especificacao = (ObjectNode) objectMapper.readTree(obter(http, baseUrl + grupo.get("url").asText()));
+            especificacao.remove("servers");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(saida.resolve(arquivo).toFile(), especificacao);
+            urls.addObject().put("name", nome).put("url", "/openapi/" + arquivo);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(saida.resolve("swagger-config.json").toFile(), configuracaoEstatica);
+        Files.writeString(saida.resolve("index.html"), paginaSwaggerUi(versaoSwaggerUi()));
+        return urls.size();
+    }
+
+    private static String obter(HttpClient http, String url) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(URI.create(url.replace(" ", "%20"))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " respondeu " + resposta.statusCode());
+        }
+        return resposta.body();
+    }
+
+    /** "1. DeliveryTech API" vira "1-deliverytech-api.json". */
+    private static String arquivo(String grupo) {
+        String semAcentos = Normalizer.normalize(grupo, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcentos.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "") + ".json";
+    }
+
+    private static String versaoSwaggerUi() throws IOException {
+        try (InputStream in = GeradorOpenApi.class.getClassLoader().getResourceAsStream(WEBJAR_SWAGGER_UI)) {
+            if (in == null) {
+                throw new IllegalStateException("Webjar do Swagger UI não encontrado no classpath");
+            }
+            Properties propriedades = new Properties();
+            propriedades.load(in);
+            return propriedades.getProperty("version");
+        }
+    }
+
+    private static String paginaSwaggerUi(String versao) {
+        String webjar = "/webjars/swagger-ui/" + versao;
+        return """
+                <!DOCTYPE html>
+                <html lang="pt-br">
+                <head>
+                    <meta charset="UTF-8">
+                    <title>DeliveryTech API - OpenAPI</title>
+                    <link rel="stylesheet" href="%1$s/swagger-ui.css">
+                </head>
+                <body>
+                    <div id="swagger-ui"></div>
+                    <script src="%1$s/swagger-ui-bundle.js"></script>
+                    <script src="%1$s/swagger-ui-standalone-preset.js"></script>
+                    <script>
+                        window.ui = SwaggerUIBundle({
+                            configUrl: "/openapi/swagger-config.json",
+                            dom_id: "#swagger-ui",
+                            presets: [SwaggerUIBundle.presets.apis, SwaggerUIStandalonePreset],
+                            layout: "StandaloneLayout"
+                        });
+                    </script>
+                </body>
+                </html>
+                """.formatted(webjar);
+    }
+}
@@ -0,0 +1,89 @@
+package com.deliverytech.aquecimento;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "deliverytech.aquecimento.habilitado=true",
+        "deliverytech.aquecimento.iteracoes=5"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class AquecimentoAplicacaoTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AquecimentoAplicacao aquecimento;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void aqueceCachesECaminhosSemDeixarPedidosNemMetricas() throws Exception {
+        // o aquecimento da inicialização rodou com o banco vazio e já deixou a prontidão UP
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.aquecimento.status").value("UP"));
+
+        clienteService.cadastrar(Cliente.builder().nome("Davi").email("davi@aquecimento.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Padaria").categoria("Café").taxaEntrega(Dinheiro.de("1.00")).tempoEntregaMinutos(15).ativo(true).build());
+        produtoService.cadastrar(Produto.builder().nome("Pão de queijo").categoria("Café")
+                .preco(Dinheiro.de("6.50")).disponivel(true).restaurante(restaurante).build());
+        long pedidosAntes = pedidoRepository.count();
+
+        aquecimento.run(new DefaultApplicationArguments());
+
+        assertEquals(Status.UP, aquecimento.health().getStatus());
+        assertEquals(1, aquecimento.health().getDetails().get("restaurantes"));
+        assertEquals(0, aquecimento.health().getDetails().get("falhas"));
+        // os pedidos de exemplo foram desfeitos, e as métricas de negócio não os contaram
+        assertEquals(pedidosAntes, pedidoRepository.count());
+        assertEquals(0, registry.find("deliverytech.pedidos.criados").counters().stream().mapToDouble(c -> c.count()).sum());
+        assertEquals(0, registry.get("deliverytech.pedidos.em.andamento").tag("status", StatusPedido.CRIADO.name()).gauge().value());
+        // o cardápio já está em cache: a leitura seguinte não é falha
+        double falhasCardapio = registry.get("deliverytech.cache.catalogo.acessos")
+                .tag("cache", "cardapios").tag("resultado", "falha").functionCounter().count();
+        mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId())
+                        .with(org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+        assertEquals(falhasCardapio, registry.get("deliverytech.cache.catalogo.acessos")
+                .tag("cache", "cardapios").tag("resultado", "falha").functionCounter().count());
+    }
+}
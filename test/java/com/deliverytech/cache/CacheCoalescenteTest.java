@@ -0,0 +1,157 @@
+package com.deliverytech.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheCoalescenteTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration OBSOLETO = Duration.ofSeconds(300);
+
+    private final AtomicLong relogio = new AtomicLong(1_000_000_000L);
+    private final List<Runnable> recargasPendentes = new ArrayList<>();
+
+    @Test
+    void falhasSimultaneasDividemUmaUnicaCarga() throws Exception {
+        CacheCoalescente<Long, String> cache = new CacheCoalescente<>("teste", TTL, OBSOLETO, 1.0, 100, Runnable::run);
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        int threads = 50;
+
+        List<Future<String>> resultados = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                resultados.add(executor.submit(() -> cache.obter(7L, () -> {
+                    cargas.incrementAndGet();
+                    aguardar(liberarCarga);
+                    return "cardapio-7";
+                })));
+            }
+            // todas as threads passam pela falha antes de a carga terminar
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.falhas() < threads && System.nanoTime() < limite) {
+                Thread.onSpinWait();
+            }
+            liberarCarga.countDown();
+            for (Future<String> resultado : resultados) {
+                assertEquals("cardapio-7", resultado.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, cargas.get());
+        assertEquals(threads - 1, cache.aguardando());
+        assertEquals("cardapio-7", cache.obter(7L, () -> "nao deveria carregar"));
+        assertEquals(1, cache.acertos());
+    }
+
+    @Test
+    void entradaVencidaServeValorAntigoEnquantoRecarrega() {
+        CacheCoalescente<Long, String> cache = cacheControlado(0);
+        cache.obter(1L, () -> "v1");
+
+        relogio.addAndGet(TTL.plusSeconds(1).toNanos());
+        assertEquals("v1", cache.obter(1L, () -> "v2"));
+        assertEquals("v1", cache.obter(1L, () -> "v3"));
+        // só uma recarga em segundo plano por chave
+        assertEquals(1, recargasPendentes.size());
+        assertEquals(2, cache.obsoletos());
+
+        recargasPendentes.remove(0).run();
+        assertEquals("v2", cache.obter(1L, () -> "v4"));
+
+        // passada a janela de obsoleto a leitura volta a esperar a carga
+        relogio.addAndGet(TTL.plus(OBSOLETO).plusSeconds(1).toNanos());
+        assertEquals("v5", cache.obter(1L, () -> "v5"));
+        assertEquals(1, cache.recargasSegundoPlano());
+    }
+
+    @Test
+    void expiracaoAntecipadaDependeDaProximidadeDoVencimento() {
+        // sorteio fixo em 1e-6: ln(u) ~ -13,8, então a recarga antecipa ~13,8x o custo da carga
+        CacheCoalescente<Long, String> cache = cacheControlado(1e-6);
+        cache.obter(1L, () -> {
+            relogio.addAndGet(Duration.ofSeconds(2).toNanos());
+            return "v1";
+        });
+
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals("v1", cache.obter(1L, () -> "v2"));
+        assertTrue(recargasPendentes.isEmpty(), "longe do vencimento não deveria recarregar");
+
+        relogio.addAndGet(Duration.ofSeconds(35).toNanos());
+        assertEquals("v1", cache.obter(1L, () -> "v2"));
+        assertEquals(1, recargasPendentes.size());
+        assertEquals(1, cache.recargasAntecipadas());
+    }
+
+    @Test
+    void invalidacaoDescartaCargaEmAndamento() {
+        CacheCoalescente<Long, String> cache = cacheControlado(0);
+        cache.obter(1L, () -> "v1");
+        relogio.addAndGet(TTL.plusSeconds(1).toNanos());
+        cache.obter(1L, () -> "lido antes da escrita");
+
+        cache.invalidar(1L);
+        // a leitura seguinte carrega de novo em vez de esperar a recarga que começou antes da escrita
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertEquals("depois da escrita", cache.obter(1L, () -> "depois da escrita")));
+        recargasPendentes.remove(0).run();
+        assertEquals("depois da escrita", cache.obter(1L, () -> "outra carga"));
+
+        cache.obter(2L, () -> "v1");
+        relogio.addAndGet(TTL.plusSeconds(1).toNanos());
+        cache.obter(2L, () -> "lido antes da escrita");
+        cache.invalidarTudo();
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertEquals("depois da escrita", cache.obter(2L, () -> "depois da escrita")));
+    }
+
+    @Test
+    void erroNaCargaChegaAQuemEsperavaENaoFicaEmCache() {
+        CacheCoalescente<Long, String> cache = cacheControlado(0);
+        assertThrows(IllegalStateException.class, () -> cache.obter(1L, () -> {
+            throw new IllegalStateException("banco fora");
+        }));
+        assertEquals(1, cache.errosCarga());
+        assertEquals("ok", cache.obter(1L, () -> "ok"));
+    }
+
+    @Test
+    void respeitaLimiteDeEntradas() {
+        CacheCoalescente<Long, String> cache = new CacheCoalescente<>("teste", TTL, OBSOLETO, 0, 3, Runnable::run,
+                relogio::get, () -> 0.5);
+        for (long i = 0; i < 10; i++) {
+            relogio.incrementAndGet();
+            cache.obter(i, () -> "valor");
+        }
+        assertEquals(3, cache.tamanho());
+    }
+
+    private CacheCoalescente<Long, String> cacheControlado(double sorteio) {
+        return new CacheCoalescente<>("teste", TTL, OBSOLETO, sorteio == 0 ? 0 : 1.0, 100, recargasPendentes::add,
+                relogio::get, () -> sorteio);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
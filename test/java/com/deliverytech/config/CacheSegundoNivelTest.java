@@ -0,0 +1,137 @@
+package com.deliverytech.config;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.deliverytech.config.CacheSegundoNivelTest$ComandosExecutados"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_CLIENTE")
+public class CacheSegundoNivelTest {
+
+    /** Guarda o SQL de todos os comandos que o Hibernate envia ao banco. */
+    public static class ComandosExecutados implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    @Test
+    void pedidoComCatalogoAquecidoNaoConsultaProdutos() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Caio").email("caio@cache.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Sushi Ya").categoria("Japonesa").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(40).ativo(true).build());
+        Produto temaki = produtoService.cadastrar(Produto.builder().nome("Temaki").categoria("Japonesa")
+                .preco(Dinheiro.de("29.90")).disponivel(true).restaurante(restaurante).build());
+        Produto missoshiru = produtoService.cadastrar(Produto.builder().nome("Missoshiru").categoria("Japonesa")
+                .preco(Dinheiro.de("12.00")).disponivel(true).restaurante(restaurante).build());
+        String pedido = pedido(cliente, restaurante, temaki, missoshiru);
+
+        // primeiro pedido aquece os caches (cliente no cache do Spring, restaurante e produtos no de segundo nível)
+        mockMvc.perform(post("/api/pedidos").contentType(MediaType.APPLICATION_JSON).content(pedido))
+                .andExpect(status().isCreated());
+        double acertosAntes = acertos(Produto.REGIAO_CACHE);
+
+        ComandosExecutados.SQL.clear();
+        mockMvc.perform(post("/api/pedidos").contentType(MediaType.APPLICATION_JSON).content(pedido))
+                .andExpect(status().isCreated());
+
+        List<String> comandos = List.copyOf(ComandosExecutados.SQL);
+        assertTrue(comandos.stream().anyMatch(sql -> sql.startsWith("insert into pedido")), () -> "SQL: " + comandos);
+        assertTrue(comandos.stream().noneMatch(sql -> sql.startsWith("select") && sql.matches("(?s).* from (produto|restaurante) .*")),
+                () -> "Pedido com catálogo aquecido consultou o catálogo: " + comandos);
+        assertTrue(acertos(Produto.REGIAO_CACHE) >= acertosAntes + 2);
+    }
+
+    @Test
+    void consultaPorCategoriaUsaCacheAteHaverEscritaNaTabela() {
+        restauranteService.cadastrar(Restaurante.builder()
+                .nome("Taqueria").categoria("Mexicana").taxaEntrega(Dinheiro.de("1.00")).tempoEntregaMinutos(25).ativo(true).build());
+        assertEquals(1, restauranteRepository.findByCategoria("Mexicana").size());
+
+        ComandosExecutados.SQL.clear();
+        assertEquals(1, restauranteRepository.findByCategoria("Mexicana").size());
+        assertTrue(ComandosExecutados.SQL.isEmpty(), () -> "Consulta em cache foi ao banco: " + ComandosExecutados.SQL);
+
+        // qualquer escrita em restaurante invalida o resultado guardado
+        restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina do Chaves").categoria("Mexicana").taxaEntrega(Dinheiro.de("1.00")).tempoEntregaMinutos(30).ativo(true).build());
+        assertEquals(2, restauranteRepository.findByCategoria("Mexicana").size());
+        assertTrue(meterRegistry.get("deliverytech.cache.segundo-nivel.acessos")
+                .tag("regiao", RestauranteRepository.REGIAO_CACHE_POR_CATEGORIA).tag("resultado", "acerto")
+                .functionCounter().count() >= 1);
+    }
+
+    private double acertos(String regiao) {
+        return meterRegistry.get("deliverytech.cache.segundo-nivel.acessos")
+                .tag("regiao", regiao).tag("resultado", "acerto")
+                .functionCounter().count();
+    }
+
+    private String pedido(Cliente cliente, Restaurante restaurante, Produto... produtos) {
+        ObjectNode corpo = objectMapper.createObjectNode()
+                .put("clienteId", cliente.getId())
+                .put("restauranteId", restaurante.getId());
+        corpo.putObject("enderecoEntrega")
+                .put("rua", "Rua Augusta").put("numero", "100").put("bairro", "Consolação")
+                .put("cidade", "São Paulo").put("estado", "SP").put("cep", "01305-000");
+        for (Produto produto : produtos) {
+            corpo.withArray("itens").addObject().put("produtoId", produto.getId()).put("quantidade", 1);
+        }
+        return corpo.toString();
+    }
+}
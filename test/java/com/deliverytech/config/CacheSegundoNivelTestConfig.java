@@ -0,0 +1,27 @@
+package com.deliverytech.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível próprio para cada contexto de teste. O JCache mantém um CacheManager por URI
+ * na JVM, e os contextos que o Spring guarda entre as classes de teste, cada um com o seu banco,
+ * dividiriam as mesmas regiões: uma entidade de um banco apareceria com o mesmo id no outro, e fechar
+ * um contexto fecharia as regiões de todos. Aqui cada contexto usa o mesmo ehcache.xml com um fragmento
+ * aleatório na URI, o que lhe dá um CacheManager só seu, fechado junto com ele.
+ */
+@Configuration
+public class CacheSegundoNivelTestConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerDoContexto() throws IOException {
+        String uri = new ClassPathResource("ehcache.xml").getURI() + "#" + UUID.randomUUID();
+        return propriedades -> propriedades.put(ConfigSettings.CONFIG_URI, uri);
+    }
+}
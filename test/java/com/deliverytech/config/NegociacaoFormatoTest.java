@@ -0,0 +1,98 @@
+package com.deliverytech.config;
+
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class NegociacaoFormatoTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Test
+    void deveResponderCborOuSmileQuandoPedidoEJsonNoRestoDosCasos() throws Exception {
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Sushi Bar").categoria("Japonesa").taxaEntrega(Dinheiro.de("1.00")).tempoEntregaMinutos(40).ativo(true).build());
+        for (String nome : new String[]{"Temaki", "Uramaki", "Sashimi"}) {
+            produtoService.cadastrar(Produto.builder().nome(nome).categoria("Japonesa").descricao("Salmão")
+                    .preco(Dinheiro.de("29.90")).disponivel(true).restaurante(restaurante).build());
+        }
+        String caminho = "/api/produtos/restaurante/" + restaurante.getId();
+
+        mockMvc.perform(get(caminho))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        byte[] json = mockMvc.perform(get(caminho).header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get(caminho).header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get(caminho).header(HttpHeaders.ACCEPT, "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // comparação pelos DTOs: CBOR e Smile guardam o preço como decimal, o JSON como número de texto
+        List<ProdutoResponse> esperado = List.of(objectMapper.readValue(json, ProdutoResponse[].class));
+        assertEquals(3, esperado.size());
+        assertEquals(Dinheiro.de("29.90"), esperado.get(0).getPreco());
+        Module dinheiro = new JacksonConfig().dinheiroModule();
+        assertEquals(esperado, List.of(CBORMapper.builder().addModule(dinheiro).build().readValue(cbor, ProdutoResponse[].class)));
+        assertEquals(esperado, List.of(SmileMapper.builder().addModule(dinheiro).build().readValue(smile, ProdutoResponse[].class)));
+        assertTrue(cbor.length < json.length);
+        assertTrue(smile.length < json.length);
+    }
+
+    @Test
+    void deveResponderErroNoFormatoNegociado() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/produtos/restaurante/999999").header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(status().is4xxClientError())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Recurso não encontrado", new CBORMapper().readTree(cbor).path("error").asText());
+    }
+}
@@ -1,40 +1,95 @@
-package com.deliverytech.controller;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
-import org.springframework.test.web.servlet.MockMvc;
-
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
-
-@SpringBootTest
-@AutoConfigureMockMvc
-@WithMockUser(authorities = "ROLE_CLIENTE")
-public class ClienteControllerTest {
-    @Autowired
-    MockMvc mockMvc;
-
-    @Test
-    void deveCriarClienteComSucesso() throws Exception {
-        String json = "{\"nome\":\"Alexandre\",\"email\":\"alexandre@teste.com\"}";
-
-        mockMvc.perform(post("/api/clientes")
-                        .contentType("application/json")
-                        .content(json))
-                .andExpect(status().isCreated());
-    }
-
-    @Test
-    void naoDeveCriarClienteComCpfInvalido() throws Exception {
-        String json = "{\"nome\":\"Alexandre\",\"cpf\":\"000\"}";
-
-        mockMvc.perform(post("/api/clientes")
-                        .contentType("application/json")
-                        .content(json))
-                .andExpect(status().isBadRequest());
-    }
-}
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Role;
+import com.deliverytech.model.Usuario;
+import com.deliverytech.repository.UsuarioRepository;
+import com.deliverytech.security.UsuarioAutenticado;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_CLIENTE")
+public class ClienteControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Test
+    void deveCriarClienteComSucesso() throws Exception {
+        String json = "{\"nome\":\"Alexandre\",\"email\":\"alexandre@teste.com\"}";
+
+        mockMvc.perform(post("/api/clientes")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void naoDeveCriarClienteComCpfInvalido() throws Exception {
+        String json = "{\"nome\":\"Alexandre\",\"cpf\":\"000\"}";
+
+        mockMvc.perform(post("/api/clientes")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void clienteCadastradoPeloUsuarioFicaVinculadoAEleUmaVezSo() throws Exception {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .email("bruna@teste.com").senha("x").nome("Bruna").role(Role.CLIENTE).build());
+        String json = "{\"nome\":\"Bruna\",\"email\":\"bruna@teste.com\"}";
+
+        mockMvc.perform(post("/api/clientes").with(cliente(usuario))
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isCreated());
+        assertNotNull(usuarioRepository.findById(usuario.getId()).orElseThrow().getClienteId());
+
+        mockMvc.perform(post("/api/clientes").with(cliente(usuario))
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void registroComOEmailDeUmClienteNaoDaAcessoAEle() throws Exception {
+        mockMvc.perform(post("/api/clientes")
+                        .contentType("application/json")
+                        .content("{\"nome\":\"Carla\",\"email\":\"carla@teste.com\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Outra pessoa\",\"email\":\"carla@teste.com\",\"senha\":\"segredo123\"}"))
+                .andExpect(status().isOk());
+        assertNull(usuarioRepository.findByEmail("carla@teste.com").orElseThrow().getClienteId());
+    }
+
+    // o mesmo principal que o filtro JWT monta, ainda sem cliente vinculado
+    private static RequestPostProcessor cliente(Usuario usuario) {
+        return authentication(new UsernamePasswordAuthenticationToken(
+                new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), Role.CLIENTE, null, null, null), null,
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+    }
+}
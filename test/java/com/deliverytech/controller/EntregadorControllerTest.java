@@ -0,0 +1,73 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Entregador;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.EntregadorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class EntregadorControllerTest {
+
+    private static final String POSICAO = "{\"latitude\": -23.55, \"longitude\": -46.63}";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntregadorService entregadorService;
+
+    @Test
+    void entregadorSoAlteraOProprioCadastro() throws Exception {
+        Entregador joao = entregadorService.cadastrar(Entregador.builder().nome("João").telefone("11999990001").cidade("São Paulo").build());
+        Entregador lia = entregadorService.cadastrar(Entregador.builder().nome("Lia").telefone("11999990002").cidade("São Paulo").build());
+
+        mockMvc.perform(put("/api/entregadores/{id}/posicao", joao.getId()).with(entregador(joao))
+                        .contentType(MediaType.APPLICATION_JSON).content(POSICAO))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latitude").value(-23.55));
+        mockMvc.perform(patch("/api/entregadores/{id}/disponibilidade", joao.getId()).param("disponivel", "true").with(entregador(joao)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponivel").value(true));
+
+        mockMvc.perform(put("/api/entregadores/{id}/posicao", lia.getId()).with(entregador(joao))
+                        .contentType(MediaType.APPLICATION_JSON).content(POSICAO))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/entregadores/{id}/disponibilidade", lia.getId()).param("disponivel", "true").with(entregador(joao)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(put("/api/entregadores/{id}/posicao", lia.getId()).with(usuario(Role.ADMIN, null))
+                        .contentType(MediaType.APPLICATION_JSON).content(POSICAO))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor entregador(Entregador entregador) {
+        return usuario(Role.ENTREGADOR, entregador.getId());
+    }
+
+    // o mesmo principal que o JwtAuthenticationFilter monta a partir das claims do token
+    private static RequestPostProcessor usuario(Role role, Long entregadorId) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(1L, role.name().toLowerCase() + "@entregas.com", role, null, null, entregadorId);
+        return authentication(new UsernamePasswordAuthenticationToken(usuario, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+}
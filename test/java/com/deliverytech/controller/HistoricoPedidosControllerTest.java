@@ -0,0 +1,162 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class HistoricoPedidosControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Test
+    void devePaginarHistoricoPorCursorComResumoEItensOpcionais() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Bia").email("bia@historico.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(30).ativo(true).build());
+        Produto produto = produtoService.cadastrar(Produto.builder().nome("Lasanha").categoria("Italiana").descricao("Bolonhesa")
+                .preco(Dinheiro.de("42.90")).disponivel(true).restaurante(restaurante).build());
+
+        // três pedidos no mesmo instante: o id desempata a ordem e o cursor
+        LocalDateTime mesmoInstante = LocalDateTime.of(2025, 5, 10, 20, 0);
+        List<Long> esperados = new ArrayList<>();
+        esperados.add(pedido(cliente, restaurante, produto, LocalDateTime.of(2025, 5, 12, 12, 0)));
+        List<Long> empatados = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            empatados.add(pedido(cliente, restaurante, produto, mesmoInstante));
+        }
+        esperados.addAll(empatados.reversed());
+        esperados.add(pedido(cliente, restaurante, produto, LocalDateTime.of(2025, 5, 1, 9, 30)));
+
+        List<Long> lidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            MockHttpServletRequestBuilder requisicao = get("/api/clientes/{id}/pedidos", cliente.getId()).param("limite", "2").with(cliente(cliente));
+            if (cursor != null) {
+                requisicao.param("cursor", cursor);
+            }
+            JsonNode pagina = objectMapper.readTree(mockMvc.perform(requisicao)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.pedidos[0].nomeRestaurante").value("Cantina"))
+                    .andExpect(jsonPath("$.pedidos[0].itens").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+            pagina.path("pedidos").forEach(p -> lidos.add(p.path("id").asLong()));
+            cursor = pagina.path("proximoCursor").isNull() ? null : pagina.path("proximoCursor").asText();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(esperados, lidos);
+        assertEquals(3, paginas);
+
+        mockMvc.perform(get("/api/clientes/{id}/pedidos", cliente.getId()).param("itens", "true").with(cliente(cliente)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos.length()").value(5))
+                .andExpect(jsonPath("$.pedidos[0].itens[0].nomeProduto").value("Lasanha"))
+                .andExpect(jsonPath("$.pedidos[0].itens[0].quantidade").value(2))
+                .andExpect(jsonPath("$.pedidos[4].itens.length()").value(1))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/clientes/{id}/pedidos", cliente.getId()).param("cursor", "nao-e-um-cursor").with(cliente(cliente)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/clientes/{id}/pedidos", 999_999).with(admin()))
+                .andExpect(status().is4xxClientError());
+        assertTrue(lidos.stream().distinct().count() == lidos.size());
+    }
+
+    @Test
+    void clienteNaoLeOHistoricoDeOutroCliente() throws Exception {
+        Cliente a = clienteService.cadastrar(Cliente.builder().nome("Duda").email("duda@historico.com").build());
+        Cliente b = clienteService.cadastrar(Cliente.builder().nome("Enzo").email("enzo@historico.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Sushi Bar").categoria("Japonesa").taxaEntrega(Dinheiro.de("8.00")).tempoEntregaMinutos(40).ativo(true).build());
+        Produto produto = produtoService.cadastrar(Produto.builder().nome("Temaki").categoria("Japonesa").descricao("Salmão")
+                .preco(Dinheiro.de("29.90")).disponivel(true).restaurante(restaurante).build());
+        pedido(b, restaurante, produto, LocalDateTime.of(2025, 6, 1, 19, 0));
+
+        mockMvc.perform(get("/api/clientes/{id}/pedidos", b.getId()).with(cliente(a)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/clientes/{id}/pedidos", a.getId()).with(cliente(a)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos.length()").value(0));
+        mockMvc.perform(get("/api/clientes/{id}/pedidos", b.getId()).with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos.length()").value(1));
+    }
+
+    private Long pedido(Cliente cliente, Restaurante restaurante, Produto produto, LocalDateTime data) {
+        List<ItemPedido> itens = new ArrayList<>();
+        itens.add(ItemPedido.builder().produto(produto).quantidade(2).precoUnitario(produto.getPreco()).build());
+        return pedidoService.criar(Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .dataPedido(data)
+                .total(Dinheiro.de("85.80"))
+                .itens(itens)
+                .build()).getId();
+    }
+
+    // o mesmo principal que o JwtAuthenticationFilter monta a partir das claims do token
+    private static RequestPostProcessor cliente(Cliente cliente) {
+        return usuario(new UsuarioAutenticado(cliente.getId(), cliente.getEmail(), Role.CLIENTE, null, cliente.getId(), null));
+    }
+
+    private static RequestPostProcessor admin() {
+        return usuario(new UsuarioAutenticado(1L, "admin@historico.com", Role.ADMIN, null, null, null));
+    }
+
+    private static RequestPostProcessor usuario(UsuarioAutenticado usuario) {
+        return authentication(new UsernamePasswordAuthenticationToken(usuario, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + usuario.role().name()))));
+    }
+}
@@ -0,0 +1,76 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.BuscaService;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "deliverytech.importacao.tamanho-lote=2"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class ImportacaoControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    @Autowired
+    BuscaService buscaService;
+
+    @Test
+    void relatorioPorLinhaELoteRecusadoPeloBancoSemGravacaoParcial() throws Exception {
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Sírio").categoria("Árabe").taxaEntrega(Dinheiro.de("5.00")).tempoEntregaMinutos(25).ativo(true).build());
+        long id = restaurante.getId();
+        // a categoria não tem limite de tamanho na validação, mas a coluna tem 255 caracteres: o banco recusa a linha 4
+        String categoriaLonga = "X".repeat(300);
+        String csv = "nome,categoria,descricao,preco,restauranteId\n"
+                + "Esfiha de carne,Árabe,Tradicional,6.50," + id + "\n"
+                + "Esfiha de queijo,Árabe,Tradicional,6.00," + id + "\n"
+                + "Kibe frito,Árabe,Tradicional,7.00," + id + "\n"
+                + "Kibe cru," + categoriaLonga + ",Tradicional,9.00," + id + "\n"
+                + ",Árabe,Sem nome,5.00," + id + "\n"
+                + "Homus,Árabe,Pasta de grão-de-bico,12.00,999999\n"
+                + "Tabule,Árabe,\"Trigo, tomate e hortelã\",14.00," + id + "\n";
+
+        mockMvc.perform(post("/api/importacao/produtos").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalLinhas").value(7))
+                .andExpect(jsonPath("$.importadas").value(3))
+                .andExpect(jsonPath("$.rejeitadas").value(4))
+                .andExpect(jsonPath("$.erros[0].linha").value(3))
+                .andExpect(jsonPath("$.erros[0].detalhes.registro").value("Lote não gravado por erro no banco de dados"))
+                .andExpect(jsonPath("$.erros[1].linha").value(4))
+                .andExpect(jsonPath("$.erros[2].linha").value(5))
+                .andExpect(jsonPath("$.erros[2].detalhes.nome").exists())
+                .andExpect(jsonPath("$.erros[3].linha").value(6))
+                .andExpect(jsonPath("$.erros[3].detalhes.restauranteId").value("Restaurante com ID 999999 não encontrado"));
+
+        // o lote das linhas 3 e 4 foi desfeito inteiro; os demais estão no banco e no índice de busca
+        assertEquals(3, produtoRepository.count());
+        assertEquals(2, buscaService.buscarProdutos("esfiha", null, null, 0, 10).getTotal());
+        assertEquals(1, buscaService.buscarProdutos("tabule", null, null, 0, 10).getTotal());
+        assertEquals(0, buscaService.buscarProdutos("kibe", null, null, 0, 10).getTotal());
+    }
+}
@@ -0,0 +1,68 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// as listagens são conferidas com o banco vazio: contexto (e banco) novo, sem os dados de outras classes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+@AutoConfigureMockMvc
+@WithMockUser(authorities = {"ROLE_ADMIN", "ROLE_CLIENTE"})
+public class ListagensVaziasControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Test
+    void listagensSemDadosRespondem200Vazias() throws Exception {
+        mockMvc.perform(get("/api/clientes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty())
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/api/clientes/clientes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        mockMvc.perform(get("/api/restaurantes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+        mockMvc.perform(get("/api/restaurantes/categoria/{categoria}", "Inexistente"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        // cardápio vazio só é erro quando o restaurante não existe
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cozinha Nova").categoria("Brasileira").taxaEntrega(Dinheiro.de("1.00")).tempoEntregaMinutos(30).ativo(true).build());
+
+        mockMvc.perform(get("/api/produtos/restaurante/{id}", restaurante.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        mockMvc.perform(get("/api/produtos/restaurante/{id}", 999999))
+                .andExpect(status().is4xxClientError())
+                .andExpect(jsonPath("$.error").value("Recurso não encontrado"))
+                .andExpect(jsonPath("$.path").value("/api/produtos/restaurante/999999"));
+    }
+
+    @Test
+    void excecoesDeNegocioNaoCapturamPilha() {
+        assertEquals(0, new EntityNotFoundException("Restaurante", 1L).getStackTrace().length);
+    }
+}
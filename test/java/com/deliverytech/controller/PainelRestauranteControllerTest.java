@@ -0,0 +1,117 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.UsuarioRepository;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class PainelRestauranteControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Test
+    void deveRestringirPainelAoRestauranteDoTokenSemConsultarUsuario() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Ana").email("ana@painel.com").build());
+        Restaurante meu = restaurante("Cantina");
+        Restaurante outro = restaurante("Concorrente");
+        produto(meu, "Lasanha");
+        produto(meu, "Canelone");
+        produto(outro, "Pizza");
+        Pedido confirmado = pedido(cliente, meu);
+        pedidoService.atualizarStatus(confirmado.getId(), StatusPedido.CONFIRMADO);
+        pedido(cliente, meu);
+        pedido(cliente, outro);
+
+        String token = registrar("gerente@cantina.com", "RESTAURANTE", meu.getId());
+        String tokenCliente = registrar("ana@painel.com", "CLIENTE", null);
+        // o token basta: a conta nem existe mais
+        usuarioRepository.deleteAll();
+
+        mockMvc.perform(get("/api/meu-restaurante/pedidos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.data[0].restauranteId").value(meu.getId()))
+                .andExpect(jsonPath("$.data[1].restauranteId").value(meu.getId()));
+        mockMvc.perform(get("/api/meu-restaurante/pedidos").param("status", "CONFIRMADO")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(confirmado.getId()));
+        mockMvc.perform(get("/api/meu-restaurante/produtos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Canelone"))
+                .andExpect(jsonPath("$[1].nome").value("Lasanha"));
+
+        mockMvc.perform(get("/api/estatisticas/restaurantes/{id}", outro.getId())
+                        .param("inicio", "2025-01-01").param("fim", "2025-01-31")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/meu-restaurante/pedidos").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenCliente))
+                .andExpect(status().isForbidden());
+    }
+
+    private String registrar(String email, String role, Long restauranteId) throws Exception {
+        String corpo = "{\"email\":\"" + email + "\",\"senha\":\"senha123\",\"nome\":\"Usuário\",\"role\":\"" + role + "\""
+                + (restauranteId == null ? "" : ",\"restauranteId\":" + restauranteId) + "}";
+        return mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Restaurante restaurante(String nome) {
+        return restauranteService.cadastrar(Restaurante.builder()
+                .nome(nome).categoria("Italiana").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(30).ativo(true).build());
+    }
+
+    private void produto(Restaurante restaurante, String nome) {
+        produtoService.cadastrar(Produto.builder().nome(nome).categoria("Italiana").descricao(nome)
+                .preco(Dinheiro.de("39.90")).disponivel(true).restaurante(restaurante).build());
+    }
+
+    private Pedido pedido(Cliente cliente, Restaurante restaurante) {
+        return pedidoService.criar(Pedido.builder()
+                .cliente(cliente).restaurante(restaurante).total(Dinheiro.de("39.90")).itens(new ArrayList<>()).build());
+    }
+}
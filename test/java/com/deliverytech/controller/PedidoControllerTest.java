@@ -0,0 +1,97 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class PedidoControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Test
+    void somenteDonoRestauranteDoPedidoEAdminLeemOPedido() throws Exception {
+        Cliente dono = clienteService.cadastrar(Cliente.builder().nome("Ana").email("ana@pedidos.com").build());
+        Cliente outro = clienteService.cadastrar(Cliente.builder().nome("Caio").email("caio@pedidos.com").build());
+        Restaurante restaurante = restaurante("Cantina");
+        Restaurante concorrente = restaurante("Trattoria");
+        Produto produto = produtoService.cadastrar(Produto.builder().nome("Lasanha").categoria("Italiana").descricao("Bolonhesa")
+                .preco(Dinheiro.de("42.90")).disponivel(true).restaurante(restaurante).build());
+
+        List<ItemPedido> itens = new ArrayList<>();
+        itens.add(ItemPedido.builder().produto(produto).quantidade(1).precoUnitario(produto.getPreco()).build());
+        Long id = pedidoService.criar(Pedido.builder().cliente(dono).restaurante(restaurante)
+                .total(produto.getPreco()).itens(itens).build()).getId();
+        String caminho = "/api/pedidos/" + id;
+
+        mockMvc.perform(get(caminho).with(usuario(Role.CLIENTE, null, dono.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clienteId").value(dono.getId()));
+        mockMvc.perform(get(caminho).with(usuario(Role.CLIENTE, null, outro.getId())))
+                .andExpect(status().isForbidden());
+        // usuário cliente sem cadastro de cliente vinculado
+        mockMvc.perform(get(caminho).with(usuario(Role.CLIENTE, null, null)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(caminho).with(usuario(Role.RESTAURANTE, restaurante.getId(), null)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(caminho).with(usuario(Role.RESTAURANTE, concorrente.getId(), null)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(caminho).with(usuario(Role.ENTREGADOR, null, null)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(caminho).with(usuario(Role.ADMIN, null, null)))
+                .andExpect(status().isOk());
+    }
+
+    private Restaurante restaurante(String nome) {
+        return restauranteService.cadastrar(Restaurante.builder()
+                .nome(nome).categoria("Italiana").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(30).ativo(true).build());
+    }
+
+    // o mesmo principal que o JwtAuthenticationFilter monta a partir das claims do token
+    private static RequestPostProcessor usuario(Role role, Long restauranteId, Long clienteId) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(1L, role.name().toLowerCase() + "@pedidos.com", role, restauranteId, clienteId, null);
+        return authentication(new UsernamePasswordAuthenticationToken(usuario, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+}
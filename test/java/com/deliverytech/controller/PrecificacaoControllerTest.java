@@ -0,0 +1,141 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = {"ROLE_ADMIN", "ROLE_CLIENTE"})
+public class PrecificacaoControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Test
+    void deveCotarComPromocoesECupomEAtualizarAoMudarAsRegras() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Rui").email("rui@precificacao.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").taxaEntrega(Dinheiro.de("8.00")).tempoEntregaMinutos(30).ativo(true).build());
+        Produto lasanha = produtoService.cadastrar(Produto.builder().nome("Lasanha").categoria("Massas").descricao("Bolonhesa")
+                .preco(Dinheiro.de("40.00")).disponivel(true).restaurante(restaurante).build());
+        Produto tiramisu = produtoService.cadastrar(Produto.builder().nome("Tiramisù").categoria("Sobremesas").descricao("Café")
+                .preco(Dinheiro.de("20.00")).disponivel(true).restaurante(restaurante).build());
+        Produto vinho = produtoService.cadastrar(Produto.builder().nome("Vinho").categoria("Bebidas").descricao("Tinto")
+                .preco(Dinheiro.de("90.00")).disponivel(false).restaurante(restaurante).build());
+
+        String cesta = cesta(restaurante.getId(), null, lasanha.getId(), 2, tiramisu.getId(), 1);
+        cotar(cesta)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subtotal").value(100.00))
+                .andExpect(jsonPath("$.taxaEntrega").value(8.00))
+                .andExpect(jsonPath("$.total").value(108.00));
+
+        // a promoção nova invalida a tabela já compilada; entre as duas que valem para a lasanha, a maior
+        promocao("{\"restauranteId\":%d,\"descricao\":\"Massas 10%%\",\"escopo\":\"CATEGORIA\",\"categoria\":\"massas\",\"percentualDesconto\":10}"
+                .formatted(restaurante.getId()));
+        promocao("{\"restauranteId\":%d,\"descricao\":\"Lasanha da semana\",\"escopo\":\"PRODUTO\",\"produtoId\":%d,\"valorDesconto\":6.50}"
+                .formatted(restaurante.getId(), lasanha.getId()));
+        cotar(cesta)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].precoOriginal").value(40.00))
+                .andExpect(jsonPath("$.itens[0].precoUnitario").value(33.50))
+                .andExpect(jsonPath("$.itens[1].precoUnitario").value(20.00))
+                .andExpect(jsonPath("$.subtotal").value(87.00))
+                .andExpect(jsonPath("$.descontoItens").value(13.00))
+                .andExpect(jsonPath("$.total").value(95.00));
+
+        promocao("{\"restauranteId\":%d,\"descricao\":\"Boas-vindas\",\"escopo\":\"CUPOM\",\"codigoCupom\":\"BEMVINDO\",\"percentualDesconto\":15,\"valorMinimoPedido\":50,\"freteGratis\":true}"
+                .formatted(restaurante.getId()));
+        String comCupom = cesta(restaurante.getId(), " bemvindo ", lasanha.getId(), 2, tiramisu.getId(), 1);
+        cotar(comCupom)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cupom").value("BEMVINDO"))
+                .andExpect(jsonPath("$.descontoCupom").value(13.05))
+                .andExpect(jsonPath("$.taxaEntrega").value(0))
+                .andExpect(jsonPath("$.total").value(73.95));
+        cotar(cesta(restaurante.getId(), "BEMVINDO", tiramisu.getId(), 1, tiramisu.getId(), 1))
+                .andExpect(status().isBadRequest());
+        cotar(cesta(restaurante.getId(), "NAOEXISTE", lasanha.getId(), 1, tiramisu.getId(), 1))
+                .andExpect(status().isBadRequest());
+        cotar(cesta(restaurante.getId(), null, vinho.getId(), 1, tiramisu.getId(), 1))
+                .andExpect(status().isBadRequest());
+
+        // o pedido sai com o preço da cotação
+        ObjectNode pedido = (ObjectNode) objectMapper.readTree(comCupom);
+        pedido.put("clienteId", cliente.getId());
+        pedido.putObject("enderecoEntrega").put("rua", "Rua A").put("numero", "1").put("bairro", "Centro")
+                .put("cidade", "São Paulo").put("estado", "SP").put("cep", "01001-000");
+        mockMvc.perform(post("/api/pedidos").contentType(MediaType.APPLICATION_JSON).content(pedido.toString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.total").value(73.95))
+                .andExpect(jsonPath("$.itens[0].precoUnitario").value(33.50));
+
+        // e a alteração do produto também invalida a tabela
+        lasanha.setPreco(Dinheiro.de("50.00"));
+        produtoService.atualizar(lasanha.getId(), lasanha);
+        cotar(cesta)
+                .andExpect(jsonPath("$.itens[0].precoUnitario").value(43.50));
+
+        long cupomId = objectMapper.readTree(mockMvc.perform(post("/api/promocoes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"restauranteId\":%d,\"descricao\":\"Fixo\",\"escopo\":\"CUPOM\",\"codigoCupom\":\"DEZ\",\"valorDesconto\":10}"
+                                .formatted(restaurante.getId())))
+                .andReturn().getResponse().getContentAsString()).path("id").asLong();
+        cotar(cesta(restaurante.getId(), "DEZ", lasanha.getId(), 1, tiramisu.getId(), 1))
+                .andExpect(jsonPath("$.descontoCupom").value(10.00));
+        mockMvc.perform(delete("/api/promocoes/{id}", cupomId)).andExpect(status().isNoContent());
+        cotar(cesta(restaurante.getId(), "DEZ", lasanha.getId(), 1, tiramisu.getId(), 1))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions cotar(String cesta) throws Exception {
+        return mockMvc.perform(post("/api/pedidos/cotacao").contentType(MediaType.APPLICATION_JSON).content(cesta));
+    }
+
+    private void promocao(String json) throws Exception {
+        mockMvc.perform(post("/api/promocoes").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated());
+    }
+
+    private String cesta(Long restauranteId, String cupom, Long produtoA, int quantidadeA, Long produtoB, int quantidadeB) {
+        ObjectNode cesta = objectMapper.createObjectNode().put("restauranteId", restauranteId).put("cupom", cupom);
+        ArrayNode itens = cesta.putArray("itens");
+        itens.addObject().put("produtoId", produtoA).put("quantidade", quantidadeA);
+        itens.addObject().put("produtoId", produtoB).put("quantidade", quantidadeB);
+        return cesta.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.ProdutoService;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// a listagem geral é conferida inteira: contexto (e banco) novo, sem os produtos de outras classes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_ADMIN")
+public class ProdutoControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Test
+    void deveListarProdutosComoDtoEResponder304QuandoNadaMudou() throws Exception {
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(30).ativo(true).build());
+        produtoService.cadastrar(Produto.builder().nome("Lasanha").categoria("Italiana").descricao("Bolonhesa")
+                .preco(Dinheiro.de("42.90")).disponivel(true).restaurante(restaurante).build());
+
+        String etag = mockMvc.perform(get("/api/produtos/produtos").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].nome").value("Lasanha"))
+                .andExpect(jsonPath("$.data[0].restaurante").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/produtos/produtos").param("page", "0").param("size", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,102 @@
+package com.deliverytech.controller;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.Role;
+import com.deliverytech.security.UsuarioAutenticado;
+import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.RestauranteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_CLIENTE")
+public class RestauranteControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Test
+    void deveBuscarProximosERecusarCoordenadasForaDoIntervalo() throws Exception {
+        restauranteService.cadastrar(Restaurante.builder().nome("Sushi da Sé").categoria("Japonesa")
+                .taxaEntrega(Dinheiro.de("7.00")).tempoEntregaMinutos(25).ativo(true)
+                .latitude(-23.5505).longitude(-46.6333).build());
+
+        mockMvc.perform(get("/api/restaurantes/proximos").param("latitude", "-23.55").param("longitude", "-46.63"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Sushi da Sé"));
+
+        mockMvc.perform(get("/api/restaurantes/proximos").param("latitude", "91").param("longitude", "-46.63"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Erro de validação"))
+                .andExpect(jsonPath("$.details.latitude").exists());
+
+        mockMvc.perform(get("/api/restaurantes/proximos").param("latitude", "-23.55").param("longitude", "-46.63").param("raioKm", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.raioKm").exists());
+    }
+
+    @Test
+    void semCoordenadaBuscaProximosDoUltimoEnderecoDoCliente() throws Exception {
+        Restaurante centro = restauranteService.cadastrar(Restaurante.builder().nome("Cantina do Centro").categoria("Italiana")
+                .taxaEntrega(Dinheiro.de("6.00")).tempoEntregaMinutos(30).ativo(true)
+                .latitude(-22.906).longitude(-43.172).build());
+        restauranteService.cadastrar(Restaurante.builder().nome("Quiosque da Barra").categoria("Lanches")
+                .taxaEntrega(Dinheiro.de("6.00")).tempoEntregaMinutos(30).ativo(true)
+                .latitude(-23.000).longitude(-43.365).build());
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Lia").email("lia@proximos.com").build());
+        Cliente novo = clienteService.cadastrar(Cliente.builder().nome("Nina").email("nina@proximos.com").build());
+        pedidoService.criar(Pedido.builder().cliente(cliente).restaurante(centro).total(Dinheiro.de("30.00")).itens(new ArrayList<>())
+                .enderecoEntrega(Endereco.builder().rua("Rua da Assembleia").numero("10").cidade("Rio de Janeiro").estado("RJ")
+                        .latitude(-22.999).longitude(-43.360).build())
+                .build());
+
+        mockMvc.perform(get("/api/restaurantes/proximos").with(cliente(cliente)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Quiosque da Barra"));
+
+        // sem pedido com posição, a coordenada é obrigatória
+        mockMvc.perform(get("/api/restaurantes/proximos").with(cliente(novo)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/restaurantes/proximos").with(cliente(cliente)).param("latitude", "-22.9"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestPostProcessor cliente(Cliente cliente) {
+        return authentication(new UsernamePasswordAuthenticationToken(
+                new UsuarioAutenticado(cliente.getId(), cliente.getEmail(), Role.CLIENTE, null, cliente.getId(), null), null,
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+    }
+}
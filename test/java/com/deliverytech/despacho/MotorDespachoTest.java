@@ -0,0 +1,64 @@
+package com.deliverytech.despacho;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MotorDespachoTest {
+
+    private final MotorDespacho motor = new MotorDespacho(8, 10);
+
+    @Test
+    void atribuiPeloTempoAteAColetaEIgnoraQuemEstaForaDoRaio() {
+        List<MotorDespacho.PedidoPendente> pedidos = List.of(
+                new MotorDespacho.PedidoPendente(1, -23.550, -46.630),
+                new MotorDespacho.PedidoPendente(2, -23.550, -46.610),
+                new MotorDespacho.PedidoPendente(3, -23.000, -46.000));
+        List<MotorDespacho.EntregadorLivre> entregadores = List.of(
+                // a bicicleta está mais perto do pedido 1, mas a moto chega antes
+                new MotorDespacho.EntregadorLivre(10, -23.559, -46.630, 12),
+                new MotorDespacho.EntregadorLivre(11, -23.540, -46.630, 25),
+                new MotorDespacho.EntregadorLivre(12, -23.551, -46.611, 25));
+
+        Map<Long, Long> atribuicoes = motor.atribuir(pedidos, entregadores).stream()
+                .collect(Collectors.toMap(MotorDespacho.Atribuicao::pedidoId, MotorDespacho.Atribuicao::entregadorId));
+
+        // o pedido 3 está a mais de 10 km de todos e espera a próxima rodada
+        assertEquals(Map.of(1L, 11L, 2L, 12L), atribuicoes);
+    }
+
+    @Test
+    void dezMilPedidosNumaCidadeSemRepetirPedidoNemEntregador() {
+        Random random = new Random(7);
+        List<MotorDespacho.PedidoPendente> pedidos = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            pedidos.add(new MotorDespacho.PedidoPendente(i, -23.55 + random.nextDouble(-0.15, 0.15), -46.63 + random.nextDouble(-0.15, 0.15)));
+        }
+        List<MotorDespacho.EntregadorLivre> entregadores = new ArrayList<>();
+        for (int i = 0; i < 6_000; i++) {
+            entregadores.add(new MotorDespacho.EntregadorLivre(100_000 + i, -23.55 + random.nextDouble(-0.15, 0.15),
+                    -46.63 + random.nextDouble(-0.15, 0.15), random.nextBoolean() ? 25 : 12));
+        }
+
+        List<MotorDespacho.Atribuicao> atribuicoes = motor.atribuir(pedidos, entregadores);
+
+        Set<Long> pedidosAtribuidos = new HashSet<>();
+        Set<Long> entregadoresAtribuidos = new HashSet<>();
+        for (MotorDespacho.Atribuicao atribuicao : atribuicoes) {
+            assertTrue(pedidosAtribuidos.add(atribuicao.pedidoId()));
+            assertTrue(entregadoresAtribuidos.add(atribuicao.entregadorId()));
+            assertTrue(atribuicao.distanciaKm() <= 10);
+        }
+        // com mais pedidos que entregadores e todos a menos de 10 km, quase ninguém fica parado
+        assertTrue(atribuicoes.size() >= 5_900, "atribuídos: " + atribuicoes.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.deliverytech.estoque;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContadorEstoqueTest {
+
+    @Test
+    void reservaJuntaFaixasQuandoNenhumaSozinhaBasta() {
+        // 10 unidades em 8 faixas: nenhuma faixa tem 3
+        ContadorEstoque contador = new ContadorEstoque(10, 8);
+        assertTrue(contador.reservar(3));
+        assertTrue(contador.reservar(7));
+        assertFalse(contador.reservar(1));
+        assertEquals(0, contador.disponivel());
+
+        contador.liberar(4);
+        assertFalse(contador.reservar(5));
+        assertEquals(4, contador.disponivel());
+        contador.definir(2);
+        assertEquals(2, contador.disponivel());
+
+        contador.ajustar(5);
+        assertEquals(7, contador.disponivel());
+        contador.ajustar(-3);
+        assertEquals(4, contador.disponivel());
+        contador.ajustar(-9);
+        assertEquals(0, contador.disponivel());
+    }
+
+    @Test
+    void reservasEDevolucoesConcorrentesFechamAConta() throws Exception {
+        long inicial = 10_000;
+        ContadorEstoque contador = new ContadorEstoque(inicial, 16);
+        AtomicLong reservado = new AtomicLong();
+        AtomicLong devolvido = new AtomicLong();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        List<Future<?>> tarefas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int t = 0; t < 32; t++) {
+                int semente = t;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        int quantidade = 1 + (semente + i) % 4;
+                        if (contador.reservar(quantidade)) {
+                            reservado.addAndGet(quantidade);
+                            // um pedido em cada dez é cancelado
+                            if (i % 10 == 0) {
+                                contador.liberar(quantidade);
+                                devolvido.addAndGet(quantidade);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        // a demanda passa do estoque: tudo o que não foi devolvido foi vendido, nem uma unidade a mais
+        assertEquals(inicial, reservado.get() - devolvido.get() + contador.disponivel());
+        assertTrue(contador.disponivel() < 4);
+    }
+}
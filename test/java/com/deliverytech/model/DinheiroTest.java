@@ -0,0 +1,75 @@
+package com.deliverytech.model;
+
+import com.deliverytech.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DinheiroTest {
+
+    @Test
+    void arredondaMeioParaPar() {
+        assertEquals(12, Dinheiro.de("0.125").centavos());
+        assertEquals(14, Dinheiro.de("0.135").centavos());
+        assertEquals(-12, Dinheiro.de("-0.125").centavos());
+        assertEquals(13, Dinheiro.de("0.1251").centavos());
+        assertEquals(1990, Dinheiro.de(new BigDecimal("19.9")).centavos());
+
+        assertEquals(Dinheiro.deCentavos(334), Dinheiro.deCentavos(1001).divididoPor(3));
+        assertEquals(Dinheiro.deCentavos(2), Dinheiro.deCentavos(5).divididoPor(2));
+        assertEquals(Dinheiro.deCentavos(4), Dinheiro.deCentavos(7).divididoPor(2));
+        assertEquals(Dinheiro.deCentavos(-4), Dinheiro.deCentavos(-7).divididoPor(2));
+        assertEquals(Dinheiro.deCentavos(-2), Dinheiro.deCentavos(5).divididoPor(-2));
+    }
+
+    @Test
+    void divisaoConfereComBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long centavos = random.nextLong(-10_000_000, 10_000_000);
+            long divisor = random.nextLong(1, 1_000) * (random.nextBoolean() ? 1 : -1);
+            BigDecimal esperado = BigDecimal.valueOf(centavos, 2).divide(BigDecimal.valueOf(divisor), 2, RoundingMode.HALF_EVEN);
+            assertEquals(esperado, Dinheiro.deCentavos(centavos).divididoPor(divisor).paraBigDecimal(), centavos + " / " + divisor);
+        }
+    }
+
+    @Test
+    void somaEMultiplicacaoConferemEstouro() {
+        long total = 0;
+        total = Dinheiro.acumular(total, Dinheiro.de("12.90"), 3);
+        total = Dinheiro.acumular(total, Dinheiro.de("0.05"), 2);
+        assertEquals(Dinheiro.de("38.80"), Dinheiro.deCentavos(total));
+        assertEquals(Dinheiro.de("38.80"), Dinheiro.de("12.90").vezes(3).mais(Dinheiro.de("0.10")));
+        assertEquals(Dinheiro.de("-1.50"), Dinheiro.de("1.00").menos(Dinheiro.de("2.50")));
+
+        assertThrows(ArithmeticException.class, () -> Dinheiro.deCentavos(Long.MAX_VALUE).mais(Dinheiro.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.acumular(0, Dinheiro.deCentavos(Long.MAX_VALUE / 2 + 1), 2));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.de(new BigDecimal("1e20")));
+    }
+
+    @Test
+    void textoIgualAoDoBigDecimal() {
+        for (long centavos : new long[] {0, 5, -5, 100, -100, 1250, -99_999, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(BigDecimal.valueOf(centavos, 2).toPlainString(), Dinheiro.deCentavos(centavos).toString());
+        }
+    }
+
+    @Test
+    void serializaComoDecimalDeDuasCasas() throws Exception {
+        ObjectMapper json = JsonMapper.builder().addModule(new JacksonConfig().dinheiroModule()).build();
+        assertEquals("[12.50,-0.05]", json.writeValueAsString(new Dinheiro[] {Dinheiro.de("12.5"), Dinheiro.de("-0.05")}));
+        assertEquals(Dinheiro.de("12.50"), json.readValue("12.5", Dinheiro.class));
+        assertEquals(Dinheiro.de("0.12"), json.readValue("\"0.125\"", Dinheiro.class));
+
+        ObjectMapper cbor = CBORMapper.builder().addModule(new JacksonConfig().dinheiroModule()).build();
+        assertEquals(Dinheiro.de("29.90"), cbor.readValue(cbor.writeValueAsBytes(Dinheiro.de("29.90")), Dinheiro.class));
+    }
+}
@@ -0,0 +1,60 @@
+package com.deliverytech.monitoramento;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.service.RestauranteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ROLE_CLIENTE")
+public class MonitoramentoConsultasTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deveExporTempoDeBancoEMetricasPorHandler() throws Exception {
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(30).ativo(true).build());
+        // sem o cache de segundo nível o restaurante vem do banco e a consulta aparece na medição
+        entityManagerFactory.getCache().evictAll();
+
+        mockMvc.perform(get("/api/restaurantes/" + restaurante.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing",
+                        matchesPattern("db;dur=\\d+\\.\\d;desc=\"1 consultas\", entidades;desc=\"1 carregadas\"")));
+
+        String handler = "RestauranteController.buscarPorId";
+        assertEquals(1, registry.get("deliverytech.requisicao.consultas").tag("handler", handler).summary().count());
+        assertEquals(1, registry.get("deliverytech.requisicao.entidades").tag("handler", handler).summary().totalAmount());
+        assertTrue(registry.get("deliverytech.requisicao.tempo.banco").tag("handler", handler).timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.deliverytech.search;
+
+import com.deliverytech.search.IndiceGeografico.Vizinho;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndiceGeograficoTest {
+
+    // Praça da Sé, São Paulo
+    private static final double LATITUDE_CENTRO = -23.5505;
+    private static final double LONGITUDE_CENTRO = -46.6333;
+    private static final double LIMITE_P99_MS = 20.0;
+
+    @Test
+    void deveCoincidirComBuscaExaustiva() {
+        Random random = new Random(7);
+        IndiceGeografico indice = new IndiceGeografico(0.05);
+        double[][] pontos = new double[5000][];
+        for (int id = 0; id < pontos.length; id++) {
+            pontos[id] = new double[]{LATITUDE_CENTRO + (random.nextDouble() - 0.5), LONGITUDE_CENTRO + (random.nextDouble() - 0.5)};
+            indice.atualizar(id, pontos[id][0], pontos[id][1]);
+        }
+
+        for (int consulta = 0; consulta < 50; consulta++) {
+            double latitude = LATITUDE_CENTRO + (random.nextDouble() - 0.5);
+            double longitude = LONGITUDE_CENTRO + (random.nextDouble() - 0.5);
+            List<Vizinho> esperados = exaustiva(pontos, latitude, longitude);
+
+            List<Long> noRaio = esperados.stream().filter(v -> v.distanciaKm() <= 4).map(Vizinho::id).toList();
+            assertEquals(noRaio, indice.buscarNoRaio(latitude, longitude, 4).stream().map(Vizinho::id).toList());
+
+            List<Long> maisProximos = esperados.subList(0, 15).stream().map(Vizinho::id).toList();
+            assertEquals(maisProximos, indice.buscarMaisProximos(latitude, longitude, 15, 100).stream().map(Vizinho::id).toList());
+        }
+    }
+
+    @Test
+    void deveMoverERemoverPontos() {
+        IndiceGeografico indice = new IndiceGeografico(0.05);
+        indice.atualizar(1, LATITUDE_CENTRO, LONGITUDE_CENTRO);
+        indice.atualizar(2, LATITUDE_CENTRO + 0.01, LONGITUDE_CENTRO);
+
+        indice.atualizar(1, LATITUDE_CENTRO + 1, LONGITUDE_CENTRO);
+        assertEquals(List.of(2L), indice.buscarNoRaio(LATITUDE_CENTRO, LONGITUDE_CENTRO, 5).stream().map(Vizinho::id).toList());
+
+        indice.remover(2);
+        assertEquals(1, indice.tamanho());
+        assertTrue(indice.buscarMaisProximos(LATITUDE_CENTRO, LONGITUDE_CENTRO, 5, 50).isEmpty());
+        assertEquals(1, indice.buscarMaisProximos(LATITUDE_CENTRO, LONGITUDE_CENTRO, 5, 200).size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkConsultasComCemMilRestaurantes() {
+        int restaurantes = Integer.getInteger("geo.restaurantes", 100_000);
+        Random random = new Random(42);
+        IndiceGeografico indice = new IndiceGeografico(0.05);
+
+        // Região metropolitana de ~110 km x 110 km, mais densa no centro
+        long inicioCarga = System.nanoTime();
+        for (int id = 0; id < restaurantes; id++) {
+            indice.atualizar(id, LATITUDE_CENTRO + random.nextGaussian() * 0.25, LONGITUDE_CENTRO + random.nextGaussian() * 0.25);
+        }
+        long cargaMs = (System.nanoTime() - inicioCarga) / 1_000_000;
+
+        int execucoes = 5000;
+        long[] latenciasRaio = new long[execucoes];
+        long[] latenciasProximos = new long[execucoes];
+        long encontradosNoRaio = 0;
+        for (int i = -500; i < execucoes; i++) {
+            double latitude = LATITUDE_CENTRO + random.nextGaussian() * 0.25;
+            double longitude = LONGITUDE_CENTRO + random.nextGaussian() * 0.25;
+
+            long inicio = System.nanoTime();
+            int noRaio = indice.buscarNoRaio(latitude, longitude, 5).size();
+            long meio = System.nanoTime();
+            List<Vizinho> proximos = indice.buscarMaisProximos(latitude, longitude, 100, 30);
+            long fim = System.nanoTime();
+
+            if (i >= 0) {
+                latenciasRaio[i] = meio - inicio;
+                latenciasProximos[i] = fim - meio;
+                encontradosNoRaio += noRaio;
+            }
+            assertTrue(proximos.size() <= 100);
+        }
+        Arrays.sort(latenciasRaio);
+        Arrays.sort(latenciasProximos);
+
+        // fica fora da suíte padrão: os limites só valem em máquina dedicada, e as mensagens trazem as medidas
+        String medidas = String.format("Índice com %d restaurantes carregado em %d ms (média de %d no raio de 5 km); "
+                        + "raio 5 km p50=%.3f ms p99=%.3f ms; 100 mais próximos p50=%.3f ms p99=%.3f ms",
+                restaurantes, cargaMs, encontradosNoRaio / execucoes,
+                latenciasRaio[execucoes / 2] / 1e6, latenciasRaio[execucoes * 99 / 100] / 1e6,
+                latenciasProximos[execucoes / 2] / 1e6, latenciasProximos[execucoes * 99 / 100] / 1e6);
+        assertTrue(latenciasRaio[execucoes * 99 / 100] / 1e6 < LIMITE_P99_MS, medidas);
+        assertTrue(latenciasProximos[execucoes * 99 / 100] / 1e6 < LIMITE_P99_MS, medidas);
+        assertEquals(restaurantes, indice.tamanho());
+    }
+
+    private static List<Vizinho> exaustiva(double[][] pontos, double latitude, double longitude) {
+        List<Vizinho> todos = new ArrayList<>();
+        for (int id = 0; id < pontos.length; id++) {
+            todos.add(new Vizinho(id, IndiceGeografico.distanciaKm(latitude, longitude, pontos[id][0], pontos[id][1])));
+        }
+        todos.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return todos;
+    }
+}
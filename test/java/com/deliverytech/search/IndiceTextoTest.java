@@ -0,0 +1,109 @@
+package com.deliverytech.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndiceTextoTest {
+
+    private static final String[] PRATOS = {"Pizza", "Feijoada", "Açaí", "Moqueca", "Pão de Queijo", "Coxinha", "Hambúrguer",
+            "Lasanha", "Strogonoff", "Tapioca", "Pastel", "Esfiha", "Brigadeiro", "Baião de Dois", "Escondidinho"};
+    private static final String[] COMPLEMENTOS = {"Calabresa", "Tradicional", "Especial", "da Casa", "com Bacon", "Vegetariana",
+            "de Frango", "de Camarão", "Completa", "Mineira", "Baiana", "Light", "Gigante", "Crocante", "Caseira"};
+    private static final String[] CATEGORIAS = {"Pizza", "Brasileira", "Lanches", "Doces", "Saudável", "Japonesa", "Árabe"};
+    private static final double LIMITE_P99_MS = 50.0;
+
+    @Test
+    void deveBuscarPorPrefixoSemAcentos() {
+        IndiceTexto indice = new IndiceTexto();
+        indice.indexar(1, "Doces", true, "Açaí na Tigela", "Açaí com granola", "Doces");
+        indice.indexar(2, "Brasileira", true, "Pão de Queijo Mineiro", "Porção com 10", "Brasileira");
+        indice.indexar(3, "Brasileira", false, "Pão Francês", "Unidade", "Brasileira");
+
+        assertEquals(List.of(1L), indice.buscar("acai", null, null, 0, 10).ids());
+        assertEquals(List.of(2L, 3L), indice.buscar("PAO", null, null, 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("pao quei", null, null, 0, 10).ids());
+        assertEquals(List.of(2L), indice.buscar("pao", null, true, 0, 10).ids());
+        assertEquals(List.of(1L), indice.buscar("", "doces", null, 0, 10).ids());
+        assertEquals(List.of(3L), indice.buscar("pao", null, null, 1, 10).ids());
+
+        ResultadoBusca alemDoFim = indice.buscar("pao", null, null, Integer.MAX_VALUE, 10);
+        assertEquals(2, alemDoFim.total());
+        assertEquals(List.of(), alemDoFim.ids());
+    }
+
+    @Test
+    void deveContarFacetasIgnorandoFiltroDeCategoria() {
+        IndiceTexto indice = new IndiceTexto();
+        indice.indexar(1, "Pizza", true, "Pizza Calabresa");
+        indice.indexar(2, "Pizza", true, "Pizza Portuguesa");
+        indice.indexar(3, "Lanches", true, "Pizza de Hambúrguer");
+
+        ResultadoBusca resultado = indice.buscar("pizza", "Lanches", null, 0, 10);
+
+        assertEquals(1, resultado.total());
+        assertEquals(2L, resultado.facetas().get("Pizza"));
+        assertEquals(1L, resultado.facetas().get("Lanches"));
+    }
+
+    @Test
+    void deveReindexarERemoverDocumentos() {
+        IndiceTexto indice = new IndiceTexto();
+        for (long id = 0; id < 5000; id++) {
+            indice.indexar(id, "Pizza", true, "Pizza " + id);
+        }
+        for (long id = 0; id < 5000; id++) {
+            indice.indexar(id, "Lanches", true, "Lanche " + id);
+        }
+        indice.remover(10);
+
+        assertEquals(4999, indice.tamanho());
+        assertEquals(0, indice.buscar("pizza", null, null, 0, 10).total());
+        assertEquals(4999, indice.buscar("lanche", null, null, 0, 10).total());
+        assertEquals(List.of(4999L), indice.buscar("lanche 4999", null, null, 0, 10).ids());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkConsultasComUmMilhaoDeProdutos() {
+        int produtos = Integer.getInteger("busca.produtos", 1_000_000);
+        Random random = new Random(42);
+        IndiceTexto indice = new IndiceTexto();
+
+        long inicioCarga = System.nanoTime();
+        for (int id = 0; id < produtos; id++) {
+            String nome = PRATOS[random.nextInt(PRATOS.length)] + " " + COMPLEMENTOS[random.nextInt(COMPLEMENTOS.length)] + " " + id;
+            String categoria = CATEGORIAS[random.nextInt(CATEGORIAS.length)];
+            indice.indexar(id, categoria, random.nextInt(10) > 0, nome, "Serve 1 pessoa, preparado na hora", categoria);
+        }
+        long cargaMs = (System.nanoTime() - inicioCarga) / 1_000_000;
+
+        String[] consultas = {"pizza cala", "acai", "pao de que", "hamb bacon", "moq cam", "esf", "tapioca", "feij comp", "bri", "escond mine"};
+        for (int i = 0; i < 200; i++) {
+            indice.buscar(consultas[i % consultas.length], null, true, 0, 20);
+        }
+
+        int execucoes = 2000;
+        long[] latencias = new long[execucoes];
+        for (int i = 0; i < execucoes; i++) {
+            String categoria = i % 3 == 0 ? CATEGORIAS[i % CATEGORIAS.length] : null;
+            long inicio = System.nanoTime();
+            ResultadoBusca resultado = indice.buscar(consultas[i % consultas.length], categoria, true, 0, 20);
+            latencias[i] = System.nanoTime() - inicio;
+            assertTrue(resultado.ids().size() <= 20);
+        }
+        Arrays.sort(latencias);
+
+        // fica fora da suíte padrão: o limite só vale em máquina dedicada, e a mensagem traz as medidas
+        double p99 = latencias[execucoes * 99 / 100] / 1e6;
+        assertTrue(p99 < LIMITE_P99_MS, String.format("Índice com %d produtos carregado em %d ms; consulta p50=%.2f ms p95=%.2f ms p99=%.2f ms",
+                produtos, cargaMs, latencias[execucoes / 2] / 1e6, latencias[execucoes * 95 / 100] / 1e6, p99));
+        assertEquals(produtos, indice.tamanho());
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.security.limite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BaldeTokensTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    @Test
+    void devePermitirRajadaERecarregarNaTaxa() {
+        long agora = 5 * SEGUNDO;
+        BaldeTokens balde = new BaldeTokens(new Limite(10, 5), agora);
+
+        for (int i = 4; i >= 0; i--) {
+            Consumo consumo = balde.consumir(agora);
+            assertTrue(consumo.permitido());
+            assertEquals(i, consumo.restantes());
+        }
+        Consumo recusado = balde.consumir(agora);
+        assertFalse(recusado.permitido());
+        assertEquals(100, recusado.esperaMs());
+
+        // 10 tokens por segundo: 100 ms depois há exatamente mais um
+        assertTrue(balde.consumir(agora + SEGUNDO / 10).permitido());
+        assertFalse(balde.consumir(agora + SEGUNDO / 10).permitido());
+        // parado por um segundo, volta a ficar cheio, mas sem passar da rajada
+        long depois = agora + 2 * SEGUNDO;
+        assertTrue(balde.cheio(depois));
+        assertEquals(4, balde.consumir(depois).restantes());
+    }
+
+    @Test
+    void naoDeveConcederTokensAMaisSobConcorrencia() throws InterruptedException {
+        long agora = System.nanoTime();
+        BaldeTokens balde = new BaldeTokens(new Limite(1, 1_000), agora);
+        AtomicInteger permitidos = new AtomicInteger();
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                threads.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (balde.consumir(agora).permitido()) {
+                            permitidos.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        assertEquals(1_000, permitidos.get());
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.security.limite;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LimiteConcorrenciaAdaptativoTest {
+
+    @Test
+    void deveCrescerComLatenciaEstavelECairQuandoElaSobe() {
+        LimiteConcorrenciaAdaptativo limite = new LimiteConcorrenciaAdaptativo(50, 10, 400, 2.0);
+        long agora = System.nanoTime();
+
+        // janelas com 40 requisições simultâneas a 10 ms: latência estável, o limite cresce
+        agora = janelas(limite, agora, 20, 40, 10_000_000L);
+        int aposCarga = limite.limite();
+        assertTrue(aposCarga > 50, "limite deveria crescer com latência estável: " + aposCarga);
+
+        // a latência vai a 100 ms (10x a linha de base): o limite encolhe
+        janelas(limite, agora, 20, 40, 100_000_000L);
+        assertTrue(limite.limite() < aposCarga / 2, "limite deveria cair com latência alta: " + limite.limite());
+        assertTrue(limite.limite() >= 10);
+    }
+
+    private static long janelas(LimiteConcorrenciaAdaptativo limite, long agora, int janelas, int simultaneas, long latencia) {
+        for (int j = 0; j < janelas; j++) {
+            int adquiridas = 0;
+            for (int i = 0; i < simultaneas; i++) {
+                if (limite.adquirir()) {
+                    adquiridas++;
+                }
+            }
+            agora += 110_000_000L;
+            for (int i = 0; i < adquiridas; i++) {
+                limite.liberar(latencia, agora);
+            }
+        }
+        return agora;
+    }
+}
@@ -0,0 +1,187 @@
+package com.deliverytech.service;
+
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Endereco;
+import com.deliverytech.model.Entregador;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.EntregadorRepository;
+import com.deliverytech.repository.PedidoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // a rodada agendada não roda durante o teste; ele chama despachar() diretamente
+        "deliverytech.despacho.habilitado=false",
+        "deliverytech.despacho.raio-maximo-km=10",
+        "deliverytech.despacho.distancia-maxima-entrega-km=20"
+})
+@ActiveProfiles("test")
+public class DespachoServiceTest {
+
+    @Autowired
+    DespachoService despachoService;
+
+    @Autowired
+    EntregadorService entregadorService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    EntregadorRepository entregadorRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void atribuiOsEntregadoresDaCidadeMaisPertoDoRestauranteELiberaNaEntrega() {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Bia").email("bia@despacho.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").taxaEntrega(Dinheiro.de("6.00")).tempoEntregaMinutos(30)
+                .latitude(-23.550).longitude(-46.630).ativo(true).build());
+
+        Entregador perto = disponivel("Caio", "São Paulo", -23.552, -46.631);
+        Entregador longe = disponivel("Duda", "Sao Paulo", -23.600, -46.630);
+        Entregador foraDoRaio = disponivel("Enzo", "São Paulo", -23.800, -46.630);
+        // ao lado do restaurante, mas cadastrado em outra cidade
+        Entregador outraCidade = disponivel("Fabi", "Campinas", -23.551, -46.630);
+
+        Long primeiro = emPreparacao(cliente, restaurante, "São Paulo");
+        Long segundo = emPreparacao(cliente, restaurante, "SAO PAULO ");
+        Long terceiro = emPreparacao(cliente, restaurante, "são paulo");
+        Long criado = pedidoService.criar(pedido(cliente, restaurante, "São Paulo")).getId();
+
+        assertEquals(2, despachoService.despachar());
+        assertEquals(perto.getId(), entregadorDe(primeiro));
+        assertEquals(longe.getId(), entregadorDe(segundo));
+        assertEquals(StatusPedido.ENVIADO, pedidoRepository.findById(primeiro).orElseThrow().getStatus());
+        assertNull(entregadorDe(terceiro));
+        assertNull(entregadorDe(criado));
+        assertFalse(entregadorRepository.findById(perto.getId()).orElseThrow().getDisponivel());
+        assertTrue(entregadorRepository.findById(foraDoRaio.getId()).orElseThrow().getDisponivel());
+        assertTrue(entregadorRepository.findById(outraCidade.getId()).orElseThrow().getDisponivel());
+        assertThrows(BusinessException.class, () -> entregadorService.alterarDisponibilidade(perto.getId(), true));
+
+        // a entrega devolve o entregador, que leva o pedido que ficou esperando
+        pedidoService.atualizarStatus(primeiro, StatusPedido.ENTREGUE);
+        assertTrue(entregadorRepository.findById(perto.getId()).orElseThrow().getDisponivel());
+        assertEquals(1, despachoService.despachar());
+        assertEquals(perto.getId(), entregadorDe(terceiro));
+
+        pedidoService.cancelar(segundo);
+        assertTrue(entregadorRepository.findById(longe.getId()).orElseThrow().getDisponivel());
+        assertEquals(0, despachoService.despachar());
+    }
+
+    @Test
+    void entregaLongeDemaisDoRestauranteFicaForaDoDespacho() {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Iara").email("iara@despacho.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Peixaria").categoria("Frutos do mar").taxaEntrega(Dinheiro.de("8.00")).tempoEntregaMinutos(35)
+                .latitude(-23.960).longitude(-46.330).ativo(true).build());
+        disponivel("Juca", "Santos", -23.961, -46.331);
+        disponivel("Kika", "Santos", -23.962, -46.332);
+
+        Long perto = emPreparacao(cliente, restaurante, "Santos", -23.970, -46.340);
+        // a uns 60 km do restaurante, com entregadores livres ao lado dele
+        Long longe = emPreparacao(cliente, restaurante, "Santos", -23.500, -46.600);
+        Long semPosicao = emPreparacao(cliente, restaurante, "Santos");
+
+        assertEquals(2, despachoService.despachar());
+        assertEquals(StatusPedido.ENVIADO, pedidoRepository.findById(perto).orElseThrow().getStatus());
+        assertEquals(StatusPedido.ENVIADO, pedidoRepository.findById(semPosicao).orElseThrow().getStatus());
+        assertNull(entregadorDe(longe));
+        assertEquals(StatusPedido.EM_PREPARACAO, pedidoRepository.findById(longe).orElseThrow().getStatus());
+    }
+
+    @Test
+    void atribuicaoEsperaOCancelamentoEmAndamentoENaoSobrescreveOStatus() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Gil").email("gil@despacho.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Sushi").categoria("Japonesa").taxaEntrega(Dinheiro.de("9.00")).tempoEntregaMinutos(40)
+                .latitude(-22.900).longitude(-47.060).ativo(true).build());
+        Entregador entregador = disponivel("Hugo", "Campinas", -22.901, -47.061);
+        Long pedido = emPreparacao(cliente, restaurante, "Campinas");
+
+        // a rodada leu o pedido ainda em preparo; o cancelamento trava a linha antes da atribuição
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Boolean> atribuicao = new TransactionTemplate(transactionManager).execute(status -> {
+                pedidoService.cancelar(pedido);
+                Future<Boolean> pendente = executor.submit(() -> pedidoService.atribuirEntregador(pedido, entregador.getId()));
+                try {
+                    // tempo para a atribuição chegar à linha travada antes do commit
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return pendente;
+            });
+            assertFalse(atribuicao.get());
+        }
+        assertEquals(StatusPedido.CANCELADO, pedidoRepository.findById(pedido).orElseThrow().getStatus());
+        assertNull(entregadorDe(pedido));
+        assertTrue(entregadorRepository.findById(entregador.getId()).orElseThrow().getDisponivel());
+    }
+
+    private Entregador disponivel(String nome, String cidade, double latitude, double longitude) {
+        Entregador entregador = entregadorService.cadastrar(Entregador.builder().nome(nome).telefone("11999990000")
+                .cidade(cidade).latitude(latitude).longitude(longitude).build());
+        return entregadorService.alterarDisponibilidade(entregador.getId(), true);
+    }
+
+    private Long emPreparacao(Cliente cliente, Restaurante restaurante, String cidade) {
+        return emPreparacao(cliente, restaurante, cidade, null, null);
+    }
+
+    private Long emPreparacao(Cliente cliente, Restaurante restaurante, String cidade, Double latitude, Double longitude) {
+        Pedido pedido = pedido(cliente, restaurante, cidade);
+        pedido.getEnderecoEntrega().setLatitude(latitude);
+        pedido.getEnderecoEntrega().setLongitude(longitude);
+        Long id = pedidoService.criar(pedido).getId();
+        pedidoService.atualizarStatus(id, StatusPedido.EM_PREPARACAO);
+        return id;
+    }
+
+    private Pedido pedido(Cliente cliente, Restaurante restaurante, String cidade) {
+        return Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .enderecoEntrega(Endereco.builder().rua("Rua Augusta").numero("100").cidade(cidade).estado("SP").build())
+                .total(Dinheiro.de("40.00"))
+                .itens(new ArrayList<>())
+                .build();
+    }
+
+    private Long entregadorDe(Long pedidoId) {
+        Entregador entregador = pedidoRepository.findById(pedidoId).orElseThrow().getEntregador();
+        return entregador == null ? null : entregador.getId();
+    }
+}
@@ -0,0 +1,161 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.EstatisticaRestauranteResponse;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class EstatisticaRestauranteServiceTest {
+
+    // os pedidos são de hoje; a margem cobre a virada do dia durante o teste
+    private static final LocalDate INICIO = LocalDate.now().minusDays(1);
+    private static final LocalDate FIM = LocalDate.now().plusDays(1);
+
+    @Autowired
+    EstatisticaRestauranteService estatisticaService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void criacaoCancelamentoEDescancelamentoAjustamOsAgregadosEAReconstrucaoChegaAoMesmo() {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Rita").email("rita@estatisticas.com").build());
+        Restaurante restaurante = restaurante("Padaria");
+        Produto pao = produto(restaurante, "Pão de queijo", "4.00");
+        Produto cafe = produto(restaurante, "Café", "5.00");
+
+        Long primeiro = criar(cliente, restaurante, pao, 3, cafe, 1).getId();
+        Long segundo = criar(cliente, restaurante, pao, 1, cafe, 2).getId();
+        EstatisticaRestauranteResponse estatisticas = consultar(restaurante);
+        assertEquals(2, estatisticas.getQuantidadePedidos());
+        assertEquals(0, estatisticas.getQuantidadeCancelados());
+        assertEquals(Dinheiro.de("31.00"), estatisticas.getFaturamento());
+        assertEquals(4, vendidos(estatisticas, pao));
+        assertEquals(3, vendidos(estatisticas, cafe));
+
+        // o cancelado continua contado, mas sai do faturamento e do ranking
+        pedidoService.cancelar(primeiro);
+        estatisticas = consultar(restaurante);
+        assertEquals(2, estatisticas.getQuantidadePedidos());
+        assertEquals(1, estatisticas.getQuantidadeCancelados());
+        assertEquals(Dinheiro.de("14.00"), estatisticas.getFaturamento());
+        assertEquals(1, vendidos(estatisticas, pao));
+        assertEquals(2, vendidos(estatisticas, cafe));
+
+        // sair do cancelamento devolve tudo; mudanças entre status não cancelados não mexem nos agregados
+        pedidoService.atualizarStatus(primeiro, StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatus(segundo, StatusPedido.ENTREGUE);
+        EstatisticaRestauranteResponse incremental = consultar(restaurante);
+        assertEquals(0, incremental.getQuantidadeCancelados());
+        assertEquals(Dinheiro.de("31.00"), incremental.getFaturamento());
+        assertEquals(4, vendidos(incremental, pao));
+
+        // a reconstrução recalcula do histórico de pedidos, mesmo com as linhas apagadas ou erradas
+        jdbcTemplate.update("update estatistica_restaurante_dia set quantidade_pedidos = 99");
+        jdbcTemplate.update("delete from estatistica_produto_dia");
+        estatisticaService.reconstruir(INICIO, FIM);
+        EstatisticaRestauranteResponse reconstruida = consultar(restaurante);
+        assertEquals(incremental.getQuantidadePedidos(), reconstruida.getQuantidadePedidos());
+        assertEquals(incremental.getQuantidadeCancelados(), reconstruida.getQuantidadeCancelados());
+        assertEquals(incremental.getFaturamento(), reconstruida.getFaturamento());
+        assertEquals(incremental.getTopProdutos(), reconstruida.getTopProdutos());
+    }
+
+    @Test
+    void reconstrucaoDuranteOsPedidosNaoPerdeNemDuplicaIncrementos() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Téo").email("teo@estatisticas.com").build());
+        Restaurante restaurante = restaurante("Lanchonete");
+        Produto lanche = produto(restaurante, "X-salada", "20.00");
+        Produto suco = produto(restaurante, "Suco", "8.00");
+
+        int pedidos = 150;
+        List<Future<?>> resultados = new ArrayList<>(pedidos);
+        // poucas threads, para o pool de conexões atender também as partições da reconstrução
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < pedidos; i++) {
+                boolean cancelar = i % 3 == 0;
+                resultados.add(executor.submit(() -> {
+                    Long id = criar(cliente, restaurante, lanche, 1, suco, 2).getId();
+                    if (cancelar) {
+                        pedidoService.cancelar(id);
+                    }
+                    return id;
+                }));
+            }
+            while (resultados.stream().anyMatch(r -> !r.isDone())) {
+                estatisticaService.reconstruir(INICIO, FIM);
+            }
+            for (Future<?> resultado : resultados) {
+                resultado.get();
+            }
+        }
+
+        EstatisticaRestauranteResponse estatisticas = consultar(restaurante);
+        assertEquals(pedidos, estatisticas.getQuantidadePedidos());
+        assertEquals(pedidos / 3, estatisticas.getQuantidadeCancelados());
+        assertEquals(Dinheiro.de("36.00").vezes(pedidos - pedidos / 3), estatisticas.getFaturamento());
+        assertEquals(pedidos - pedidos / 3, vendidos(estatisticas, lanche));
+        assertEquals(2L * (pedidos - pedidos / 3), vendidos(estatisticas, suco));
+    }
+
+    private Restaurante restaurante(String nome) {
+        return restauranteService.cadastrar(Restaurante.builder()
+                .nome(nome).categoria("Lanches").taxaEntrega(Dinheiro.de("5.00")).tempoEntregaMinutos(20).ativo(true).build());
+    }
+
+    private Produto produto(Restaurante restaurante, String nome, String preco) {
+        return produtoService.cadastrar(Produto.builder().nome(nome).categoria("Lanches").descricao(nome)
+                .preco(Dinheiro.de(preco)).disponivel(true).restaurante(restaurante).build());
+    }
+
+    private Pedido criar(Cliente cliente, Restaurante restaurante, Produto a, int quantidadeA, Produto b, int quantidadeB) {
+        List<ItemPedido> itens = new ArrayList<>();
+        itens.add(ItemPedido.builder().produto(a).quantidade(quantidadeA).precoUnitario(a.getPreco()).build());
+        itens.add(ItemPedido.builder().produto(b).quantidade(quantidadeB).precoUnitario(b.getPreco()).build());
+        Dinheiro total = a.getPreco().vezes(quantidadeA).mais(b.getPreco().vezes(quantidadeB));
+        return pedidoService.criar(Pedido.builder().cliente(cliente).restaurante(restaurante).total(total).itens(itens).build());
+    }
+
+    private EstatisticaRestauranteResponse consultar(Restaurante restaurante) {
+        return estatisticaService.consultar(restaurante.getId(), INICIO, FIM, 10);
+    }
+
+    private static long vendidos(EstatisticaRestauranteResponse estatisticas, Produto produto) {
+        return estatisticas.getTopProdutos().stream()
+                .filter(p -> p.getProdutoId().equals(produto.getId()))
+                .mapToLong(EstatisticaRestauranteResponse.ProdutoVendido::getQuantidadeVendida)
+                .findFirst().orElse(0);
+    }
+}
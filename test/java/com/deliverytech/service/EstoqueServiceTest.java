@@ -0,0 +1,182 @@
+package com.deliverytech.service;
+
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // a gravação agendada não roda durante o teste; ele chama persistir() diretamente
+        "deliverytech.estoque.intervalo-persistencia=PT1H",
+        "deliverytech.estoque.tamanho-lote=2"
+})
+@ActiveProfiles("test")
+public class EstoqueServiceTest {
+
+    @Autowired
+    EstoqueService estoqueService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    ProdutoRepository produtoRepository;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void milharesDePedidosSimultaneosNaoVendemAlemDoEstoque() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Leo").email("leo@estoque.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Pastelaria").categoria("Lanches").taxaEntrega(Dinheiro.de("5.00")).tempoEntregaMinutos(20).ativo(true).build());
+        Produto pastel = produtoService.cadastrar(Produto.builder().nome("Pastel").categoria("Lanches").descricao("Carne")
+                .preco(Dinheiro.de("9.00")).disponivel(true).restaurante(restaurante).build());
+        Produto caldo = produtoService.cadastrar(Produto.builder().nome("Caldo de cana").categoria("Bebidas").descricao("500 ml")
+                .preco(Dinheiro.de("7.00")).disponivel(true).restaurante(restaurante).build());
+        estoqueService.definir(pastel.getId(), 500);
+
+        int pedidos = 3_000;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>(pedidos);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < pedidos; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        criar(cliente, restaurante, pastel, caldo);
+                        return true;
+                    } catch (BusinessException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+            int aceitos = 0;
+            for (Future<Boolean> resultado : resultados) {
+                aceitos += resultado.get() ? 1 : 0;
+            }
+            assertEquals(500, aceitos);
+        }
+        assertEquals(500, pedidoRepository.findByRestauranteId(restaurante.getId()).size());
+        assertEquals(0, estoqueService.disponivel(pastel.getId()).orElseThrow());
+        assertTrue(estoqueService.disponivel(caldo.getId()).isEmpty());
+
+        // a gravação em lote zera o estoque no banco e tira o produto do cardápio
+        assertEquals(1, estoqueService.persistir());
+        Produto gravado = produtoRepository.findById(pastel.getId()).orElseThrow();
+        assertEquals(0, gravado.getEstoque());
+        assertFalse(gravado.getDisponivel());
+
+        // o cancelamento devolve a unidade e o produto volta
+        Long cancelado = pedidoRepository.findByRestauranteId(restaurante.getId()).get(0).getId();
+        pedidoService.cancelar(cancelado);
+        pedidoService.cancelar(cancelado);
+        assertEquals(1, estoqueService.disponivel(pastel.getId()).orElseThrow());
+        assertEquals(1, estoqueService.persistir());
+        gravado = produtoRepository.findById(pastel.getId()).orElseThrow();
+        assertEquals(1, gravado.getEstoque());
+        assertTrue(gravado.getDisponivel());
+
+        // pedido numa transação desfeita não fica com a reserva
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            criar(cliente, restaurante, pastel, caldo);
+            assertEquals(0, estoqueService.disponivel(pastel.getId()).orElseThrow());
+            status.setRollbackOnly();
+        });
+        assertEquals(1, estoqueService.disponivel(pastel.getId()).orElseThrow());
+
+        Long entregue = pedidoService.atualizarStatus(criar(cliente, restaurante, pastel, caldo).getId(), StatusPedido.ENTREGUE).getId();
+        pedidoService.cancelar(entregue);
+        assertEquals(0, estoqueService.disponivel(pastel.getId()).orElseThrow());
+        assertThrows(BusinessException.class, () -> criar(cliente, restaurante, pastel, caldo));
+
+        // sair do cancelamento reserva de novo: sem estoque o pedido continua cancelado
+        assertThrows(BusinessException.class, () -> pedidoService.atualizarStatus(cancelado, StatusPedido.CONFIRMADO));
+        assertEquals(StatusPedido.CANCELADO, pedidoRepository.findById(cancelado).orElseThrow().getStatus());
+        estoqueService.definir(pastel.getId(), 1);
+        pedidoService.atualizarStatus(cancelado, StatusPedido.CONFIRMADO);
+        assertEquals(0, estoqueService.disponivel(pastel.getId()).orElseThrow());
+    }
+
+    @Test
+    void gravacaoDescontaAsReservasDestaInstanciaSemSobrescreverAsDasOutras() {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Mia").email("mia@estoque.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Salgaderia").categoria("Lanches").taxaEntrega(Dinheiro.de("4.00")).tempoEntregaMinutos(15).ativo(true).build());
+        Produto coxinha = produtoService.cadastrar(Produto.builder().nome("Coxinha").categoria("Lanches").descricao("Frango")
+                .preco(Dinheiro.de("6.00")).disponivel(true).restaurante(restaurante).build());
+        Produto suco = produtoService.cadastrar(Produto.builder().nome("Suco").categoria("Bebidas").descricao("Laranja")
+                .preco(Dinheiro.de("8.00")).disponivel(true).restaurante(restaurante).build());
+        estoqueService.definir(coxinha.getId(), 10);
+
+        criar(cliente, restaurante, coxinha, suco);
+        criar(cliente, restaurante, coxinha, suco);
+        // outra instância vendeu 3 e já gravou
+        jdbcTemplate.update("update produto set estoque = estoque - 3 where id = ?", coxinha.getId());
+
+        assertEquals(1, estoqueService.persistir());
+        assertEquals(5, produtoRepository.findById(coxinha.getId()).orElseThrow().getEstoque());
+        // e o contador desta instância passa a contar a venda da outra
+        assertEquals(5, estoqueService.disponivel(coxinha.getId()).orElseThrow());
+
+        // a reposição da outra instância também chega, junto com as devoluções desta
+        pedidoService.cancelar(pedidoRepository.findByClienteId(cliente.getId()).get(0).getId());
+        jdbcTemplate.update("update produto set estoque = estoque + 4 where id = ?", coxinha.getId());
+        assertEquals(1, estoqueService.persistir());
+        assertEquals(10, produtoRepository.findById(coxinha.getId()).orElseThrow().getEstoque());
+        assertEquals(10, estoqueService.disponivel(coxinha.getId()).orElseThrow());
+    }
+
+    private Pedido criar(Cliente cliente, Restaurante restaurante, Produto pastel, Produto caldo) {
+        List<ItemPedido> itens = new ArrayList<>();
+        itens.add(ItemPedido.builder().produto(pastel).quantidade(1).precoUnitario(pastel.getPreco()).build());
+        itens.add(ItemPedido.builder().produto(caldo).quantidade(1).precoUnitario(caldo.getPreco()).build());
+        return pedidoService.criar(Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .total(Dinheiro.de("16.00"))
+                .itens(itens)
+                .build());
+    }
+}
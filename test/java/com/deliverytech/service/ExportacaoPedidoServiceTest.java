@@ -0,0 +1,219 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.FormatoExportacao;
+import com.deliverytech.repository.PedidoRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// o teste apaga e regrava o banco inteiro com ids fixos: o contexto não é reaproveitado por outras classes
+@DirtiesContext
+public class ExportacaoPedidoServiceTest {
+
+    private static final int PEDIDOS = Integer.getInteger("exportacao.pedidos", 5_000);
+    private static final int PEDIDOS_MEMORIA = Integer.getInteger("exportacao.pedidos.memoria", 1_000_000);
+    private static final long LIMITE_CRESCIMENTO_HEAP = 128L * 1024 * 1024;
+    private static final long LIMITE_VARIACAO_HEAP = 32L * 1024 * 1024;
+
+    @Autowired
+    ExportacaoPedidoService exportacaoPedidoService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void deveExportarLoteALoteSemCarregarOPeriodoInteiro() throws IOException {
+        popularBanco(PEDIDOS);
+        ContadorLotes saida = new ContadorLotes(entityManager);
+
+        long exportados = exportacaoPedidoService.exportar(
+                LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 2, 1, 0, 0),
+                FormatoExportacao.NDJSON,
+                saida);
+
+        assertEquals(PEDIDOS, exportados);
+        assertEquals(PEDIDOS, saida.linhas);
+        // cada lote é escrito e descartado antes do próximo: a saída recebe um flush por lote e o contexto
+        // de persistência nunca guarda mais que um lote de pedidos com itens, produtos, clientes e restaurantes
+        assertTrue(saida.flushes >= PEDIDOS / PedidoRepository.TAMANHO_LOTE_STREAM, "flushes: " + saida.flushes);
+        assertTrue(saida.maiorContexto <= 5 * PedidoRepository.TAMANHO_LOTE_STREAM,
+                "entidades no contexto: " + saida.maiorContexto);
+    }
+
+    @Test
+    void deveColocarEntreAspasNoCsvOsValoresComQuebraDeLinha() throws IOException {
+        popularBanco(2);
+        // os pedidos 1 e 2 têm um item dos produtos 2 e 3
+        jdbcTemplate.update("update produto set nome = ? where id = 2", "Pizza\r\nGrande");
+        jdbcTemplate.update("update produto set nome = ? where id = 3", "Pizza\rMédia");
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        exportacaoPedidoService.exportar(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0),
+                FormatoExportacao.CSV, saida);
+
+        String csv = saida.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains(",2,\"Pizza\r\nGrande\",2,"), csv);
+        assertTrue(csv.contains(",3,\"Pizza\rMédia\",2,"), csv);
+    }
+
+    /**
+     * Mede o heap de verdade com um milhão de pedidos; depende do GC e leva minutos, então fica fora
+     * da suíte padrão (tag {@code benchmark}, veja o README).
+     */
+    @Test
+    @Tag("benchmark")
+    void deveExportarPeriodoGrandeComMemoriaConstante() throws IOException {
+        popularBanco(PEDIDOS_MEMORIA);
+        long base = heapUsadoAposGc();
+        MedidorSaida saida = new MedidorSaida(base);
+
+        long exportados = exportacaoPedidoService.exportar(
+                LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 2, 1, 0, 0),
+                FormatoExportacao.NDJSON,
+                saida);
+
+        assertEquals(PEDIDOS_MEMORIA, exportados);
+        assertEquals(PEDIDOS_MEMORIA, saida.linhas);
+        assertTrue(saida.maiorCrescimento < LIMITE_CRESCIMENTO_HEAP,
+                "Heap cresceu " + saida.maiorCrescimento / (1024 * 1024) + " MB durante a exportação");
+        // a primeira amostra inclui o aquecimento da consulta; a partir dela o heap não pode acompanhar o volume exportado
+        if (saida.amostras > 1) {
+            long variacao = saida.maiorAposAquecimento - saida.menorAposAquecimento;
+            assertTrue(variacao < LIMITE_VARIACAO_HEAP, "Heap variou " + variacao / (1024 * 1024) + " MB ao longo da exportação");
+        }
+    }
+
+    private void popularBanco(int pedidos) {
+        jdbcTemplate.execute("delete from item_pedido");
+        jdbcTemplate.execute("delete from pedido");
+        jdbcTemplate.execute("delete from produto");
+        jdbcTemplate.execute("delete from restaurante");
+        jdbcTemplate.execute("delete from cliente");
+
+        jdbcTemplate.execute("insert into cliente (id, nome, email, ativo, data_criacao) "
+                + "select x, 'Cliente ' || x, 'cliente' || x || '@teste.com', true, current_timestamp from system_range(1, 1000)");
+        jdbcTemplate.execute("insert into restaurante (id, nome, categoria, telefone, taxa_entrega, tempo_entrega_minutos, ativo) "
+                + "select x, 'Restaurante ' || x, 'Pizza', '11999999999', 5.00, 30, true from system_range(1, 100)");
+        jdbcTemplate.execute("insert into produto (id, nome, categoria, descricao, preco, disponivel, restaurante_id) "
+                + "select x, 'Produto ' || x, 'Pizza', 'Descrição', 39.90, true, mod(x, 100) + 1 from system_range(1, 1000)");
+        jdbcTemplate.execute("insert into pedido (id, cliente_id, restaurante_id, total, status, data_pedido, rua, numero, bairro, cidade, estado, cep) "
+                + "select x, mod(x, 1000) + 1, mod(x, 100) + 1, 79.80, 'ENTREGUE', timestamp '2025-01-01 00:00:00' + mod(x, 28) * interval '1' day, "
+                + "'Rua A', '10', 'Centro', 'São Paulo', 'SP', '01000-000' from system_range(1, " + pedidos + ")");
+        jdbcTemplate.execute("insert into item_pedido (id, pedido_id, produto_id, quantidade, preco_unitario) "
+                + "select x, x, mod(x, 1000) + 1, 2, 39.90 from system_range(1, " + pedidos + ")");
+    }
+
+    private static long heapUsadoAposGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Descarta o conteúdo e, a cada flush, conta as entidades no contexto de persistência da exportação. */
+    private static class ContadorLotes extends OutputStream {
+
+        private final EntityManager entityManager;
+        private long linhas;
+        private int flushes;
+        private int maiorContexto;
+
+        ContadorLotes(EntityManager entityManager) {
+            this.entityManager = entityManager;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                linhas++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        // o EntityManager compartilhado resolve para o da transação da exportação, que roda nesta thread
+        @Override
+        public void flush() {
+            flushes++;
+            maiorContexto = Math.max(maiorContexto, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+    }
+
+    /** Descarta o conteúdo e mede o heap retido a cada 32 MB escritos. */
+    private static class MedidorSaida extends OutputStream {
+
+        private static final long INTERVALO_AMOSTRA = 32L * 1024 * 1024;
+
+        private final long base;
+        private long bytes;
+        private long proximaAmostra = INTERVALO_AMOSTRA;
+        private long linhas;
+        private long maiorCrescimento;
+        private int amostras;
+        private long maiorAposAquecimento = Long.MIN_VALUE;
+        private long menorAposAquecimento = Long.MAX_VALUE;
+
+        MedidorSaida(long base) {
+            this.base = base;
+        }
+
+        @Override
+        public void write(int b) {
+            contar(b);
+            amostrar();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                contar(b[i]);
+            }
+            amostrar();
+        }
+
+        private void contar(int b) {
+            bytes++;
+            if (b == '\n') {
+                linhas++;
+            }
+        }
+
+        private void amostrar() {
+            if (bytes >= proximaAmostra) {
+                proximaAmostra += INTERVALO_AMOSTRA;
+                long crescimento = heapUsadoAposGc() - base;
+                maiorCrescimento = Math.max(maiorCrescimento, crescimento);
+                if (amostras++ > 0) {
+                    maiorAposAquecimento = Math.max(maiorAposAquecimento, crescimento);
+                    menorAposAquecimento = Math.min(menorAposAquecimento, crescimento);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.service.impl.MetricasPedidoServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MetricasPedidoServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricasPedidoService metricas = new MetricasPedidoServiceImpl(registry, null, 3);
+
+    @Test
+    void deveLimitarRestaurantesComTagPropria() {
+        for (long restauranteId = 1; restauranteId <= 10; restauranteId++) {
+            metricas.registrarCriacao(pedido(restauranteId, "30.00"));
+        }
+        metricas.registrarCriacao(pedido(1L, "30.00"));
+
+        // 3 restaurantes com tag própria + "outros"
+        assertEquals(4, registry.find("deliverytech.pedidos.criados").counters().size());
+        assertEquals(2, registry.get("deliverytech.pedidos.criados").tag("restaurante", "1").counter().count());
+        assertEquals(7, registry.get("deliverytech.pedidos.criados").tag("restaurante", "outros").counter().count());
+        assertEquals(11, registry.get("deliverytech.pedidos.valor").summary().count());
+        assertEquals(11, registry.get("deliverytech.pedidos.em.andamento").tag("status", "CRIADO").gauge().value());
+    }
+
+    @Test
+    void deveContarTransicoesEAtualizarPedidosEmAndamento() {
+        metricas.registrarCriacao(pedido(1L, "120.50"));
+        metricas.registrarCriacao(pedido(1L, "40.00"));
+        metricas.registrarMudancaStatus(StatusPedido.CRIADO, StatusPedido.CONFIRMADO);
+        metricas.registrarMudancaStatus(StatusPedido.CONFIRMADO, StatusPedido.ENTREGUE);
+        metricas.registrarMudancaStatus(StatusPedido.CRIADO, StatusPedido.CANCELADO);
+        metricas.registrarMudancaStatus(StatusPedido.CANCELADO, StatusPedido.CANCELADO);
+
+        assertEquals(1, registry.get("deliverytech.pedidos.transicoes")
+                .tags("de", "CRIADO", "para", "CONFIRMADO").counter().count());
+        assertNull(registry.find("deliverytech.pedidos.transicoes").tags("de", "CANCELADO", "para", "CANCELADO").counter());
+        assertEquals(0, registry.get("deliverytech.pedidos.em.andamento").tag("status", "CRIADO").gauge().value());
+        assertEquals(0, registry.get("deliverytech.pedidos.em.andamento").tag("status", "CONFIRMADO").gauge().value());
+        assertEquals(160.50, registry.get("deliverytech.pedidos.valor").summary().totalAmount(), 0.001);
+    }
+
+    private static Pedido pedido(long restauranteId, String total) {
+        return Pedido.builder()
+                .restaurante(Restaurante.builder().id(restauranteId).build())
+                .status(StatusPedido.CRIADO)
+                .total(Dinheiro.de(total))
+                .build();
+    }
+}
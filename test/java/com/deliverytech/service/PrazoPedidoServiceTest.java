@@ -0,0 +1,179 @@
+package com.deliverytech.service;
+
+import com.deliverytech.model.Cliente;
+import com.deliverytech.model.Dinheiro;
+import com.deliverytech.model.ItemPedido;
+import com.deliverytech.model.Pedido;
+import com.deliverytech.model.Produto;
+import com.deliverytech.model.Restaurante;
+import com.deliverytech.model.StatusPedido;
+import com.deliverytech.repository.PedidoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = {
+        // a varredura agendada fica desligada; o teste chama o serviço diretamente
+        "deliverytech.prazos-pedido.habilitado=false",
+        "deliverytech.prazos-pedido.confirmacao=PT10M",
+        "deliverytech.prazos-pedido.preparo=PT45M",
+        "deliverytech.prazos-pedido.tamanho-lote=2"
+})
+@ActiveProfiles("test")
+public class PrazoPedidoServiceTest {
+
+    @Autowired
+    PrazoPedidoService prazoPedidoService;
+
+    @Autowired
+    PedidoService pedidoService;
+
+    @Autowired
+    ClienteService clienteService;
+
+    @Autowired
+    RestauranteService restauranteService;
+
+    @Autowired
+    ProdutoService produtoService;
+
+    @Autowired
+    EstoqueService estoqueService;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveCancelarSemConfirmacaoEEscalarPreparoAtrasadoEmLotes() {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Ana").email("ana@prazos.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Cantina").categoria("Italiana").taxaEntrega(Dinheiro.de("10.00")).tempoEntregaMinutos(30).ativo(true).build());
+
+        List<Long> vencidos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            vencidos.add(criar(cliente, restaurante).getId());
+        }
+        Long noPrazo = criar(cliente, restaurante).getId();
+        Long confirmado = pedidoService.atualizarStatus(criar(cliente, restaurante).getId(), StatusPedido.CONFIRMADO).getId();
+        Long preparoAtrasado = pedidoService.atualizarStatus(criar(cliente, restaurante).getId(), StatusPedido.EM_PREPARACAO).getId();
+        Long preparoNoPrazo = pedidoService.atualizarStatus(criar(cliente, restaurante).getId(), StatusPedido.EM_PREPARACAO).getId();
+
+        recuar(vencidos, 11);
+        recuar(List.of(noPrazo), 9);
+        recuar(List.of(confirmado), 60);
+        recuar(List.of(preparoAtrasado), 46);
+        recuar(List.of(preparoNoPrazo), 44);
+
+        // 5 vencidos em lotes de 2: três lotes na mesma varredura
+        assertEquals(5, prazoPedidoService.cancelarNaoConfirmados());
+        assertEquals(0, prazoPedidoService.cancelarNaoConfirmados());
+        vencidos.forEach(id -> assertEquals(StatusPedido.CANCELADO, status(id)));
+        assertEquals(StatusPedido.CRIADO, status(noPrazo));
+        assertEquals(StatusPedido.CONFIRMADO, status(confirmado));
+
+        assertEquals(1, prazoPedidoService.escalarPreparoAtrasado());
+        assertEquals(0, prazoPedidoService.escalarPreparoAtrasado());
+        assertNotNull(pedidoRepository.findById(preparoAtrasado).orElseThrow().getDataEscalonamento());
+        assertNull(pedidoRepository.findById(preparoNoPrazo).orElseThrow().getDataEscalonamento());
+        assertEquals(StatusPedido.EM_PREPARACAO, status(preparoAtrasado));
+    }
+
+    @Test
+    void confirmacaoDuranteOCancelamentoPorPrazoNaoDeixaStatusNemEstoqueDesencontrados() throws Exception {
+        Cliente cliente = clienteService.cadastrar(Cliente.builder().nome("Bia").email("bia@prazos.com").build());
+        Restaurante restaurante = restauranteService.cadastrar(Restaurante.builder()
+                .nome("Forno").categoria("Pizza").taxaEntrega(Dinheiro.de("8.00")).tempoEntregaMinutos(40).ativo(true).build());
+        Produto pizza = produtoService.cadastrar(Produto.builder().nome("Pizza").categoria("Pizza").descricao("Calabresa")
+                .preco(Dinheiro.de("50.00")).disponivel(true).restaurante(restaurante).build());
+        estoqueService.definir(pizza.getId(), 10);
+        Long cancelado = criar(cliente, restaurante, pizza).getId();
+        Long confirmado = criar(cliente, restaurante, pizza).getId();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            // a varredura cancela e segura a trava até o fim da transação; a confirmação espera e parte do cancelado
+            recuar(List.of(cancelado), 11);
+            Future<Pedido> confirmacao = transacao.execute(status -> {
+                assertEquals(1, prazoPedidoService.cancelarNaoConfirmados());
+                Future<Pedido> pendente = executor.submit(() -> pedidoService.atualizarStatus(cancelado, StatusPedido.CONFIRMADO));
+                esperarTrava();
+                return pendente;
+            });
+            confirmacao.get();
+            assertEquals(StatusPedido.CONFIRMADO, status(cancelado));
+            assertEquals(8, estoqueService.disponivel(pizza.getId()).orElseThrow());
+
+            // a confirmação segura a trava; a varredura espera e não acha mais o pedido sem confirmação
+            recuar(List.of(confirmado), 11);
+            Future<Integer> varredura = transacao.execute(status -> {
+                pedidoService.atualizarStatus(confirmado, StatusPedido.CONFIRMADO);
+                Future<Integer> pendente = executor.submit(() -> prazoPedidoService.cancelarNaoConfirmados());
+                esperarTrava();
+                return pendente;
+            });
+            assertEquals(0, varredura.get());
+            assertEquals(StatusPedido.CONFIRMADO, status(confirmado));
+            assertEquals(8, estoqueService.disponivel(pizza.getId()).orElseThrow());
+        }
+    }
+
+    private Pedido criar(Cliente cliente, Restaurante restaurante, Produto produto) {
+        List<ItemPedido> itens = new ArrayList<>();
+        itens.add(ItemPedido.builder().produto(produto).quantidade(1).precoUnitario(produto.getPreco()).build());
+        return pedidoService.criar(Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .total(produto.getPreco())
+                .itens(itens)
+                .build());
+    }
+
+    // tempo para a outra thread chegar à linha travada antes do commit
+    private static void esperarTrava() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Pedido criar(Cliente cliente, Restaurante restaurante) {
+        return pedidoService.criar(Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .total(Dinheiro.de("50.00"))
+                .itens(new ArrayList<>())
+                .build());
+    }
+
+    private void recuar(List<Long> ids, int minutos) {
+        Timestamp data = Timestamp.valueOf(LocalDateTime.now().minusMinutes(minutos));
+        ids.forEach(id -> jdbcTemplate.update("update pedido set data_atualizacao_status = ? where id = ?", data, id));
+    }
+
+    private StatusPedido status(Long id) {
+        return pedidoRepository.findById(id).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,56 @@
+package com.deliverytech.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LeitorCsvTest {
+
+    @Test
+    void camposEntreAspasComVirgulaAspasDuplicadasEQuebraDeLinha() throws IOException {
+        List<String[]> registros = ler("nome,descricao\r\n"
+                + "\"Pizza, grande\",\"Molho \"\"da casa\"\"\"\r\n"
+                + "Esfiha,\"Carne\r\ncom limão\nno ponto\"\n");
+
+        assertEquals(3, registros.size());
+        assertArrayEquals(new String[]{"nome", "descricao"}, registros.get(0));
+        assertArrayEquals(new String[]{"Pizza, grande", "Molho \"da casa\""}, registros.get(1));
+        assertArrayEquals(new String[]{"Esfiha", "Carne\r\ncom limão\nno ponto"}, registros.get(2));
+    }
+
+    @Test
+    void camposVaziosNoFimELinhasEmBrancoEntreRegistros() throws IOException {
+        List<String[]> registros = ler("a,b,\n\r\n,,\n\"\",x\r\nsó um campo");
+
+        assertEquals(4, registros.size());
+        assertArrayEquals(new String[]{"a", "b", ""}, registros.get(0));
+        assertArrayEquals(new String[]{"", "", ""}, registros.get(1));
+        assertArrayEquals(new String[]{"", "x"}, registros.get(2));
+        assertArrayEquals(new String[]{"só um campo"}, registros.get(3));
+    }
+
+    @Test
+    void crSozinhoTambemTerminaORegistro() throws IOException {
+        List<String[]> registros = ler("a,b\rc,d\r");
+
+        assertEquals(2, registros.size());
+        assertArrayEquals(new String[]{"a", "b"}, registros.get(0));
+        assertArrayEquals(new String[]{"c", "d"}, registros.get(1));
+    }
+
+    private static List<String[]> ler(String csv) throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader(csv));
+        List<String[]> registros = new ArrayList<>();
+        String[] registro;
+        while ((registro = leitor.proximoRegistro()) != null) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+}